@@ -40,12 +40,19 @@ CREATE TABLE `blog_article`  (
   `create_time` datetime NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
   PRIMARY KEY (`id`) USING BTREE,
-  INDEX `idx_author_id`(`author_id` ASC) USING BTREE,
-  INDEX `idx_category_id`(`category_id` ASC) USING BTREE,
+  INDEX `idx_author_draft`(`author_id` ASC, `is_draft` ASC, `deleted` ASC) USING BTREE,
+  INDEX `idx_category_draft`(`category_id` ASC, `is_draft` ASC, `deleted` ASC) USING BTREE,
   INDEX `idx_is_top`(`is_top` ASC) USING BTREE,
-  INDEX `idx_create_time`(`create_time` ASC) USING BTREE
+  INDEX `idx_create_time`(`create_time` ASC) USING BTREE,
+  INDEX `idx_feed`(`is_draft` ASC, `deleted` ASC, `is_top` ASC, `create_time` ASC, `id` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 9 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '文章表' ROW_FORMAT = DYNAMIC;
 
+-- 启用正文压缩存储（app.article.storage.compress-body=true）前将正文字段改为二进制类型，
+-- 已有数据保持可读，之后可通过管理端接口 POST /article/storage/compress 在线压缩存量正文：
+-- ALTER TABLE `blog_article`
+--   MODIFY `content` longblob NOT NULL COMMENT '文章内容(Markdown，可压缩存储)',
+--   MODIFY `html_content` longblob NULL COMMENT 'HTML内容(可压缩存储)';
+
 -- ----------------------------
 -- Table structure for blog_article_collect
 -- ----------------------------
@@ -74,6 +81,45 @@ CREATE TABLE `blog_article_like`  (
   INDEX `idx_user_id`(`user_id` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 1 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '文章点赞表' ROW_FORMAT = Dynamic;
 
+-- ----------------------------
+-- Table structure for blog_article_publish_task
+-- ----------------------------
+DROP TABLE IF EXISTS `blog_article_publish_task`;
+CREATE TABLE `blog_article_publish_task`  (
+  `article_id` bigint NOT NULL COMMENT '文章ID',
+  `change_type` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '变更类型 PUBLISHED-新发布 UPDATED-更新',
+  `target_draft` tinyint(1) NOT NULL DEFAULT 0 COMMENT '完成后的草稿状态 0-发布 1-草稿',
+  `payload` longtext CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL COMMENT '待发布内容(JSON)',
+  `html_content` longtext CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL COMMENT '渲染后的HTML内容',
+  `stage` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '下一个待执行阶段',
+  `status` tinyint NOT NULL DEFAULT 0 COMMENT '状态 0-等待处理 1-处理中 2-已完成 3-处理失败',
+  `attempts` int NOT NULL DEFAULT 0 COMMENT '已尝试次数',
+  `last_error` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '最近一次失败原因',
+  `create_time` datetime NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`article_id`) USING BTREE,
+  INDEX `idx_status_update_time`(`status` ASC, `update_time` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '文章发布任务表' ROW_FORMAT = DYNAMIC;
+
+-- ----------------------------
+-- Table structure for blog_article_revision
+-- ----------------------------
+DROP TABLE IF EXISTS `blog_article_revision`;
+CREATE TABLE `blog_article_revision`  (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  `article_id` bigint NOT NULL COMMENT '文章ID',
+  `revision` int NOT NULL COMMENT '版本号（每篇文章从1递增）',
+  `snapshot_revision` int NOT NULL COMMENT '重建所需的完整快照版本号（等于版本号时本版本即为快照）',
+  `title` varchar(200) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '文章标题',
+  `summary` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '文章摘要',
+  `content_data` longblob NOT NULL COMMENT '压缩后的正文（快照为完整正文，否则为相对上一版本的增量）',
+  `content_length` int NOT NULL DEFAULT 0 COMMENT '正文长度（字符数）',
+  `content_hash` char(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '正文SHA-256',
+  `create_time` datetime NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  PRIMARY KEY (`id`) USING BTREE,
+  UNIQUE INDEX `uk_article_revision`(`article_id` ASC, `revision` ASC) USING BTREE
+) ENGINE = InnoDB AUTO_INCREMENT = 1 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '文章版本表' ROW_FORMAT = DYNAMIC;
+
 -- ----------------------------
 -- Table structure for blog_banner
 -- ----------------------------
@@ -128,7 +174,7 @@ CREATE TABLE `blog_comment`  (
   `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
   PRIMARY KEY (`id`) USING BTREE,
   INDEX `idx_article_id`(`article_id` ASC) USING BTREE,
-  INDEX `idx_root_id`(`root_id` ASC) USING BTREE,
+  INDEX `idx_root_audit_time`(`root_id` ASC, `audit_status` ASC, `deleted` ASC, `create_time` ASC) USING BTREE,
   INDEX `idx_user_id`(`user_id` ASC) USING BTREE,
   INDEX `idx_parent_id`(`parent_id` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 5 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '评论表' ROW_FORMAT = Dynamic;
@@ -172,8 +218,7 @@ CREATE TABLE `relevancy_article_tag`  (
   `create_time` datetime NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   PRIMARY KEY (`id`) USING BTREE,
   UNIQUE INDEX `uk_article_tag`(`article_id` ASC, `tag_id` ASC) USING BTREE,
-  INDEX `idx_article_id`(`article_id` ASC) USING BTREE,
-  INDEX `idx_tag_id`(`tag_id` ASC) USING BTREE
+  INDEX `idx_tag_article`(`tag_id` ASC, `article_id` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 11 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '文章标签关联表' ROW_FORMAT = Dynamic;
 
 -- ----------------------------
@@ -29,6 +29,106 @@ public final class ArticleConstants {
      */
     public static final String ERROR_TAG_NOT_FOUND = "标签不存在";
 
+    /**
+     * 分页游标无效
+     */
+    public static final String ERROR_INVALID_CURSOR = "分页游标无效";
+
+    /**
+     * 搜索关键词过长
+     */
+    public static final String ERROR_SEARCH_KEYWORD_TOO_LONG = "搜索关键词过长";
+
+    /**
+     * 批量查询数量超限
+     */
+    public static final String ERROR_BATCH_SIZE_EXCEEDED = "单次查询文章数量超出上限";
+
+    /**
+     * 文章发布任务处理中
+     */
+    public static final String ERROR_PUBLISH_IN_PROGRESS = "文章正在发布处理中，请稍后再试";
+
+    /**
+     * 文章发布任务不存在
+     */
+    public static final String ERROR_PUBLISH_TASK_NOT_FOUND = "文章发布任务不存在";
+
+    /**
+     * 仅失败的发布任务可重试
+     */
+    public static final String ERROR_PUBLISH_TASK_NOT_FAILED = "仅处理失败的发布任务可重试";
+
+    /**
+     * 导入归档格式不支持
+     */
+    public static final String ERROR_IMPORT_ARCHIVE_UNSUPPORTED = "仅支持 zip、tar 或 tar.gz 格式的归档";
+
+    /**
+     * 导入归档文件数量超限
+     */
+    public static final String ERROR_IMPORT_TOO_MANY_ENTRIES = "归档内文件数量超出上限，后续文件未导入";
+
+    /**
+     * 导入归档读取中断
+     */
+    public static final String ERROR_IMPORT_ARCHIVE_INTERRUPTED = "归档读取中断，后续文件未导入";
+
+    /**
+     * 静态页面预渲染未启用
+     */
+    public static final String ERROR_STATIC_DISABLED = "静态页面预渲染未启用";
+
+    /**
+     * 静态页面正在重建
+     */
+    public static final String ERROR_STATIC_REBUILDING = "静态页面正在重建中，请稍后再试";
+
+    /**
+     * 草稿版本冲突
+     */
+    public static final String ERROR_DRAFT_CONFLICT = "草稿已被其他会话修改，请重新加载后再编辑";
+
+    /**
+     * 草稿编辑位置越界
+     */
+    public static final String ERROR_DRAFT_EDIT_OUT_OF_RANGE = "草稿编辑位置超出正文范围";
+
+    /**
+     * 草稿正文过长
+     */
+    public static final String ERROR_DRAFT_CONTENT_TOO_LONG = "草稿正文超出长度上限";
+
+    /**
+     * 草稿缓冲不可用
+     */
+    public static final String ERROR_DRAFT_UNAVAILABLE = "草稿暂存服务不可用，请稍后重试";
+
+    /**
+     * 文章版本不存在
+     */
+    public static final String ERROR_REVISION_NOT_FOUND = "文章版本不存在";
+
+    /**
+     * 文章版本数据损坏（增量链无法重建）
+     */
+    public static final String ERROR_REVISION_CORRUPTED = "文章版本数据损坏，无法读取";
+
+    /**
+     * 正文压缩存储未启用
+     */
+    public static final String ERROR_BODY_COMPRESSION_DISABLED = "正文压缩存储未启用（需开启配置且正文字段为 LONGBLOB）";
+
+    /**
+     * 正文压缩迁移正在进行
+     */
+    public static final String ERROR_BODY_COMPRESSION_RUNNING = "正文压缩迁移正在进行中，请稍后再试";
+
+    /**
+     * 点赞/收藏切换尚未落库
+     */
+    public static final String ERROR_INTERACTION_PENDING = "上一次操作正在处理中，请稍后再试";
+
     // ==================== 默认值 ====================
 
     /**
@@ -46,17 +146,57 @@ public final class ArticleConstants {
      */
     public static final int HOT_ARTICLE_CANDIDATE_POOL_SIZE = 100;
 
+    /**
+     * 游标分页单页最大数量
+     */
+    public static final int MAX_FEED_SIZE = 50;
+
+    /**
+     * 批量查询单次最大文章数
+     */
+    public static final int MAX_BATCH_SIZE = 50;
+
+    /**
+     * 搜索关键词最大长度
+     */
+    public static final int MAX_SEARCH_KEYWORD_LENGTH = 50;
+
     // ==================== 成功消息 ====================
 
     /**
-     * 发布成功
+     * 发布已提交（后台处理完成后可见）
+     */
+    public static final String MSG_PUBLISH_SUCCESS = "已提交发布";
+
+    /**
+     * 更新已提交（后台处理完成后生效）
+     */
+    public static final String MSG_UPDATE_SUCCESS = "已提交更新";
+
+    /**
+     * 发布任务已重新提交
+     */
+    public static final String MSG_PUBLISH_RETRY_SUCCESS = "已重新提交发布";
+
+    /**
+     * 静态页面重建已开始
+     */
+    public static final String MSG_STATIC_REBUILD_STARTED = "已开始重建静态页面";
+
+    /**
+     * 草稿已提交保存
+     */
+    public static final String MSG_DRAFT_SAVE_SUCCESS = "草稿已提交保存";
+
+    /**
+     * 版本恢复已提交（后台处理完成后生效）
      */
-    public static final String MSG_PUBLISH_SUCCESS = "发布成功";
+    public static final String MSG_REVISION_RESTORE_SUCCESS = "已提交恢复";
 
     /**
-     * 更新成功
+     * 正文压缩迁移已开始
      */
-    public static final String MSG_UPDATE_SUCCESS = "更新成功";
+    public static final String MSG_BODY_COMPRESSION_STARTED = "已开始压缩存量文章正文";
 
     /**
      * 删除成功
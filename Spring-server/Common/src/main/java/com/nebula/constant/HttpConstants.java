@@ -29,6 +29,11 @@ public final class HttpConstants {
      */
     public static final int NOT_FOUND = 404;
 
+    /**
+     * HTTP 409 资源冲突
+     */
+    public static final int CONFLICT = 409;
+
     /**
      * HTTP 500 服务器内部错误
      */
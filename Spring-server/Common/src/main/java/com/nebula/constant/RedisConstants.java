@@ -38,4 +38,131 @@ public final class RedisConstants {
      * 每日访问量 Redis Key 前缀
      */
     public static final String VISIT_DAILY = PREFIX + "visit:daily:";
+
+    /**
+     * 文章详情缓存 Redis Key 前缀
+     */
+    public static final String ARTICLE_DETAIL = PREFIX + "article:detail:";
+
+    /**
+     * 文章预压缩正文 Redis Key 前缀（文章ID:内容版本:编码）
+     */
+    public static final String ARTICLE_BODY = PREFIX + "article:body:";
+
+    /**
+     * 文章点赞用户集合 Redis Key 前缀（文章ID -> 用户ID SET）
+     */
+    public static final String ARTICLE_LIKE_MEMBERS = PREFIX + "article:like:members:";
+
+    /**
+     * 文章收藏用户集合 Redis Key 前缀（文章ID -> 用户ID SET）
+     */
+    public static final String ARTICLE_COLLECT_MEMBERS = PREFIX + "article:collect:members:";
+
+    /**
+     * 文章点赞关系版本号 Redis Key 前缀（每次切换递增，用于丢弃加载期间发生过切换的数据库快照）
+     */
+    public static final String ARTICLE_LIKE_VERSION = PREFIX + "article:like:version:";
+
+    /**
+     * 文章收藏关系版本号 Redis Key 前缀（每次切换递增，用于丢弃加载期间发生过切换的数据库快照）
+     */
+    public static final String ARTICLE_COLLECT_VERSION = PREFIX + "article:collect:version:";
+
+    /**
+     * 文章点赞/收藏变更待落库队列 Stream Key
+     */
+    public static final String ARTICLE_INTERACTION_STREAM = PREFIX + "article:interaction:stream";
+
+    /**
+     * 文章点赞/收藏待落库计数增量 Hash Key（关系类型:文章ID -> 增量）
+     */
+    public static final String ARTICLE_INTERACTION_PENDING = PREFIX + "article:interaction:pending";
+
+    /**
+     * 文章点赞/收藏最后一次切换的消息 Hash Key（关系类型:文章ID:用户ID -> 消息ID，落库确认后删除）
+     */
+    public static final String ARTICLE_INTERACTION_LATEST = PREFIX + "article:interaction:latest";
+
+    /**
+     * 文章待落库浏览量增量 Hash Key
+     */
+    public static final String ARTICLE_VIEW_PENDING = PREFIX + "article:view:pending";
+
+    /**
+     * 文章浏览量落库中增量 Hash Key 前缀（按实例区分）
+     */
+    public static final String ARTICLE_VIEW_FLUSHING = PREFIX + "article:view:flushing:";
+
+    /**
+     * 文章浏览量落库实例 ZSET Key（成员为实例标识，分数为最近一次落库时间戳）
+     */
+    public static final String ARTICLE_VIEW_FLUSHING_NODES = PREFIX + "article:view:flushing-nodes";
+
+    /**
+     * 热门文章排行 ZSET Key
+     */
+    public static final String ARTICLE_HOT_RANK = PREFIX + "article:hot:rank";
+
+    /**
+     * 热门文章时间衰减因子 Hash Key（文章ID -> 当前衰减因子）
+     */
+    public static final String ARTICLE_HOT_DECAY = PREFIX + "article:hot:decay";
+
+    /**
+     * 热门文章排行重算锁 Key
+     */
+    public static final String ARTICLE_HOT_REBUILD_LOCK = PREFIX + "article:hot:rebuild-lock";
+
+    /**
+     * 文章草稿缓冲 Hash Key 前缀（文章ID）
+     */
+    public static final String ARTICLE_DRAFT = PREFIX + "article:draft:";
+
+    /**
+     * 存在未写入修改的草稿 ZSET Key（成员：文章ID，分数：最后编辑时间毫秒）
+     */
+    public static final String ARTICLE_DRAFT_DIRTY = PREFIX + "article:draft-dirty";
+
+    /**
+     * 计数校准任务锁 Key
+     */
+    public static final String COUNTER_RECONCILE_LOCK = PREFIX + "task:counter-reconcile-lock";
+
+    /**
+     * 公开资源版本戳 Hash（字段：资源范围，值：最后变更时间毫秒）
+     */
+    public static final String RESOURCE_VERSION = PREFIX + "resource:version";
+
+    /**
+     * 文章级资源版本戳 Hash（字段：文章ID，值：最后变更时间毫秒）
+     */
+    public static final String RESOURCE_VERSION_ARTICLE = PREFIX + "resource:version:article";
+
+    // ==================== 发布/订阅频道 ====================
+
+    /**
+     * 文章详情本地缓存失效广播频道
+     */
+    public static final String CHANNEL_ARTICLE_DETAIL_EVICT = PREFIX + "channel:article-detail-evict";
+
+    /**
+     * 引用数据（分类/标签/用户）变更广播频道
+     */
+    public static final String CHANNEL_REFERENCE_DATA_CHANGED = PREFIX + "channel:reference-data-changed";
+
+    /**
+     * 文章全文索引更新广播频道
+     */
+    public static final String CHANNEL_ARTICLE_SEARCH_INDEX = PREFIX + "channel:article-search-index";
+
+    /**
+     * 文章标签/分类位图索引更新广播频道
+     */
+    public static final String CHANNEL_ARTICLE_FACET_INDEX = PREFIX + "channel:article-facet-index";
+
+    /**
+     * 站点地图与订阅增量更新广播频道
+     */
+    public static final String CHANNEL_SITE_FEED = PREFIX + "channel:site-feed";
 }
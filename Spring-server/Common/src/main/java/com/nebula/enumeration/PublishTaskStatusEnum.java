@@ -0,0 +1,73 @@
+package com.nebula.enumeration;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 文章发布任务状态枚举
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/23
+ */
+@Getter
+@AllArgsConstructor
+public enum PublishTaskStatusEnum {
+
+    /**
+     * 等待处理
+     */
+    PENDING(0, "等待处理"),
+
+    /**
+     * 处理中
+     */
+    RUNNING(1, "处理中"),
+
+    /**
+     * 已完成
+     */
+    SUCCEEDED(2, "已完成"),
+
+    /**
+     * 处理失败
+     */
+    FAILED(3, "处理失败");
+
+    /**
+     * 状态码
+     */
+    private final Integer code;
+
+    /**
+     * 描述
+     */
+    private final String desc;
+
+    /**
+     * 根据状态码获取枚举
+     *
+     * @param code 状态码
+     * @return 枚举实例
+     */
+    public static PublishTaskStatusEnum fromCode(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        for (PublishTaskStatusEnum status : values()) {
+            if (status.getCode().equals(code)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断任务是否仍在进行（等待处理或处理中）
+     *
+     * @param code 状态码
+     * @return 是否进行中
+     */
+    public static boolean isInProgress(Integer code) {
+        return PENDING.getCode().equals(code) || RUNNING.getCode().equals(code);
+    }
+}
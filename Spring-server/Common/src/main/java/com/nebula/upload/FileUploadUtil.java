@@ -102,7 +102,7 @@ public class FileUploadUtil {
     }
 
     /**
-     * 将临时文件转为正式文件
+     * 将临时文件转为正式文件（可重复调用，已转正时返回相同的正式地址）
      * temp/images/banners/xxx.jpg -> images/banners/xxx.jpg
      *
      * @param tempUrl 临时文件URL
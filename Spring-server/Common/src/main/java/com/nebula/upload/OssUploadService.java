@@ -3,6 +3,8 @@ package com.nebula.upload;
 import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
 import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSErrorCode;
+import com.aliyun.oss.OSSException;
 import com.aliyun.oss.model.CopyObjectResult;
 import com.aliyun.oss.model.ListObjectsRequest;
 import com.aliyun.oss.model.ObjectListing;
@@ -189,6 +191,8 @@ public class OssUploadService {
 
     /**
      * 在 OSS 中移动文件（复制后删除源文件）
+     * <p>
+     * 可重复调用：源文件已不存在而目标文件存在时视为此前已移动完成，直接返回目标 URL
      *
      * @param sourceUrl 源文件 URL
      * @param targetPath 目标目录（不含文件名）
@@ -205,7 +209,17 @@ public class OssUploadService {
                     ? fileName
                     : StrUtil.removeSuffix(targetPath, "/") + "/" + fileName;
 
-            CopyObjectResult copyResult = ossClient.copyObject(bucketName, sourceObjectName, bucketName, targetObjectName);
+            CopyObjectResult copyResult;
+            try {
+                copyResult = ossClient.copyObject(bucketName, sourceObjectName, bucketName, targetObjectName);
+            } catch (OSSException copyEx) {
+                if (OSSErrorCode.NO_SUCH_KEY.equals(copyEx.getErrorCode())
+                        && ossClient.doesObjectExist(bucketName, targetObjectName)) {
+                    log.info("源文件不存在且目标文件已存在，视为已移动: {} -> {}", sourceObjectName, targetObjectName);
+                    return buildUrl(targetObjectName);
+                }
+                throw copyEx;
+            }
             if (copyResult == null || StrUtil.isBlank(copyResult.getETag())) {
                 throw new BusinessException("文件复制到目标位置失败");
             }
@@ -0,0 +1,72 @@
+package com.nebula.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 文章草稿增量保存DTO
+ * <p>
+ * 编辑列表按顺序应用，每一项的位置均相对于应用前一项之后的正文；位置与长度以 UTF-16 码元计（与前端字符串下标一致）
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/28
+ */
+@Data
+public class ArticleDraftPatchDTO {
+
+    /**
+     * 编辑所基于的草稿版本
+     */
+    @NotNull(message = "草稿版本不能为空")
+    @Min(value = 0, message = "草稿版本不能为负数")
+    private Long baseRevision;
+
+    /**
+     * 正文编辑列表（可为空，仅修改标题或摘要时不传）
+     */
+    @Valid
+    @Size(max = 500, message = "单次提交的编辑过多")
+    private List<Edit> edits;
+
+    /**
+     * 新标题（不修改时不传）
+     */
+    @Size(max = 200, message = "文章标题不能超过200个字符")
+    private String title;
+
+    /**
+     * 新摘要（不修改时不传）
+     */
+    @Size(max = 500, message = "文章摘要不能超过500个字符")
+    private String summary;
+
+    /**
+     * 正文编辑：从 offset 起删除 deleteCount 个字符后插入 text
+     */
+    @Data
+    public static class Edit {
+
+        /**
+         * 起始位置
+         */
+        @NotNull(message = "编辑位置不能为空")
+        @Min(value = 0, message = "编辑位置不能为负数")
+        private Integer offset;
+
+        /**
+         * 删除长度
+         */
+        @Min(value = 0, message = "删除长度不能为负数")
+        private Integer deleteCount = 0;
+
+        /**
+         * 插入内容
+         */
+        private String text;
+    }
+}
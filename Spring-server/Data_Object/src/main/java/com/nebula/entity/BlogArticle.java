@@ -1,6 +1,7 @@
 package com.nebula.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.nebula.handler.CompressedTextTypeHandler;
 import lombok.Data;
 
 import java.io.Serial;
@@ -14,7 +15,7 @@ import java.time.LocalDateTime;
  * @date 2026/1/22
  */
 @Data
-@TableName("blog_article")
+@TableName(value = "blog_article", autoResultMap = true)
 public class BlogArticle implements Serializable {
 
     @Serial
@@ -53,13 +54,15 @@ public class BlogArticle implements Serializable {
     private String coverImage;
 
     /**
-     * 文章内容(Markdown)
+     * 文章内容(Markdown，可压缩存储)
      */
+    @TableField(typeHandler = CompressedTextTypeHandler.class)
     private String content;
 
     /**
-     * HTML内容
+     * HTML内容(可压缩存储)
      */
+    @TableField(typeHandler = CompressedTextTypeHandler.class)
     private String htmlContent;
 
     /**
@@ -0,0 +1,82 @@
+package com.nebula.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文章发布任务实体类
+ * <p>
+ * 每篇文章至多一条，记录待发布内容与后台发布流水线的阶段、状态
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/23
+ */
+@Data
+@TableName("blog_article_publish_task")
+public class BlogArticlePublishTask implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文章ID
+     */
+    @TableId(value = "article_id", type = IdType.INPUT)
+    private Long articleId;
+
+    /**
+     * 变更类型 PUBLISHED-新发布 UPDATED-更新
+     */
+    private String changeType;
+
+    /**
+     * 完成后的草稿状态 0-发布 1-草稿
+     */
+    private Integer targetDraft;
+
+    /**
+     * 待发布内容（文章参数 JSON，素材转正后回写正式地址）
+     */
+    private String payload;
+
+    /**
+     * 渲染后的HTML内容
+     */
+    private String htmlContent;
+
+    /**
+     * 下一个待执行阶段
+     */
+    private String stage;
+
+    /**
+     * 状态 0-等待处理 1-处理中 2-已完成 3-处理失败
+     */
+    private Integer status;
+
+    /**
+     * 已尝试次数（同时作为执行权令牌）
+     */
+    private Integer attempts;
+
+    /**
+     * 最近一次失败原因
+     */
+    private String lastError;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+}
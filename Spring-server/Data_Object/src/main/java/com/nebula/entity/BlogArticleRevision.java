@@ -0,0 +1,76 @@
+package com.nebula.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文章版本实体类
+ * <p>
+ * 正文按版本链存储：快照版本保存压缩后的完整正文，其余版本保存相对上一版本的压缩增量
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/29
+ */
+@Data
+@TableName("blog_article_revision")
+public class BlogArticleRevision implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 版本号（每篇文章从1递增）
+     */
+    private Integer revision;
+
+    /**
+     * 重建所需的完整快照版本号（等于版本号时本版本即为快照）
+     */
+    private Integer snapshotRevision;
+
+    /**
+     * 文章标题
+     */
+    private String title;
+
+    /**
+     * 文章摘要
+     */
+    private String summary;
+
+    /**
+     * 压缩后的正文（快照为完整正文，否则为相对上一版本的增量）
+     */
+    private byte[] contentData;
+
+    /**
+     * 正文长度（字符数）
+     */
+    private Integer contentLength;
+
+    /**
+     * 正文SHA-256
+     */
+    private String contentHash;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,191 @@
+package com.nebula.handler;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 压缩文本类型处理器
+ * <p>
+ * 写入：启用压缩且文本不小于阈值时写入 "魔数 + deflate 压缩的 UTF-8"，压缩无收益或未启用时按普通字符串写入；
+ * 读取：以魔数开头的按压缩格式解码，否则按 UTF-8 文本读取（兼容未迁移的旧数据与 LONGTEXT 字段）。
+ * 压缩数据只能写入二进制字段（LONGBLOB），因此压缩开关由启动时检查字段类型的组件设置。
+ * 应用中使用注册到 MyBatis TypeHandlerRegistry 的配置实例，所有按类名引用本处理器的映射共享该实例
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/30
+ */
+@MappedTypes(String.class)
+@MappedJdbcTypes(JdbcType.LONGVARBINARY)
+public class CompressedTextTypeHandler extends BaseTypeHandler<String> {
+
+    /**
+     * 压缩格式魔数（首字节 0x00 不会出现在正常文本开头）
+     */
+    private static final byte[] MAGIC = {0x00, 'N', 'Z', 0x01};
+
+    /**
+     * 默认压缩阈值（字节）
+     */
+    private static final int DEFAULT_MIN_BYTES = 512;
+
+    /**
+     * 小于该字节数的文本不压缩
+     */
+    private final int minBytes;
+
+    private volatile boolean compressionEnabled;
+
+    /**
+     * 构造未开启写入压缩的处理器（未注册配置实例时由 MyBatis 反射创建）
+     */
+    public CompressedTextTypeHandler() {
+        this(DEFAULT_MIN_BYTES);
+    }
+
+    /**
+     * 构造压缩文本类型处理器（初始不压缩，由 {@link #setCompressionEnabled(boolean)} 开启）
+     *
+     * @param minBytes 小于该字节数的文本不压缩
+     */
+    public CompressedTextTypeHandler(int minBytes) {
+        this.minBytes = Math.max(0, minBytes);
+    }
+
+    /**
+     * 设置写入时是否压缩
+     *
+     * @param enabled 是否压缩
+     */
+    public void setCompressionEnabled(boolean enabled) {
+        this.compressionEnabled = enabled;
+    }
+
+    /**
+     * 写入时是否压缩
+     *
+     * @return 是否压缩
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * 获取压缩阈值
+     *
+     * @return 小于该字节数的文本不压缩
+     */
+    public int getMinBytes() {
+        return minBytes;
+    }
+
+    /**
+     * 字段原始字节是否为压缩格式
+     *
+     * @param data 字段原始字节
+     * @return 是否已压缩
+     */
+    public static boolean isCompressed(byte[] data) {
+        return data != null && data.length >= MAGIC.length
+                && Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    /**
+     * 解码字段原始字节
+     *
+     * @param data 字段原始字节
+     * @return 文本
+     * @throws SQLException 压缩数据损坏
+     */
+    public static String decode(byte[] data) throws SQLException {
+        if (data == null) {
+            return null;
+        }
+        if (!isCompressed(data)) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, MAGIC.length, data.length - MAGIC.length);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SQLException("压缩文本数据不完整");
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new SQLException("压缩文本数据损坏", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType)
+            throws SQLException {
+        byte[] compressed = compressionEnabled ? compress(parameter) : null;
+        if (compressed != null) {
+            ps.setBytes(i, compressed);
+        } else {
+            ps.setString(i, parameter);
+        }
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return decode(rs.getBytes(columnName));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return decode(rs.getBytes(columnIndex));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return decode(cs.getBytes(columnIndex));
+    }
+
+    /**
+     * 压缩文本，低于阈值或压缩后不更小时返回 null
+     */
+    private byte[] compress(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < minBytes) {
+            return null;
+        }
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(raw.length / 4 + MAGIC.length);
+            output.writeBytes(MAGIC);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+                if (output.size() >= raw.length) {
+                    return null;
+                }
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -90,6 +90,16 @@ public class ArticleListVO {
      */
     private Integer collectCount;
 
+    /**
+     * 当前用户是否已点赞
+     */
+    private Boolean isLiked;
+
+    /**
+     * 当前用户是否已收藏
+     */
+    private Boolean isCollected;
+
     /**
      * 标签列表
      */
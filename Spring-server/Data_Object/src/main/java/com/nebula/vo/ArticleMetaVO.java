@@ -0,0 +1,40 @@
+package com.nebula.vo;
+
+import lombok.Data;
+
+/**
+ * 文章详情关联元数据VO
+ * <p>
+ * 文章与作者、分类、标签联表查询的结果行，每个标签一行（无标签时一行且标签字段为空）
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/14
+ */
+@Data
+public class ArticleMetaVO {
+
+    /**
+     * 作者昵称
+     */
+    private String authorNickname;
+
+    /**
+     * 作者头像
+     */
+    private String authorAvatar;
+
+    /**
+     * 分类名称
+     */
+    private String categoryName;
+
+    /**
+     * 标签ID
+     */
+    private Long tagId;
+
+    /**
+     * 标签名称
+     */
+    private String tagName;
+}
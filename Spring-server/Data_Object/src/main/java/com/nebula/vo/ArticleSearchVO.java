@@ -0,0 +1,33 @@
+package com.nebula.vo;
+
+import lombok.Data;
+
+/**
+ * 文章搜索结果VO
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/21
+ */
+@Data
+public class ArticleSearchVO {
+
+    /**
+     * 文章信息
+     */
+    private ArticleListVO article;
+
+    /**
+     * 高亮标题（已 HTML 转义，命中词以 em 标签包裹）
+     */
+    private String highlightTitle;
+
+    /**
+     * 高亮摘要片段（已 HTML 转义，命中词以 em 标签包裹）
+     */
+    private String highlightSnippet;
+
+    /**
+     * 相关度评分（降级为数据库查询时为 null）
+     */
+    private Float score;
+}
@@ -0,0 +1,32 @@
+package com.nebula.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 计数偏差VO（计数校准任务使用）
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterDriftVO {
+
+    /**
+     * 记录ID
+     */
+    private Long id;
+
+    /**
+     * 读取时的计数值（校准时仍为该值才更新）
+     */
+    private Integer expected;
+
+    /**
+     * 按关联表统计的实际值
+     */
+    private Integer actual;
+}
@@ -0,0 +1,32 @@
+package com.nebula.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页结果VO
+ * <p>
+ * 不返回总数；客户端携带 nextCursor 请求下一页，hasMore 为 false 时表示已到末尾
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/12
+ */
+@Data
+public class CursorPageVO<T> {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> records;
+
+    /**
+     * 下一页游标（无更多数据时为 null）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private Boolean hasMore;
+}
@@ -0,0 +1,23 @@
+package com.nebula.vo;
+
+import lombok.Data;
+
+/**
+ * 用户文章交互状态VO
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/14
+ */
+@Data
+public class InteractionStatusVO {
+
+    /**
+     * 是否已点赞
+     */
+    private Boolean liked;
+
+    /**
+     * 是否已收藏
+     */
+    private Boolean collected;
+}
@@ -0,0 +1,55 @@
+package com.nebula.vo.admin;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章草稿缓冲VO（管理端）
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/28
+ */
+@Data
+public class ArticleDraftVO {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 当前草稿版本（下次增量保存的基准版本）
+     */
+    private Long revision;
+
+    /**
+     * 最近一次写入文章的草稿版本
+     */
+    private Long savedRevision;
+
+    /**
+     * 是否有尚未写入文章的修改
+     */
+    private Boolean dirty;
+
+    /**
+     * 标题
+     */
+    private String title;
+
+    /**
+     * 摘要
+     */
+    private String summary;
+
+    /**
+     * 正文 Markdown（增量保存的响应中不返回）
+     */
+    private String content;
+
+    /**
+     * 最后编辑时间
+     */
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,37 @@
+package com.nebula.vo.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 文章导入单文件结果VO
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/24
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleImportItemVO {
+
+    /**
+     * 归档内文件路径
+     */
+    private String fileName;
+
+    /**
+     * 是否导入成功
+     */
+    private Boolean success;
+
+    /**
+     * 新文章ID（失败时为空）
+     */
+    private Long articleId;
+
+    /**
+     * 失败原因（成功时为空）
+     */
+    private String message;
+}
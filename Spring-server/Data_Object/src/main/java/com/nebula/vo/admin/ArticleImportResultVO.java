@@ -0,0 +1,41 @@
+package com.nebula.vo.admin;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文章批量导入结果VO
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/24
+ */
+@Data
+public class ArticleImportResultVO {
+
+    /**
+     * 处理的 Markdown 文件数
+     */
+    private Integer total = 0;
+
+    /**
+     * 导入成功数
+     */
+    private Integer succeeded = 0;
+
+    /**
+     * 导入失败数
+     */
+    private Integer failed = 0;
+
+    /**
+     * 归档读取中断原因（为空表示归档已完整读取）
+     */
+    private String error;
+
+    /**
+     * 逐文件结果（按归档内顺序）
+     */
+    private List<ArticleImportItemVO> items = new ArrayList<>();
+}
@@ -0,0 +1,50 @@
+package com.nebula.vo.admin;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章发布状态VO（管理端）
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/23
+ */
+@Data
+public class ArticlePublishStatusVO {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 状态 0-等待处理 1-处理中 2-已完成 3-处理失败
+     */
+    private Integer status;
+
+    /**
+     * 下一个待执行阶段（已完成时为空）
+     */
+    private String stage;
+
+    /**
+     * 已尝试次数
+     */
+    private Integer attempts;
+
+    /**
+     * 最近一次失败原因
+     */
+    private String lastError;
+
+    /**
+     * 提交时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 最后更新时间
+     */
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,53 @@
+package com.nebula.vo.admin;
+
+import lombok.Data;
+
+/**
+ * 文章版本对比VO（管理端）
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/29
+ */
+@Data
+public class ArticleRevisionDiffVO {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 原版本号
+     */
+    private Integer fromRevision;
+
+    /**
+     * 目标版本号
+     */
+    private Integer toRevision;
+
+    /**
+     * 标题是否变化
+     */
+    private Boolean titleChanged;
+
+    /**
+     * 摘要是否变化
+     */
+    private Boolean summaryChanged;
+
+    /**
+     * 新增行数
+     */
+    private Integer addedLines;
+
+    /**
+     * 删除行数
+     */
+    private Integer removedLines;
+
+    /**
+     * 正文差异（unified diff 格式）
+     */
+    private String diff;
+}
@@ -0,0 +1,55 @@
+package com.nebula.vo.admin;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章版本VO（管理端）
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/29
+ */
+@Data
+public class ArticleRevisionVO {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 版本号
+     */
+    private Integer revision;
+
+    /**
+     * 是否为完整快照
+     */
+    private Boolean snapshot;
+
+    /**
+     * 文章标题
+     */
+    private String title;
+
+    /**
+     * 文章摘要
+     */
+    private String summary;
+
+    /**
+     * 正文（Markdown，版本列表中为空）
+     */
+    private String content;
+
+    /**
+     * 正文长度（字符数）
+     */
+    private Integer contentLength;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+}
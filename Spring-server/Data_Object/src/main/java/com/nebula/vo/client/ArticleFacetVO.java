@@ -0,0 +1,30 @@
+package com.nebula.vo.client;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 文章分面统计VO（客户端）
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/22
+ */
+@Data
+public class ArticleFacetVO {
+
+    /**
+     * 满足当前筛选条件的已发布文章总数
+     */
+    private Long total;
+
+    /**
+     * 各标签在当前筛选结果中的文章数（按数量降序，不含为 0 的标签）
+     */
+    private List<FacetCountVO> tags;
+
+    /**
+     * 各分类在当前筛选结果中的文章数（按数量降序，不含为 0 的分类）
+     */
+    private List<FacetCountVO> categories;
+}
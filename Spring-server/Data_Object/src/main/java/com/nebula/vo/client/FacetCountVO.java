@@ -0,0 +1,32 @@
+package com.nebula.vo.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 分面计数VO（客户端）
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/22
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountVO {
+
+    /**
+     * 标签/分类ID
+     */
+    private Long id;
+
+    /**
+     * 标签/分类名称
+     */
+    private String name;
+
+    /**
+     * 满足当前筛选条件的文章数
+     */
+    private Long count;
+}
@@ -0,0 +1,50 @@
+package com.nebula.config;
+
+import com.nebula.properties.ArticleCacheProperties;
+import com.nebula.properties.ArticleDraftProperties;
+import com.nebula.properties.ArticleFacetProperties;
+import com.nebula.properties.ArticleImportProperties;
+import com.nebula.properties.ArticleInteractionCacheProperties;
+import com.nebula.properties.ArticleInteractionQueueProperties;
+import com.nebula.properties.ArticlePublishProperties;
+import com.nebula.properties.ArticleRevisionProperties;
+import com.nebula.properties.ArticleSearchProperties;
+import com.nebula.properties.ArticleStaticProperties;
+import com.nebula.properties.ArticleStorageProperties;
+import com.nebula.properties.ArticleViewCounterProperties;
+import com.nebula.properties.ConditionalGetProperties;
+import com.nebula.properties.CounterReconcileProperties;
+import com.nebula.properties.HotArticleProperties;
+import com.nebula.properties.ReferenceDataProperties;
+import com.nebula.properties.SiteFeedProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 应用业务配置属性注册类
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/10
+ */
+@Configuration
+@EnableConfigurationProperties({
+        ArticleCacheProperties.class,
+        ArticleDraftProperties.class,
+        ArticleFacetProperties.class,
+        ArticleImportProperties.class,
+        ArticleInteractionCacheProperties.class,
+        ArticleInteractionQueueProperties.class,
+        ArticlePublishProperties.class,
+        ArticleRevisionProperties.class,
+        ArticleSearchProperties.class,
+        ArticleStaticProperties.class,
+        ArticleStorageProperties.class,
+        ArticleViewCounterProperties.class,
+        ConditionalGetProperties.class,
+        CounterReconcileProperties.class,
+        HotArticleProperties.class,
+        ReferenceDataProperties.class,
+        SiteFeedProperties.class
+})
+public class AppPropertiesConfiguration {
+}
@@ -1,10 +1,14 @@
 package com.nebula.config;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.autoconfigure.ConfigurationCustomizer;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.nebula.handler.CompressedTextTypeHandler;
+import com.nebula.properties.ArticleStorageProperties;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.type.JdbcType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,6 +34,24 @@ public class MyBatisPlusConfig {
         return interceptor;
     }
 
+    /**
+     * 正文压缩类型处理器（写入压缩开关由 ArticleBodyCompression 检查字段类型后设置）
+     */
+    @Bean
+    public CompressedTextTypeHandler compressedTextTypeHandler(ArticleStorageProperties storageProperties) {
+        return new CompressedTextTypeHandler(
+                (int) Math.min(Integer.MAX_VALUE, storageProperties.getCompressMinSize().toBytes()));
+    }
+
+    /**
+     * 注册配置好的类型处理器实例，实体字段与 SQL 中按类名引用的映射均使用该实例
+     */
+    @Bean
+    public ConfigurationCustomizer typeHandlerCustomizer(CompressedTextTypeHandler compressedTextTypeHandler) {
+        return configuration -> configuration.getTypeHandlerRegistry()
+                .register(String.class, JdbcType.LONGVARBINARY, compressedTextTypeHandler);
+    }
+
     /**
      * 自动填充处理器
      */
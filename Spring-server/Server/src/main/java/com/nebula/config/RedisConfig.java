@@ -0,0 +1,28 @@
+package com.nebula.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis 配置类
+ * <p>
+ * 提供发布/订阅所需的消息监听容器，用于多实例间的缓存失效广播
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/10
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Redis 消息监听容器
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -42,9 +42,14 @@ public class SaTokenConfig implements WebMvcConfigurer {
 
             // 文章模块
             "/article/list",
+            "/article/feed",
+            "/article/search",
+            "/article/facets",
             "/article/detail/*",
+            "/article/body/*",
             "/article/hot",
             "/article/recommend",
+            "/article/batch",
 
             // 轮播图模块
             "/banner/list",
@@ -89,6 +94,9 @@ public class SaTokenConfig implements WebMvcConfigurer {
             /* SEO 相关 */
             "/robots.txt",           // 搜索引擎爬虫规则
             "/sitemap.xml",          // 网站地图
+            "/sitemap-*.xml",        // 网站地图分片
+            "/rss.xml",              // RSS 订阅
+            "/atom.xml",             // Atom 订阅
 
             /* WebSocket */
             "/ws/**",                // WebSocket 端点
@@ -6,17 +6,27 @@ import com.nebula.constant.ArticleConstants;
 import com.nebula.constant.CommonConstants;
 import com.nebula.controller.config.AdminController;
 import com.nebula.dto.ArticleDTO;
+import com.nebula.dto.ArticleDraftPatchDTO;
 import com.nebula.properties.UploadProperties;
 import com.nebula.result.Result;
 import com.nebula.service.article.BlogArticleService;
 import com.nebula.upload.FileUploadUtil;
 import com.nebula.vo.ArticleListVO;
 import com.nebula.vo.ArticleVO;
+import com.nebula.vo.admin.ArticleDraftVO;
+import com.nebula.vo.admin.ArticleImportResultVO;
+import com.nebula.vo.admin.ArticlePublishStatusVO;
+import com.nebula.vo.admin.ArticleRevisionDiffVO;
+import com.nebula.vo.admin.ArticleRevisionVO;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -25,6 +35,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
 /**
  * 文章管理控制器
  *
@@ -36,6 +51,11 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 public class AdminArticleController {
 
+    /**
+     * 导出文件名时间格式
+     */
+    private static final DateTimeFormatter EXPORT_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
     private final BlogArticleService articleService;
     private final FileUploadUtil fileUploadUtil;
     private final UploadRateLimiter uploadRateLimiter;
@@ -124,6 +144,168 @@ public class AdminArticleController {
         return Result.success(ArticleConstants.MSG_UPDATE_SUCCESS);
     }
 
+    /**
+     * 查询文章发布状态
+     *
+     * @param id 文章 ID
+     * @return 发布状态
+     */
+    @GetMapping("/publish/status/{id}")
+    public Result<ArticlePublishStatusVO> getPublishStatus(@PathVariable Long id) {
+        return Result.success(articleService.getPublishStatus(id));
+    }
+
+    /**
+     * 重试失败的文章发布任务
+     *
+     * @param id 文章 ID
+     * @return 操作结果
+     */
+    @PostMapping("/publish/retry/{id}")
+    public Result<String> retryPublish(@PathVariable Long id) {
+        articleService.retryPublish(id);
+        return Result.success(ArticleConstants.MSG_PUBLISH_RETRY_SUCCESS);
+    }
+
+    /**
+     * 获取文章编辑草稿（含正文与版本号，编辑器据此开始增量编辑）
+     *
+     * @param id 文章 ID
+     * @return 草稿
+     */
+    @GetMapping("/draft/{id}")
+    public Result<ArticleDraftVO> getDraft(@PathVariable Long id) {
+        return Result.success(articleService.getDraft(id));
+    }
+
+    /**
+     * 自动保存增量编辑
+     * 基准版本已过期时返回 409，编辑器需重新获取草稿
+     *
+     * @param id    文章 ID
+     * @param patch 增量编辑
+     * @return 新版本信息
+     */
+    @PatchMapping("/draft/{id}")
+    public Result<ArticleDraftVO> patchDraft(@PathVariable Long id, @Validated @RequestBody ArticleDraftPatchDTO patch) {
+        return Result.success(articleService.patchDraft(id, patch));
+    }
+
+    /**
+     * 保存文章编辑草稿（提交后台发布，可通过发布状态接口查询进度）
+     *
+     * @param id 文章 ID
+     * @return 操作结果
+     */
+    @PostMapping("/draft/{id}/save")
+    public Result<String> saveDraft(@PathVariable Long id) {
+        articleService.saveDraft(id);
+        return Result.success(ArticleConstants.MSG_DRAFT_SAVE_SUCCESS);
+    }
+
+    /**
+     * 查询文章版本列表（不含正文）
+     *
+     * @param id 文章 ID
+     * @return 版本列表
+     */
+    @GetMapping("/revision/{id}")
+    public Result<List<ArticleRevisionVO>> listRevisions(@PathVariable Long id) {
+        return Result.success(articleService.listRevisions(id));
+    }
+
+    /**
+     * 获取文章指定版本（含正文）
+     *
+     * @param id       文章 ID
+     * @param revision 版本号
+     * @return 版本
+     */
+    @GetMapping("/revision/{id}/{revision}")
+    public Result<ArticleRevisionVO> getRevision(@PathVariable Long id, @PathVariable Integer revision) {
+        return Result.success(articleService.getRevision(id, revision));
+    }
+
+    /**
+     * 对比文章两个版本
+     *
+     * @param id   文章 ID
+     * @param from 原版本号
+     * @param to   目标版本号
+     * @return 差异（unified diff）
+     */
+    @GetMapping("/revision/{id}/diff")
+    public Result<ArticleRevisionDiffVO> diffRevisions(@PathVariable Long id,
+                                                       @RequestParam Integer from,
+                                                       @RequestParam Integer to) {
+        return Result.success(articleService.diffRevisions(id, from, to));
+    }
+
+    /**
+     * 将文章恢复到指定版本（提交后台发布，恢复结果记录为新版本）
+     *
+     * @param id       文章 ID
+     * @param revision 版本号
+     * @return 操作结果
+     */
+    @PostMapping("/revision/{id}/{revision}/restore")
+    public Result<String> restoreRevision(@PathVariable Long id, @PathVariable Integer revision) {
+        articleService.restoreRevision(id, revision);
+        return Result.success(ArticleConstants.MSG_REVISION_RESTORE_SUCCESS);
+    }
+
+    /**
+     * 从 Markdown 归档批量导入文章
+     * 请求体直接为归档内容（zip、tar 或 tar.gz），服务端边接收边解析，不落盘
+     *
+     * @param request HTTP 请求
+     * @return 导入结果
+     * @throws IOException 读取请求体失败
+     */
+    @PostMapping(value = "/import", consumes = {"application/zip", "application/x-tar", "application/gzip",
+            "application/x-gzip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Result<ArticleImportResultVO> importArticles(HttpServletRequest request) throws IOException {
+        uploadRateLimiter.checkLimit(request);
+        return Result.success(articleService.importArticles(request.getInputStream()));
+    }
+
+    /**
+     * 导出全部文章与评论
+     * zip 直接写入响应流，不在服务端缓存
+     *
+     * @param response HTTP 响应
+     * @throws IOException 写出失败
+     */
+    @GetMapping("/export")
+    public void exportArticles(HttpServletResponse response) throws IOException {
+        String fileName = "nebula-blog-export-" + LocalDateTime.now().format(EXPORT_TIME_FORMAT) + ".zip";
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        articleService.exportArticles(response.getOutputStream());
+    }
+
+    /**
+     * 全量重建文章静态页面（异步执行）
+     *
+     * @return 操作结果
+     */
+    @PostMapping("/static/rebuild")
+    public Result<String> rebuildStaticPages() {
+        articleService.rebuildStaticPages();
+        return Result.success(ArticleConstants.MSG_STATIC_REBUILD_STARTED);
+    }
+
+    /**
+     * 压缩存量文章正文（异步分批执行，需已启用正文压缩存储）
+     *
+     * @return 操作结果
+     */
+    @PostMapping("/storage/compress")
+    public Result<String> compressArticleBodies() {
+        articleService.compressArticleBodies();
+        return Result.success(ArticleConstants.MSG_BODY_COMPRESSION_STARTED);
+    }
+
     /**
      * 删除文章
      *
@@ -135,4 +317,14 @@ public class AdminArticleController {
         articleService.deleteArticle(id);
         return Result.success(ArticleConstants.MSG_DELETE_SUCCESS);
     }
+
+    /**
+     * 全量重建文章全文索引
+     *
+     * @return 本实例已索引文章数（-1 表示索引不可用或重建失败）
+     */
+    @PostMapping("/search/rebuild")
+    public Result<Integer> rebuildSearchIndex() {
+        return Result.success(articleService.rebuildSearchIndex());
+    }
 }
@@ -7,11 +7,20 @@ import com.nebula.constant.CommonConstants;
 import com.nebula.controller.config.ClientController;
 import com.nebula.result.Result;
 import com.nebula.service.article.BlogArticleService;
+import com.nebula.service.article.cache.ArticleBodyCache;
+import com.nebula.service.article.facet.ArticleFacetIndex;
 import com.nebula.vo.ArticleListVO;
+import com.nebula.vo.ArticleSearchVO;
 import com.nebula.vo.ArticleVO;
+import com.nebula.vo.CursorPageVO;
+import com.nebula.vo.client.ArticleFacetVO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -40,6 +49,9 @@ public class ClientArticleController {
      * @param categoryName 分类名称（可选，模糊搜索）
      * @param tagId        标签ID（可选，精确匹配）
      * @param tagName      标签名称（可选，模糊搜索）
+     * @param allTagIds    必须同时包含的标签ID（可选）
+     * @param anyTagIds    至少包含其一的标签ID（可选）
+     * @param excludeTagIds 不得包含的标签ID（可选）
      * @return 文章分页列表
      */
     @GetMapping("/list")
@@ -51,9 +63,85 @@ public class ClientArticleController {
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) String categoryName,
             @RequestParam(required = false) Long tagId,
-            @RequestParam(required = false) String tagName) {
+            @RequestParam(required = false) String tagName,
+            @RequestParam(required = false) List<Long> allTagIds,
+            @RequestParam(required = false) List<Long> anyTagIds,
+            @RequestParam(required = false) List<Long> excludeTagIds) {
         Page<ArticleListVO> page = articleService.getClientArticleList(
-                current, size, authorName, title, categoryId, categoryName, tagId, tagName);
+                current, size, authorName, title, categoryId, categoryName, tagId, tagName,
+                new ArticleFacetIndex.TagFilter(allTagIds, anyTagIds, excludeTagIds));
+        return Result.success(page);
+    }
+
+    /**
+     * 游标分页查询文章流（仅已发布文章，适用于无限滚动，不返回总数）
+     *
+     * @param cursor       游标（可选，首次请求不传，后续传入上一页的 nextCursor）
+     * @param size         每页大小
+     * @param authorName   作者名称（可选，模糊搜索）
+     * @param title        文章标题（可选，模糊搜索）
+     * @param categoryId   分类ID（可选，精确匹配）
+     * @param categoryName 分类名称（可选，模糊搜索）
+     * @param tagId        标签ID（可选，精确匹配）
+     * @param tagName      标签名称（可选，模糊搜索）
+     * @param allTagIds    必须同时包含的标签ID（可选）
+     * @param anyTagIds    至少包含其一的标签ID（可选）
+     * @param excludeTagIds 不得包含的标签ID（可选）
+     * @return 文章游标分页结果
+     */
+    @GetMapping("/feed")
+    public Result<CursorPageVO<ArticleListVO>> getClientArticleFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CommonConstants.DEFAULT_PAGE_SIZE) Integer size,
+            @RequestParam(required = false) String authorName,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String categoryName,
+            @RequestParam(required = false) Long tagId,
+            @RequestParam(required = false) String tagName,
+            @RequestParam(required = false) List<Long> allTagIds,
+            @RequestParam(required = false) List<Long> anyTagIds,
+            @RequestParam(required = false) List<Long> excludeTagIds) {
+        CursorPageVO<ArticleListVO> feed = articleService.getClientArticleFeed(
+                cursor, size, authorName, title, categoryId, categoryName, tagId, tagName,
+                new ArticleFacetIndex.TagFilter(allTagIds, anyTagIds, excludeTagIds));
+        return Result.success(feed);
+    }
+
+    /**
+     * 分面统计：在标签组合条件与分类筛选下统计文章总数及各标签、分类的文章数
+     *
+     * @param allTagIds     必须同时包含的标签ID（可选）
+     * @param anyTagIds     至少包含其一的标签ID（可选）
+     * @param excludeTagIds 不得包含的标签ID（可选）
+     * @param categoryId    分类ID（可选）
+     * @return 分面统计结果
+     */
+    @GetMapping("/facets")
+    public Result<ArticleFacetVO> getArticleFacets(
+            @RequestParam(required = false) List<Long> allTagIds,
+            @RequestParam(required = false) List<Long> anyTagIds,
+            @RequestParam(required = false) List<Long> excludeTagIds,
+            @RequestParam(required = false) Long categoryId) {
+        ArticleFacetVO facets = articleService.getClientArticleFacets(
+                new ArticleFacetIndex.TagFilter(allTagIds, anyTagIds, excludeTagIds), categoryId);
+        return Result.success(facets);
+    }
+
+    /**
+     * 全文搜索文章（标题、摘要、标签、正文，按相关度排序并返回高亮片段）
+     *
+     * @param keyword 关键词
+     * @param current 当前页
+     * @param size    每页大小
+     * @return 搜索结果分页
+     */
+    @GetMapping("/search")
+    public Result<Page<ArticleSearchVO>> searchArticles(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = CommonConstants.DEFAULT_PAGE_CURRENT) Long current,
+            @RequestParam(defaultValue = CommonConstants.DEFAULT_PAGE_SIZE) Long size) {
+        Page<ArticleSearchVO> page = articleService.searchClientArticles(keyword, current, size);
         return Result.success(page);
     }
 
@@ -67,6 +155,18 @@ public class ClientArticleController {
         return Result.success(articles);
     }
 
+    /**
+     * 按ID批量查询文章（仅已发布文章，保持请求顺序，用于前端组件一次性加载多篇文章摘要）
+     *
+     * @param ids 文章ID列表（单次最多 {@value ArticleConstants#MAX_BATCH_SIZE} 个）
+     * @return 文章列表（草稿和不存在的文章被跳过）
+     */
+    @GetMapping("/batch")
+    public Result<List<ArticleListVO>> getArticlesByIds(@RequestParam List<Long> ids) {
+        List<ArticleListVO> articles = articleService.getClientArticlesByIds(ids);
+        return Result.success(articles);
+    }
+
     /**
      * 获取推荐文章
      */
@@ -87,6 +187,24 @@ public class ClientArticleController {
         return Result.success(articleVO);
     }
 
+    /**
+     * 获取文章正文 HTML（按 Accept-Encoding 直接输出预压缩字节，不计浏览量）
+     */
+    @GetMapping("/body/{id}")
+    public ResponseEntity<byte[]> getArticleBody(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ArticleBodyCache.EncodedBody body = articleService.getClientArticleBody(id, acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .contentLength(body.content().length)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (body.encoding().getHeaderValue() != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, body.encoding().getHeaderValue());
+        }
+        return builder.body(body.content());
+    }
+
     /**
      * 点赞文章
      */
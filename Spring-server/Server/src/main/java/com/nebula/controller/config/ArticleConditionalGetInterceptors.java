@@ -0,0 +1,56 @@
+package com.nebula.controller.config;
+
+import com.nebula.properties.ConditionalGetProperties;
+import com.nebula.service.article.BlogArticleService;
+import com.nebula.service.common.version.ResourceVersionHelper;
+import com.nebula.service.common.version.ResourceVersionHelper.Scope;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 单篇文章接口的条件 GET 拦截器
+ * <p>
+ * 按路径中文章的版本校验，文章不存在或未发布时交由控制器处理；
+ * 文章服务的依赖收在本组件内，Web MVC 配置只负责注册路径
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+@Component
+public class ArticleConditionalGetInterceptors {
+
+    /**
+     * 文章详情：包含实时计数，返回 304 时仍计入浏览量（拦截器已确认文章存在且已发布）
+     */
+    @Getter
+    private final ConditionalGetInterceptor detail;
+
+    /**
+     * 文章正文：只依赖文章本身的版本
+     */
+    @Getter
+    private final ConditionalGetInterceptor body;
+
+    private final BlogArticleService articleService;
+
+    public ArticleConditionalGetInterceptors(ResourceVersionHelper versionHelper,
+                                             ConditionalGetProperties conditionalGetProperties,
+                                             BlogArticleService articleService) {
+        this.articleService = articleService;
+        this.detail = new ConditionalGetInterceptor(versionHelper, conditionalGetProperties,
+                true, articleService::isPublishedArticle, this::countArticleView, Scope.ARTICLE_REFERENCE);
+        this.body = new ConditionalGetInterceptor(versionHelper, conditionalGetProperties,
+                false, articleService::isPublishedArticle, null);
+    }
+
+    /**
+     * 文章详情命中 304 时计入浏览量
+     */
+    private void countArticleView(HttpServletRequest request) {
+        Long articleId = ConditionalGetInterceptor.pathArticleId(request);
+        if (articleId != null) {
+            articleService.incrementViewCount(articleId);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.nebula.controller.config;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.nebula.properties.ConditionalGetProperties;
+import com.nebula.service.common.version.ResourceVersionHelper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 公开接口条件 GET 拦截器
+ * <p>
+ * 在进入控制器之前根据资源版本戳生成弱 ETag 与 Last-Modified，
+ * 命中 If-None-Match / If-Modified-Since 时直接返回 304，不再执行查询与转换：
+ * <ul>
+ *     <li>匿名请求：响应可被浏览器与网关缓存（public），由版本戳校验</li>
+ *     <li>已登录请求：响应包含个人状态（是否点赞、收藏），仅设置 private, no-cache，不做校验</li>
+ *     <li>含实时计数的接口：ETag 额外包含计数分段，计数最多滞后一个分段时长</li>
+ *     <li>单篇文章接口：使用路径中文章的版本，文章不存在或未发布时不做校验，交由控制器返回错误</li>
+ * </ul>
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/20
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ResourceVersionHelper versionHelper;
+    private final ConditionalGetProperties properties;
+    private final ResourceVersionHelper.Scope[] scopes;
+    private final boolean liveCounters;
+    private final Predicate<Long> articleFilter;
+    private final Consumer<HttpServletRequest> notModifiedCallback;
+
+    /**
+     * 构造条件 GET 拦截器
+     *
+     * @param versionHelper       资源版本戳
+     * @param properties          条件 GET 配置
+     * @param liveCounters        响应是否包含实时计数
+     * @param articleFilter       单篇文章接口判断路径中的文章是否可见；为 null 时按资源范围校验
+     * @param notModifiedCallback 返回 304 时的回调（如计入浏览量），可为 null
+     * @param scopes              响应依赖的资源范围
+     */
+    public ConditionalGetInterceptor(ResourceVersionHelper versionHelper,
+                                     ConditionalGetProperties properties,
+                                     boolean liveCounters,
+                                     Predicate<Long> articleFilter,
+                                     Consumer<HttpServletRequest> notModifiedCallback,
+                                     ResourceVersionHelper.Scope... scopes) {
+        this.versionHelper = versionHelper;
+        this.properties = properties;
+        this.liveCounters = liveCounters;
+        this.articleFilter = articleFilter;
+        this.notModifiedCallback = notModifiedCallback;
+        this.scopes = scopes;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled()
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+        response.addHeader(HttpHeaders.VARY, StpUtil.getTokenName());
+        if (StpUtil.isLogin()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+            return true;
+        }
+
+        Long version;
+        if (articleFilter != null) {
+            Long articleId = pathArticleId(request);
+            if (articleId == null || !articleFilter.test(articleId)) {
+                return true;
+            }
+            version = versionHelper.getArticleVersion(articleId, scopes);
+        } else {
+            version = versionHelper.getVersion(scopes);
+        }
+        if (version == null) {
+            return true;
+        }
+        long lastModified = version;
+        String etag = Long.toString(version, 36);
+        if (liveCounters) {
+            long freshness = Math.max(1000L, properties.getCounterFreshness().toMillis());
+            long segment = System.currentTimeMillis() / freshness;
+            lastModified = Math.max(version, segment * freshness);
+            etag = etag + "-" + Long.toString(segment, 36);
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified("W/\"" + etag + "\"", lastModified)) {
+            if (notModifiedCallback != null) {
+                notModifiedCallback.accept(request);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 读取路径变量中的文章ID
+     *
+     * @param request 请求
+     * @return 文章ID；缺失或格式错误时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public static Long pathArticleId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get("id") == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(variables.get("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 匿名响应的缓存指令
+     */
+    private CacheControl cacheControl() {
+        if (properties.getMaxAge().isZero() || properties.getMaxAge().isNegative()) {
+            return CacheControl.noCache().cachePublic();
+        }
+        return CacheControl.maxAge(properties.getMaxAge()).cachePublic().mustRevalidate();
+    }
+}
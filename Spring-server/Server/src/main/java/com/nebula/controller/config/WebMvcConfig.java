@@ -1,23 +1,65 @@
 package com.nebula.controller.config;
 
+import com.nebula.properties.ConditionalGetProperties;
+import com.nebula.service.common.version.ResourceVersionHelper;
+import com.nebula.service.common.version.ResourceVersionHelper.Scope;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Web MVC 配置
- * 为不同模块的控制器自动添加路由前缀
+ * 为不同模块的控制器自动添加路由前缀，并为客户端公开查询接口注册条件 GET
  *
  * @author Nebula-Hash
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private static final String CLIENT_PREFIX = "/api/client";
+
+    private final ResourceVersionHelper versionHelper;
+    private final ConditionalGetProperties conditionalGetProperties;
+    private final ArticleConditionalGetInterceptors articleInterceptors;
+
     @Override
     public void configurePathMatch(PathMatchConfigurer configurer) {
         // 为 @AdminController 注解的控制器添加 /admin 前缀
         configurer.addPathPrefix("/api/admin", c -> c.isAnnotationPresent(AdminController.class));
         // 为 @ClientController 注解的控制器添加 /client 前缀
-        configurer.addPathPrefix("/api/client", c -> c.isAnnotationPresent(ClientController.class));
+        configurer.addPathPrefix(CLIENT_PREFIX, c -> c.isAnnotationPresent(ClientController.class));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 文章列表类接口：包含浏览、点赞、评论数
+        registry.addInterceptor(conditionalGet(true, Scope.ARTICLE))
+                .addPathPatterns(CLIENT_PREFIX + "/article/list", CLIENT_PREFIX + "/article/feed",
+                        CLIENT_PREFIX + "/article/search", CLIENT_PREFIX + "/article/hot",
+                        CLIENT_PREFIX + "/article/recommend", CLIENT_PREFIX + "/article/batch");
+        // 文章详情、正文：按文章校验
+        registry.addInterceptor(articleInterceptors.getDetail())
+                .addPathPatterns(CLIENT_PREFIX + "/article/detail/*");
+        registry.addInterceptor(articleInterceptors.getBody())
+                .addPathPatterns(CLIENT_PREFIX + "/article/body/*");
+        registry.addInterceptor(conditionalGet(false, Scope.ARTICLE))
+                .addPathPatterns(CLIENT_PREFIX + "/article/facets");
+        registry.addInterceptor(conditionalGet(false, Scope.CATEGORY))
+                .addPathPatterns(CLIENT_PREFIX + "/category/list", CLIENT_PREFIX + "/category/detail/*");
+        registry.addInterceptor(conditionalGet(false, Scope.TAG))
+                .addPathPatterns(CLIENT_PREFIX + "/tag/list", CLIENT_PREFIX + "/tag/detail/*");
+        registry.addInterceptor(conditionalGet(false, Scope.BANNER))
+                .addPathPatterns(CLIENT_PREFIX + "/banner/list");
+        // 评论列表：包含评论点赞数
+        registry.addInterceptor(conditionalGet(true, Scope.COMMENT))
+                .addPathPatterns(CLIENT_PREFIX + "/comment/list/*");
+    }
+
+    private ConditionalGetInterceptor conditionalGet(boolean liveCounters, Scope... scopes) {
+        return new ConditionalGetInterceptor(versionHelper, conditionalGetProperties,
+                liveCounters, null, null, scopes);
     }
 }
@@ -0,0 +1,96 @@
+package com.nebula.controller.site;
+
+import com.nebula.service.article.feed.SiteFeedGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 站点地图、订阅与 robots.txt 控制器
+ * 位于站点根路径（不加 /api 前缀），输出预先生成的字节，附带 ETag 支持条件请求
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/26
+ */
+@RestController
+@RequiredArgsConstructor
+public class SiteFeedController {
+
+    private static final MediaType XML = new MediaType(MediaType.APPLICATION_XML, StandardCharsets.UTF_8);
+    private static final MediaType RSS = new MediaType(MediaType.APPLICATION_RSS_XML, StandardCharsets.UTF_8);
+    private static final MediaType ATOM = new MediaType(MediaType.APPLICATION_ATOM_XML, StandardCharsets.UTF_8);
+    private static final MediaType TEXT = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    /**
+     * 首次构建未完成时建议爬虫重试的间隔（秒）
+     */
+    private static final String RETRY_AFTER_SECONDS = "30";
+
+    private final SiteFeedGenerator siteFeedGenerator;
+
+    /**
+     * 站点地图（文章数超过单个分片上限时为站点地图索引）
+     */
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> getSitemap() {
+        return toResponse(siteFeedGenerator.getSitemap(), XML);
+    }
+
+    /**
+     * 站点地图分片
+     */
+    @GetMapping("/sitemap-{index}.xml")
+    public ResponseEntity<byte[]> getSitemapShard(@PathVariable int index) {
+        return toResponse(siteFeedGenerator.getSitemapShard(index), XML);
+    }
+
+    /**
+     * RSS 2.0 订阅
+     */
+    @GetMapping("/rss.xml")
+    public ResponseEntity<byte[]> getRss() {
+        return toResponse(siteFeedGenerator.getRss(), RSS);
+    }
+
+    /**
+     * Atom 订阅
+     */
+    @GetMapping("/atom.xml")
+    public ResponseEntity<byte[]> getAtom() {
+        return toResponse(siteFeedGenerator.getAtom(), ATOM);
+    }
+
+    /**
+     * 搜索引擎爬虫规则
+     */
+    @GetMapping("/robots.txt")
+    public ResponseEntity<byte[]> getRobots() {
+        return toResponse(siteFeedGenerator.getRobots(), TEXT);
+    }
+
+    /**
+     * 首次构建完成前返回 503，文档不存在时返回 404；ETag 匹配时由框架返回 304
+     */
+    private ResponseEntity<byte[]> toResponse(SiteFeedGenerator.Document document, MediaType mediaType) {
+        if (document == null) {
+            if (siteFeedGenerator.isPending()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                        .build();
+            }
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .contentLength(document.content().length)
+                .eTag(document.etag())
+                .body(document.content());
+    }
+}
@@ -2,7 +2,14 @@ package com.nebula.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.nebula.entity.BlogArticleCollect;
+import com.nebula.vo.CounterDriftVO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 文章收藏Mapper接口
@@ -12,4 +19,44 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface BlogArticleCollectMapper extends BaseMapper<BlogArticleCollect> {
+
+    /**
+     * 批量插入收藏记录（已存在的记录忽略）
+     *
+     * @param list 收藏记录列表
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO blog_article_collect (article_id, user_id, create_time) VALUES " +
+            "<foreach collection='list' item='item' separator=','>" +
+            "(#{item.articleId}, #{item.userId}, NOW())" +
+            "</foreach>" +
+            "</script>")
+    int batchInsertIgnore(@Param("list") List<BlogArticleCollect> list);
+
+    /**
+     * 按 (文章ID, 用户ID) 批量删除收藏记录
+     *
+     * @param list 收藏记录列表
+     * @return 删除行数
+     */
+    @Delete("<script>" +
+            "DELETE FROM blog_article_collect WHERE (article_id, user_id) IN " +
+            "<foreach collection='list' item='item' open='(' separator=',' close=')'>" +
+            "(#{item.articleId}, #{item.userId})" +
+            "</foreach>" +
+            "</script>")
+    int batchDeleteByArticleAndUser(@Param("list") List<BlogArticleCollect> list);
+
+    /**
+     * 按文章ID区间统计收藏数
+     *
+     * @param fromId 起始ID（含）
+     * @param toId   结束ID（含）
+     * @return 按文章ID分组的实际数量（无记录的ID不返回）
+     */
+    @Select("SELECT article_id AS id, COUNT(*) AS actual FROM blog_article_collect " +
+            "WHERE article_id BETWEEN #{fromId} AND #{toId} " +
+            "GROUP BY article_id")
+    List<CounterDriftVO> countByArticleIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
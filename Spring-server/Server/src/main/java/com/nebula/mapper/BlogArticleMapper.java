@@ -1,8 +1,24 @@
 package com.nebula.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.nebula.entity.BlogArticle;
+import com.nebula.vo.ArticleMetaVO;
+import com.nebula.vo.CounterDriftVO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 文章Mapper接口
@@ -12,4 +28,208 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface BlogArticleMapper extends BaseMapper<BlogArticle> {
+
+    /**
+     * 正文大字段列名（列表查询不加载）
+     */
+    Set<String> BODY_COLUMNS = Set.of("content", "html_content");
+
+    /**
+     * 分页查询文章列表（仅查询列表所需列，不加载正文大字段）
+     *
+     * @param page    分页参数
+     * @param wrapper 查询条件
+     * @return 文章分页数据
+     */
+    default Page<BlogArticle> selectListPage(Page<BlogArticle> page, LambdaQueryWrapper<BlogArticle> wrapper) {
+        return selectPage(page, applyListProjection(wrapper));
+    }
+
+    /**
+     * 查询文章列表（仅查询列表所需列，不加载正文大字段）
+     *
+     * @param wrapper 查询条件
+     * @return 文章列表
+     */
+    default List<BlogArticle> selectListRows(LambdaQueryWrapper<BlogArticle> wrapper) {
+        return selectList(applyListProjection(wrapper));
+    }
+
+    /**
+     * 按 ID 查询文章（不加载正文大字段，用于存在性校验与属性读取）
+     *
+     * @param id 文章ID
+     * @return 文章（不含正文），不存在时为 null
+     */
+    default BlogArticle selectListRowById(Long id) {
+        return selectOne(applyListProjection(new LambdaQueryWrapper<BlogArticle>().eq(BlogArticle::getId, id)));
+    }
+
+    /**
+     * 为查询条件设置列表投影（排除正文大字段）
+     *
+     * @param wrapper 查询条件
+     * @return 查询条件
+     */
+    static LambdaQueryWrapper<BlogArticle> applyListProjection(LambdaQueryWrapper<BlogArticle> wrapper) {
+        return wrapper.select(BlogArticle.class, field -> !BODY_COLUMNS.contains(field.getColumn()));
+    }
+
+    /**
+     * 一次联表查询文章的作者、分类与标签信息
+     *
+     * @param articleId 文章ID
+     * @return 元数据行（每个标签一行）
+     */
+    @Select("SELECT u.nickname AS author_nickname, u.avatar AS author_avatar, c.category_name, " +
+            "t.id AS tag_id, t.tag_name " +
+            "FROM blog_article a " +
+            "LEFT JOIN sys_user u ON u.id = a.author_id AND u.deleted = 0 " +
+            "LEFT JOIN blog_category c ON c.id = a.category_id AND c.deleted = 0 " +
+            "LEFT JOIN relevancy_article_tag rat ON rat.article_id = a.id " +
+            "LEFT JOIN blog_tag t ON t.id = rat.tag_id AND t.deleted = 0 " +
+            "WHERE a.id = #{articleId} " +
+            "ORDER BY rat.id ASC")
+    List<ArticleMetaVO> selectDetailMeta(@Param("articleId") Long articleId);
+
+    /**
+     * 批量累加文章浏览量（单条 CASE 语句更新多行）
+     *
+     * @param deltas 文章ID -> 浏览量增量
+     * @return 更新行数
+     */
+    @Update("<script>" +
+            "UPDATE blog_article SET view_count = view_count + CASE id " +
+            "<foreach collection='deltas' index='articleId' item='delta' separator=' '>" +
+            "WHEN #{articleId} THEN #{delta}" +
+            "</foreach>" +
+            " ELSE 0 END WHERE id IN " +
+            "<foreach collection='deltas' index='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            "</script>")
+    int batchIncrementViewCount(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 批量累加文章点赞/收藏计数（单条 CASE 语句更新多行，结果不小于 0；NULL 视为 0）
+     *
+     * @param column 计数列名（like_count / collect_count，仅限内部常量）
+     * @param deltas 文章ID -> 计数增量
+     * @return 更新行数
+     */
+    @Update("<script>" +
+            "UPDATE blog_article SET ${column} = GREATEST(0, IFNULL(${column}, 0) + CASE id " +
+            "<foreach collection='deltas' index='articleId' item='delta' separator=' '>" +
+            "WHEN #{articleId} THEN #{delta}" +
+            "</foreach>" +
+            " ELSE 0 END) WHERE id IN " +
+            "<foreach collection='deltas' index='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            "</script>")
+    int batchIncrementCounter(@Param("column") String column, @Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 批量校准文章计数列（仅更新计数仍为读取时数值的记录，避免覆盖并发修改；NULL 视为 0）
+     *
+     * @param column 计数列名（like_count / collect_count / comment_count，仅限内部常量）
+     * @param list   计数偏差列表
+     * @return 更新行数
+     */
+    @Update("<script>" +
+            "UPDATE blog_article SET ${column} = CASE id " +
+            "<foreach collection='list' item='item' separator=' '>" +
+            "WHEN #{item.id} THEN #{item.actual}" +
+            "</foreach>" +
+            " ELSE ${column} END WHERE id IN " +
+            "<foreach collection='list' item='item' open='(' separator=',' close=')'>" +
+            "#{item.id}" +
+            "</foreach>" +
+            " AND IFNULL(${column}, 0) = CASE id " +
+            "<foreach collection='list' item='item' separator=' '>" +
+            "WHEN #{item.id} THEN #{item.expected}" +
+            "</foreach>" +
+            " END" +
+            "</script>")
+    int batchCorrectCounter(@Param("column") String column, @Param("list") List<CounterDriftVO> list);
+
+    /**
+     * 批量插入文章（单条多行 INSERT，回填自增ID）
+     *
+     * @param list 文章列表
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO blog_article (author_id, category_id, title, summary, cover_image, content, html_content, " +
+            "is_draft, is_top, view_count, like_count, collect_count, comment_count, create_time, update_time) VALUES " +
+            "<foreach collection='list' item='item' separator=','>" +
+            "(#{item.authorId}, #{item.categoryId}, #{item.title}, #{item.summary}, #{item.coverImage}, " +
+            "#{item.content,typeHandler=com.nebula.handler.CompressedTextTypeHandler}, " +
+            "#{item.htmlContent,typeHandler=com.nebula.handler.CompressedTextTypeHandler}, " +
+            "#{item.isDraft}, #{item.isTop}, 0, 0, 0, 0, " +
+            "#{item.createTime}, #{item.updateTime})" +
+            "</foreach>" +
+            "</script>")
+    @Options(useGeneratedKeys = true, keyProperty = "list.id", keyColumn = "id")
+    int batchInsert(@Param("list") List<BlogArticle> list);
+
+    /**
+     * 按ID顺序读取一批文章正文的原始字节并加行锁（正文压缩迁移使用，包含已逻辑删除的文章）
+     *
+     * @param lastId 上一批最大ID
+     * @param limit  批大小
+     * @return 行（id、content、html_content）
+     */
+    @Select("SELECT id, content, html_content FROM blog_article WHERE id > #{lastId} " +
+            "ORDER BY id ASC LIMIT #{limit} FOR UPDATE")
+    List<Map<String, Object>> selectRawBodiesForUpdate(@Param("lastId") Long lastId, @Param("limit") int limit);
+
+    /**
+     * 重写文章正文存储格式（不修改更新时间）
+     *
+     * @param id          文章ID
+     * @param content     Markdown 正文
+     * @param htmlContent HTML 正文
+     * @return 更新行数
+     */
+    @Update("UPDATE blog_article SET " +
+            "content = #{content,typeHandler=com.nebula.handler.CompressedTextTypeHandler}, " +
+            "html_content = #{htmlContent,typeHandler=com.nebula.handler.CompressedTextTypeHandler}, " +
+            "update_time = update_time WHERE id = #{id}")
+    int rewriteBody(@Param("id") Long id, @Param("content") String content, @Param("htmlContent") String htmlContent);
+
+    /**
+     * 按筛选条件统计各分类下的文章数（位图索引不可用时的分面统计）
+     * <p>
+     * 自定义 SQL 不追加逻辑删除条件，调用方需在条件中排除已删除文章；条件中不能包含排序
+     *
+     * @param wrapper 文章筛选条件
+     * @return 行：ref_id（分类ID）、article_count
+     */
+    @Select("SELECT category_id AS ref_id, COUNT(*) AS article_count FROM blog_article " +
+            "${ew.customSqlSegment} GROUP BY category_id")
+    List<Map<String, Object>> selectCategoryFacetCounts(@Param(Constants.WRAPPER) Wrapper<BlogArticle> wrapper);
+
+    /**
+     * 按筛选条件统计各标签下的文章数（位图索引不可用时的分面统计）
+     * <p>
+     * 自定义 SQL 不追加逻辑删除条件，调用方需在条件中排除已删除文章；条件中不能包含排序
+     *
+     * @param wrapper 文章筛选条件
+     * @return 行：ref_id（标签ID）、article_count
+     */
+    @Select("SELECT r.tag_id AS ref_id, COUNT(*) AS article_count FROM relevancy_article_tag r " +
+            "WHERE r.article_id IN (SELECT id FROM blog_article ${ew.customSqlSegment}) GROUP BY r.tag_id")
+    List<Map<String, Object>> selectTagFacetCounts(@Param(Constants.WRAPPER) Wrapper<BlogArticle> wrapper);
+
+    /**
+     * 查询文章正文字段的数据类型
+     *
+     * @return 列名 -> 数据类型（小写）
+     */
+    @Select("SELECT LOWER(COLUMN_NAME) AS column_name, LOWER(DATA_TYPE) AS data_type " +
+            "FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'blog_article' " +
+            "AND COLUMN_NAME IN ('content', 'html_content')")
+    List<Map<String, Object>> selectBodyColumnTypes();
 }
@@ -0,0 +1,15 @@
+package com.nebula.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.nebula.entity.BlogArticlePublishTask;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 文章发布任务Mapper接口
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/23
+ */
+@Mapper
+public interface BlogArticlePublishTaskMapper extends BaseMapper<BlogArticlePublishTask> {
+}
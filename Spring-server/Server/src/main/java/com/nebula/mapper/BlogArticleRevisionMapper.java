@@ -0,0 +1,15 @@
+package com.nebula.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.nebula.entity.BlogArticleRevision;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 文章版本Mapper接口
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/29
+ */
+@Mapper
+public interface BlogArticleRevisionMapper extends BaseMapper<BlogArticleRevision> {
+}
@@ -2,7 +2,12 @@ package com.nebula.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.nebula.entity.BlogCommentLike;
+import com.nebula.vo.CounterDriftVO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 评论点赞Mapper接口
@@ -12,4 +17,16 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface BlogCommentLikeMapper extends BaseMapper<BlogCommentLike> {
+
+    /**
+     * 按评论ID区间统计点赞数
+     *
+     * @param fromId 起始ID（含）
+     * @param toId   结束ID（含）
+     * @return 按评论ID分组的实际数量（无记录的ID不返回）
+     */
+    @Select("SELECT comment_id AS id, COUNT(*) AS actual FROM blog_comment_like " +
+            "WHERE comment_id BETWEEN #{fromId} AND #{toId} " +
+            "GROUP BY comment_id")
+    List<CounterDriftVO> countByCommentIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
@@ -2,7 +2,14 @@ package com.nebula.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.nebula.entity.BlogComment;
+import com.nebula.vo.CounterDriftVO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 评论Mapper接口
@@ -12,4 +19,59 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface BlogCommentMapper extends BaseMapper<BlogComment> {
+
+    /**
+     * 按文章ID区间统计审核通过的评论数
+     *
+     * @param fromId 起始ID（含）
+     * @param toId   结束ID（含）
+     * @return 按文章ID分组的实际数量（无记录的ID不返回）
+     */
+    @Select("SELECT article_id AS id, COUNT(*) AS actual FROM blog_comment " +
+            "WHERE article_id BETWEEN #{fromId} AND #{toId} AND audit_status = 1 AND deleted = 0 " +
+            "GROUP BY article_id")
+    List<CounterDriftVO> countApprovedByArticleIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * 批量校准评论点赞数（仅更新计数仍为读取时数值的记录，避免覆盖并发修改；NULL 视为 0）
+     *
+     * @param list 计数偏差列表
+     * @return 更新行数
+     */
+    @Update("<script>" +
+            "UPDATE blog_comment SET like_count = CASE id " +
+            "<foreach collection='list' item='item' separator=' '>" +
+            "WHEN #{item.id} THEN #{item.actual}" +
+            "</foreach>" +
+            " ELSE like_count END WHERE id IN " +
+            "<foreach collection='list' item='item' open='(' separator=',' close=')'>" +
+            "#{item.id}" +
+            "</foreach>" +
+            " AND IFNULL(like_count, 0) = CASE id " +
+            "<foreach collection='list' item='item' separator=' '>" +
+            "WHEN #{item.id} THEN #{item.expected}" +
+            "</foreach>" +
+            " END" +
+            "</script>")
+    int batchCorrectLikeCount(@Param("list") List<CounterDriftVO> list);
+
+    /**
+     * 查询每个根评论下最早的若干条审核通过的回复（窗口函数按根评论分区，单条语句返回）
+     *
+     * @param rootIds 根评论ID集合
+     * @param limit   每个根评论最多返回的回复数
+     * @return 回复列表（按根评论、创建时间排序）
+     */
+    @Select("<script>" +
+            "SELECT id, article_id, root_id, parent_id, user_id, reply_user_id, content, like_count, " +
+            "audit_status, deleted, create_time, update_time FROM (" +
+            "SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.root_id ORDER BY c.create_time ASC, c.id ASC) AS rn " +
+            "FROM blog_comment c WHERE c.root_id IN " +
+            "<foreach collection='rootIds' item='rootId' open='(' separator=',' close=')'>" +
+            "#{rootId}" +
+            "</foreach>" +
+            " AND c.audit_status = 1 AND c.deleted = 0" +
+            ") t WHERE t.rn &lt;= #{limit} ORDER BY t.root_id ASC, t.create_time ASC, t.id ASC" +
+            "</script>")
+    List<BlogComment> selectTopRepliesByRootIds(@Param("rootIds") Collection<Long> rootIds, @Param("limit") int limit);
 }
@@ -0,0 +1,48 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 文章详情缓存配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/10
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.cache")
+public class ArticleCacheProperties {
+
+    /**
+     * 是否启用文章详情缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本地缓存最大条目数
+     */
+    private long localMaximumSize = 1000;
+
+    /**
+     * 本地缓存过期时间
+     */
+    private Duration localTtl = Duration.ofMinutes(1);
+
+    /**
+     * 计数快照本地缓存过期时间
+     */
+    private Duration counterTtl = Duration.ofSeconds(5);
+
+    /**
+     * Redis 缓存过期时间
+     */
+    private Duration redisTtl = Duration.ofMinutes(30);
+
+    /**
+     * 预压缩正文本地缓存最大字节数
+     */
+    private DataSize bodyLocalMaximumSize = DataSize.ofMegabytes(32);
+}
@@ -0,0 +1,42 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 文章草稿缓冲配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/28
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.draft")
+public class ArticleDraftProperties {
+
+    /**
+     * 没有未保存修改的草稿缓冲在 Redis 中的保留时长（保存或同步后顺延，有未保存修改时不过期）
+     */
+    private Duration ttl = Duration.ofDays(7);
+
+    /**
+     * 草稿文章停止编辑超过该时长后自动写入文章（已发布文章只在显式保存时写入）
+     */
+    private Duration idleFlushAfter = Duration.ofMinutes(2);
+
+    /**
+     * 空闲写入检查间隔
+     */
+    private Duration flushInterval = Duration.ofSeconds(30);
+
+    /**
+     * 每次检查最多写入的草稿数
+     */
+    private int flushBatchSize = 50;
+
+    /**
+     * 正文最大长度（字符数）
+     */
+    private int maxContentLength = 1_000_000;
+}
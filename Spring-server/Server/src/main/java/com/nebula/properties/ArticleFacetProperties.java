@@ -0,0 +1,32 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 文章标签/分类位图索引配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/22
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.facet")
+public class ArticleFacetProperties {
+
+    /**
+     * 是否启用位图索引（关闭时标签筛选使用 EXISTS 子查询，分面统计改用数据库聚合查询）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 定时全量重建间隔（兜底修正增量更新遗漏）
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+
+    /**
+     * 筛选结果不超过该数量时以主键 IN 列表传入分页查询，超过时改用 EXISTS 子查询
+     */
+    private int maxInListSize = 1000;
+}
@@ -0,0 +1,46 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 文章批量导入配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/24
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.import")
+public class ArticleImportProperties {
+
+    /**
+     * Markdown 并行渲染线程数（0 表示使用 CPU 核数）
+     */
+    private int parallelism = 0;
+
+    /**
+     * 每批写入的文章数
+     */
+    private int batchSize = 50;
+
+    /**
+     * 每批累计内容达到该大小时提前写入（避免单条 INSERT 超出 max_allowed_packet）
+     */
+    private DataSize batchBytes = DataSize.ofMegabytes(8);
+
+    /**
+     * 单个 Markdown 文件最大大小，超过时该文件导入失败
+     */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(2);
+
+    /**
+     * 单次导入最多处理的 Markdown 文件数
+     */
+    private int maxEntries = 10000;
+
+    /**
+     * front-matter 中的分类、标签不存在时是否自动创建（关闭时该文件导入失败）
+     */
+    private boolean createMissingReferences = true;
+}
@@ -0,0 +1,27 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 文章点赞/收藏关系缓存配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/16
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.interaction-cache")
+public class ArticleInteractionCacheProperties {
+
+    /**
+     * 是否启用点赞/收藏关系缓存（关闭时直接查询数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 关系集合过期时间（过期后下次访问重新从数据库加载）
+     */
+    private Duration ttl = Duration.ofDays(1);
+}
@@ -0,0 +1,37 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 文章点赞/收藏异步落库队列配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/17
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.interaction-queue")
+public class ArticleInteractionQueueProperties {
+
+    /**
+     * 是否启用 Redis 优先切换 + 异步落库（需同时启用点赞/收藏关系缓存，关闭时在事务内同步写库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 队列消费间隔
+     */
+    private Duration persistInterval = Duration.ofSeconds(1);
+
+    /**
+     * 单次消费的最大消息数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 消息投递后超过该时长仍未确认时，由其他实例接管重试
+     */
+    private Duration claimIdle = Duration.ofMinutes(1);
+}
@@ -0,0 +1,47 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 文章发布流水线配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/23
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.publish")
+public class ArticlePublishProperties {
+
+    /**
+     * 后台处理线程数
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 等待队列容量（队列已满时任务留在数据库中，由恢复扫描稍后提交）
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * 单个任务最大尝试次数，超过后标记为失败，需手动重试
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * 处理中的任务超过该时长未更新时视为中断，可被重新领取
+     */
+    private Duration staleTimeout = Duration.ofMinutes(5);
+
+    /**
+     * 恢复扫描间隔（提交等待中与中断的任务）
+     */
+    private Duration recoverInterval = Duration.ofMinutes(1);
+
+    /**
+     * 每次恢复扫描提交的最大任务数
+     */
+    private int recoverBatchSize = 50;
+}
@@ -0,0 +1,30 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 文章版本历史配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/29
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.revision")
+public class ArticleRevisionProperties {
+
+    /**
+     * 是否在文章写入时记录版本
+     */
+    private boolean enabled = true;
+
+    /**
+     * 完整快照间隔，读取任意版本最多需要应用 snapshotInterval - 1 个增量
+     */
+    private int snapshotInterval = 20;
+
+    /**
+     * 版本对比时差异块前后保留的上下文行数
+     */
+    private int diffContextLines = 3;
+}
@@ -0,0 +1,52 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 文章全文检索配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/21
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.search")
+public class ArticleSearchProperties {
+
+    /**
+     * 是否启用本地全文索引（关闭时搜索降级为标题 LIKE 查询）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 索引目录（每个实例独立维护）
+     */
+    private String indexPath = "data/article-index";
+
+    /**
+     * 启动时是否全量重建索引（补齐实例停机期间错过的变更）
+     */
+    private boolean rebuildOnStartup = true;
+
+    /**
+     * 索引提交间隔（提交前的变更已对搜索可见，仅影响崩溃后的持久化）
+     */
+    private Duration commitInterval = Duration.ofSeconds(30);
+
+    /**
+     * 高亮摘要片段长度（字符）
+     */
+    private int fragmentSize = 120;
+
+    /**
+     * 正文存储长度（字符，仅用于生成高亮片段；超出部分仍参与检索）
+     */
+    private int storedContentLength = 5000;
+
+    /**
+     * 可翻页的最大结果数
+     */
+    private int maxResults = 1000;
+}
@@ -0,0 +1,35 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 文章静态页面预渲染配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/27
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.static")
+public class ArticleStaticProperties {
+
+    /**
+     * 是否启用预渲染（需要网关能读取输出目录）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 输出目录，页面写入 {directory}/article/{id}.html，数据写入 {directory}/article/{id}.json
+     */
+    private String directory = "./static-pages";
+
+    /**
+     * 页面模板位置（前台构建产物 index.html，支持 file:、classpath:、http: 等），为空时生成独立的简单页面
+     */
+    private String pageTemplate;
+
+    /**
+     * 模板中前台应用挂载元素的 id，正文预先写入该元素内
+     */
+    private String mountElementId = "app";
+}
@@ -0,0 +1,38 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 文章正文存储配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/30
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.storage")
+public class ArticleStorageProperties {
+
+    /**
+     * 是否压缩存储正文（content、html_content 需为 LONGBLOB，否则启动时自动关闭）
+     */
+    private boolean compressBody = false;
+
+    /**
+     * 小于该大小的正文不压缩
+     */
+    private DataSize compressMinSize = DataSize.ofBytes(512);
+
+    /**
+     * 存量正文压缩迁移每批处理的文章数（每批一个事务，期间锁定该批文章行）
+     */
+    private int migrationBatchSize = 100;
+
+    /**
+     * 存量正文压缩迁移批次间隔（降低对在线请求的影响）
+     */
+    private Duration migrationPause = Duration.ofMillis(100);
+}
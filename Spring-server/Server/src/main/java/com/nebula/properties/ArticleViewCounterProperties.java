@@ -0,0 +1,52 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 文章浏览量写回计数器配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/11
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.view-counter")
+public class ArticleViewCounterProperties {
+
+    /**
+     * 计数器存储模式
+     */
+    public enum Mode {
+        /**
+         * 进程内分段计数（单实例部署）
+         */
+        LOCAL,
+
+        /**
+         * Redis Hash 计数（多实例部署）
+         */
+        REDIS
+    }
+
+    /**
+     * 计数器存储模式
+     */
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * 增量落库间隔
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * 单条批量更新语句包含的最大文章数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 实例超过该时长未落库时视为已退出，其落库中增量由其他实例接管（REDIS 模式，应远大于落库间隔）
+     */
+    private Duration orphanTimeout = Duration.ofMinutes(2);
+}
@@ -0,0 +1,32 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 公开接口条件 GET 配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/20
+ */
+@Data
+@ConfigurationProperties(prefix = "app.http.conditional-get")
+public class ConditionalGetProperties {
+
+    /**
+     * 是否启用 ETag / Last-Modified 校验
+     */
+    private boolean enabled = true;
+
+    /**
+     * 匿名响应的 Cache-Control max-age（为 0 时使用 no-cache，每次向服务端校验）
+     */
+    private Duration maxAge = Duration.ZERO;
+
+    /**
+     * 含实时计数（浏览、点赞、评论数）的接口，ETag 按该时长分段，计数最多滞后一个分段
+     */
+    private Duration counterFreshness = Duration.ofSeconds(30);
+}
@@ -0,0 +1,37 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 计数校准任务配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/18
+ */
+@Data
+@ConfigurationProperties(prefix = "app.task.counter-reconcile")
+public class CounterReconcileProperties {
+
+    /**
+     * 是否启用计数校准定时任务
+     */
+    private boolean enabled = true;
+
+    /**
+     * 执行时间 Cron 表达式
+     */
+    private String cron = "0 30 3 * * ?";
+
+    /**
+     * 每个分块的记录数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 任务锁过期时间（防止实例异常退出后锁无法释放，应大于单次校准耗时）
+     */
+    private Duration lockTtl = Duration.ofHours(1);
+}
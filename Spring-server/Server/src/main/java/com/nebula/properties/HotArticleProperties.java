@@ -0,0 +1,71 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 热门文章评分配置属性
+ * <p>
+ * 热度评分 = (浏览量×view + 点赞数×like + 评论数×comment + 收藏数×collect) × 0.5^(发布天数 / halfLifeDays)
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/13
+ */
+@Data
+@ConfigurationProperties(prefix = "app.article.hot")
+public class HotArticleProperties {
+
+    /**
+     * 是否启用 Redis 热榜（关闭时每次从数据库候选池实时计算）
+     */
+    private boolean leaderboardEnabled = true;
+
+    /**
+     * 热榜全量重算（重新应用时间衰减）间隔
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    /**
+     * 评分权重
+     */
+    private Weight weight = new Weight();
+
+    /**
+     * 热度半衰期（天）
+     */
+    private double halfLifeDays = 7.0;
+
+    /**
+     * 最小衰减因子，防止老文章热度归零
+     */
+    private double minDecayFactor = 0.01;
+
+    /**
+     * 评分权重配置
+     */
+    @Data
+    public static class Weight {
+
+        /**
+         * 浏览量权重 - 基础指标
+         */
+        private double view = 1.0;
+
+        /**
+         * 点赞数权重 - 主动互动，价值较高
+         */
+        private double like = 5.0;
+
+        /**
+         * 评论数权重 - 深度互动，价值最高
+         */
+        private double comment = 10.0;
+
+        /**
+         * 收藏数权重 - 高价值互动
+         */
+        private double collect = 8.0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 引用数据缓存配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/15
+ */
+@Data
+@ConfigurationProperties(prefix = "app.reference-data")
+public class ReferenceDataProperties {
+
+    /**
+     * 用户展示信息缓存最大条目数（LRU 淘汰）
+     */
+    private long userMaximumSize = 10000;
+
+    /**
+     * 用户展示信息缓存过期时间（兜底，正常由变更事件失效）
+     */
+    private Duration userTtl = Duration.ofHours(1);
+}
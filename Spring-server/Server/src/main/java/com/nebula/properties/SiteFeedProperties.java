@@ -0,0 +1,62 @@
+package com.nebula.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 站点地图与 RSS/Atom 订阅配置属性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/26
+ */
+@Data
+@ConfigurationProperties(prefix = "app.site-feed")
+public class SiteFeedProperties {
+
+    /**
+     * 是否启用站点地图与订阅（关闭时相关路径返回 404）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 站点前台根地址（生成绝对链接，末尾不带 /）
+     */
+    private String siteUrl = "http://localhost:5173";
+
+    /**
+     * 文章页路径模板，{id} 替换为文章ID
+     */
+    private String articlePath = "/article/{id}";
+
+    /**
+     * 订阅标题
+     */
+    private String title = "Nebula Blog";
+
+    /**
+     * 订阅描述
+     */
+    private String description = "Nebula Blog 最新文章";
+
+    /**
+     * 订阅包含的最新文章数
+     */
+    private int feedSize = 20;
+
+    /**
+     * 单个站点地图文件的最大 URL 数（协议上限 50000），超过时拆分并生成站点地图索引
+     */
+    private int sitemapShardSize = 50000;
+
+    /**
+     * 文章变更后重新生成受影响部分的检查间隔（合并短时间内的多次变更）
+     */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    /**
+     * 定时全量重建间隔（兜底修正增量更新遗漏）
+     */
+    private Duration rebuildInterval = Duration.ofHours(6);
+}
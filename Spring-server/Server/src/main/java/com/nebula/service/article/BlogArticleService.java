@@ -2,9 +2,23 @@ package com.nebula.service.article;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.nebula.dto.ArticleDTO;
+import com.nebula.dto.ArticleDraftPatchDTO;
+import com.nebula.service.article.cache.ArticleBodyCache;
+import com.nebula.service.article.facet.ArticleFacetIndex;
 import com.nebula.vo.ArticleListVO;
+import com.nebula.vo.ArticleSearchVO;
 import com.nebula.vo.ArticleVO;
+import com.nebula.vo.CursorPageVO;
+import com.nebula.vo.admin.ArticleDraftVO;
+import com.nebula.vo.admin.ArticleImportResultVO;
+import com.nebula.vo.admin.ArticlePublishStatusVO;
+import com.nebula.vo.admin.ArticleRevisionDiffVO;
+import com.nebula.vo.admin.ArticleRevisionVO;
+import com.nebula.vo.client.ArticleFacetVO;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -42,7 +56,7 @@ public interface BlogArticleService {
     ArticleVO getAdminArticleDetail(Long id);
 
     /**
-     * 发布文章
+     * 发布文章（以草稿保存后提交后台发布，全部阶段完成后对外可见）
      *
      * @param articleDTO 文章信息
      * @return 文章ID
@@ -50,12 +64,112 @@ public interface BlogArticleService {
     Long publishArticle(ArticleDTO articleDTO);
 
     /**
-     * 编辑文章
+     * 编辑文章（提交后台发布，完成前继续展示原内容）
      *
      * @param articleDTO 文章信息
      */
     void updateArticle(ArticleDTO articleDTO);
 
+    /**
+     * 查询文章发布状态
+     *
+     * @param id 文章ID
+     * @return 发布状态
+     */
+    ArticlePublishStatusVO getPublishStatus(Long id);
+
+    /**
+     * 重试失败的文章发布任务
+     *
+     * @param id 文章ID
+     */
+    void retryPublish(Long id);
+
+    /**
+     * 获取文章编辑草稿（含正文与版本号）
+     *
+     * @param id 文章ID
+     * @return 草稿
+     */
+    ArticleDraftVO getDraft(Long id);
+
+    /**
+     * 向文章编辑草稿应用增量编辑（不写入文章）
+     *
+     * @param id    文章ID
+     * @param patch 增量编辑
+     * @return 新版本信息
+     */
+    ArticleDraftVO patchDraft(Long id, ArticleDraftPatchDTO patch);
+
+    /**
+     * 保存文章编辑草稿（提交后台发布）
+     *
+     * @param id 文章ID
+     */
+    void saveDraft(Long id);
+
+    /**
+     * 查询文章版本列表（不含正文）
+     *
+     * @param id 文章ID
+     * @return 版本列表（按版本号倒序）
+     */
+    List<ArticleRevisionVO> listRevisions(Long id);
+
+    /**
+     * 获取文章指定版本（含正文）
+     *
+     * @param id       文章ID
+     * @param revision 版本号
+     * @return 版本
+     */
+    ArticleRevisionVO getRevision(Long id, Integer revision);
+
+    /**
+     * 对比文章两个版本
+     *
+     * @param id           文章ID
+     * @param fromRevision 原版本号
+     * @param toRevision   目标版本号
+     * @return 差异
+     */
+    ArticleRevisionDiffVO diffRevisions(Long id, Integer fromRevision, Integer toRevision);
+
+    /**
+     * 将文章恢复到指定版本（提交后台发布，恢复结果记录为新版本）
+     *
+     * @param id       文章ID
+     * @param revision 版本号
+     */
+    void restoreRevision(Long id, Integer revision);
+
+    /**
+     * 从 Markdown 归档批量导入文章
+     *
+     * @param input 归档输入流（zip、tar 或 tar.gz）
+     * @return 导入结果
+     */
+    ArticleImportResultVO importArticles(InputStream input);
+
+    /**
+     * 导出全部文章（Markdown）与评论（JSON Lines）为 zip
+     *
+     * @param output 输出流
+     * @throws IOException 写出失败
+     */
+    void exportArticles(OutputStream output) throws IOException;
+
+    /**
+     * 异步全量重建文章静态页面
+     */
+    void rebuildStaticPages();
+
+    /**
+     * 异步压缩存量文章正文
+     */
+    void compressArticleBodies();
+
     /**
      * 删除文章
      *
@@ -79,10 +193,60 @@ public interface BlogArticleService {
      * @param categoryName 分类名称（可选，模糊搜索）
      * @param tagId        标签ID（可选，精确匹配）
      * @param tagName      标签名称（可选，模糊搜索）
+     * @param tagFilter    标签组合条件（可选，全部包含/任一包含/排除）
      * @return 文章列表
      */
     Page<ArticleListVO> getClientArticleList(Long current, Long size, String authorName, String title,
-                                             Long categoryId, String categoryName, Long tagId, String tagName);
+                                             Long categoryId, String categoryName, Long tagId, String tagName,
+                                             ArticleFacetIndex.TagFilter tagFilter);
+
+    /**
+     * 客户端游标分页查询文章流（仅已发布文章，不统计总数）
+     * <p>
+     * 按置顶、创建时间、ID 倒序；首次请求不传游标，后续请求传入上一页返回的 nextCursor
+     *
+     * @param cursor       游标（可选）
+     * @param size         每页大小
+     * @param authorName   作者名称（可选，模糊搜索）
+     * @param title        文章标题（可选，模糊搜索）
+     * @param categoryId   分类ID（可选，精确匹配）
+     * @param categoryName 分类名称（可选，模糊搜索）
+     * @param tagId        标签ID（可选，精确匹配）
+     * @param tagName      标签名称（可选，模糊搜索）
+     * @param tagFilter    标签组合条件（可选，全部包含/任一包含/排除）
+     * @return 文章游标分页结果
+     */
+    CursorPageVO<ArticleListVO> getClientArticleFeed(String cursor, Integer size, String authorName, String title,
+                                                     Long categoryId, String categoryName, Long tagId, String tagName,
+                                                     ArticleFacetIndex.TagFilter tagFilter);
+
+    /**
+     * 客户端分面统计：在标签组合条件与分类筛选下统计文章总数及各标签、分类的文章数
+     *
+     * @param tagFilter  标签组合条件（可选）
+     * @param categoryId 分类ID（可选）
+     * @return 分面统计结果
+     */
+    ArticleFacetVO getClientArticleFacets(ArticleFacetIndex.TagFilter tagFilter, Long categoryId);
+
+    /**
+     * 客户端全文搜索已发布文章（标题、摘要、标签、正文），按相关度排序并返回高亮片段
+     * <p>
+     * 全文索引不可用时降级为标题模糊查询
+     *
+     * @param keyword 关键词
+     * @param current 当前页
+     * @param size    每页大小（超过游标分页上限时按上限截断）
+     * @return 搜索结果分页
+     */
+    Page<ArticleSearchVO> searchClientArticles(String keyword, Long current, Long size);
+
+    /**
+     * 全量重建文章全文索引（本实例同步执行，其他实例异步执行）
+     *
+     * @return 本实例已索引文章数
+     */
+    int rebuildSearchIndex();
 
     /**
      * 客户端获取文章详情
@@ -110,6 +274,23 @@ public interface BlogArticleService {
      */
     List<ArticleListVO> getHotArticles(Integer limit);
 
+    /**
+     * 获取客户端文章正文（按 Accept-Encoding 返回预压缩版本）
+     *
+     * @param id             文章ID
+     * @param acceptEncoding Accept-Encoding 请求头
+     * @return 编码后的正文
+     */
+    ArticleBodyCache.EncodedBody getClientArticleBody(Long id, String acceptEncoding);
+
+    /**
+     * 客户端按ID批量查询已发布文章列表
+     *
+     * @param ids 文章ID列表（重复ID只返回一次）
+     * @return 文章列表（顺序与入参一致，草稿和不存在的文章被跳过）
+     */
+    List<ArticleListVO> getClientArticlesByIds(List<Long> ids);
+
     /**
      * 获取推荐文章
      *
@@ -138,4 +319,12 @@ public interface BlogArticleService {
      * @param articleId 文章ID
      */
     void incrementViewCount(Long articleId);
+
+    /**
+     * 判断文章是否存在且已发布（不加载正文）
+     *
+     * @param articleId 文章ID
+     * @return 是否对客户端可见
+     */
+    boolean isPublishedArticle(Long articleId);
 }
@@ -0,0 +1,331 @@
+package com.nebula.service.article.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.properties.ArticleCacheProperties;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 文章正文预压缩缓存
+ * <p>
+ * 文章发布/更新后在事务提交后预先生成 gzip、deflate 两种压缩版本写入 Redis，
+ * 正文接口按 Accept-Encoding 直接输出对应字节，请求时不再压缩。
+ * <p>
+ * 缓存 Key 包含正文内容版本（HTML 的 SHA-256），与文章详情缓存中的正文始终对应，
+ * 正文变更后旧版本自然失效，无需跨实例广播。进程内按字节数限制容量缓存热点文章。
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/19
+ */
+@Slf4j
+@Component
+public class ArticleBodyCache {
+
+    /**
+     * 正文编码
+     */
+    public enum Encoding {
+        GZIP("gzip"),
+        DEFLATE("deflate"),
+        IDENTITY(null);
+
+        /**
+         * 未列出的 identity 的权重（HTTP 允许的最小非零 q 值）
+         */
+        private static final double MIN_QUALITY = 0.001;
+
+        private final String headerValue;
+
+        Encoding(String headerValue) {
+            this.headerValue = headerValue;
+        }
+
+        /**
+         * Content-Encoding 响应头取值
+         *
+         * @return 头取值，未压缩时为 null
+         */
+        public String getHeaderValue() {
+            return headerValue;
+        }
+
+        /**
+         * 根据 Accept-Encoding 选择编码
+         * <p>
+         * 按 q 值选择权重最高的编码，权重相同时优先 gzip，其次 deflate，最后不压缩；q=0 视为不接受。
+         * 未列出的编码取 * 的权重；identity 未列出且无 * 时视为可接受但优先级最低。
+         * 没有可接受的编码（如 identity;q=0 且不接受 gzip、deflate）时仍返回不压缩的正文
+         *
+         * @param acceptEncoding Accept-Encoding 请求头
+         * @return 编码
+         */
+        public static Encoding negotiate(String acceptEncoding) {
+            if (acceptEncoding == null || acceptEncoding.isBlank()) {
+                return IDENTITY;
+            }
+            double gzip = -1;
+            double deflate = -1;
+            double identity = -1;
+            double any = -1;
+            for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+                String[] tokens = part.trim().split(";");
+                double q = quality(tokens);
+                switch (tokens[0].trim()) {
+                    case "gzip", "x-gzip" -> gzip = Math.max(gzip, q);
+                    case "deflate" -> deflate = Math.max(deflate, q);
+                    case "identity" -> identity = Math.max(identity, q);
+                    case "*" -> any = Math.max(any, q);
+                    default -> {
+                    }
+                }
+            }
+            gzip = gzip < 0 ? Math.max(any, 0) : gzip;
+            deflate = deflate < 0 ? Math.max(any, 0) : deflate;
+            identity = identity < 0 ? (any < 0 ? MIN_QUALITY : any) : identity;
+            if (gzip > 0 && gzip >= deflate && gzip >= identity) {
+                return GZIP;
+            }
+            if (deflate > 0 && deflate >= identity) {
+                return DEFLATE;
+            }
+            return IDENTITY;
+        }
+
+        /**
+         * 解析 q 值（缺省为 1，无法解析时视为不接受）
+         */
+        private static double quality(String[] tokens) {
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        double q = Double.parseDouble(param.substring(2).trim());
+                        return Double.isNaN(q) ? 0 : Math.min(1, Math.max(0, q));
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 1;
+        }
+    }
+
+    /**
+     * 编码后的正文
+     *
+     * @param content  正文字节
+     * @param encoding 编码
+     */
+    public record EncodedBody(byte[] content, Encoding encoding) {
+    }
+
+    /**
+     * 内容版本缓存的最大条目数
+     */
+    private static final int VERSION_CACHE_SIZE = 10_000;
+
+    private final ArticleCacheProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BlogArticleMapper articleMapper;
+
+    /**
+     * 进程内缓存（Key：文章ID:版本:编码）
+     */
+    private final Cache<String, byte[]> localCache;
+
+    /**
+     * 正文实例 -> 内容版本（弱引用按实例比较，详情缓存中的同一正文只计算一次摘要）
+     */
+    private final Cache<String, String> versionCache = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(VERSION_CACHE_SIZE)
+            .build();
+
+    /**
+     * 构造正文预压缩缓存
+     *
+     * @param properties          缓存配置
+     * @param stringRedisTemplate Redis 模板
+     * @param articleMapper       文章Mapper
+     */
+    public ArticleBodyCache(ArticleCacheProperties properties,
+                            StringRedisTemplate stringRedisTemplate,
+                            BlogArticleMapper articleMapper) {
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.articleMapper = articleMapper;
+        this.localCache = Caffeine.newBuilder()
+                .maximumWeight(properties.getBodyLocalMaximumSize().toBytes())
+                .weigher((String key, byte[] value) -> value.length)
+                .expireAfterAccess(properties.getRedisTtl())
+                .build();
+    }
+
+    /**
+     * 获取指定编码的正文
+     *
+     * @param articleId   文章ID
+     * @param htmlContent 当前正文 HTML（来自文章详情缓存）
+     * @param encoding    编码
+     * @return 编码后的正文
+     */
+    public EncodedBody get(Long articleId, String htmlContent, Encoding encoding) {
+        String html = htmlContent == null ? "" : htmlContent;
+        String key = key(articleId, versionCache.get(html, ArticleBodyCache::version), encoding);
+        byte[] content = localCache.get(key, k -> load(k, html, encoding));
+        return new EncodedBody(content, encoding);
+    }
+
+    /**
+     * 文章发布、更新后预生成压缩版本
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        // 批量写入（如导入）的文章不逐篇预压缩，在首次访问时生成
+        if (!properties.isEnabled() || event.getChangeType() == ArticleChangedEvent.ChangeType.DELETED
+                || event.getArticleIds().size() != 1) {
+            return;
+        }
+        Long articleId = event.getArticleIds().getFirst();
+        try {
+            BlogArticle article = articleMapper.selectOne(new LambdaQueryWrapper<BlogArticle>()
+                    .select(BlogArticle::getId, BlogArticle::getIsDraft, BlogArticle::getHtmlContent)
+                    .eq(BlogArticle::getId, articleId));
+            if (article == null || DraftStatusEnum.isDraft(article.getIsDraft())) {
+                return;
+            }
+            String html = article.getHtmlContent() == null ? "" : article.getHtmlContent();
+            String version = versionCache.get(html, ArticleBodyCache::version);
+            for (Encoding encoding : new Encoding[]{Encoding.GZIP, Encoding.DEFLATE}) {
+                String key = key(article.getId(), version, encoding);
+                byte[] content = encode(html, encoding);
+                writeRedis(key, content);
+                localCache.put(key, content);
+            }
+        } catch (Exception e) {
+            log.warn("预生成文章压缩正文失败，将在首次访问时生成: articleId={}", articleId, e);
+        }
+    }
+
+    /**
+     * 本地未命中：压缩版本先查 Redis，仍未命中则压缩后回写
+     */
+    private byte[] load(String key, String html, Encoding encoding) {
+        if (encoding == Encoding.IDENTITY) {
+            return html.getBytes(StandardCharsets.UTF_8);
+        }
+        if (properties.isEnabled()) {
+            byte[] cached = readRedis(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        byte[] content = encode(html, encoding);
+        if (properties.isEnabled()) {
+            writeRedis(key, content);
+        }
+        return content;
+    }
+
+    private byte[] readRedis(String key) {
+        try {
+            return stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            log.warn("读取文章压缩正文缓存失败: key={}", key, e);
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, byte[] content) {
+        try {
+            stringRedisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.stringCommands().set(key.getBytes(StandardCharsets.UTF_8), content,
+                            Expiration.from(properties.getRedisTtl()), RedisStringCommands.SetOption.upsert()));
+        } catch (Exception e) {
+            log.warn("写入文章压缩正文缓存失败: key={}", key, e);
+        }
+    }
+
+    /**
+     * 以最高压缩级别编码（仅在发布/更新或缓存未命中时执行一次）
+     */
+    private byte[] encode(String html, Encoding encoding) {
+        byte[] raw = html.getBytes(StandardCharsets.UTF_8);
+        if (encoding == Encoding.IDENTITY) {
+            return raw;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        if (encoding == Encoding.GZIP) {
+            try (GZIPOutputStream out = new BestCompressionGzipOutputStream(buffer)) {
+                out.write(raw);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (DeflaterOutputStream out = new DeflaterOutputStream(buffer, deflater)) {
+                out.write(raw);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                deflater.end();
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 正文内容版本（UTF-8 字节的 SHA-256）
+     */
+    static String version(String html) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(html.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String key(Long articleId, String version, Encoding encoding) {
+        return RedisConstants.ARTICLE_BODY + articleId + ":" + version + ":" + encoding.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 使用最高压缩级别的 gzip 输出流
+     */
+    private static class BestCompressionGzipOutputStream extends GZIPOutputStream {
+
+        BestCompressionGzipOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.nebula.service.article.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticleCacheProperties;
+import com.nebula.service.common.cluster.ClusterBroadcastHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
+import com.nebula.vo.ArticleVO;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 文章详情两级缓存
+ * <p>
+ * L1 为进程内 Caffeine 缓存（容量 + 过期时间淘汰），L2 为 Redis JSON 缓存。
+ * 缓存内容仅包含所有用户共享的文章主体（正文、作者、分类、标签），
+ * 点赞/收藏等与当前用户相关的字段不会写入缓存。
+ * <p>
+ * 计数列另存于进程内短时缓存（counter-ttl），详情命中时无需查询数据库，
+ * 展示的浏览量、评论数最多滞后一个 counter-ttl。
+ * <p>
+ * 失效时机：文章发布/更新/删除、分类/标签/用户资料变更事件在事务提交后触发，
+ * 本实例清理 L1 与 L2 后通过 Redis 广播通知其他实例清理各自的 L1。
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/10
+ */
+@Slf4j
+@Component
+public class ArticleDetailCache {
+
+    private final ArticleCacheProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JsonMapper jsonMapper;
+    private final ClusterBroadcastHelper broadcastHelper;
+    private final BlogArticleMapper articleMapper;
+    private final RelevancyArticleTagMapper articleTagMapper;
+
+    /**
+     * 进程内一级缓存
+     */
+    private final Cache<Long, ArticleVO> localCache;
+
+    /**
+     * 进程内计数快照缓存
+     */
+    private final Cache<Long, Counters> counterCache;
+
+    /**
+     * 数据库中的计数快照
+     *
+     * @param viewCount    浏览量
+     * @param likeCount    点赞数
+     * @param commentCount 评论数
+     * @param collectCount 收藏数
+     */
+    public record Counters(long viewCount, long likeCount, long commentCount, long collectCount) {
+    }
+
+    /**
+     * 构造文章详情缓存
+     *
+     * @param properties          缓存配置
+     * @param stringRedisTemplate Redis 模板
+     * @param jsonMapper          JSON 序列化工具
+     * @param broadcastHelper     集群广播Helper
+     * @param articleMapper       文章Mapper
+     * @param articleTagMapper    文章标签关联Mapper
+     */
+    public ArticleDetailCache(ArticleCacheProperties properties,
+                              StringRedisTemplate stringRedisTemplate,
+                              JsonMapper jsonMapper,
+                              ClusterBroadcastHelper broadcastHelper,
+                              BlogArticleMapper articleMapper,
+                              RelevancyArticleTagMapper articleTagMapper) {
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.broadcastHelper = broadcastHelper;
+        this.articleMapper = articleMapper;
+        this.articleTagMapper = articleTagMapper;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .build();
+        this.counterCache = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getCounterTtl())
+                .build();
+    }
+
+    /**
+     * 订阅其他实例的失效广播
+     */
+    @PostConstruct
+    public void subscribeEviction() {
+        broadcastHelper.subscribe(RedisConstants.CHANNEL_ARTICLE_DETAIL_EVICT, this::handleRemoteEviction);
+    }
+
+    /**
+     * 获取文章详情（未命中时依次回源 Redis、数据库）
+     * <p>
+     * 同一实例内同一文章的并发未命中只会触发一次回源；返回值为缓存对象的副本，调用方可自由修改
+     *
+     * @param articleId 文章ID
+     * @param loader    数据库回源方法，返回 null 表示文章不存在
+     * @return 文章详情副本，不存在时返回 null
+     */
+    public ArticleVO get(Long articleId, Function<Long, ArticleVO> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(articleId);
+        }
+        ArticleVO cached = localCache.get(articleId, id -> loadFromRedis(id, loader));
+        return cached == null ? null : copyOf(cached);
+    }
+
+    /**
+     * 判断文章详情是否已在进程内缓存中（不触发回源）
+     *
+     * @param articleId 文章ID
+     * @return 是否命中一级缓存
+     */
+    public boolean containsLocal(Long articleId) {
+        return properties.isEnabled() && localCache.getIfPresent(articleId) != null;
+    }
+
+    /**
+     * 获取文章的数据库计数快照（未命中时回源数据库）
+     *
+     * @param articleId 文章ID
+     * @param loader    数据库回源方法，返回 null 表示文章不存在
+     * @return 计数快照，不存在时返回 null
+     */
+    public Counters getCounters(Long articleId, Function<Long, Counters> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(articleId);
+        }
+        return counterCache.get(articleId, loader);
+    }
+
+    /**
+     * 使指定文章的缓存失效，并广播通知其他实例
+     *
+     * @param articleIds 文章ID集合
+     */
+    public void evict(Collection<Long> articleIds) {
+        if (articleIds == null || articleIds.isEmpty()) {
+            return;
+        }
+        // 先清理 L1：Caffeine 会等待同 key 上进行中的回源完成后再移除，
+        // 确保随后删除的 Redis 数据不会被进行中的回源重新写入旧值
+        localCache.invalidateAll(articleIds);
+        counterCache.invalidateAll(articleIds);
+        try {
+            stringRedisTemplate.delete(articleIds.stream().map(this::buildKey).toList());
+        } catch (Exception e) {
+            log.warn("删除文章详情 Redis 缓存失败: articleIds={}", articleIds, e);
+        }
+        broadcastHelper.publish(RedisConstants.CHANNEL_ARTICLE_DETAIL_EVICT,
+                articleIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * 文章变更后失效缓存
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        evict(event.getArticleIds());
+    }
+
+    /**
+     * 分类/标签/用户变更后失效引用它们的文章缓存
+     *
+     * @param event 引用数据变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        Collection<Long> articleIds = event.getAffectedArticleIds() != null
+                ? event.getAffectedArticleIds()
+                : resolveAffectedArticleIds(event);
+        evict(articleIds);
+    }
+
+    /**
+     * 从 Redis 读取，未命中时回源数据库并回填 Redis
+     * <p>
+     * Redis 不可用时直接降级为数据库查询
+     */
+    private ArticleVO loadFromRedis(Long articleId, Function<Long, ArticleVO> loader) {
+        String key = buildKey(articleId);
+        try {
+            String json = stringRedisTemplate.opsForValue().get(key);
+            if (json != null) {
+                return jsonMapper.readValue(json, ArticleVO.class);
+            }
+        } catch (Exception e) {
+            log.warn("读取文章详情 Redis 缓存失败，降级查询数据库: articleId={}", articleId, e);
+        }
+
+        ArticleVO articleVO = loader.apply(articleId);
+        if (articleVO == null) {
+            return null;
+        }
+        // 用户维度字段不进入共享缓存
+        articleVO.setIsLiked(null);
+        articleVO.setIsCollected(null);
+
+        try {
+            stringRedisTemplate.opsForValue().set(key, jsonMapper.writeValueAsString(articleVO), properties.getRedisTtl());
+        } catch (Exception e) {
+            log.warn("写入文章详情 Redis 缓存失败: articleId={}", articleId, e);
+        }
+        return articleVO;
+    }
+
+    /**
+     * 查询引用了指定分类/标签/用户的文章ID
+     */
+    private List<Long> resolveAffectedArticleIds(ReferenceDataChangedEvent event) {
+        Long referenceId = event.getReferenceId();
+        return switch (event.getReferenceType()) {
+            case CATEGORY -> articleMapper.selectObjs(new LambdaQueryWrapper<BlogArticle>()
+                    .select(BlogArticle::getId)
+                    .eq(BlogArticle::getCategoryId, referenceId));
+            case USER -> articleMapper.selectObjs(new LambdaQueryWrapper<BlogArticle>()
+                    .select(BlogArticle::getId)
+                    .eq(BlogArticle::getAuthorId, referenceId));
+            case TAG -> articleTagMapper.selectObjs(new LambdaQueryWrapper<RelevancyArticleTag>()
+                    .select(RelevancyArticleTag::getArticleId)
+                    .eq(RelevancyArticleTag::getTagId, referenceId));
+        };
+    }
+
+    /**
+     * 处理其他实例广播的失效消息
+     *
+     * @param payload 逗号分隔的文章ID
+     */
+    private void handleRemoteEviction(String payload) {
+        List<Long> articleIds = Arrays.stream(payload.split(","))
+                .filter(s -> !s.isBlank())
+                .map(Long::valueOf)
+                .toList();
+        localCache.invalidateAll(articleIds);
+        counterCache.invalidateAll(articleIds);
+    }
+
+    /**
+     * 复制缓存对象，避免调用方修改共享实例
+     */
+    private ArticleVO copyOf(ArticleVO source) {
+        ArticleVO copy = new ArticleVO();
+        BeanUtils.copyProperties(source, copy);
+        copy.setTags(source.getTags() == null ? null : new ArrayList<>(source.getTags()));
+        return copy;
+    }
+
+    private String buildKey(Long articleId) {
+        return RedisConstants.ARTICLE_DETAIL + Objects.requireNonNull(articleId);
+    }
+}
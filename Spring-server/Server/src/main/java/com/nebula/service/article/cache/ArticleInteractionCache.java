@@ -0,0 +1,358 @@
+package com.nebula.service.article.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogArticleCollect;
+import com.nebula.entity.BlogArticleLike;
+import com.nebula.mapper.BlogArticleCollectMapper;
+import com.nebula.mapper.BlogArticleLikeMapper;
+import com.nebula.properties.ArticleInteractionCacheProperties;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.vo.InteractionStatusVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 文章点赞/收藏关系缓存
+ * <p>
+ * 每篇文章的点赞、收藏用户分别存放在 Redis SET 中（Key 按文章区分，成员为用户ID）：
+ * <ul>
+ *     <li>集合不存在时从关系表加载，集合中固定包含占位成员，用于区分“未加载”与“无人点赞”</li>
+ *     <li>启用异步落库时切换直接在集合上完成（见 {@link com.nebula.service.article.counter.ArticleInteractionQueue}），
+ *     否则在事务提交后同步到已加载的集合，未加载的集合留待下次访问时加载</li>
+ *     <li>批量查询通过一次 Lua 脚本返回整页文章的点赞、收藏状态</li>
+ * </ul>
+ * 加载与切换并发时，切换可能发生在读取关系表之后、写入集合之前。为避免较早的数据库快照覆盖切换结果，
+ * 每次切换都会递增该文章关系的版本号，加载脚本仅在集合仍不存在且版本号与读取关系表前一致时写入集合，
+ * 否则放弃本次写入，由下次访问重新加载。
+ * 集合设置过期时间作为兜底；Redis 不可用时降级为数据库查询
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleInteractionCache {
+
+    /**
+     * 占位成员（用户ID均为正数，不会与真实成员冲突）
+     */
+    private static final String PLACEHOLDER = "0";
+
+    /**
+     * 集合未加载时脚本返回的标记值
+     */
+    private static final long NOT_LOADED = -1L;
+
+    /**
+     * 批量判断成员关系：集合不存在返回 -1，否则返回 SISMEMBER 结果
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> BATCH_MEMBER_SCRIPT = new DefaultRedisScript<>(
+            "local result = {} " +
+                    "for i, key in ipairs(KEYS) do " +
+                    "if redis.call('EXISTS', key) == 0 then result[i] = -1 " +
+                    "else result[i] = redis.call('SISMEMBER', key, ARGV[1]) end " +
+                    "end " +
+                    "return result",
+            List.class
+    );
+
+    /**
+     * 递增关系版本号，仅对已加载的集合增删成员（KEYS: 集合、版本号；ARGV: 用户ID、是否新增、过期秒数）
+     */
+    private static final DefaultRedisScript<Long> UPDATE_MEMBER_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+                    "redis.call('EXPIRE', KEYS[2], ARGV[3]) " +
+                    "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+                    "if ARGV[2] == '1' then redis.call('SADD', KEYS[1], ARGV[1]) " +
+                    "else redis.call('SREM', KEYS[1], ARGV[1]) end " +
+                    "return 1",
+            Long.class
+    );
+
+    /**
+     * 集合不存在且版本号与读取关系表前一致时写入成员（KEYS: 集合、版本号；ARGV: 读取前的版本号、过期秒数、成员...），
+     * 返回是否写入
+     */
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+                    "if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then return 0 end " +
+                    "for i = 3, #ARGV, 1000 do " +
+                    "redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV))) " +
+                    "end " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+                    "return 1",
+            Long.class
+    );
+
+    /**
+     * 关系类型
+     */
+    public enum Relation {
+        LIKE(RedisConstants.ARTICLE_LIKE_MEMBERS, RedisConstants.ARTICLE_LIKE_VERSION),
+        COLLECT(RedisConstants.ARTICLE_COLLECT_MEMBERS, RedisConstants.ARTICLE_COLLECT_VERSION);
+
+        private final String keyPrefix;
+        private final String versionKeyPrefix;
+
+        Relation(String keyPrefix, String versionKeyPrefix) {
+            this.keyPrefix = keyPrefix;
+            this.versionKeyPrefix = versionKeyPrefix;
+        }
+
+        /**
+         * 获取文章的关系集合 Key
+         *
+         * @param articleId 文章ID
+         * @return Redis Key
+         */
+        public String key(Long articleId) {
+            return keyPrefix + articleId;
+        }
+
+        /**
+         * 获取文章的关系版本号 Key
+         *
+         * @param articleId 文章ID
+         * @return Redis Key
+         */
+        public String versionKey(Long articleId) {
+            return versionKeyPrefix + articleId;
+        }
+    }
+
+    private final ArticleInteractionCacheProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BlogArticleLikeMapper articleLikeMapper;
+    private final BlogArticleCollectMapper articleCollectMapper;
+
+    /**
+     * 批量获取用户对文章的点赞、收藏状态
+     *
+     * @param articleIds 文章ID集合
+     * @param userId     用户ID
+     * @return 文章ID -> 交互状态（包含全部入参文章）
+     */
+    public Map<Long, InteractionStatusVO> getStatus(Collection<Long> articleIds, Long userId) {
+        List<Long> ids = articleIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        if (properties.isEnabled()) {
+            try {
+                return getStatusFromRedis(ids, userId);
+            } catch (Exception e) {
+                log.warn("读取文章点赞/收藏关系缓存失败，降级为数据库查询", e);
+            }
+        }
+        return getStatusFromDatabase(ids, userId);
+    }
+
+    /**
+     * 确保文章的关系集合已加载到 Redis
+     *
+     * @param relation  关系类型
+     * @param articleId 文章ID
+     */
+    public void ensureLoaded(Relation relation, Long articleId) {
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(relation.key(articleId)))) {
+            loadMembers(relation, Set.of(articleId));
+        }
+    }
+
+    /**
+     * 点赞/收藏切换后同步集合（应在事务提交后调用）
+     *
+     * @param relation  关系类型
+     * @param articleId 文章ID
+     * @param userId    用户ID
+     * @param added     true-新增，false-取消
+     */
+    public void onToggled(Relation relation, Long articleId, Long userId, boolean added) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(UPDATE_MEMBER_SCRIPT,
+                    List.of(relation.key(articleId), relation.versionKey(articleId)),
+                    userId.toString(), added ? "1" : "0", String.valueOf(properties.getTtl().toSeconds()));
+        } catch (Exception e) {
+            // 同步失败时删除集合，下次访问重新加载
+            log.warn("同步文章{}关系缓存失败: articleId={}", relation, articleId, e);
+            evict(articleId);
+        }
+    }
+
+    /**
+     * 文章删除后清理关系集合
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (properties.isEnabled() && event.getChangeType() == ArticleChangedEvent.ChangeType.DELETED) {
+            evict(event.getArticleIds());
+        }
+    }
+
+    private void evict(Long articleId) {
+        evict(List.of(articleId));
+    }
+
+    private void evict(Collection<Long> articleIds) {
+        List<String> keys = new ArrayList<>(articleIds.size() * 2);
+        for (Long articleId : articleIds) {
+            keys.add(Relation.LIKE.key(articleId));
+            keys.add(Relation.COLLECT.key(articleId));
+        }
+        try {
+            stringRedisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.warn("清理文章关系缓存失败: articleIds={}", articleIds, e);
+        }
+    }
+
+    /**
+     * 一次脚本调用查询全部集合，未加载的集合批量回源后写入
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, InteractionStatusVO> getStatusFromRedis(List<Long> articleIds, Long userId) {
+        List<String> keys = new ArrayList<>(articleIds.size() * 2);
+        for (Long articleId : articleIds) {
+            keys.add(Relation.LIKE.key(articleId));
+            keys.add(Relation.COLLECT.key(articleId));
+        }
+        List<Long> flags = stringRedisTemplate.execute(BATCH_MEMBER_SCRIPT, keys, userId.toString());
+        if (flags == null || flags.size() != keys.size()) {
+            throw new IllegalStateException("关系缓存脚本返回结果异常");
+        }
+
+        Set<Long> missingLikes = new LinkedHashSet<>();
+        Set<Long> missingCollects = new LinkedHashSet<>();
+        for (int i = 0; i < articleIds.size(); i++) {
+            if (flags.get(i * 2) == NOT_LOADED) {
+                missingLikes.add(articleIds.get(i));
+            }
+            if (flags.get(i * 2 + 1) == NOT_LOADED) {
+                missingCollects.add(articleIds.get(i));
+            }
+        }
+        Map<Long, Set<Long>> likeMembers = loadMembers(Relation.LIKE, missingLikes);
+        Map<Long, Set<Long>> collectMembers = loadMembers(Relation.COLLECT, missingCollects);
+
+        Map<Long, InteractionStatusVO> result = new HashMap<>();
+        for (int i = 0; i < articleIds.size(); i++) {
+            Long articleId = articleIds.get(i);
+            boolean liked = missingLikes.contains(articleId)
+                    ? likeMembers.getOrDefault(articleId, Set.of()).contains(userId)
+                    : flags.get(i * 2) == 1L;
+            boolean collected = missingCollects.contains(articleId)
+                    ? collectMembers.getOrDefault(articleId, Set.of()).contains(userId)
+                    : flags.get(i * 2 + 1) == 1L;
+            result.put(articleId, buildStatus(liked, collected));
+        }
+        return result;
+    }
+
+    /**
+     * 从关系表加载文章的全部成员并写入 Redis
+     * <p>
+     * 读取关系表前记录版本号，写入时集合已存在或版本号已变化（期间发生过切换）的文章不写入
+     *
+     * @param relation   关系类型
+     * @param articleIds 待加载的文章ID
+     * @return 文章ID -> 用户ID集合
+     */
+    private Map<Long, Set<Long>> loadMembers(Relation relation, Set<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = new ArrayList<>(articleIds);
+        List<String> versions = stringRedisTemplate.opsForValue()
+                .multiGet(ids.stream().map(relation::versionKey).toList());
+
+        Map<Long, Set<Long>> members = switch (relation) {
+            case LIKE -> articleLikeMapper.selectList(new LambdaQueryWrapper<BlogArticleLike>()
+                            .select(BlogArticleLike::getArticleId, BlogArticleLike::getUserId)
+                            .in(BlogArticleLike::getArticleId, articleIds)).stream()
+                    .collect(Collectors.groupingBy(BlogArticleLike::getArticleId,
+                            Collectors.mapping(BlogArticleLike::getUserId, Collectors.toSet())));
+            case COLLECT -> articleCollectMapper.selectList(new LambdaQueryWrapper<BlogArticleCollect>()
+                            .select(BlogArticleCollect::getArticleId, BlogArticleCollect::getUserId)
+                            .in(BlogArticleCollect::getArticleId, articleIds)).stream()
+                    .collect(Collectors.groupingBy(BlogArticleCollect::getArticleId,
+                            Collectors.mapping(BlogArticleCollect::getUserId, Collectors.toSet())));
+        };
+
+        String ttlSeconds = String.valueOf(properties.getTtl().toSeconds());
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (int i = 0; i < ids.size(); i++) {
+                Long articleId = ids.get(i);
+                String version = versions == null ? null : versions.get(i);
+                List<String> keysAndArgs = new ArrayList<>();
+                keysAndArgs.add(relation.key(articleId));
+                keysAndArgs.add(relation.versionKey(articleId));
+                keysAndArgs.add(version == null ? "" : version);
+                keysAndArgs.add(ttlSeconds);
+                keysAndArgs.add(PLACEHOLDER);
+                members.getOrDefault(articleId, Set.of()).forEach(userId -> keysAndArgs.add(userId.toString()));
+                stringConnection.eval(LOAD_SCRIPT.getScriptAsString(), ReturnType.INTEGER, 2,
+                        keysAndArgs.toArray(String[]::new));
+            }
+            return null;
+        });
+        return members;
+    }
+
+    /**
+     * 降级：直接查询关系表
+     */
+    private Map<Long, InteractionStatusVO> getStatusFromDatabase(List<Long> articleIds, Long userId) {
+        Set<Long> likedIds = articleLikeMapper.selectList(new LambdaQueryWrapper<BlogArticleLike>()
+                        .select(BlogArticleLike::getArticleId)
+                        .eq(BlogArticleLike::getUserId, userId)
+                        .in(BlogArticleLike::getArticleId, articleIds)).stream()
+                .map(BlogArticleLike::getArticleId)
+                .collect(Collectors.toCollection(HashSet::new));
+        Set<Long> collectedIds = articleCollectMapper.selectList(new LambdaQueryWrapper<BlogArticleCollect>()
+                        .select(BlogArticleCollect::getArticleId)
+                        .eq(BlogArticleCollect::getUserId, userId)
+                        .in(BlogArticleCollect::getArticleId, articleIds)).stream()
+                .map(BlogArticleCollect::getArticleId)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        Map<Long, InteractionStatusVO> result = new HashMap<>();
+        for (Long articleId : articleIds) {
+            result.put(articleId, buildStatus(likedIds.contains(articleId), collectedIds.contains(articleId)));
+        }
+        return result;
+    }
+
+    private InteractionStatusVO buildStatus(boolean liked, boolean collected) {
+        InteractionStatusVO status = new InteractionStatusVO();
+        status.setLiked(liked);
+        status.setCollected(collected);
+        return status;
+    }
+}
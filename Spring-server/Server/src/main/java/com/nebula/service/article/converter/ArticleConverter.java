@@ -5,15 +5,18 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.nebula.entity.*;
 import com.nebula.mapper.*;
+import com.nebula.service.article.cache.ArticleInteractionCache;
+import com.nebula.service.common.reference.ReferenceDataCache;
 import com.nebula.vo.ArticleListVO;
+import com.nebula.vo.ArticleMetaVO;
 import com.nebula.vo.ArticleVO;
+import com.nebula.vo.InteractionStatusVO;
 import com.nebula.vo.client.TagClientVO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,15 +31,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ArticleConverter {
 
-    private final SysUserMapper userMapper;
-    private final BlogCategoryMapper categoryMapper;
-    private final BlogTagMapper tagMapper;
+    private final BlogArticleMapper articleMapper;
     private final RelevancyArticleTagMapper articleTagMapper;
-    private final BlogArticleLikeMapper articleLikeMapper;
-    private final BlogArticleCollectMapper articleCollectMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final ArticleInteractionCache interactionCache;
 
     /**
      * 批量转换文章列表（优化N+1查询）
+     * <p>
+     * 入参应来自 {@link BlogArticleMapper#selectListPage} 等列表投影查询，不包含正文大字段
      *
      * @param articles 文章实体列表
      * @return 文章列表VO
@@ -46,23 +49,19 @@ public class ArticleConverter {
             return new ArrayList<>();
         }
 
-        // 批量查询用户信息
+        // 批量获取作者展示信息（引用数据缓存）
         Set<Long> userIds = articles.stream()
                 .map(BlogArticle::getAuthorId)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
-        Map<Long, SysUser> userMap = userIds.isEmpty() ? Map.of() :
-                userMapper.selectBatchIds(userIds).stream()
-                        .collect(Collectors.toMap(SysUser::getId, Function.identity()));
+        Map<Long, ReferenceDataCache.UserRef> userMap = referenceDataCache.getUsers(userIds);
 
-        // 批量查询分类信息
+        // 批量获取分类信息（引用数据快照）
         Set<Long> categoryIds = articles.stream()
                 .map(BlogArticle::getCategoryId)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
-        Map<Long, BlogCategory> categoryMap = categoryIds.isEmpty() ? Map.of() :
-                categoryMapper.selectBatchIds(categoryIds).stream()
-                        .collect(Collectors.toMap(BlogCategory::getId, Function.identity()));
+        Map<Long, ReferenceDataCache.CategoryRef> categoryMap = referenceDataCache.getCategories(categoryIds);
 
         // 批量查询标签信息
         Set<Long> articleIds = articles.stream()
@@ -70,27 +69,37 @@ public class ArticleConverter {
                 .collect(Collectors.toSet());
         Map<Long, List<TagClientVO>> articleTagsMap = batchQueryTags(articleIds);
 
+        // 批量获取当前用户的点赞/收藏状态（未登录时为空）
+        Map<Long, InteractionStatusVO> statusMap = StpUtil.isLogin()
+                ? interactionCache.getStatus(articleIds, StpUtil.getLoginIdAsLong())
+                : Map.of();
+
         // 转换为VO
         return articles.stream().map(article -> {
             ArticleListVO vo = new ArticleListVO();
             BeanUtils.copyProperties(article, vo);
 
             // 设置作者信息
-            SysUser author = userMap.get(article.getAuthorId());
+            ReferenceDataCache.UserRef author = userMap.get(article.getAuthorId());
             if (author != null) {
-                vo.setAuthorNickname(author.getNickname());
-                vo.setAuthorAvatar(author.getAvatar());
+                vo.setAuthorNickname(author.nickname());
+                vo.setAuthorAvatar(author.avatar());
             }
 
             // 设置分类信息
-            BlogCategory category = categoryMap.get(article.getCategoryId());
+            ReferenceDataCache.CategoryRef category = categoryMap.get(article.getCategoryId());
             if (category != null) {
-                vo.setCategoryName(category.getCategoryName());
+                vo.setCategoryName(category.categoryName());
             }
 
             // 设置标签信息
             vo.setTags(articleTagsMap.getOrDefault(article.getId(), new ArrayList<>()));
 
+            // 设置当前用户交互状态
+            InteractionStatusVO status = statusMap.get(article.getId());
+            vo.setIsLiked(status != null && Boolean.TRUE.equals(status.getLiked()));
+            vo.setIsCollected(status != null && Boolean.TRUE.equals(status.getCollected()));
+
             return vo;
         }).collect(Collectors.toList());
     }
@@ -115,20 +124,17 @@ public class ArticleConverter {
             return Map.of();
         }
 
-        // 批量查询标签详情
-        Set<Long> tagIds = articleTags.stream()
-                .map(RelevancyArticleTag::getTagId)
-                .collect(Collectors.toSet());
-        Map<Long, BlogTag> tagMap = tagMapper.selectBatchIds(tagIds).stream()
-                .collect(Collectors.toMap(BlogTag::getId, Function.identity()));
+        // 标签详情取自引用数据快照
+        Map<Long, ReferenceDataCache.TagRef> tagMap = referenceDataCache.getTagSnapshot().items();
 
         // 构建文章ID -> 标签列表的映射
         Map<Long, List<TagClientVO>> result = new HashMap<>();
         for (RelevancyArticleTag articleTag : articleTags) {
-            BlogTag tag = tagMap.get(articleTag.getTagId());
+            ReferenceDataCache.TagRef tag = tagMap.get(articleTag.getTagId());
             if (tag != null) {
                 TagClientVO tagVO = new TagClientVO();
-                BeanUtils.copyProperties(tag, tagVO);
+                tagVO.setId(tag.id());
+                tagVO.setTagName(tag.tagName());
                 result.computeIfAbsent(articleTag.getArticleId(), k -> new ArrayList<>()).add(tagVO);
             }
         }
@@ -158,63 +164,55 @@ public class ArticleConverter {
      * @return 文章详情VO
      */
     public ArticleVO toDetailVO(BlogArticle article) {
-        ArticleVO articleVO = new ArticleVO();
-        BeanUtils.copyProperties(article, articleVO);
-
-        // 查询作者信息
-        fillAuthorInfo(articleVO, article.getAuthorId());
-
-        // 查询分类信息
-        fillCategoryInfo(articleVO, article.getCategoryId());
-
-        // 查询标签列表
-        fillTagsInfo(articleVO, article.getId());
+        ArticleVO articleVO = toDetailBody(article);
 
         // 查询当前用户交互状态
-        fillUserInteractionStatus(articleVO, article.getId());
+        fillUserInteractionStatus(articleVO);
 
         return articleVO;
     }
 
     /**
-     * 填充作者信息
+     * 构建文章详情主体（不含当前用户交互状态，可供多用户共享缓存）
+     * <p>
+     * 作者、分类、标签通过一次联表查询获取
+     *
+     * @param article 文章实体
+     * @return 文章详情VO
      */
-    private void fillAuthorInfo(ArticleVO articleVO, Long authorId) {
-        if (authorId == null) {
-            return;
-        }
-        SysUser author = userMapper.selectById(authorId);
-        if (author != null) {
-            articleVO.setAuthorNickname(author.getNickname());
-            articleVO.setAuthorAvatar(author.getAvatar());
-        }
-    }
+    public ArticleVO toDetailBody(BlogArticle article) {
+        ArticleVO articleVO = new ArticleVO();
+        BeanUtils.copyProperties(article, articleVO);
 
-    /**
-     * 填充分类信息
-     */
-    private void fillCategoryInfo(ArticleVO articleVO, Long categoryId) {
-        if (categoryId == null) {
-            return;
-        }
-        BlogCategory category = categoryMapper.selectById(categoryId);
-        if (category != null) {
-            articleVO.setCategoryName(category.getCategoryName());
+        List<ArticleMetaVO> metaRows = articleMapper.selectDetailMeta(article.getId());
+        List<TagClientVO> tags = new ArrayList<>();
+        if (!metaRows.isEmpty()) {
+            // 作者与分类信息在每一行中相同
+            ArticleMetaVO first = metaRows.get(0);
+            articleVO.setAuthorNickname(first.getAuthorNickname());
+            articleVO.setAuthorAvatar(first.getAuthorAvatar());
+            articleVO.setCategoryName(first.getCategoryName());
+
+            for (ArticleMetaVO row : metaRows) {
+                if (row.getTagId() != null) {
+                    TagClientVO tagVO = new TagClientVO();
+                    tagVO.setId(row.getTagId());
+                    tagVO.setTagName(row.getTagName());
+                    tags.add(tagVO);
+                }
+            }
         }
-    }
+        articleVO.setTags(tags);
 
-    /**
-     * 填充标签信息（复用批量查询方法）
-     */
-    private void fillTagsInfo(ArticleVO articleVO, Long articleId) {
-        Map<Long, List<TagClientVO>> tagsMap = batchQueryTags(Set.of(articleId));
-        articleVO.setTags(tagsMap.getOrDefault(articleId, new ArrayList<>()));
+        return articleVO;
     }
 
     /**
-     * 填充用户交互状态（点赞/收藏）
+     * 填充当前用户交互状态（点赞/收藏）
+     *
+     * @param articleVO 文章详情VO
      */
-    private void fillUserInteractionStatus(ArticleVO articleVO, Long articleId) {
+    public void fillUserInteractionStatus(ArticleVO articleVO) {
         // 未登录时直接返回默认值
         if (!StpUtil.isLogin()) {
             articleVO.setIsLiked(false);
@@ -222,18 +220,9 @@ public class ArticleConverter {
             return;
         }
 
-        Long userId = StpUtil.getLoginIdAsLong();
-
-        // 检查是否点赞
-        LambdaQueryWrapper<BlogArticleLike> likeWrapper = new LambdaQueryWrapper<>();
-        likeWrapper.eq(BlogArticleLike::getArticleId, articleId)
-                .eq(BlogArticleLike::getUserId, userId);
-        articleVO.setIsLiked(articleLikeMapper.selectCount(likeWrapper) > 0);
-
-        // 检查是否收藏
-        LambdaQueryWrapper<BlogArticleCollect> collectWrapper = new LambdaQueryWrapper<>();
-        collectWrapper.eq(BlogArticleCollect::getArticleId, articleId)
-                .eq(BlogArticleCollect::getUserId, userId);
-        articleVO.setIsCollected(articleCollectMapper.selectCount(collectWrapper) > 0);
+        InteractionStatusVO status = interactionCache.getStatus(
+                List.of(articleVO.getId()), StpUtil.getLoginIdAsLong()).get(articleVO.getId());
+        articleVO.setIsLiked(Boolean.TRUE.equals(status.getLiked()));
+        articleVO.setIsCollected(Boolean.TRUE.equals(status.getCollected()));
     }
 }
@@ -0,0 +1,551 @@
+package com.nebula.service.article.counter;
+
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogArticleCollect;
+import com.nebula.entity.BlogArticleLike;
+import com.nebula.mapper.BlogArticleCollectMapper;
+import com.nebula.mapper.BlogArticleLikeMapper;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.properties.ArticleInteractionCacheProperties;
+import com.nebula.properties.ArticleInteractionQueueProperties;
+import com.nebula.service.article.cache.ArticleInteractionCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 文章点赞/收藏异步落库队列
+ * <p>
+ * 切换操作通过一次 Lua 脚本在 Redis 中完成：翻转关系集合成员、累加待落库计数、写入 Stream 消息，
+ * 请求线程无需等待数据库。定时任务以消费组方式批量读取消息：
+ * <ul>
+ *     <li>切换时记录每个关系（关系类型:文章ID:用户ID）最后一次切换的消息ID，落库时只写入仍是最新的消息，
+ *     被后续切换取代的消息直接确认，接管的旧消息不会覆盖已落库的新状态</li>
+ *     <li>批量 INSERT IGNORE / DELETE 关系表，本批消息按文章汇总的净增量以一条 CASE 语句累加到点赞数、收藏数；
+ *     实例在提交后、确认前退出导致消息被重复消费时计数会产生偏差，由计数校准任务定期修正</li>
+ *     <li>数据库提交后在一次脚本中确认消息、扣减待落库计数并清理已落库关系的最新消息记录</li>
+ * </ul>
+ * 落库失败的消息保持未确认状态，下一轮重试；实例宕机遗留的消息超时后由其他实例接管。
+ * 关系集合已加载时当前计数直接取集合大小，不受落库与确认之间的时间差影响。
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/17
+ */
+@Slf4j
+@Component
+public class ArticleInteractionQueue {
+
+    /**
+     * 消费组名称
+     */
+    private static final String GROUP = "persist";
+
+    /**
+     * 当前实例的消费者名称
+     */
+    private static final String CONSUMER_NAME = UUID.randomUUID().toString();
+
+    /**
+     * 原子切换：集合未加载返回 -1，否则翻转成员、递增关系版本号、入队并记录最新消息ID，
+     * 返回切换后的状态（1-已添加，0-已移除）
+     */
+    private static final DefaultRedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+                    "redis.call('INCR', KEYS[5]) " +
+                    "redis.call('EXPIRE', KEYS[5], ARGV[4]) " +
+                    "local added = 1 " +
+                    "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then " +
+                    "redis.call('SREM', KEYS[1], ARGV[1]) added = 0 " +
+                    "else redis.call('SADD', KEYS[1], ARGV[1]) end " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[4]) " +
+                    "redis.call('HINCRBY', KEYS[3], ARGV[3] .. ':' .. ARGV[2], added == 1 and 1 or -1) " +
+                    "local id = redis.call('XADD', KEYS[2], '*', 'relation', ARGV[3], 'articleId', ARGV[2], " +
+                    "'userId', ARGV[1], 'added', added) " +
+                    "redis.call('HSET', KEYS[4], ARGV[3] .. ':' .. ARGV[2] .. ':' .. ARGV[1], id) " +
+                    "return added",
+            Long.class
+    );
+
+    /**
+     * 确认并删除已落库消息，扣减待落库计数，并删除仍指向已落库消息的最新消息记录
+     * （ARGV: 消费组、消息数、消息ID...、增量字段数、字段、增量...、关系、消息ID...）
+     */
+    private static final DefaultRedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>(
+            "local n = tonumber(ARGV[2]) " +
+                    "for i = 3, 2 + n do " +
+                    "redis.call('XACK', KEYS[1], ARGV[1], ARGV[i]) " +
+                    "redis.call('XDEL', KEYS[1], ARGV[i]) " +
+                    "end " +
+                    "local from = 4 + n " +
+                    "local to = from + 2 * tonumber(ARGV[3 + n]) - 1 " +
+                    "for i = from, to, 2 do " +
+                    "if redis.call('HINCRBY', KEYS[2], ARGV[i], ARGV[i + 1]) == 0 then " +
+                    "redis.call('HDEL', KEYS[2], ARGV[i]) end " +
+                    "end " +
+                    "for i = to + 1, #ARGV, 2 do " +
+                    "if redis.call('HGET', KEYS[3], ARGV[i]) == ARGV[i + 1] then " +
+                    "redis.call('HDEL', KEYS[3], ARGV[i]) end " +
+                    "end " +
+                    "return n",
+            Long.class
+    );
+
+    /**
+     * 读取当前计数：每种关系返回两项，集合已加载时为（成员数 - 占位成员, 0），
+     * 否则为（-1, 待落库增量）（KEYS: 各关系集合、待落库增量 Hash；ARGV: 各关系的增量字段）
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> LIVE_COUNT_SCRIPT = new DefaultRedisScript<>(
+            "local result = {} " +
+                    "for i = 1, #ARGV do " +
+                    "if redis.call('EXISTS', KEYS[i]) == 1 then " +
+                    "result[i * 2 - 1] = redis.call('SCARD', KEYS[i]) - 1 result[i * 2] = 0 " +
+                    "else result[i * 2 - 1] = -1 " +
+                    "result[i * 2] = tonumber(redis.call('HGET', KEYS[#KEYS], ARGV[i]) or '0') end " +
+                    "end " +
+                    "return result",
+            List.class
+    );
+
+    /**
+     * 队列中的一次切换
+     *
+     * @param relation  关系类型
+     * @param articleId 文章ID
+     * @param userId    用户ID
+     * @param added     true-新增，false-取消
+     */
+    private record Change(ArticleInteractionCache.Relation relation, Long articleId, Long userId, boolean added) {
+
+        /**
+         * 最新消息记录中的字段
+         */
+        String field() {
+            return relation.name() + ":" + articleId + ":" + userId;
+        }
+    }
+
+    private final ArticleInteractionQueueProperties properties;
+    private final ArticleInteractionCacheProperties cacheProperties;
+    private final ArticleInteractionCache interactionCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlogArticleMapper articleMapper;
+    private final BlogArticleLikeMapper articleLikeMapper;
+    private final BlogArticleCollectMapper articleCollectMapper;
+
+    /**
+     * 消费组是否已创建
+     */
+    private volatile boolean groupReady;
+
+    private final Counter persistedCounter;
+    private final Counter persistFailureCounter;
+
+    /**
+     * 构造点赞/收藏落库队列
+     *
+     * @param properties           队列配置
+     * @param cacheProperties      关系缓存配置
+     * @param interactionCache     关系缓存
+     * @param stringRedisTemplate  Redis 模板
+     * @param transactionTemplate  事务模板
+     * @param articleMapper        文章Mapper
+     * @param articleLikeMapper    点赞Mapper
+     * @param articleCollectMapper 收藏Mapper
+     * @param meterRegistry        指标注册表
+     */
+    public ArticleInteractionQueue(ArticleInteractionQueueProperties properties,
+                                   ArticleInteractionCacheProperties cacheProperties,
+                                   ArticleInteractionCache interactionCache,
+                                   StringRedisTemplate stringRedisTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   BlogArticleMapper articleMapper,
+                                   BlogArticleLikeMapper articleLikeMapper,
+                                   BlogArticleCollectMapper articleCollectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cacheProperties = cacheProperties;
+        this.interactionCache = interactionCache;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.articleMapper = articleMapper;
+        this.articleLikeMapper = articleLikeMapper;
+        this.articleCollectMapper = articleCollectMapper;
+        this.persistedCounter = Counter.builder("nebula.article.interaction.persisted")
+                .description("已落库的点赞/收藏切换消息数")
+                .register(meterRegistry);
+        this.persistFailureCounter = Counter.builder("nebula.article.interaction.persist.failures")
+                .description("点赞/收藏落库失败次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 是否启用 Redis 优先切换
+     *
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled() && cacheProperties.isEnabled();
+    }
+
+    /**
+     * 在 Redis 中切换点赞/收藏状态并入队
+     *
+     * @param relation  关系类型
+     * @param articleId 文章ID
+     * @param userId    用户ID
+     * @return 切换后的状态（true-已添加，false-已移除）；Redis 不可用时返回 null，由调用方同步写库
+     */
+    public Boolean toggle(ArticleInteractionCache.Relation relation, Long articleId, Long userId) {
+        try {
+            // 集合可能在加载后、切换前过期，重试一次
+            for (int attempt = 0; attempt < 2; attempt++) {
+                interactionCache.ensureLoaded(relation, articleId);
+                Long result = stringRedisTemplate.execute(TOGGLE_SCRIPT,
+                        List.of(relation.key(articleId),
+                                RedisConstants.ARTICLE_INTERACTION_STREAM,
+                                RedisConstants.ARTICLE_INTERACTION_PENDING,
+                                RedisConstants.ARTICLE_INTERACTION_LATEST,
+                                relation.versionKey(articleId)),
+                        userId.toString(), articleId.toString(), relation.name(),
+                        String.valueOf(cacheProperties.getTtl().toSeconds()));
+                if (result != null && result >= 0) {
+                    return result == 1;
+                }
+            }
+            log.warn("文章{}关系集合加载后仍不存在: articleId={}", relation, articleId);
+        } catch (Exception e) {
+            log.warn("Redis 切换文章{}状态失败，降级为同步写库: articleId={}", relation, articleId, e);
+        }
+        return null;
+    }
+
+    /**
+     * 获取文章当前的点赞/收藏数
+     * <p>
+     * 关系集合已加载时直接取集合大小，集合与切换在同一脚本中更新，不会在落库提交与消息确认之间重复计数；
+     * 未加载时以数据库计数加待落库增量代替
+     *
+     * @param articleId 文章ID
+     * @param persisted 关系类型 -> 数据库中的计数
+     * @return 关系类型 -> 当前计数
+     */
+    @SuppressWarnings("unchecked")
+    public Map<ArticleInteractionCache.Relation, Long> getLiveCounts(Long articleId,
+                                                                    Map<ArticleInteractionCache.Relation, Long> persisted) {
+        Map<ArticleInteractionCache.Relation, Long> counts = new EnumMap<>(ArticleInteractionCache.Relation.class);
+        counts.putAll(persisted);
+        if (!isEnabled()) {
+            return counts;
+        }
+        ArticleInteractionCache.Relation[] relations = ArticleInteractionCache.Relation.values();
+        List<String> keys = new ArrayList<>(relations.length + 1);
+        List<String> fields = new ArrayList<>(relations.length);
+        for (ArticleInteractionCache.Relation relation : relations) {
+            keys.add(relation.key(articleId));
+            fields.add(pendingField(relation, articleId));
+        }
+        keys.add(RedisConstants.ARTICLE_INTERACTION_PENDING);
+        try {
+            List<Long> values = stringRedisTemplate.execute(LIVE_COUNT_SCRIPT, keys, fields.toArray());
+            if (values == null || values.size() != relations.length * 2) {
+                return counts;
+            }
+            for (int i = 0; i < relations.length; i++) {
+                long members = values.get(i * 2);
+                counts.put(relations[i], members >= 0 ? members
+                        : Math.max(0, persisted.getOrDefault(relations[i], 0L) + values.get(i * 2 + 1)));
+            }
+        } catch (Exception e) {
+            log.debug("读取文章当前点赞/收藏数失败: articleId={}", articleId, e);
+        }
+        return counts;
+    }
+
+    /**
+     * 用户对文章是否还有未落库的切换
+     *
+     * @param relation  关系类型
+     * @param articleId 文章ID
+     * @param userId    用户ID
+     * @return 是否存在；Redis 不可用无法确认时返回 true
+     */
+    public boolean hasQueuedChange(ArticleInteractionCache.Relation relation, Long articleId, Long userId) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForHash().hasKey(
+                    RedisConstants.ARTICLE_INTERACTION_LATEST, new Change(relation, articleId, userId, false).field()));
+        } catch (Exception e) {
+            log.warn("检查未落库的文章{}切换失败: articleId={}, userId={}", relation, articleId, userId, e);
+            return true;
+        }
+    }
+
+    /**
+     * 定时批量消费队列并写入数据库
+     */
+    @Scheduled(fixedDelayString = "${app.article.interaction-queue.persist-interval:1s}")
+    public synchronized void persist() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            ensureGroup();
+            claimStale();
+            int batchSize = Math.max(1, properties.getBatchSize());
+            // 先重试本实例已投递未确认的消息，再读取新消息
+            List<MapRecord<String, Object, Object>> records = read(ReadOffset.from("0"), batchSize);
+            if (records.isEmpty()) {
+                records = read(ReadOffset.lastConsumed(), batchSize);
+            }
+            while (!records.isEmpty()) {
+                apply(records);
+                if (records.size() < batchSize) {
+                    break;
+                }
+                records = read(ReadOffset.lastConsumed(), batchSize);
+            }
+        } catch (Exception e) {
+            persistFailureCounter.increment();
+            log.warn("点赞/收藏落库失败，消息保留至下一轮", e);
+        }
+    }
+
+    /**
+     * 应用关闭前执行最终落库
+     */
+    @PreDestroy
+    public void persistOnShutdown() {
+        persist();
+    }
+
+    /**
+     * 将一批消息写入数据库并确认
+     */
+    private void apply(List<MapRecord<String, Object, Object>> records) {
+        List<String> recordIds = new ArrayList<>(records.size());
+        Map<String, Long> pendingDeltas = new LinkedHashMap<>();
+        Map<ArticleInteractionCache.Relation, Map<Long, Long>> countDeltas =
+                new EnumMap<>(ArticleInteractionCache.Relation.class);
+        Map<String, Change> changes = new LinkedHashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            String recordId = record.getId().getValue();
+            recordIds.add(recordId);
+            Change change = parse(record);
+            if (change == null) {
+                continue;
+            }
+            long delta = change.added() ? 1L : -1L;
+            pendingDeltas.merge(pendingField(change.relation(), change.articleId()), delta, Long::sum);
+            // 被后续切换取代的消息也计入增量：每条消息都对应集合上的一次翻转，增量之和即关系数的净变化
+            countDeltas.computeIfAbsent(change.relation(), k -> new LinkedHashMap<>())
+                    .merge(change.articleId(), delta, Long::sum);
+            changes.put(recordId, change);
+        }
+
+        // 只写入仍是该关系最新一次切换的消息：批次内较早的、接管的过期消息都已被后续切换取代
+        Map<String, Change> latest = new LinkedHashMap<>();
+        if (!changes.isEmpty()) {
+            List<Object> fields = changes.values().stream().map(change -> (Object) change.field()).toList();
+            List<Object> latestIds = stringRedisTemplate.opsForHash()
+                    .multiGet(RedisConstants.ARTICLE_INTERACTION_LATEST, fields);
+            int i = 0;
+            for (Map.Entry<String, Change> entry : changes.entrySet()) {
+                if (entry.getKey().equals(latestIds.get(i++))) {
+                    latest.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ArticleInteractionCache.Relation relation : ArticleInteractionCache.Relation.values()) {
+                writeRelation(relation, latest.values().stream()
+                        .filter(change -> change.relation() == relation)
+                        .toList(), countDeltas.getOrDefault(relation, Map.of()));
+            }
+        });
+
+        List<String> args = new ArrayList<>();
+        args.add(GROUP);
+        args.add(String.valueOf(recordIds.size()));
+        args.addAll(recordIds);
+        args.add(String.valueOf(pendingDeltas.size()));
+        pendingDeltas.forEach((field, delta) -> {
+            args.add(field);
+            args.add(String.valueOf(-delta));
+        });
+        latest.forEach((recordId, change) -> {
+            args.add(change.field());
+            args.add(recordId);
+        });
+        stringRedisTemplate.execute(ACK_SCRIPT,
+                List.of(RedisConstants.ARTICLE_INTERACTION_STREAM,
+                        RedisConstants.ARTICLE_INTERACTION_PENDING,
+                        RedisConstants.ARTICLE_INTERACTION_LATEST),
+                args.toArray());
+        persistedCounter.increment(recordIds.size());
+    }
+
+    /**
+     * 批量写入一种关系的新增/取消，并累加受影响文章的计数
+     *
+     * @param relation 关系类型
+     * @param changes  仍是最新一次切换的消息
+     * @param deltas   文章ID -> 本批消息的计数净增量
+     */
+    private void writeRelation(ArticleInteractionCache.Relation relation, List<Change> changes, Map<Long, Long> deltas) {
+        if (!changes.isEmpty()) {
+            switch (relation) {
+                case LIKE -> {
+                    List<BlogArticleLike> added = new ArrayList<>();
+                    List<BlogArticleLike> removed = new ArrayList<>();
+                    for (Change change : changes) {
+                        BlogArticleLike like = new BlogArticleLike();
+                        like.setArticleId(change.articleId());
+                        like.setUserId(change.userId());
+                        (change.added() ? added : removed).add(like);
+                    }
+                    if (!added.isEmpty()) {
+                        articleLikeMapper.batchInsertIgnore(added);
+                    }
+                    if (!removed.isEmpty()) {
+                        articleLikeMapper.batchDeleteByArticleAndUser(removed);
+                    }
+                }
+                case COLLECT -> {
+                    List<BlogArticleCollect> added = new ArrayList<>();
+                    List<BlogArticleCollect> removed = new ArrayList<>();
+                    for (Change change : changes) {
+                        BlogArticleCollect collect = new BlogArticleCollect();
+                        collect.setArticleId(change.articleId());
+                        collect.setUserId(change.userId());
+                        (change.added() ? added : removed).add(collect);
+                    }
+                    if (!added.isEmpty()) {
+                        articleCollectMapper.batchInsertIgnore(added);
+                    }
+                    if (!removed.isEmpty()) {
+                        articleCollectMapper.batchDeleteByArticleAndUser(removed);
+                    }
+                }
+            }
+        }
+
+        Map<Long, Long> nonZero = new LinkedHashMap<>();
+        deltas.forEach((articleId, delta) -> {
+            if (delta != 0) {
+                nonZero.put(articleId, delta);
+            }
+        });
+        if (!nonZero.isEmpty()) {
+            articleMapper.batchIncrementCounter(switch (relation) {
+                case LIKE -> "like_count";
+                case COLLECT -> "collect_count";
+            }, nonZero);
+        }
+    }
+
+    /**
+     * 解析消息，格式不正确的消息记录日志后丢弃
+     */
+    private Change parse(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> value = record.getValue();
+        try {
+            return new Change(
+                    ArticleInteractionCache.Relation.valueOf(String.valueOf(value.get("relation"))),
+                    Long.valueOf(String.valueOf(value.get("articleId"))),
+                    Long.valueOf(String.valueOf(value.get("userId"))),
+                    "1".equals(String.valueOf(value.get("added"))));
+        } catch (IllegalArgumentException e) {
+            log.warn("丢弃格式错误的点赞/收藏消息: id={}, value={}", record.getId(), value);
+            return null;
+        }
+    }
+
+    private List<MapRecord<String, Object, Object>> read(ReadOffset offset, int batchSize) {
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                Consumer.from(GROUP, CONSUMER_NAME),
+                StreamReadOptions.empty().count(batchSize),
+                StreamOffset.create(RedisConstants.ARTICLE_INTERACTION_STREAM, offset));
+        return records == null ? List.of() : records;
+    }
+
+    /**
+     * 接管其他实例投递后长时间未确认的消息
+     */
+    private void claimStale() {
+        PendingMessages pending = stringRedisTemplate.opsForStream().pending(
+                RedisConstants.ARTICLE_INTERACTION_STREAM, GROUP, Range.unbounded(), properties.getBatchSize());
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        List<RecordId> staleIds = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (!CONSUMER_NAME.equals(message.getConsumerName())
+                    && message.getElapsedTimeSinceLastDelivery().compareTo(properties.getClaimIdle()) >= 0) {
+                staleIds.add(message.getId());
+            }
+        }
+        if (!staleIds.isEmpty()) {
+            stringRedisTemplate.opsForStream().claim(RedisConstants.ARTICLE_INTERACTION_STREAM, GROUP,
+                    CONSUMER_NAME, properties.getClaimIdle(), staleIds.toArray(RecordId[]::new));
+            log.info("接管未确认的点赞/收藏消息: count={}", staleIds.size());
+        }
+    }
+
+    /**
+     * 创建消费组（Stream 不存在时一并创建）
+     */
+    private void ensureGroup() {
+        if (groupReady) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForStream().createGroup(
+                    RedisConstants.ARTICLE_INTERACTION_STREAM, ReadOffset.from("0"), GROUP);
+        } catch (Exception e) {
+            if (!isBusyGroup(e)) {
+                throw e;
+            }
+        }
+        groupReady = true;
+    }
+
+    private boolean isBusyGroup(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("BUSYGROUP")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String pendingField(ArticleInteractionCache.Relation relation, Long articleId) {
+        return relation.name() + ":" + articleId;
+    }
+}
@@ -0,0 +1,367 @@
+package com.nebula.service.article.counter;
+
+import com.nebula.constant.RedisConstants;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.properties.ArticleViewCounterProperties;
+import com.nebula.service.article.helper.HotArticleScoreHelper;
+import com.nebula.service.article.rank.HotArticleLeaderboard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 文章浏览量写回计数器
+ * <p>
+ * 浏览量先累加到缓冲区（单实例为进程内分段计数器，多实例为 Redis Hash），
+ * 由定时任务按固定间隔合并为一条 CASE 语句批量写回数据库，
+ * 避免热门文章每次浏览都争抢同一行锁。
+ * <p>
+ * 落库失败的增量会保留在缓冲区，下一轮重试；应用关闭前会执行一次最终落库。
+ * Redis 模式下各实例每轮落库时登记心跳，超过 orphanTimeout 未登记的实例（异常退出）遗留的落库中增量
+ * 由其他实例原子合并回待落库 Hash 后继续落库；实例恰好在写库后、清理前退出时这部分增量可能重复计入一次。
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/11
+ */
+@Slf4j
+@Component
+public class ArticleViewCounter {
+
+    /**
+     * 当前实例标识（区分各实例的落库中 Hash，异常退出后由其他实例按心跳超时接管）
+     */
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    /**
+     * 原子转移待落库增量：上一轮遗留的落库中数据优先处理，否则将待落库 Hash 重命名为本实例的落库中 Hash
+     */
+    private static final DefaultRedisScript<Long> DRAIN_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return 1 end " +
+                    "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+                    "redis.call('RENAME', KEYS[1], KEYS[2]) " +
+                    "return 1",
+            Long.class
+    );
+
+    /**
+     * 接管已退出实例的落库中增量：心跳仍超时时合并回待落库 Hash，并删除落库中 Hash 与实例登记
+     */
+    private static final DefaultRedisScript<Long> RECLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local beat = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+                    "if beat and tonumber(beat) >= tonumber(ARGV[2]) then return 0 end " +
+                    "local fields = redis.call('HGETALL', KEYS[3]) " +
+                    "for i = 1, #fields, 2 do " +
+                    "redis.call('HINCRBY', KEYS[2], fields[i], fields[i + 1]) " +
+                    "end " +
+                    "redis.call('DEL', KEYS[3]) " +
+                    "redis.call('ZREM', KEYS[1], ARGV[1]) " +
+                    "return #fields / 2",
+            Long.class
+    );
+
+    private final ArticleViewCounterProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BlogArticleMapper articleMapper;
+    private final HotArticleLeaderboard hotArticleLeaderboard;
+
+    /**
+     * 进程内待落库增量（LongAdder 内部分段，热点文章并发累加无锁竞争）
+     * <p>
+     * Redis 模式下 Redis 不可用时也会降级写入此处
+     */
+    private final ConcurrentHashMap<Long, LongAdder> localPending = new ConcurrentHashMap<>();
+
+    /**
+     * 进程内已取出、正在写库的增量（读取待落库增量时计入，避免落库期间浏览量回退）
+     */
+    private final ConcurrentHashMap<Long, Long> localFlushing = new ConcurrentHashMap<>();
+
+    /**
+     * 最近一次成功落库时间
+     */
+    private volatile long lastFlushMillis = System.currentTimeMillis();
+
+    private final Counter flushedViewsCounter;
+    private final Counter flushFailureCounter;
+    private final Timer flushTimer;
+
+    /**
+     * 构造浏览量计数器
+     *
+     * @param properties          计数器配置
+     * @param stringRedisTemplate Redis 模板
+     * @param articleMapper         文章Mapper
+     * @param hotArticleLeaderboard 热门文章排行榜
+     * @param meterRegistry         指标注册表
+     */
+    public ArticleViewCounter(ArticleViewCounterProperties properties,
+                              StringRedisTemplate stringRedisTemplate,
+                              BlogArticleMapper articleMapper,
+                              HotArticleLeaderboard hotArticleLeaderboard,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.articleMapper = articleMapper;
+        this.hotArticleLeaderboard = hotArticleLeaderboard;
+        this.flushedViewsCounter = Counter.builder("nebula.article.view.flushed")
+                .description("已落库的文章浏览量")
+                .register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("nebula.article.view.flush.failures")
+                .description("浏览量落库失败次数")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("nebula.article.view.flush")
+                .description("浏览量落库耗时")
+                .register(meterRegistry);
+        Gauge.builder("nebula.article.view.pending.articles", localPending, Map::size)
+                .description("进程内存在待落库浏览量的文章数")
+                .register(meterRegistry);
+        Gauge.builder("nebula.article.view.flush.lag", this,
+                        counter -> (System.currentTimeMillis() - counter.lastFlushMillis) / 1000.0)
+                .description("距最近一次成功落库的时长")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 累加一次浏览
+     *
+     * @param articleId 文章ID
+     */
+    public void increment(Long articleId) {
+        if (properties.getMode() == ArticleViewCounterProperties.Mode.REDIS) {
+            try {
+                stringRedisTemplate.opsForHash()
+                        .increment(RedisConstants.ARTICLE_VIEW_PENDING, articleId.toString(), 1);
+                return;
+            } catch (Exception e) {
+                log.warn("Redis 累加浏览量失败，降级为本地计数: articleId={}", articleId, e);
+            }
+        }
+        localPending.computeIfAbsent(articleId, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * 获取尚未落库的浏览量增量（含正在写库的部分）
+     *
+     * @param articleId 文章ID
+     * @return 待落库增量
+     */
+    public long getPendingDelta(Long articleId) {
+        LongAdder adder = localPending.get(articleId);
+        long delta = (adder == null ? 0 : adder.sum()) + localFlushing.getOrDefault(articleId, 0L);
+        if (properties.getMode() == ArticleViewCounterProperties.Mode.REDIS) {
+            try {
+                delta += getRedisPendingDelta(articleId.toString());
+            } catch (Exception e) {
+                log.debug("读取 Redis 待落库浏览量失败: articleId={}", articleId, e);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * 一次管道读取待落库 Hash 与全部实例落库中 Hash 中的增量
+     */
+    private long getRedisPendingDelta(String field) {
+        Set<String> nodes = stringRedisTemplate.opsForZSet().range(RedisConstants.ARTICLE_VIEW_FLUSHING_NODES, 0, -1);
+        List<String> keys = new ArrayList<>();
+        keys.add(RedisConstants.ARTICLE_VIEW_PENDING);
+        if (nodes != null) {
+            nodes.forEach(node -> keys.add(RedisConstants.ARTICLE_VIEW_FLUSHING + node));
+        }
+        List<Object> values = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            keys.forEach(key -> stringConnection.hGet(key, field));
+            return null;
+        });
+        long delta = 0;
+        for (Object value : values) {
+            if (value != null) {
+                delta += Long.parseLong(value.toString());
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * 定时将缓冲的浏览量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${app.article.view-counter.flush-interval:5s}")
+    public synchronized void flush() {
+        Timer.Sample sample = Timer.start();
+        Map<Long, Long> drained = drainLocal();
+        localFlushing.putAll(drained);
+        boolean success = writeDeltas(drained, written -> written.keySet().forEach(localFlushing::remove), failed -> {
+            restoreLocal(failed);
+            failed.keySet().forEach(localFlushing::remove);
+        });
+        if (properties.getMode() == ArticleViewCounterProperties.Mode.REDIS) {
+            success &= flushRedis();
+        }
+        if (success) {
+            lastFlushMillis = System.currentTimeMillis();
+        }
+        sample.stop(flushTimer);
+    }
+
+    /**
+     * 应用关闭前执行最终落库
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (properties.getMode() == ArticleViewCounterProperties.Mode.REDIS) {
+            try {
+                // 落库中 Hash 已清空时注销本实例；仍有遗留时保留登记，由其他实例超时后接管
+                if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(RedisConstants.ARTICLE_VIEW_FLUSHING + NODE_ID))) {
+                    stringRedisTemplate.opsForZSet().remove(RedisConstants.ARTICLE_VIEW_FLUSHING_NODES, NODE_ID);
+                }
+            } catch (Exception e) {
+                log.debug("注销浏览量落库实例失败", e);
+            }
+        }
+    }
+
+    /**
+     * 取出进程内缓冲的增量
+     */
+    private Map<Long, Long> drainLocal() {
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : localPending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            // 一个周期内无新增的文章移出缓冲区，移除后再次收回可能刚完成的并发累加
+            if (delta == 0 && localPending.remove(entry.getKey(), adder)) {
+                delta = adder.sumThenReset();
+            }
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * 落库失败时将增量放回进程内缓冲区
+     */
+    private void restoreLocal(Map<Long, Long> deltas) {
+        deltas.forEach((articleId, delta) ->
+                localPending.computeIfAbsent(articleId, k -> new LongAdder()).add(delta));
+    }
+
+    /**
+     * 落库 Redis 中缓冲的增量
+     * <p>
+     * 已写入数据库的文章从落库中 Hash 中移除，失败部分保留到下一轮重试
+     */
+    private boolean flushRedis() {
+        String flushingKey = RedisConstants.ARTICLE_VIEW_FLUSHING + NODE_ID;
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        try {
+            long now = System.currentTimeMillis();
+            stringRedisTemplate.opsForZSet().add(RedisConstants.ARTICLE_VIEW_FLUSHING_NODES, NODE_ID, now);
+            reclaimOrphans(now);
+            Long drained = stringRedisTemplate.execute(DRAIN_SCRIPT,
+                    List.of(RedisConstants.ARTICLE_VIEW_PENDING, flushingKey));
+            if (drained == null || drained == 0) {
+                return true;
+            }
+            stringRedisTemplate.opsForHash().entries(flushingKey).forEach((field, value) ->
+                    deltas.put(Long.valueOf(field.toString()), Long.valueOf(value.toString())));
+        } catch (Exception e) {
+            flushFailureCounter.increment();
+            log.warn("读取 Redis 待落库浏览量失败", e);
+            return false;
+        }
+
+        return writeDeltas(deltas, written -> stringRedisTemplate.opsForHash()
+                .delete(flushingKey, written.keySet().stream().map(String::valueOf).toArray()), failed -> {
+        });
+    }
+
+    /**
+     * 将心跳超时实例遗留的落库中增量合并回待落库 Hash，由本轮一并落库
+     */
+    private void reclaimOrphans(long now) {
+        long deadline = now - properties.getOrphanTimeout().toMillis();
+        Set<String> orphans = stringRedisTemplate.opsForZSet()
+                .rangeByScore(RedisConstants.ARTICLE_VIEW_FLUSHING_NODES, 0, deadline);
+        if (orphans == null) {
+            return;
+        }
+        for (String node : orphans) {
+            if (NODE_ID.equals(node)) {
+                continue;
+            }
+            Long reclaimed = stringRedisTemplate.execute(RECLAIM_SCRIPT,
+                    List.of(RedisConstants.ARTICLE_VIEW_FLUSHING_NODES, RedisConstants.ARTICLE_VIEW_PENDING,
+                            RedisConstants.ARTICLE_VIEW_FLUSHING + node),
+                    node, String.valueOf(deadline));
+            if (reclaimed != null && reclaimed > 0) {
+                log.info("已接管退出实例的待落库浏览量: node={}, articles={}", node, reclaimed);
+            }
+        }
+    }
+
+    /**
+     * 分批写回数据库
+     *
+     * @param deltas    文章ID -> 增量
+     * @param onWritten 单批写入成功回调
+     * @param onFailed  写入失败回调（参数为未写入的全部增量）
+     * @return 是否全部写入成功
+     */
+    private boolean writeDeltas(Map<Long, Long> deltas,
+                                Consumer<Map<Long, Long>> onWritten,
+                                Consumer<Map<Long, Long>> onFailed) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            Map<Long, Long> batch = toMap(entries.subList(from, Math.min(from + batchSize, entries.size())));
+            try {
+                articleMapper.batchIncrementViewCount(batch);
+            } catch (Exception e) {
+                flushFailureCounter.increment();
+                log.warn("浏览量落库失败，增量保留至下一轮: articles={}", entries.size() - from, e);
+                onFailed.accept(toMap(entries.subList(from, entries.size())));
+                return false;
+            }
+            flushedViewsCounter.increment(batch.values().stream().mapToLong(Long::longValue).sum());
+            hotArticleLeaderboard.recordBatch(HotArticleScoreHelper.Interaction.VIEW, batch);
+            try {
+                onWritten.accept(batch);
+            } catch (Exception e) {
+                log.warn("清理已落库浏览量缓冲失败: articleIds={}", batch.keySet(), e);
+            }
+        }
+        return true;
+    }
+
+    private Map<Long, Long> toMap(List<Map.Entry<Long, Long>> entries) {
+        Map<Long, Long> map = new LinkedHashMap<>();
+        entries.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+        return map;
+    }
+}
@@ -0,0 +1,390 @@
+package com.nebula.service.article.draft;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.nebula.constant.ArticleConstants;
+import com.nebula.constant.HttpConstants;
+import com.nebula.constant.RedisConstants;
+import com.nebula.dto.ArticleDTO;
+import com.nebula.dto.ArticleDraftPatchDTO;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.exception.BusinessException;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticleDraftProperties;
+import com.nebula.service.article.publish.ArticlePublishPipeline;
+import com.nebula.service.common.TransactionCompensationHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.vo.admin.ArticleDraftVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 文章草稿缓冲
+ * <p>
+ * 管理端编辑器自动保存时只提交相对某个草稿版本的文本编辑，服务端在 Redis Hash 中应用到草稿正文，
+ * 不写文章表、不渲染 Markdown：
+ * <ul>
+ *     <li>基准版本与当前版本不一致时拒绝（409），客户端重新加载后继续编辑</li>
+ *     <li>显式保存时把草稿内容交给发布流水线（渲染、写入与普通更新一致）</li>
+ *     <li>草稿文章停止编辑一段时间后自动写入；已发布文章只在显式保存时写入，避免读者看到未完成的修改</li>
+ * </ul>
+ * 草稿写入后保留缓冲并记录已保存版本，版本号持续递增；文章被其他途径更新时，
+ * 没有未保存修改的缓冲同步为最新内容，有未保存修改的缓冲保持不变。
+ * 有未保存修改的缓冲不设过期时间（已发布文章的修改不会自动写入，过期即丢失），
+ * 全部保存后或同步时再按 {@code ttl} 设置过期
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/28
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleDraftBuffer {
+
+    private static final String FIELD_REVISION = "revision";
+    private static final String FIELD_SAVED_REVISION = "savedRevision";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_SUMMARY = "summary";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_UPDATED_AT = "updatedAt";
+
+    /**
+     * 不存在时以文章当前内容初始化缓冲
+     */
+    private static final DefaultRedisScript<Long> INIT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+                    "redis.call('HSET', KEYS[1], 'revision', 0, 'savedRevision', 0, 'title', ARGV[1], " +
+                    "'summary', ARGV[2], 'content', ARGV[3], 'updatedAt', ARGV[4]) " +
+                    "redis.call('PEXPIRE', KEYS[1], ARGV[5]) " +
+                    "return 1",
+            Long.class
+    );
+
+    /**
+     * 版本一致时写入新内容并递增版本，同时登记为待写入；有未保存修改期间取消过期。版本不一致返回 -1
+     */
+    private static final DefaultRedisScript<Long> PATCH_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HGET', KEYS[1], 'revision') ~= ARGV[1] then return -1 end " +
+                    "local revision = tonumber(ARGV[1]) + 1 " +
+                    "redis.call('HSET', KEYS[1], 'revision', revision, 'title', ARGV[2], 'summary', ARGV[3], " +
+                    "'content', ARGV[4], 'updatedAt', ARGV[5]) " +
+                    "redis.call('PERSIST', KEYS[1]) " +
+                    "redis.call('ZADD', KEYS[2], ARGV[5], ARGV[6]) " +
+                    "return revision",
+            Long.class
+    );
+
+    /**
+     * 记录已保存版本；保存后没有新的编辑时移出待写入集合并恢复过期时间
+     */
+    private static final DefaultRedisScript<Long> MARK_SAVED_SCRIPT = new DefaultRedisScript<>(
+            "local revision = redis.call('HGET', KEYS[1], 'revision') " +
+                    "if not revision then return 0 end " +
+                    "if tonumber(redis.call('HGET', KEYS[1], 'savedRevision')) < tonumber(ARGV[1]) then " +
+                    "redis.call('HSET', KEYS[1], 'savedRevision', ARGV[1]) end " +
+                    "if revision == ARGV[1] then " +
+                    "redis.call('ZREM', KEYS[2], ARGV[2]) " +
+                    "redis.call('PEXPIRE', KEYS[1], ARGV[3]) end " +
+                    "return 1",
+            Long.class
+    );
+
+    /**
+     * 没有未保存修改时顺延过期时间，内容不同时同步为文章最新内容（版本递增，持有旧版本的编辑会话需重新加载）
+     */
+    private static final DefaultRedisScript<Long> SYNC_SCRIPT = new DefaultRedisScript<>(
+            "local revision = redis.call('HGET', KEYS[1], 'revision') " +
+                    "if not revision or revision ~= redis.call('HGET', KEYS[1], 'savedRevision') then return 0 end " +
+                    "redis.call('PEXPIRE', KEYS[1], ARGV[5]) " +
+                    "if redis.call('HGET', KEYS[1], 'title') == ARGV[1] and redis.call('HGET', KEYS[1], 'summary') == ARGV[2] " +
+                    "and redis.call('HGET', KEYS[1], 'content') == ARGV[3] then return 0 end " +
+                    "local next = tonumber(revision) + 1 " +
+                    "redis.call('HSET', KEYS[1], 'revision', next, 'savedRevision', next, 'title', ARGV[1], " +
+                    "'summary', ARGV[2], 'content', ARGV[3], 'updatedAt', ARGV[4]) " +
+                    "return next",
+            Long.class
+    );
+
+    private final ArticleDraftProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BlogArticleMapper articleMapper;
+    private final RelevancyArticleTagMapper articleTagMapper;
+    private final ArticlePublishPipeline publishPipeline;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 获取草稿（不存在时以文章当前内容初始化）
+     *
+     * @param articleId 文章ID
+     * @return 草稿
+     */
+    public ArticleDraftVO get(Long articleId) {
+        return toVO(articleId, load(articleId), true);
+    }
+
+    /**
+     * 应用增量编辑
+     *
+     * @param articleId 文章ID
+     * @param patch     增量编辑
+     * @return 新版本（不含正文）
+     */
+    public ArticleDraftVO patch(Long articleId, ArticleDraftPatchDTO patch) {
+        Map<String, String> fields = load(articleId);
+        if (!Objects.equals(fields.get(FIELD_REVISION), patch.getBaseRevision().toString())) {
+            throw new BusinessException(HttpConstants.CONFLICT, ArticleConstants.ERROR_DRAFT_CONFLICT);
+        }
+
+        String content = applyEdits(fields.get(FIELD_CONTENT), patch.getEdits(), properties.getMaxContentLength());
+        String title = patch.getTitle() != null ? patch.getTitle() : fields.get(FIELD_TITLE);
+        String summary = patch.getSummary() != null ? patch.getSummary() : fields.get(FIELD_SUMMARY);
+        String now = String.valueOf(System.currentTimeMillis());
+        Long revision = execute(PATCH_SCRIPT, List.of(key(articleId), RedisConstants.ARTICLE_DRAFT_DIRTY),
+                patch.getBaseRevision().toString(), title, summary, content, now, articleId.toString());
+        if (revision == null || revision < 0) {
+            throw new BusinessException(HttpConstants.CONFLICT, ArticleConstants.ERROR_DRAFT_CONFLICT);
+        }
+
+        fields.put(FIELD_REVISION, revision.toString());
+        fields.put(FIELD_TITLE, title);
+        fields.put(FIELD_SUMMARY, summary);
+        fields.put(FIELD_UPDATED_AT, now);
+        return toVO(articleId, fields, false);
+    }
+
+    /**
+     * 将草稿提交发布流水线写入文章（需在事务中调用，提交后记录已保存版本）
+     *
+     * @param articleId 文章ID
+     */
+    public void save(Long articleId) {
+        Map<String, String> fields = load(articleId);
+        if (!isDirty(fields)) {
+            return;
+        }
+        BlogArticle article = articleMapper.selectListRowById(articleId);
+        if (article == null) {
+            throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
+        }
+        submit(article, fields);
+    }
+
+    /**
+     * 写入停止编辑超过阈值的草稿文章
+     */
+    @Scheduled(fixedDelayString = "${app.article.draft.flush-interval:30s}")
+    public void flushIdle() {
+        long deadline = System.currentTimeMillis() - properties.getIdleFlushAfter().toMillis();
+        Set<String> articleIds;
+        try {
+            articleIds = stringRedisTemplate.opsForZSet().rangeByScore(RedisConstants.ARTICLE_DRAFT_DIRTY,
+                    0, deadline, 0, properties.getFlushBatchSize());
+        } catch (Exception e) {
+            log.warn("读取待写入草稿失败", e);
+            return;
+        }
+        if (articleIds == null) {
+            return;
+        }
+        for (String articleId : articleIds) {
+            // 移除成功即由本实例处理，其他实例跳过
+            Long removed = stringRedisTemplate.opsForZSet().remove(RedisConstants.ARTICLE_DRAFT_DIRTY, articleId);
+            if (removed == null || removed == 0) {
+                continue;
+            }
+            try {
+                flush(Long.valueOf(articleId));
+            } catch (Exception e) {
+                log.warn("草稿空闲写入失败，稍后重试: articleId={}", articleId, e);
+                stringRedisTemplate.opsForZSet().add(RedisConstants.ARTICLE_DRAFT_DIRTY, articleId,
+                        System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * 文章删除后丢弃草稿；其他途径更新后同步没有未保存修改的草稿
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        for (Long articleId : event.getArticleIds()) {
+            sync(articleId, event.getChangeType());
+        }
+    }
+
+    private void sync(Long articleId, ArticleChangedEvent.ChangeType changeType) {
+        try {
+            if (changeType == ArticleChangedEvent.ChangeType.DELETED) {
+                stringRedisTemplate.delete(key(articleId));
+                stringRedisTemplate.opsForZSet().remove(RedisConstants.ARTICLE_DRAFT_DIRTY, articleId.toString());
+                return;
+            }
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(articleId)))) {
+                return;
+            }
+            BlogArticle article = articleMapper.selectOne(new LambdaQueryWrapper<BlogArticle>()
+                    .select(BlogArticle::getId, BlogArticle::getTitle, BlogArticle::getSummary, BlogArticle::getContent)
+                    .eq(BlogArticle::getId, articleId));
+            if (article != null) {
+                stringRedisTemplate.execute(SYNC_SCRIPT, List.of(key(articleId)),
+                        nullToEmpty(article.getTitle()), nullToEmpty(article.getSummary()),
+                        nullToEmpty(article.getContent()), String.valueOf(System.currentTimeMillis()),
+                        String.valueOf(properties.getTtl().toMillis()));
+            }
+        } catch (Exception e) {
+            log.warn("同步文章草稿缓冲失败: articleId={}", articleId, e);
+        }
+    }
+
+    /**
+     * 空闲写入单篇草稿（仅草稿文章）
+     */
+    private void flush(Long articleId) {
+        Map<String, String> fields = stringRedisTemplate.<String, String>opsForHash().entries(key(articleId));
+        if (fields.isEmpty() || !isDirty(fields)) {
+            return;
+        }
+        BlogArticle article = articleMapper.selectListRowById(articleId);
+        if (article == null || !DraftStatusEnum.isDraft(article.getIsDraft())) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> submit(article, fields));
+        log.debug("草稿空闲写入已提交: articleId={}, revision={}", articleId, fields.get(FIELD_REVISION));
+    }
+
+    /**
+     * 以文章当前的分类、标签等属性加上草稿的标题、摘要、正文提交发布流水线
+     */
+    private void submit(BlogArticle article, Map<String, String> fields) {
+        ArticleDTO articleDTO = new ArticleDTO();
+        articleDTO.setId(article.getId());
+        articleDTO.setTitle(fields.get(FIELD_TITLE));
+        articleDTO.setSummary(StringUtils.hasText(fields.get(FIELD_SUMMARY)) ? fields.get(FIELD_SUMMARY) : null);
+        articleDTO.setContent(fields.get(FIELD_CONTENT));
+        articleDTO.setCoverImage(article.getCoverImage());
+        articleDTO.setCategoryId(article.getCategoryId());
+        articleDTO.setTagIds(articleTagMapper.selectList(new LambdaQueryWrapper<RelevancyArticleTag>()
+                        .select(RelevancyArticleTag::getTagId)
+                        .eq(RelevancyArticleTag::getArticleId, article.getId()))
+                .stream().map(RelevancyArticleTag::getTagId).toList());
+        articleDTO.setIsTop(article.getIsTop());
+        articleDTO.setIsDraft(article.getIsDraft());
+        publishPipeline.submit(article.getId(), ArticleChangedEvent.ChangeType.UPDATED, articleDTO, article.getIsDraft());
+
+        String revision = fields.get(FIELD_REVISION);
+        TransactionCompensationHelper.registerAfterCommitAction("markDraftSaved", () ->
+                stringRedisTemplate.execute(MARK_SAVED_SCRIPT,
+                        List.of(key(article.getId()), RedisConstants.ARTICLE_DRAFT_DIRTY),
+                        revision, article.getId().toString(), String.valueOf(properties.getTtl().toMillis())));
+    }
+
+    /**
+     * 读取草稿，不存在时以文章当前内容初始化
+     */
+    private Map<String, String> load(Long articleId) {
+        try {
+            Map<String, String> fields = stringRedisTemplate.<String, String>opsForHash().entries(key(articleId));
+            if (!fields.isEmpty()) {
+                return fields;
+            }
+            BlogArticle article = articleMapper.selectById(articleId);
+            if (article == null) {
+                throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
+            }
+            stringRedisTemplate.execute(INIT_SCRIPT, List.of(key(articleId)),
+                    nullToEmpty(article.getTitle()), nullToEmpty(article.getSummary()),
+                    nullToEmpty(article.getContent()), String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(properties.getTtl().toMillis()));
+            return stringRedisTemplate.<String, String>opsForHash().entries(key(articleId));
+        } catch (DataAccessException e) {
+            log.warn("读取文章草稿缓冲失败: articleId={}", articleId, e);
+            throw new BusinessException(ArticleConstants.ERROR_DRAFT_UNAVAILABLE);
+        }
+    }
+
+    private Long execute(DefaultRedisScript<Long> script, List<String> keys, String... args) {
+        try {
+            return stringRedisTemplate.execute(script, keys, (Object[]) args);
+        } catch (DataAccessException e) {
+            log.warn("写入文章草稿缓冲失败: keys={}", keys, e);
+            throw new BusinessException(ArticleConstants.ERROR_DRAFT_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * 按顺序应用正文编辑（每个编辑的位置基于前一个编辑应用后的正文）
+     *
+     * @param content          当前正文
+     * @param edits            编辑列表
+     * @param maxContentLength 正文最大长度，超出时在修改前拒绝
+     * @return 编辑后的正文
+     */
+    static String applyEdits(String content, List<ArticleDraftPatchDTO.Edit> edits, int maxContentLength) {
+        if (edits == null || edits.isEmpty()) {
+            return content;
+        }
+        StringBuilder builder = new StringBuilder(content);
+        for (ArticleDraftPatchDTO.Edit edit : edits) {
+            Integer offset = edit.getOffset();
+            int deleteCount = edit.getDeleteCount() == null ? 0 : edit.getDeleteCount();
+            if (offset == null || offset < 0 || deleteCount < 0
+                    || offset > builder.length() || deleteCount > builder.length() - offset) {
+                throw new BusinessException(ArticleConstants.ERROR_DRAFT_EDIT_OUT_OF_RANGE);
+            }
+            String text = edit.getText() == null ? "" : edit.getText();
+            if ((long) builder.length() - deleteCount + text.length() > maxContentLength) {
+                throw new BusinessException(ArticleConstants.ERROR_DRAFT_CONTENT_TOO_LONG);
+            }
+            builder.replace(offset, offset + deleteCount, text);
+        }
+        return builder.toString();
+    }
+
+    private ArticleDraftVO toVO(Long articleId, Map<String, String> fields, boolean withContent) {
+        ArticleDraftVO draftVO = new ArticleDraftVO();
+        draftVO.setArticleId(articleId);
+        draftVO.setRevision(Long.valueOf(fields.get(FIELD_REVISION)));
+        draftVO.setSavedRevision(Long.valueOf(fields.get(FIELD_SAVED_REVISION)));
+        draftVO.setDirty(isDirty(fields));
+        draftVO.setTitle(fields.get(FIELD_TITLE));
+        draftVO.setSummary(StringUtils.hasText(fields.get(FIELD_SUMMARY)) ? fields.get(FIELD_SUMMARY) : null);
+        if (withContent) {
+            draftVO.setContent(fields.get(FIELD_CONTENT));
+        }
+        draftVO.setUpdateTime(LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Long.parseLong(fields.get(FIELD_UPDATED_AT))), ZoneId.systemDefault()));
+        return draftVO;
+    }
+
+    private static boolean isDirty(Map<String, String> fields) {
+        return !Objects.equals(fields.get(FIELD_REVISION), fields.get(FIELD_SAVED_REVISION));
+    }
+
+    private static String key(Long articleId) {
+        return RedisConstants.ARTICLE_DRAFT + articleId;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,490 @@
+package com.nebula.service.article.facet;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticleFacetProperties;
+import com.nebula.service.common.cluster.ClusterBroadcastHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 文章标签/分类位图索引
+ * <p>
+ * 在内存中以 RoaringBitmap 维护 标签→文章ID、分类→文章ID 以及已发布/草稿集合，
+ * 标签的与/或/非组合筛选和分面计数均为位图运算，不访问数据库：
+ * <ul>
+ *     <li>索引以不可变快照发布，写入时复制受影响的位图后整体替换，读取无锁</li>
+ *     <li>文章变更事件在事务提交后增量更新，并广播通知其他实例从数据库重新加载该文章</li>
+ *     <li>标签/分类变更按受影响的文章增量更新；定时全量重建修正可能遗漏的增量</li>
+ *     <li>启动完成后在后台构建，构建完成前及重建失败时调用方降级为数据库查询；重建期间的增量在重建完成后补上</li>
+ * </ul>
+ * 文章ID按无符号 32 位整数存储（自增主键范围内）；超出范围时索引停用，调用方降级为数据库查询
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleFacetIndex {
+
+    /**
+     * 标签组合筛选条件
+     *
+     * @param allTagIds     必须同时包含的标签（与）
+     * @param anyTagIds     至少包含其一的标签（或）
+     * @param excludeTagIds 不能包含的标签（非）
+     */
+    public record TagFilter(Collection<Long> allTagIds, Collection<Long> anyTagIds, Collection<Long> excludeTagIds) {
+
+        /**
+         * 是否未设置任何标签条件
+         *
+         * @return true-无条件
+         */
+        public boolean isEmpty() {
+            return isNullOrEmpty(allTagIds) && isNullOrEmpty(anyTagIds) && isNullOrEmpty(excludeTagIds);
+        }
+
+        private static boolean isNullOrEmpty(Collection<Long> ids) {
+            return ids == null || ids.isEmpty();
+        }
+    }
+
+    /**
+     * 分面计数
+     *
+     * @param total          筛选结果总数
+     * @param tagCounts      标签ID -> 筛选结果中的文章数（不含 0）
+     * @param categoryCounts 分类ID -> 筛选结果中的文章数（不含 0）
+     */
+    public record FacetCounts(long total, Map<Long, Long> tagCounts, Map<Long, Long> categoryCounts) {
+    }
+
+    /**
+     * 不可变索引快照（发布后位图不再修改）
+     */
+    private record Snapshot(RoaringBitmap published,
+                            RoaringBitmap drafts,
+                            Map<Long, RoaringBitmap> tags,
+                            Map<Long, RoaringBitmap> categories) {
+    }
+
+    /**
+     * 全量重建时单批查询的行数
+     */
+    private static final int REBUILD_BATCH_SIZE = 2000;
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final ArticleFacetProperties properties;
+    private final BlogArticleMapper articleMapper;
+    private final RelevancyArticleTagMapper articleTagMapper;
+    private final ClusterBroadcastHelper broadcastHelper;
+
+    /**
+     * 当前快照（尚未构建或已停用时为 null）
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * 是否正在全量重建（期间的增量只登记，重建完成后统一应用）
+     */
+    private volatile boolean rebuilding;
+
+    /**
+     * 待应用增量更新的文章ID
+     */
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 订阅其他实例的更新广播
+     */
+    @PostConstruct
+    public void subscribeChanges() {
+        if (properties.isEnabled()) {
+            broadcastHelper.subscribe(RedisConstants.CHANNEL_ARTICLE_FACET_INDEX, this::handleRemoteChange);
+        }
+    }
+
+    /**
+     * 按标签组合与分类筛选已发布文章
+     *
+     * @param filter     标签组合条件（可为 null）
+     * @param categoryId 分类ID（可为 null）
+     * @return 满足条件的文章ID位图（调用方可修改）；索引不可用时返回 null
+     */
+    public RoaringBitmap filter(TagFilter filter, Long categoryId) {
+        Snapshot current = currentSnapshot();
+        if (current == null) {
+            return null;
+        }
+        RoaringBitmap result = current.published().clone();
+        if (filter != null) {
+            if (filter.allTagIds() != null) {
+                for (Long tagId : filter.allTagIds()) {
+                    result.and(current.tags().getOrDefault(tagId, EMPTY));
+                }
+            }
+            if (filter.anyTagIds() != null && !filter.anyTagIds().isEmpty()) {
+                result.and(RoaringBitmap.or(filter.anyTagIds().stream()
+                        .map(tagId -> current.tags().getOrDefault(tagId, EMPTY))
+                        .iterator()));
+            }
+            if (filter.excludeTagIds() != null) {
+                for (Long tagId : filter.excludeTagIds()) {
+                    result.andNot(current.tags().getOrDefault(tagId, EMPTY));
+                }
+            }
+        }
+        if (categoryId != null) {
+            result.and(current.categories().getOrDefault(categoryId, EMPTY));
+        }
+        return result;
+    }
+
+    /**
+     * 统计筛选结果在各标签、各分类下的文章数
+     *
+     * @param filter     标签组合条件（可为 null）
+     * @param categoryId 分类ID（可为 null）
+     * @return 分面计数；索引不可用时返回 null
+     */
+    public FacetCounts facetCounts(TagFilter filter, Long categoryId) {
+        Snapshot current = currentSnapshot();
+        RoaringBitmap base = filter(filter, categoryId);
+        if (current == null || base == null) {
+            return null;
+        }
+        return new FacetCounts(base.getLongCardinality(), countBy(current.tags(), base), countBy(current.categories(), base));
+    }
+
+    /**
+     * 将位图转换为文章ID列表
+     *
+     * @param bitmap 位图
+     * @return 文章ID列表（升序）
+     */
+    public static List<Long> toArticleIds(RoaringBitmap bitmap) {
+        List<Long> ids = new ArrayList<>(bitmap.getCardinality());
+        bitmap.forEach((int value) -> ids.add(Integer.toUnsignedLong(value)));
+        return ids;
+    }
+
+    /**
+     * 启动完成后在后台构建索引，构建完成前筛选与分面统计降级为数据库查询
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (properties.isEnabled()) {
+            Thread.ofVirtual().name("article-facet-rebuild").start(this::rebuild);
+        }
+    }
+
+    /**
+     * 索引是否可用
+     *
+     * @return true-已构建完成
+     */
+    public boolean isAvailable() {
+        return properties.isEnabled() && snapshot != null;
+    }
+
+    /**
+     * 全量重建本实例索引（重建期间继续使用旧快照，完成后应用期间登记的增量）
+     */
+    public synchronized void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuilding = true;
+        try {
+            RoaringBitmap published = new RoaringBitmap();
+            RoaringBitmap drafts = new RoaringBitmap();
+            Map<Long, RoaringBitmap> categories = new HashMap<>();
+            long lastId = 0L;
+            while (true) {
+                Page<BlogArticle> page = new Page<>(1, REBUILD_BATCH_SIZE, false);
+                List<BlogArticle> articles = articleMapper.selectPage(page, new LambdaQueryWrapper<BlogArticle>()
+                        .select(BlogArticle::getId, BlogArticle::getCategoryId, BlogArticle::getIsDraft)
+                        .gt(BlogArticle::getId, lastId)
+                        .orderByAsc(BlogArticle::getId)).getRecords();
+                if (articles.isEmpty()) {
+                    break;
+                }
+                for (BlogArticle article : articles) {
+                    int value = toValue(article.getId());
+                    (DraftStatusEnum.isDraft(article.getIsDraft()) ? drafts : published).add(value);
+                    if (article.getCategoryId() != null) {
+                        categories.computeIfAbsent(article.getCategoryId(), k -> new RoaringBitmap()).add(value);
+                    }
+                }
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+
+            Map<Long, RoaringBitmap> tags = new HashMap<>();
+            lastId = 0L;
+            while (true) {
+                Page<RelevancyArticleTag> page = new Page<>(1, REBUILD_BATCH_SIZE, false);
+                List<RelevancyArticleTag> relations = articleTagMapper.selectPage(page,
+                        new LambdaQueryWrapper<RelevancyArticleTag>()
+                                .select(RelevancyArticleTag::getId, RelevancyArticleTag::getArticleId, RelevancyArticleTag::getTagId)
+                                .gt(RelevancyArticleTag::getId, lastId)
+                                .orderByAsc(RelevancyArticleTag::getId)).getRecords();
+                if (relations.isEmpty()) {
+                    break;
+                }
+                for (RelevancyArticleTag relation : relations) {
+                    tags.computeIfAbsent(relation.getTagId(), k -> new RoaringBitmap()).add(toValue(relation.getArticleId()));
+                }
+                lastId = relations.get(relations.size() - 1).getId();
+            }
+
+            optimize(published, drafts, categories, tags);
+            snapshot = new Snapshot(published, drafts, Map.copyOf(tags), Map.copyOf(categories));
+            log.info("文章位图索引重建完成: published={}, drafts={}, tags={}, categories={}",
+                    published.getCardinality(), drafts.getCardinality(), tags.size(), categories.size());
+        } catch (Exception e) {
+            log.error("文章位图索引重建失败，筛选降级为数据库查询", e);
+            snapshot = null;
+        } finally {
+            rebuilding = false;
+        }
+        applyPending();
+    }
+
+    /**
+     * 定时全量重建（兜底修正增量遗漏）
+     */
+    @Scheduled(fixedDelayString = "${app.article.facet.rebuild-interval:30m}",
+            initialDelayString = "${app.article.facet.rebuild-interval:30m}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 文章发布、更新、删除后增量更新
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        changed(event.getArticleIds());
+        broadcastHelper.publish(RedisConstants.CHANNEL_ARTICLE_FACET_INDEX,
+                event.getArticleIds().stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * 标签/分类变更后增量更新受影响的文章
+     * <p>
+     * 新建、改名不影响位图；删除标签时重新加载发布方解析的关联文章以及索引中该标签下的文章
+     *
+     * @param event 引用数据变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (!properties.isEnabled() || event.getReferenceType() == ReferenceDataChangedEvent.ReferenceType.USER) {
+            return;
+        }
+        Set<Long> articleIds = new HashSet<>();
+        if (event.getAffectedArticleIds() != null) {
+            articleIds.addAll(event.getAffectedArticleIds());
+        }
+        Snapshot current = snapshot;
+        if (current != null && event.getReferenceId() != null) {
+            Map<Long, RoaringBitmap> bitmaps = event.getReferenceType() == ReferenceDataChangedEvent.ReferenceType.TAG
+                    ? current.tags() : current.categories();
+            RoaringBitmap indexed = bitmaps.get(event.getReferenceId());
+            if (indexed != null) {
+                articleIds.addAll(toArticleIds(indexed));
+            }
+        }
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        changed(articleIds);
+        broadcastHelper.publish(RedisConstants.CHANNEL_ARTICLE_FACET_INDEX,
+                articleIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * 获取当前快照（未启用、尚未构建完成或重建失败时为 null）
+     */
+    private Snapshot currentSnapshot() {
+        return properties.isEnabled() ? snapshot : null;
+    }
+
+    /**
+     * 登记变更的文章；未在重建时立即应用，重建中则由重建完成后应用
+     */
+    private void changed(Collection<Long> articleIds) {
+        pendingIds.addAll(articleIds);
+        if (!rebuilding) {
+            applyPending();
+        }
+    }
+
+    /**
+     * 应用已登记的增量（快照尚未构建时直接丢弃，构建时会读取最新数据）
+     */
+    private synchronized void applyPending() {
+        if (pendingIds.isEmpty()) {
+            return;
+        }
+        List<Long> articleIds = new ArrayList<>(pendingIds);
+        pendingIds.removeAll(articleIds);
+        update(articleIds);
+    }
+
+    /**
+     * 从数据库重新加载指定文章，复制受影响的位图后替换快照
+     */
+    private void update(Collection<Long> articleIds) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            Map<Long, BlogArticle> articles = articleMapper.selectList(new LambdaQueryWrapper<BlogArticle>()
+                            .select(BlogArticle::getId, BlogArticle::getCategoryId, BlogArticle::getIsDraft)
+                            .in(BlogArticle::getId, articleIds))
+                    .stream()
+                    .collect(Collectors.toMap(BlogArticle::getId, article -> article));
+            Map<Long, List<Long>> articleTags = articleTagMapper.selectList(new LambdaQueryWrapper<RelevancyArticleTag>()
+                            .select(RelevancyArticleTag::getArticleId, RelevancyArticleTag::getTagId)
+                            .in(RelevancyArticleTag::getArticleId, articleIds))
+                    .stream()
+                    .collect(Collectors.groupingBy(RelevancyArticleTag::getArticleId,
+                            Collectors.mapping(RelevancyArticleTag::getTagId, Collectors.toList())));
+
+            Set<RoaringBitmap> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+            RoaringBitmap published = current.published().clone();
+            RoaringBitmap drafts = current.drafts().clone();
+            Map<Long, RoaringBitmap> tags = new HashMap<>(current.tags());
+            Map<Long, RoaringBitmap> categories = new HashMap<>(current.categories());
+
+            for (Long articleId : articleIds) {
+                int value = toValue(articleId);
+                published.remove(value);
+                drafts.remove(value);
+                removeFromAll(tags, value, copied);
+                removeFromAll(categories, value, copied);
+
+                BlogArticle article = articles.get(articleId);
+                if (article == null) {
+                    continue;
+                }
+                (DraftStatusEnum.isDraft(article.getIsDraft()) ? drafts : published).add(value);
+                if (article.getCategoryId() != null) {
+                    writable(categories, article.getCategoryId(), copied).add(value);
+                }
+                for (Long tagId : articleTags.getOrDefault(articleId, List.of())) {
+                    writable(tags, tagId, copied).add(value);
+                }
+            }
+
+            tags.values().removeIf(RoaringBitmap::isEmpty);
+            categories.values().removeIf(RoaringBitmap::isEmpty);
+            snapshot = new Snapshot(published, drafts, Map.copyOf(tags), Map.copyOf(categories));
+        } catch (Exception e) {
+            log.warn("增量更新文章位图索引失败，将在下次全量重建时修复: articleIds={}", articleIds, e);
+        }
+    }
+
+    /**
+     * 处理其他实例广播的更新
+     *
+     * @param payload 逗号分隔的文章ID
+     */
+    private void handleRemoteChange(String payload) {
+        changed(Arrays.stream(payload.split(","))
+                .filter(s -> !s.isBlank())
+                .map(Long::valueOf)
+                .toList());
+    }
+
+    /**
+     * 从包含该文章的位图中移除（先复制再修改）
+     */
+    private void removeFromAll(Map<Long, RoaringBitmap> bitmaps, int value, Set<RoaringBitmap> copied) {
+        for (Map.Entry<Long, RoaringBitmap> entry : bitmaps.entrySet()) {
+            if (entry.getValue().contains(value)) {
+                writable(bitmaps, entry.getKey(), copied).remove(value);
+            }
+        }
+    }
+
+    /**
+     * 获取本次更新可修改的位图：快照中的位图先复制，新建或已复制的直接返回
+     */
+    private RoaringBitmap writable(Map<Long, RoaringBitmap> bitmaps, Long key, Set<RoaringBitmap> copied) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null && copied.contains(bitmap)) {
+            return bitmap;
+        }
+        RoaringBitmap copy = bitmap == null ? new RoaringBitmap() : bitmap.clone();
+        copied.add(copy);
+        bitmaps.put(key, copy);
+        return copy;
+    }
+
+    private Map<Long, Long> countBy(Map<Long, RoaringBitmap> bitmaps, RoaringBitmap base) {
+        Map<Long, Long> counts = new HashMap<>();
+        bitmaps.forEach((key, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(base, bitmap);
+            if (count > 0) {
+                counts.put(key, count);
+            }
+        });
+        return counts;
+    }
+
+    private void optimize(RoaringBitmap published, RoaringBitmap drafts,
+                          Map<Long, RoaringBitmap> categories, Map<Long, RoaringBitmap> tags) {
+        published.runOptimize();
+        drafts.runOptimize();
+        categories.values().forEach(RoaringBitmap::runOptimize);
+        tags.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    /**
+     * 文章ID转为位图元素（无符号 32 位）
+     */
+    private int toValue(Long articleId) {
+        if (articleId == null || articleId < 0 || articleId > 0xFFFFFFFFL) {
+            throw new IllegalStateException("文章ID超出位图索引范围: " + articleId);
+        }
+        return (int) articleId.longValue();
+    }
+}
@@ -0,0 +1,622 @@
+package com.nebula.service.article.feed;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.properties.SiteFeedProperties;
+import com.nebula.service.common.cluster.ClusterBroadcastHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * 站点地图与 RSS/Atom 订阅生成器
+ * <p>
+ * 应用启动完成后在后台以投影查询（仅 id、update_time）按主键分块读取全部已发布文章，
+ * 在内存中维护“文章ID → 最后修改时间”有序表，并生成编码好的 XML 字节直接输出：
+ * <ul>
+ *     <li>站点地图按文章ID顺序每 {@code sitemapShardSize} 条一个分片，超过一个分片时 /sitemap.xml 为站点地图索引</li>
+ *     <li>RSS、Atom 仅包含最新的 {@code feedSize} 篇文章，变更后重新查询这几行</li>
+ * </ul>
+ * 文章发布、更新、删除时只更新有序表并标记受影响的分片（新增/移除会使其后分片的边界后移），
+ * 由定时任务合并一段时间内的变更后重新生成受影响部分，请求时不再生成；
+ * 首次构建完成前不提供输出，重建失败时继续使用上一次的结果。
+ * 其他实例通过 Redis 广播同步增量
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/26
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SiteFeedGenerator {
+
+    /**
+     * 全量重建时的分块大小
+     */
+    private static final int REBUILD_BATCH_SIZE = 5000;
+
+    private static final DateTimeFormatter W3C_DATE_TIME = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final DateTimeFormatter RFC_1123 = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    /**
+     * 编码后的文档
+     *
+     * @param content 内容字节（UTF-8）
+     * @param etag    实体标签
+     */
+    public record Document(byte[] content, String etag) {
+
+        static Document of(String xml) {
+            byte[] content = xml.getBytes(StandardCharsets.UTF_8);
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            return new Document(content, "\"" + Long.toHexString(crc.getValue()) + "-" + content.length + "\"");
+        }
+    }
+
+    /**
+     * 站点地图分片
+     *
+     * @param document     文档
+     * @param lastModified 分片内最后修改时间
+     * @param firstId      分片内第一篇文章ID（空站点地图为 null）
+     * @param lastId       分片内最后一篇文章ID（空站点地图为 null）
+     * @param count        分片内文章数
+     */
+    private record Shard(Document document, LocalDateTime lastModified, Long firstId, Long lastId, int count) {
+    }
+
+    /**
+     * 当前输出
+     *
+     * @param shards  站点地图分片
+     * @param sitemap /sitemap.xml（单分片时即分片本身，否则为索引）
+     * @param rss     RSS 2.0 订阅
+     * @param atom    Atom 订阅
+     */
+    private record Output(List<Shard> shards, Document sitemap, Document rss, Document atom) {
+    }
+
+    private final SiteFeedProperties properties;
+    private final BlogArticleMapper articleMapper;
+    private final ClusterBroadcastHelper broadcastHelper;
+
+    /**
+     * 已发布文章ID → 最后修改时间（修改受 this 保护）
+     */
+    private volatile ConcurrentSkipListMap<Long, LocalDateTime> published;
+
+    /**
+     * 当前输出（尚未构建完成或已停用时为 null）
+     */
+    private volatile Output output;
+
+    /**
+     * 待重新生成的分片（受 this 保护）
+     */
+    private final Set<Integer> dirtyShards = new TreeSet<>();
+
+    /**
+     * 从该分片起全部重新生成（受 this 保护，无则为 Integer.MAX_VALUE）
+     */
+    private int dirtyFrom = Integer.MAX_VALUE;
+
+    /**
+     * 订阅是否需要重新生成（受 this 保护）
+     */
+    private boolean feedDirty;
+
+    /**
+     * robots.txt（配置不变，首次访问时生成）
+     */
+    private volatile Document robots;
+
+    /**
+     * 订阅其他实例的更新广播
+     */
+    @PostConstruct
+    public void subscribeChanges() {
+        if (properties.isEnabled()) {
+            broadcastHelper.subscribe(RedisConstants.CHANNEL_SITE_FEED, this::handleRemoteChange);
+        }
+    }
+
+    /**
+     * 应用启动完成后在后台构建，不占用请求线程
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (properties.isEnabled()) {
+            Thread.ofVirtual().name("site-feed-rebuild").start(this::rebuild);
+        }
+    }
+
+    /**
+     * 是否仍在等待首次构建完成
+     *
+     * @return true-已启用但尚无可用输出
+     */
+    public boolean isPending() {
+        return properties.isEnabled() && output == null;
+    }
+
+    /**
+     * 获取 /sitemap.xml
+     *
+     * @return 文档；停用或不可用时返回 null
+     */
+    public Document getSitemap() {
+        Output current = currentOutput();
+        return current == null ? null : current.sitemap();
+    }
+
+    /**
+     * 获取站点地图分片
+     *
+     * @param index 分片序号（从 1 开始）
+     * @return 文档；停用、不可用或序号越界时返回 null
+     */
+    public Document getSitemapShard(int index) {
+        Output current = currentOutput();
+        if (current == null || current.shards().size() < 2 || index < 1 || index > current.shards().size()) {
+            return null;
+        }
+        return current.shards().get(index - 1).document();
+    }
+
+    /**
+     * 获取 RSS 2.0 订阅
+     *
+     * @return 文档；停用或不可用时返回 null
+     */
+    public Document getRss() {
+        Output current = currentOutput();
+        return current == null ? null : current.rss();
+    }
+
+    /**
+     * 获取 Atom 订阅
+     *
+     * @return 文档；停用或不可用时返回 null
+     */
+    public Document getAtom() {
+        Output current = currentOutput();
+        return current == null ? null : current.atom();
+    }
+
+    /**
+     * 获取 robots.txt
+     *
+     * @return 文档；停用时返回 null
+     */
+    public Document getRobots() {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        Document current = robots;
+        if (current == null) {
+            current = Document.of("User-agent: *\n"
+                    + "Disallow: /api/\n"
+                    + "Sitemap: " + properties.getSiteUrl() + "/sitemap.xml\n");
+            robots = current;
+        }
+        return current;
+    }
+
+    /**
+     * 全量重建（失败时保留上一次的有序表与输出）
+     */
+    public synchronized void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            ConcurrentSkipListMap<Long, LocalDateTime> articles = new ConcurrentSkipListMap<>();
+            long lastId = 0L;
+            while (true) {
+                List<BlogArticle> page = articleMapper.selectPage(new Page<>(1, REBUILD_BATCH_SIZE, false),
+                        new LambdaQueryWrapper<BlogArticle>()
+                                .select(BlogArticle::getId, BlogArticle::getUpdateTime)
+                                .eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode())
+                                .gt(BlogArticle::getId, lastId)
+                                .orderByAsc(BlogArticle::getId)).getRecords();
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (BlogArticle article : page) {
+                    articles.put(article.getId(), article.getUpdateTime());
+                }
+                lastId = page.get(page.size() - 1).getId();
+            }
+
+            List<Shard> shards = generateShards(articles, Collections.emptyList(), 0, Set.of());
+            Document[] feeds = generateFeeds();
+            dirtyShards.clear();
+            dirtyFrom = Integer.MAX_VALUE;
+            feedDirty = false;
+            published = articles;
+            output = new Output(shards, sitemap(shards), feeds[0], feeds[1]);
+            log.info("站点地图与订阅重建完成: articles={}, shards={}", articles.size(), shards.size());
+        } catch (Exception e) {
+            log.error("站点地图与订阅重建失败，继续使用上一次的结果", e);
+        }
+    }
+
+    /**
+     * 定时全量重建（兜底修正增量遗漏）
+     */
+    @Scheduled(fixedDelayString = "${app.site-feed.rebuild-interval:6h}",
+            initialDelayString = "${app.site-feed.rebuild-interval:6h}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 重新生成受影响的分片与订阅（合并两次检查之间的全部变更，期间增量更新等待完成）
+     */
+    @Scheduled(fixedDelayString = "${app.site-feed.refresh-interval:10s}")
+    public synchronized void refresh() {
+        Output current = output;
+        if (current == null || published == null
+                || (dirtyFrom == Integer.MAX_VALUE && dirtyShards.isEmpty() && !feedDirty)) {
+            return;
+        }
+        try {
+            List<Shard> shards = dirtyFrom == Integer.MAX_VALUE && dirtyShards.isEmpty()
+                    ? current.shards()
+                    : generateShards(published, current.shards(), dirtyFrom, dirtyShards);
+            Document sitemap = shards == current.shards() ? current.sitemap() : sitemap(shards);
+            Document[] feeds = feedDirty ? generateFeeds() : new Document[]{current.rss(), current.atom()};
+            output = new Output(shards, sitemap, feeds[0], feeds[1]);
+            log.debug("站点地图与订阅已更新: from={}, shards={}, feeds={}", dirtyFrom, dirtyShards, feedDirty);
+            dirtyFrom = Integer.MAX_VALUE;
+            dirtyShards.clear();
+            feedDirty = false;
+        } catch (Exception e) {
+            log.warn("站点地图与订阅更新失败，将在下次检查时重试", e);
+        }
+    }
+
+    /**
+     * 文章发布、更新、删除后更新有序表并标记受影响部分
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (output == null) {
+            return;
+        }
+        apply(event.getArticleIds());
+        broadcastHelper.publish(RedisConstants.CHANNEL_SITE_FEED,
+                event.getArticleIds().stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * 获取当前输出（不在请求线程中构建）
+     */
+    private Output currentOutput() {
+        return properties.isEnabled() ? output : null;
+    }
+
+    /**
+     * 处理其他实例的更新广播（全量重建由各实例的定时任务各自执行，不广播）
+     *
+     * @param payload 逗号分隔的文章ID
+     */
+    private void handleRemoteChange(String payload) {
+        if (output == null) {
+            return;
+        }
+        apply(Arrays.stream(payload.split(","))
+                .filter(s -> !s.isBlank())
+                .map(Long::valueOf)
+                .toList());
+    }
+
+    /**
+     * 一次查询重新读取文章状态并更新有序表
+     */
+    private void apply(Collection<Long> articleIds) {
+        try {
+            Map<Long, BlogArticle> articles = articleMapper.selectList(new LambdaQueryWrapper<BlogArticle>()
+                            .select(BlogArticle::getId, BlogArticle::getIsDraft, BlogArticle::getUpdateTime)
+                            .in(BlogArticle::getId, articleIds))
+                    .stream()
+                    .collect(Collectors.toMap(BlogArticle::getId, article -> article));
+            synchronized (this) {
+                for (Long articleId : articleIds) {
+                    BlogArticle article = articles.get(articleId);
+                    markChanged(articleId, article != null && DraftStatusEnum.isPublished(article.getIsDraft())
+                            ? article.getUpdateTime() : null);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("站点地图增量更新失败，等待定时重建修正: articleIds={}", articleIds, e);
+        }
+    }
+
+    /**
+     * 更新有序表中的一篇文章并标记受影响的分片
+     *
+     * @param articleId  文章ID
+     * @param updateTime 已发布文章的最后修改时间；未发布或已删除时为 null
+     */
+    synchronized void markChanged(Long articleId, LocalDateTime updateTime) {
+        ConcurrentSkipListMap<Long, LocalDateTime> articles = published;
+        Output current = output;
+        if (articles == null || current == null) {
+            return;
+        }
+        boolean visible = updateTime != null;
+        int shard = shardOf(current.shards(), articleId);
+        boolean present = articles.containsKey(articleId);
+        if (visible) {
+            articles.put(articleId, updateTime);
+        } else {
+            articles.remove(articleId);
+        }
+        if (visible != present) {
+            // 新增或移除会使其后所有分片的边界移动
+            dirtyFrom = Math.min(dirtyFrom, shard);
+        } else if (visible) {
+            dirtyShards.add(shard);
+        }
+        feedDirty = true;
+    }
+
+    /**
+     * 按分片的首尾文章ID二分查找文章所在（或新增后将落入）的分片
+     * <p>
+     * 除最后一个分片外均已写满，分片之间的新文章落入后一个分片；
+     * 标记的最小分片之前的边界不受未生成的变更影响，之后的分片都会重新生成，因此沿用上次生成的边界即可
+     *
+     * @param shards    当前分片
+     * @param articleId 文章ID
+     * @return 分片序号（从 0 开始）
+     */
+    private int shardOf(List<Shard> shards, Long articleId) {
+        int low = 0;
+        int high = shards.size() - 1;
+        // 最后一个首篇文章ID不大于 articleId 的分片
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            Long firstId = shards.get(mid).firstId();
+            if (firstId != null && firstId <= articleId) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        Shard shard = shards.get(low);
+        if (shard.lastId() != null && articleId > shard.lastId() && shard.count() >= shardSize()) {
+            return low + 1;
+        }
+        return low;
+    }
+
+    /**
+     * 按文章ID顺序生成站点地图分片，未受影响的分片沿用旧结果
+     *
+     * @param articles 已发布文章有序表
+     * @param previous 上一次的分片
+     * @param from     从该分片起全部重新生成
+     * @param dirty    需要重新生成的其他分片
+     */
+    private List<Shard> generateShards(NavigableMap<Long, LocalDateTime> articles, List<Shard> previous,
+                                       int from, Set<Integer> dirty) {
+        int shardSize = shardSize();
+        List<Shard> shards = new ArrayList<>();
+        StringBuilder xml = null;
+        LocalDateTime lastModified = null;
+        Long firstId = null;
+        Long lastId = null;
+        int position = 0;
+        for (Map.Entry<Long, LocalDateTime> entry : articles.entrySet()) {
+            int index = position / shardSize;
+            if (position % shardSize == 0) {
+                boolean regenerate = index >= from || dirty.contains(index) || index >= previous.size();
+                xml = regenerate ? new StringBuilder(shardSize * 128)
+                        .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                        .append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n") : null;
+                lastModified = null;
+                firstId = entry.getKey();
+            }
+            lastId = entry.getKey();
+            if (xml != null) {
+                xml.append("  <url><loc>").append(escape(articleUrl(entry.getKey()))).append("</loc>");
+                if (entry.getValue() != null) {
+                    xml.append("<lastmod>").append(formatW3c(entry.getValue())).append("</lastmod>");
+                    if (lastModified == null || entry.getValue().isAfter(lastModified)) {
+                        lastModified = entry.getValue();
+                    }
+                }
+                xml.append("</url>\n");
+            }
+            if (++position % shardSize == 0) {
+                shards.add(closeShard(xml, lastModified, firstId, lastId, shardSize, previous, index));
+            }
+        }
+        if (position % shardSize != 0) {
+            shards.add(closeShard(xml, lastModified, firstId, lastId, position % shardSize, previous,
+                    position / shardSize));
+        }
+        if (shards.isEmpty()) {
+            shards.add(new Shard(Document.of("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n</urlset>\n"),
+                    null, null, null, 0));
+        }
+        return List.copyOf(shards);
+    }
+
+    /**
+     * 结束当前分片：重新生成的分片输出新文档，其余沿用旧结果
+     */
+    private static Shard closeShard(StringBuilder xml, LocalDateTime lastModified, Long firstId, Long lastId,
+                                    int count, List<Shard> previous, int index) {
+        if (xml == null) {
+            return previous.get(index);
+        }
+        return new Shard(Document.of(xml.append("</urlset>\n").toString()), lastModified, firstId, lastId, count);
+    }
+
+    /**
+     * 单分片时直接使用分片，否则生成站点地图索引
+     */
+    private Document sitemap(List<Shard> shards) {
+        if (shards.size() == 1) {
+            return shards.get(0).document();
+        }
+        StringBuilder xml = new StringBuilder(shards.size() * 128)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (int i = 0; i < shards.size(); i++) {
+            xml.append("  <sitemap><loc>").append(escape(properties.getSiteUrl() + "/sitemap-" + (i + 1) + ".xml"))
+                    .append("</loc>");
+            if (shards.get(i).lastModified() != null) {
+                xml.append("<lastmod>").append(formatW3c(shards.get(i).lastModified())).append("</lastmod>");
+            }
+            xml.append("</sitemap>\n");
+        }
+        return Document.of(xml.append("</sitemapindex>\n").toString());
+    }
+
+    /**
+     * 查询最新文章并生成 RSS、Atom
+     *
+     * @return [RSS, Atom]
+     */
+    private Document[] generateFeeds() {
+        List<BlogArticle> articles = articleMapper.selectPage(new Page<>(1, Math.max(1, properties.getFeedSize()), false),
+                new LambdaQueryWrapper<BlogArticle>()
+                        .select(BlogArticle::getId, BlogArticle::getTitle, BlogArticle::getSummary,
+                                BlogArticle::getCreateTime, BlogArticle::getUpdateTime)
+                        .eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode())
+                        .orderByDesc(BlogArticle::getCreateTime)
+                        .orderByDesc(BlogArticle::getId)).getRecords();
+        LocalDateTime updated = articles.stream()
+                .map(article -> article.getUpdateTime() != null ? article.getUpdateTime() : article.getCreateTime())
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElseGet(LocalDateTime::now);
+        String siteUrl = properties.getSiteUrl();
+
+        StringBuilder rss = new StringBuilder(4096)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<rss version=\"2.0\" xmlns:atom=\"http://www.w3.org/2005/Atom\">\n<channel>\n")
+                .append("  <title>").append(escape(properties.getTitle())).append("</title>\n")
+                .append("  <link>").append(escape(siteUrl)).append("</link>\n")
+                .append("  <description>").append(escape(properties.getDescription())).append("</description>\n")
+                .append("  <atom:link href=\"").append(escape(siteUrl + "/rss.xml"))
+                .append("\" rel=\"self\" type=\"application/rss+xml\"/>\n")
+                .append("  <lastBuildDate>").append(formatRfc1123(updated)).append("</lastBuildDate>\n");
+        StringBuilder atom = new StringBuilder(4096)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<feed xmlns=\"http://www.w3.org/2005/Atom\">\n")
+                .append("  <id>").append(escape(siteUrl + "/")).append("</id>\n")
+                .append("  <title>").append(escape(properties.getTitle())).append("</title>\n")
+                .append("  <subtitle>").append(escape(properties.getDescription())).append("</subtitle>\n")
+                .append("  <link href=\"").append(escape(siteUrl)).append("\"/>\n")
+                .append("  <link rel=\"self\" type=\"application/atom+xml\" href=\"")
+                .append(escape(siteUrl + "/atom.xml")).append("\"/>\n")
+                .append("  <author><name>").append(escape(properties.getTitle())).append("</name></author>\n")
+                .append("  <updated>").append(formatW3c(updated)).append("</updated>\n");
+
+        for (BlogArticle article : articles) {
+            String link = escape(articleUrl(article.getId()));
+            String title = escape(article.getTitle());
+            String summary = article.getSummary() == null ? "" : escape(article.getSummary());
+            LocalDateTime publishTime = article.getCreateTime() != null ? article.getCreateTime() : updated;
+            LocalDateTime modified = article.getUpdateTime() != null ? article.getUpdateTime() : publishTime;
+
+            rss.append("  <item>\n")
+                    .append("    <title>").append(title).append("</title>\n")
+                    .append("    <link>").append(link).append("</link>\n")
+                    .append("    <guid isPermaLink=\"true\">").append(link).append("</guid>\n")
+                    .append("    <pubDate>").append(formatRfc1123(publishTime)).append("</pubDate>\n")
+                    .append("    <description>").append(summary).append("</description>\n")
+                    .append("  </item>\n");
+            atom.append("  <entry>\n")
+                    .append("    <id>").append(link).append("</id>\n")
+                    .append("    <title>").append(title).append("</title>\n")
+                    .append("    <link href=\"").append(link).append("\"/>\n")
+                    .append("    <published>").append(formatW3c(publishTime)).append("</published>\n")
+                    .append("    <updated>").append(formatW3c(modified)).append("</updated>\n")
+                    .append("    <summary>").append(summary).append("</summary>\n")
+                    .append("  </entry>\n");
+        }
+        rss.append("</channel>\n</rss>\n");
+        atom.append("</feed>\n");
+        return new Document[]{Document.of(rss.toString()), Document.of(atom.toString())};
+    }
+
+    private String articleUrl(Long articleId) {
+        return properties.getSiteUrl() + properties.getArticlePath().replace("{id}", articleId.toString());
+    }
+
+    private int shardSize() {
+        return Math.max(1, Math.min(properties.getSitemapShardSize(), 50000));
+    }
+
+    private static String formatW3c(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).format(W3C_DATE_TIME);
+    }
+
+    private static String formatRfc1123(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).format(RFC_1123);
+    }
+
+    /**
+     * XML 转义，并去除 XML 1.0 不允许的控制字符
+     */
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> builder.append("&amp;");
+                case '<' -> builder.append("&lt;");
+                case '>' -> builder.append("&gt;");
+                case '"' -> builder.append("&quot;");
+                case '\'' -> builder.append("&apos;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+}
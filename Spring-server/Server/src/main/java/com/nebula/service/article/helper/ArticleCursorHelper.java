@@ -0,0 +1,104 @@
+package com.nebula.service.article.helper;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.nebula.constant.ArticleConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.exception.BusinessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 文章游标分页Helper
+ * <p>
+ * 按 (is_top, create_time, id) 倒序进行键集分页：游标记录上一页最后一条的排序键，
+ * 下一页直接从该位置向后查找，避免 OFFSET 深翻页扫描和 COUNT 统计
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/12
+ */
+@Component
+public class ArticleCursorHelper {
+
+    /**
+     * 游标字段分隔符
+     */
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 游标位置
+     *
+     * @param isTop      是否置顶
+     * @param createTime 创建时间
+     * @param id         文章ID
+     */
+    public record Cursor(Integer isTop, LocalDateTime createTime, Long id) {
+    }
+
+    /**
+     * 应用游标排序（与游标比较条件保持一致）
+     *
+     * @param wrapper 查询包装器
+     */
+    public void applySort(LambdaQueryWrapper<BlogArticle> wrapper) {
+        wrapper.orderByDesc(BlogArticle::getIsTop)
+                .orderByDesc(BlogArticle::getCreateTime)
+                .orderByDesc(BlogArticle::getId);
+    }
+
+    /**
+     * 应用游标定位条件：(is_top, create_time, id) &lt; (游标值)
+     *
+     * @param wrapper 查询包装器
+     * @param cursor  游标位置，为 null 时表示第一页
+     */
+    public void applySeek(LambdaQueryWrapper<BlogArticle> wrapper, Cursor cursor) {
+        if (cursor == null) {
+            return;
+        }
+        wrapper.and(w -> w.lt(BlogArticle::getIsTop, cursor.isTop())
+                .or(o -> o.eq(BlogArticle::getIsTop, cursor.isTop())
+                        .lt(BlogArticle::getCreateTime, cursor.createTime()))
+                .or(o -> o.eq(BlogArticle::getIsTop, cursor.isTop())
+                        .eq(BlogArticle::getCreateTime, cursor.createTime())
+                        .lt(BlogArticle::getId, cursor.id())));
+    }
+
+    /**
+     * 将文章排序键编码为不透明游标
+     *
+     * @param article 当前页最后一条文章
+     * @return 游标字符串
+     */
+    public String encode(BlogArticle article) {
+        String raw = article.getIsTop() + SEPARATOR + article.getCreateTime() + SEPARATOR + article.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param token 游标字符串
+     * @return 游标位置，空字符串返回 null
+     */
+    public Cursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new BusinessException(ArticleConstants.ERROR_INVALID_CURSOR);
+            }
+            return new Cursor(Integer.valueOf(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException(ArticleConstants.ERROR_INVALID_CURSOR);
+        }
+    }
+}
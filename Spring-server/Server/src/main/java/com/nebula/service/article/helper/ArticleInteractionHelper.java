@@ -14,6 +14,11 @@ import com.nebula.exception.BusinessException;
 import com.nebula.mapper.BlogArticleCollectMapper;
 import com.nebula.mapper.BlogArticleLikeMapper;
 import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.service.article.cache.ArticleInteractionCache;
+import com.nebula.service.article.counter.ArticleInteractionQueue;
+import com.nebula.service.article.counter.ArticleViewCounter;
+import com.nebula.service.article.rank.HotArticleLeaderboard;
+import com.nebula.service.common.TransactionCompensationHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,7 +28,8 @@ import java.util.function.Supplier;
 /**
  * 文章互动操作Helper
  * <p>
- * 封装文章的点赞、收藏、浏览等互动逻辑
+ * 封装文章的点赞、收藏、浏览等互动逻辑。
+ * 点赞/收藏默认在 Redis 中原子切换后异步落库，Redis 不可用或未启用时在事务内同步写库
  *
  * @author Nebula-Hash
  * @date 2026/1/31
@@ -35,6 +41,10 @@ public class ArticleInteractionHelper {
     private final BlogArticleMapper articleMapper;
     private final BlogArticleLikeMapper articleLikeMapper;
     private final BlogArticleCollectMapper articleCollectMapper;
+    private final ArticleViewCounter viewCounter;
+    private final HotArticleLeaderboard hotArticleLeaderboard;
+    private final ArticleInteractionCache interactionCache;
+    private final ArticleInteractionQueue interactionQueue;
 
     /**
      * 切换点赞状态
@@ -43,6 +53,9 @@ public class ArticleInteractionHelper {
      */
     @Transactional(rollbackFor = Exception.class)
     public void toggleLike(Long articleId) {
+        if (toggleInRedis(articleId, HotArticleScoreHelper.Interaction.LIKE, ArticleInteractionCache.Relation.LIKE)) {
+            return;
+        }
         toggleInteraction(
                 articleId,
                 articleLikeMapper,
@@ -54,7 +67,9 @@ public class ArticleInteractionHelper {
                     like.setUserId(StpUtil.getLoginIdAsLong());
                     return like;
                 },
-                "like_count"
+                "like_count",
+                HotArticleScoreHelper.Interaction.LIKE,
+                ArticleInteractionCache.Relation.LIKE
         );
     }
 
@@ -65,6 +80,9 @@ public class ArticleInteractionHelper {
      */
     @Transactional(rollbackFor = Exception.class)
     public void toggleCollect(Long articleId) {
+        if (toggleInRedis(articleId, HotArticleScoreHelper.Interaction.COLLECT, ArticleInteractionCache.Relation.COLLECT)) {
+            return;
+        }
         toggleInteraction(
                 articleId,
                 articleCollectMapper,
@@ -76,19 +94,52 @@ public class ArticleInteractionHelper {
                     collect.setUserId(StpUtil.getLoginIdAsLong());
                     return collect;
                 },
-                "collect_count"
+                "collect_count",
+                HotArticleScoreHelper.Interaction.COLLECT,
+                ArticleInteractionCache.Relation.COLLECT
         );
     }
 
     /**
-     * 记录文章浏览（使用数据库原子更新，避免并发问题）
+     * 记录文章浏览（写入缓冲区，由计数器定时批量落库）
      *
      * @param articleId 文章ID
      */
     public void incrementViewCount(Long articleId) {
-        articleMapper.update(null, new LambdaUpdateWrapper<BlogArticle>()
-                .eq(BlogArticle::getId, articleId)
-                .setSql("view_count = view_count + " + CountConstants.INCREMENT));
+        viewCounter.increment(articleId);
+    }
+
+    /**
+     * 在 Redis 中切换点赞/收藏状态，由队列异步落库
+     *
+     * @param articleId   文章ID
+     * @param interaction 热度互动类型
+     * @param relation    关系类型
+     * @return 是否已处理；false 表示需同步写库（Redis 切换失败且该用户没有未落库的切换时）
+     */
+    private boolean toggleInRedis(Long articleId,
+                                  HotArticleScoreHelper.Interaction interaction,
+                                  ArticleInteractionCache.Relation relation) {
+        if (!interactionQueue.isEnabled()) {
+            return false;
+        }
+        boolean exists = articleMapper.exists(new LambdaQueryWrapper<BlogArticle>()
+                .eq(BlogArticle::getId, articleId));
+        if (!exists) {
+            throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
+        }
+
+        Long userId = StpUtil.getLoginIdAsLong();
+        Boolean added = interactionQueue.toggle(relation, articleId, userId);
+        if (added == null) {
+            // 队列中仍有该用户未落库的切换时，数据库中的状态已过期，按其切换会被随后落库的消息覆盖
+            if (interactionQueue.hasQueuedChange(relation, articleId, userId)) {
+                throw new BusinessException(ArticleConstants.ERROR_INTERACTION_PENDING);
+            }
+            return false;
+        }
+        hotArticleLeaderboard.record(articleId, interaction, added ? CountConstants.INCREMENT : -CountConstants.INCREMENT);
+        return true;
     }
 
     /**
@@ -102,6 +153,8 @@ public class ArticleInteractionHelper {
      * @param userIdGetter    获取用户ID的方法引用
      * @param entitySupplier  创建新实体的方法
      * @param countColumn     计数字段名（数据库列名）
+     * @param interaction     热度互动类型
+     * @param relation        关系缓存类型
      */
     private <T> void toggleInteraction(
             Long articleId,
@@ -109,12 +162,14 @@ public class ArticleInteractionHelper {
             SFunction<T, Long> articleIdGetter,
             SFunction<T, Long> userIdGetter,
             Supplier<T> entitySupplier,
-            String countColumn) {
+            String countColumn,
+            HotArticleScoreHelper.Interaction interaction,
+            ArticleInteractionCache.Relation relation) {
 
         Long userId = StpUtil.getLoginIdAsLong();
 
         // 校验文章是否存在
-        BlogArticle article = articleMapper.selectById(articleId);
+        BlogArticle article = articleMapper.selectListRowById(articleId);
         if (article == null) {
             throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
         }
@@ -131,12 +186,20 @@ public class ArticleInteractionHelper {
             articleMapper.update(null, new LambdaUpdateWrapper<BlogArticle>()
                     .eq(BlogArticle::getId, articleId)
                     .setSql(countColumn + " = GREATEST(0, " + countColumn + " - " + CountConstants.INCREMENT + ")"));
+            TransactionCompensationHelper.registerAfterCommitAction("hotRank-" + countColumn,
+                    () -> hotArticleLeaderboard.record(articleId, interaction, -CountConstants.INCREMENT));
+            TransactionCompensationHelper.registerAfterCommitAction("relationCache-" + countColumn,
+                    () -> interactionCache.onToggled(relation, articleId, userId, false));
         } else {
             // 执行操作：插入记录并原子递增计数
             mapper.insert(entitySupplier.get());
             articleMapper.update(null, new LambdaUpdateWrapper<BlogArticle>()
                     .eq(BlogArticle::getId, articleId)
                     .setSql(countColumn + " = " + countColumn + " + " + CountConstants.INCREMENT));
+            TransactionCompensationHelper.registerAfterCommitAction("hotRank-" + countColumn,
+                    () -> hotArticleLeaderboard.record(articleId, interaction, CountConstants.INCREMENT));
+            TransactionCompensationHelper.registerAfterCommitAction("relationCache-" + countColumn,
+                    () -> interactionCache.onToggled(relation, articleId, userId, true));
         }
     }
 }
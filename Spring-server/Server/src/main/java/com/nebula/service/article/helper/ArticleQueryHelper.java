@@ -1,20 +1,24 @@
 package com.nebula.service.article.helper;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
-import com.nebula.entity.*;
-import com.nebula.mapper.*;
+import com.nebula.entity.BlogArticle;
+import com.nebula.properties.ArticleFacetProperties;
+import com.nebula.service.article.facet.ArticleFacetIndex;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 文章查询条件构建器
  * <p>
- * 封装文章模块的搜索条件构建逻辑，支持作者、标题、分类、标签的模糊搜索
+ * 封装文章模块的搜索条件构建逻辑，支持作者、标题、分类、标签的模糊搜索。
+ * 名称条件编译为关联主查询 blog_article 的 EXISTS 半连接子查询，与分页、计数查询在同一条 SQL 中执行，
+ * 不再预查询ID列表，也不受预查询数量上限截断
  *
  * @author Nebula-Hash
  * @date 2026/1/31
@@ -24,14 +28,35 @@ import java.util.stream.Collectors;
 public class ArticleQueryHelper {
 
     /**
-     * 查询结果数量限制，避免大IN查询影响性能
+     * 作者昵称半连接子查询
      */
-    private static final int QUERY_LIMIT = 1000;
+    private static final String AUTHOR_NAME_SEMI_JOIN_SQL =
+            "SELECT 1 FROM sys_user u WHERE u.id = blog_article.author_id AND u.deleted = 0"
+                    + " AND u.nickname LIKE CONCAT('%', {0}, '%')";
 
-    private final SysUserMapper userMapper;
-    private final BlogCategoryMapper categoryMapper;
-    private final BlogTagMapper tagMapper;
-    private final RelevancyArticleTagMapper articleTagMapper;
+    /**
+     * 分类名称半连接子查询
+     */
+    private static final String CATEGORY_NAME_SEMI_JOIN_SQL =
+            "SELECT 1 FROM blog_category c WHERE c.id = blog_article.category_id AND c.deleted = 0"
+                    + " AND c.category_name LIKE CONCAT('%', {0}, '%')";
+
+    /**
+     * 标签名称半连接子查询
+     */
+    private static final String TAG_NAME_SEMI_JOIN_SQL =
+            "SELECT 1 FROM relevancy_article_tag rat JOIN blog_tag t ON t.id = rat.tag_id"
+                    + " WHERE rat.article_id = blog_article.id AND t.deleted = 0"
+                    + " AND t.tag_name LIKE CONCAT('%', {0}, '%')";
+
+    /**
+     * 标签关联半连接子查询（关联主查询的 blog_article.id）
+     */
+    private static final String TAG_SEMI_JOIN_SQL =
+            "SELECT 1 FROM relevancy_article_tag rat WHERE rat.article_id = blog_article.id AND rat.tag_id IN (%s)";
+
+    private final ArticleFacetIndex facetIndex;
+    private final ArticleFacetProperties facetProperties;
 
     /**
      * 应用搜索条件到查询包装器
@@ -50,52 +75,25 @@ public class ArticleQueryHelper {
                                          Long categoryId, String categoryName,
                                          Long tagId, String tagName) {
         // 作者名称模糊搜索
-        if (!applyAuthorCondition(wrapper, authorName)) {
-            return false;
-        }
+        applyAuthorCondition(wrapper, authorName);
 
         // 标题模糊搜索
         applyTitleCondition(wrapper, title);
 
         // 分类搜索（优先使用ID，其次使用名称）
-        if (!applyCategoryCondition(wrapper, categoryId, categoryName)) {
-            return false;
-        }
+        applyCategoryCondition(wrapper, categoryId, categoryName);
 
         // 标签搜索（优先使用ID，其次使用名称）
-        if (!applyTagCondition(wrapper, tagId, tagName)) {
-            return false;
-        }
-
-        return true;
+        return applyTagCondition(wrapper, tagId, tagName);
     }
 
     /**
      * 应用作者搜索条件
-     *
-     * @return true-成功，false-无匹配结果
      */
-    private boolean applyAuthorCondition(LambdaQueryWrapper<BlogArticle> wrapper, String authorName) {
-        if (authorName == null || authorName.isEmpty()) {
-            return true;
-        }
-
-        // 使用 MyBatis-Plus 分页替代 wrapper.last(LIMIT)
-        Page<SysUser> page = new Page<>(1, QUERY_LIMIT, false);
-        LambdaQueryWrapper<SysUser> userWrapper = new LambdaQueryWrapper<>();
-        userWrapper.like(SysUser::getNickname, authorName);
-        Page<SysUser> userPage = userMapper.selectPage(page, userWrapper);
-
-        Set<Long> authorIds = userPage.getRecords().stream()
-                .map(SysUser::getId)
-                .collect(Collectors.toSet());
-
-        if (authorIds.isEmpty()) {
-            return false;
+    private void applyAuthorCondition(LambdaQueryWrapper<BlogArticle> wrapper, String authorName) {
+        if (authorName != null && !authorName.isEmpty()) {
+            wrapper.exists(AUTHOR_NAME_SEMI_JOIN_SQL, authorName);
         }
-
-        wrapper.in(BlogArticle::getAuthorId, authorIds);
-        return true;
     }
 
     /**
@@ -112,88 +110,90 @@ public class ArticleQueryHelper {
      *
      * @param categoryId   分类ID（精确匹配）
      * @param categoryName 分类名称（模糊搜索）
-     * @return true-成功，false-无匹配结果
      */
-    private boolean applyCategoryCondition(LambdaQueryWrapper<BlogArticle> wrapper, Long categoryId, String categoryName) {
+    private void applyCategoryCondition(LambdaQueryWrapper<BlogArticle> wrapper, Long categoryId, String categoryName) {
         // 优先使用分类ID进行精确匹配
         if (categoryId != null) {
             wrapper.eq(BlogArticle::getCategoryId, categoryId);
-            return true;
-        }
-        
-        // 如果没有ID，使用名称进行模糊搜索
-        if (categoryName == null || categoryName.isEmpty()) {
-            return true;
-        }
-
-        // 使用 MyBatis-Plus 分页替代 wrapper.last(LIMIT)
-        Page<BlogCategory> page = new Page<>(1, QUERY_LIMIT, false);
-        LambdaQueryWrapper<BlogCategory> categoryWrapper = new LambdaQueryWrapper<>();
-        categoryWrapper.like(BlogCategory::getCategoryName, categoryName);
-        Page<BlogCategory> categoryPage = categoryMapper.selectPage(page, categoryWrapper);
-
-        Set<Long> categoryIds = categoryPage.getRecords().stream()
-                .map(BlogCategory::getId)
-                .collect(Collectors.toSet());
-
-        if (categoryIds.isEmpty()) {
-            return false;
+        } else if (categoryName != null && !categoryName.isEmpty()) {
+            wrapper.exists(CATEGORY_NAME_SEMI_JOIN_SQL, categoryName);
         }
-
-        wrapper.in(BlogArticle::getCategoryId, categoryIds);
-        return true;
     }
 
     /**
      * 应用标签搜索条件（优先使用ID，其次使用名称）
-     * <p>
-     * 使用分页限制数量避免大IN查询影响性能
      *
      * @param tagId   标签ID（精确匹配）
      * @param tagName 标签名称（模糊搜索）
      * @return true-成功，false-无匹配结果
      */
     private boolean applyTagCondition(LambdaQueryWrapper<BlogArticle> wrapper, Long tagId, String tagName) {
-        Set<Long> tagIds;
-        
-        // 优先使用标签ID进行精确匹配
+        // 优先使用标签ID进行精确匹配（位图索引筛选，无数量上限）
         if (tagId != null) {
-            tagIds = Set.of(tagId);
-        } else if (tagName != null && !tagName.isEmpty()) {
-            // 如果没有ID，使用名称进行模糊搜索
-            // 使用 MyBatis-Plus 分页查询匹配的标签
-            Page<BlogTag> tagPage = new Page<>(1, QUERY_LIMIT, false);
-            LambdaQueryWrapper<BlogTag> tagQueryWrapper = new LambdaQueryWrapper<>();
-            tagQueryWrapper.like(BlogTag::getTagName, tagName);
-            tagPage = tagMapper.selectPage(tagPage, tagQueryWrapper);
-
-            tagIds = tagPage.getRecords().stream()
-                    .map(BlogTag::getId)
-                    .collect(Collectors.toSet());
-
-            if (tagIds.isEmpty()) {
-                return false;
-            }
-        } else {
-            // 既没有ID也没有名称，不应用标签过滤
-            return true;
+            return applyTagFilter(wrapper, new ArticleFacetIndex.TagFilter(List.of(tagId), null, null));
         }
+        if (tagName != null && !tagName.isEmpty()) {
+            wrapper.exists(TAG_NAME_SEMI_JOIN_SQL, tagName);
+        }
+        return true;
+    }
 
-        // 使用 MyBatis-Plus 分页查询包含这些标签的文章
-        Page<RelevancyArticleTag> articleTagPage = new Page<>(1, QUERY_LIMIT, false);
-        LambdaQueryWrapper<RelevancyArticleTag> articleTagWrapper = new LambdaQueryWrapper<>();
-        articleTagWrapper.in(RelevancyArticleTag::getTagId, tagIds);
-        articleTagPage = articleTagMapper.selectPage(articleTagPage, articleTagWrapper);
-
-        Set<Long> articleIds = articleTagPage.getRecords().stream()
-                .map(RelevancyArticleTag::getArticleId)
-                .collect(Collectors.toSet());
+    /**
+     * 应用标签组合筛选条件（仅用于已发布文章查询）
+     * <p>
+     * 优先使用位图索引计算满足条件的文章ID：结果不超过阈值时以主键 IN 列表传入查询，
+     * 结果较多或索引不可用时改为 EXISTS / NOT EXISTS 半连接子查询
+     *
+     * @param wrapper 查询包装器
+     * @param filter  标签组合条件
+     * @return true-成功，false-无匹配结果
+     */
+    public boolean applyTagFilter(LambdaQueryWrapper<BlogArticle> wrapper, ArticleFacetIndex.TagFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return true;
+        }
 
-        if (articleIds.isEmpty()) {
-            return false;
+        RoaringBitmap articleIds = facetIndex.filter(filter, null);
+        if (articleIds != null) {
+            if (articleIds.isEmpty()) {
+                return false;
+            }
+            if (articleIds.getLongCardinality() <= facetProperties.getMaxInListSize()) {
+                wrapper.in(BlogArticle::getId, ArticleFacetIndex.toArticleIds(articleIds));
+                return true;
+            }
         }
 
-        wrapper.in(BlogArticle::getId, articleIds);
+        if (filter.allTagIds() != null) {
+            for (Long tagId : filter.allTagIds()) {
+                applyTagSemiJoin(wrapper, List.of(tagId), false);
+            }
+        }
+        if (filter.anyTagIds() != null && !filter.anyTagIds().isEmpty()) {
+            applyTagSemiJoin(wrapper, filter.anyTagIds(), false);
+        }
+        if (filter.excludeTagIds() != null && !filter.excludeTagIds().isEmpty()) {
+            applyTagSemiJoin(wrapper, filter.excludeTagIds(), true);
+        }
         return true;
     }
+
+    /**
+     * 追加标签半连接条件
+     *
+     * @param tagIds  标签ID（任一命中即满足）
+     * @param negated true-NOT EXISTS，false-EXISTS
+     */
+    private void applyTagSemiJoin(LambdaQueryWrapper<BlogArticle> wrapper, Collection<Long> tagIds, boolean negated) {
+        List<Long> ids = List.copyOf(tagIds);
+        String placeholders = IntStream.range(0, ids.size())
+                .mapToObj(i -> "{" + i + "}")
+                .collect(Collectors.joining(","));
+        String sql = String.format(TAG_SEMI_JOIN_SQL, placeholders);
+        if (negated) {
+            wrapper.notExists(sql, ids.toArray());
+        } else {
+            wrapper.exists(sql, ids.toArray());
+        }
+    }
 }
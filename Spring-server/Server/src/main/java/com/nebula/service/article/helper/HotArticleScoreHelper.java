@@ -1,12 +1,15 @@
 package com.nebula.service.article.helper;
 
 import com.nebula.entity.BlogArticle;
+import com.nebula.properties.HotArticleProperties;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 热门文章评分计算工具
@@ -17,59 +20,81 @@ import java.util.List;
  * 基础分数 = 浏览量×w1 + 点赞数×w2 + 评论数×w3 + 收藏数×w4
  * 时间衰减 = 0.5^(发布天数 / 半衰期)
  * </pre>
+ * 权重与半衰期由 {@link HotArticleProperties} 配置
  *
  * @author Nebula-Hash
  * @date 2026/1/31
  */
 @Component
+@RequiredArgsConstructor
 public class HotArticleScoreHelper {
 
-    // ==================== 权重配置 ====================
-
-    /**
-     * 浏览量权重 - 基础指标
-     */
-    private static final double WEIGHT_VIEW = 1.0;
-
-    /**
-     * 点赞数权重 - 主动互动，价值较高
-     */
-    private static final double WEIGHT_LIKE = 5.0;
-
     /**
-     * 评论数权重 - 深度互动，价值最高
+     * 衰减基数（用于计算指数衰减）
      */
-    private static final double WEIGHT_COMMENT = 10.0;
+    private static final double DECAY_BASE = 0.5;
 
     /**
-     * 收藏数权重 - 高价值互动
+     * 互动类型
      */
-    private static final double WEIGHT_COLLECT = 8.0;
-
-    // ==================== 时间衰减配置 ====================
+    public enum Interaction {
+        /**
+         * 浏览
+         */
+        VIEW,
+
+        /**
+         * 点赞
+         */
+        LIKE,
+
+        /**
+         * 评论
+         */
+        COMMENT,
+
+        /**
+         * 收藏
+         */
+        COLLECT
+    }
 
-    /**
-     * 热度半衰期（天）- 7天后热度衰减50%
-     */
-    private static final double HALF_LIFE_DAYS = 7.0;
+    private final HotArticleProperties properties;
 
     /**
-     * 衰减基数（用于计算指数衰减）
+     * 获取互动类型对应的权重
+     *
+     * @param interaction 互动类型
+     * @return 权重
      */
-    private static final double DECAY_BASE = 0.5;
+    public double weightOf(Interaction interaction) {
+        HotArticleProperties.Weight weight = properties.getWeight();
+        return switch (interaction) {
+            case VIEW -> weight.getView();
+            case LIKE -> weight.getLike();
+            case COMMENT -> weight.getComment();
+            case COLLECT -> weight.getCollect();
+        };
+    }
 
     /**
-     * 最小衰减因子 - 防止老文章热度归零
+     * 计算文章热度评分
+     *
+     * @param article 文章实体
+     * @return 热度评分
      */
-    private static final double MIN_DECAY_FACTOR = 0.01;
+    public double calculateScore(BlogArticle article) {
+        return calculateScore(article, LocalDateTime.now());
+    }
 
     /**
-     * 计算文章热度评分
+     * 计算文章在指定时刻的热度评分
      *
      * @param article 文章实体
+     * @param now     计算时刻
      * @return 热度评分
      */
-    public double calculateScore(BlogArticle article) {
+    public double calculateScore(BlogArticle article, LocalDateTime now) {
         if (article == null) {
             return 0.0;
         }
@@ -78,7 +103,7 @@ public class HotArticleScoreHelper {
         double baseScore = calculateBaseScore(article);
 
         // 计算时间衰减因子
-        double decayFactor = calculateDecayFactor(article.getCreateTime());
+        double decayFactor = calculateDecayFactor(article.getCreateTime(), now);
 
         return baseScore * decayFactor;
     }
@@ -95,32 +120,43 @@ public class HotArticleScoreHelper {
         int commentCount = getValueOrZero(article.getCommentCount());
         int collectCount = getValueOrZero(article.getCollectCount());
 
-        return viewCount * WEIGHT_VIEW
-                + likeCount * WEIGHT_LIKE
-                + commentCount * WEIGHT_COMMENT
-                + collectCount * WEIGHT_COLLECT;
+        return viewCount * weightOf(Interaction.VIEW)
+                + likeCount * weightOf(Interaction.LIKE)
+                + commentCount * weightOf(Interaction.COMMENT)
+                + collectCount * weightOf(Interaction.COLLECT);
     }
 
     /**
      * 计算时间衰减因子
+     *
+     * @param createTime 文章创建时间
+     * @return 衰减因子 (0, 1]
+     */
+    public double calculateDecayFactor(LocalDateTime createTime) {
+        return calculateDecayFactor(createTime, LocalDateTime.now());
+    }
+
+    /**
+     * 计算指定时刻的时间衰减因子
      * <p>
      * 使用指数衰减模型: decay = 0.5^(age / halfLife)
      *
      * @param createTime 文章创建时间
+     * @param now        计算时刻
      * @return 衰减因子 (0, 1]
      */
-    public double calculateDecayFactor(LocalDateTime createTime) {
+    public double calculateDecayFactor(LocalDateTime createTime, LocalDateTime now) {
         if (createTime == null) {
             return 1.0;
         }
 
-        long daysOld = ChronoUnit.DAYS.between(createTime, LocalDateTime.now());
+        long daysOld = ChronoUnit.DAYS.between(createTime, now);
         if (daysOld <= 0) {
             return 1.0;
         }
 
-        double decayFactor = Math.pow(DECAY_BASE, daysOld / HALF_LIFE_DAYS);
-        return Math.max(decayFactor, MIN_DECAY_FACTOR);
+        double decayFactor = Math.pow(DECAY_BASE, daysOld / properties.getHalfLifeDays());
+        return Math.max(decayFactor, properties.getMinDecayFactor());
     }
 
     /**
@@ -133,14 +169,13 @@ public class HotArticleScoreHelper {
         if (articles == null || articles.isEmpty()) {
             return articles;
         }
-
-        return articles.stream()
-                .sorted(Comparator.comparingDouble(this::calculateScore).reversed())
-                .toList();
+        return getTopHotArticles(articles, articles.size());
     }
 
     /**
      * 对文章列表按热度评分排序并取前N条
+     * <p>
+     * 评分在排序前一次性算出，比较器中不再重复计算幂运算和当前时间
      *
      * @param articles 文章列表
      * @param limit    数量限制
@@ -151,9 +186,12 @@ public class HotArticleScoreHelper {
             return articles;
         }
 
+        LocalDateTime now = LocalDateTime.now();
         return articles.stream()
-                .sorted(Comparator.comparingDouble(this::calculateScore).reversed())
+                .map(article -> Map.entry(article, calculateScore(article, now)))
+                .sorted(Map.Entry.<BlogArticle, Double>comparingByValue(Comparator.reverseOrder()))
                 .limit(limit)
+                .map(Map.Entry::getKey)
                 .toList();
     }
 
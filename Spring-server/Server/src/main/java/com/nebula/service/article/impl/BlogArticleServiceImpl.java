@@ -6,6 +6,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.nebula.constant.ArticleConstants;
 import com.nebula.constant.CountConstants;
 import com.nebula.dto.ArticleDTO;
+import com.nebula.dto.ArticleDraftPatchDTO;
 import com.nebula.entity.BlogArticle;
 import com.nebula.entity.BlogArticleCollect;
 import com.nebula.entity.BlogArticleLike;
@@ -22,25 +23,61 @@ import com.nebula.mapper.BlogCategoryMapper;
 import com.nebula.mapper.BlogTagMapper;
 import com.nebula.mapper.RelevancyArticleTagMapper;
 import com.nebula.service.article.BlogArticleService;
+import com.nebula.service.article.cache.ArticleBodyCache;
+import com.nebula.service.article.cache.ArticleDetailCache;
+import com.nebula.service.article.cache.ArticleInteractionCache;
 import com.nebula.service.article.converter.ArticleConverter;
+import com.nebula.service.article.facet.ArticleFacetIndex;
+import com.nebula.service.article.counter.ArticleInteractionQueue;
+import com.nebula.service.article.counter.ArticleViewCounter;
+import com.nebula.service.article.draft.ArticleDraftBuffer;
+import com.nebula.service.article.helper.ArticleCursorHelper;
 import com.nebula.service.article.helper.ArticleInteractionHelper;
 import com.nebula.service.article.helper.ArticleQueryHelper;
 import com.nebula.service.article.helper.HotArticleScoreHelper;
-import com.nebula.service.article.helper.MarkdownHelper;
+import com.nebula.service.article.prerender.ArticleStaticRenderer;
+import com.nebula.service.article.publish.ArticlePublishPipeline;
+import com.nebula.service.article.rank.HotArticleLeaderboard;
+import com.nebula.service.article.revision.ArticleRevisionStore;
+import com.nebula.service.article.search.ArticleSearchIndex;
+import com.nebula.service.article.storage.ArticleBodyCompression;
+import com.nebula.service.article.transfer.ArticleExporter;
+import com.nebula.service.article.transfer.ArticleImporter;
 import com.nebula.service.common.TransactionCompensationHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.service.common.reference.ReferenceDataCache;
 import com.nebula.upload.FileUploadUtil;
 import com.nebula.vo.ArticleListVO;
+import com.nebula.vo.ArticleSearchVO;
 import com.nebula.vo.ArticleVO;
+import com.nebula.vo.CursorPageVO;
+import com.nebula.vo.admin.ArticleDraftVO;
+import com.nebula.vo.admin.ArticleImportResultVO;
+import com.nebula.vo.admin.ArticlePublishStatusVO;
+import com.nebula.vo.admin.ArticleRevisionDiffVO;
+import com.nebula.vo.admin.ArticleRevisionVO;
+import com.nebula.vo.client.ArticleFacetVO;
+import com.nebula.vo.client.FacetCountVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -65,18 +102,96 @@ public class BlogArticleServiceImpl implements BlogArticleService {
      * 查询相关辅助组件
      */
     private final ArticleQueryHelper queryHelper;
+    private final ArticleCursorHelper cursorHelper;
     private final ArticleConverter converter;
     private final ArticleInteractionHelper interactionHelper;
-    private final MarkdownHelper markdownHelper;
     private final HotArticleScoreHelper hotArticleScoreHelper;
+    private final HotArticleLeaderboard hotArticleLeaderboard;
+
+    /**
+     * 文章详情缓存
+     */
+    private final ArticleDetailCache articleDetailCache;
+
+    /**
+     * 文章正文预压缩缓存
+     */
+    private final ArticleBodyCache articleBodyCache;
+
+    /**
+     * 浏览量写回计数器
+     */
+    private final ArticleViewCounter viewCounter;
+
+    /**
+     * 点赞/收藏异步落库队列
+     */
+    private final ArticleInteractionQueue interactionQueue;
+
+    /**
+     * 文章全文索引
+     */
+    private final ArticleSearchIndex articleSearchIndex;
+
+    /**
+     * 文章标签/分类分面索引
+     */
+    private final ArticleFacetIndex articleFacetIndex;
+
+    /**
+     * 分类、标签名称快照
+     */
+    private final ReferenceDataCache referenceDataCache;
+
+    /**
+     * 事件发布器（文章变更后通知缓存等派生数据）
+     */
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 文件上传工具
      */
     private final FileUploadUtil fileUploadUtil;
 
+    /**
+     * 文章发布流水线
+     */
+    private final ArticlePublishPipeline publishPipeline;
+
+    /**
+     * 文章批量导入
+     */
+    private final ArticleImporter articleImporter;
+
+    /**
+     * 文章导出
+     */
+    private final ArticleExporter articleExporter;
+
+    /**
+     * 文章静态页面预渲染
+     */
+    private final ArticleStaticRenderer staticRenderer;
+
+    /**
+     * 文章编辑草稿缓冲
+     */
+    private final ArticleDraftBuffer draftBuffer;
+
+    /**
+     * 文章版本存储
+     */
+    private final ArticleRevisionStore revisionStore;
+
+    /**
+     * 文章正文压缩存储
+     */
+    private final ArticleBodyCompression bodyCompression;
+
     /**
      * 发布文章
+     * <p>
+     * 先以草稿保存文章并提交发布任务，素材转正、渲染与派生数据更新在后台完成后文章才对外可见
      *
      * @param articleDTO 文章参数
      * @return 新文章 ID
@@ -87,88 +202,212 @@ public class BlogArticleServiceImpl implements BlogArticleService {
         Long userId = StpUtil.getLoginIdAsLong();
 
         validateCategory(articleDTO.getCategoryId());
+        validateTags(articleDTO.getTagIds());
 
         BlogArticle article = new BlogArticle();
         BeanUtils.copyProperties(articleDTO, article);
         article.setAuthorId(userId);
-
-        String coverImage = articleDTO.getCoverImage();
-        if (StringUtils.hasText(coverImage) && fileUploadUtil.isTempFile(coverImage)) {
-            coverImage = fileUploadUtil.moveToFormal(coverImage);
-            article.setCoverImage(coverImage);
-            final String movedCoverImage = coverImage;
-            TransactionCompensationHelper.registerRollbackAction(
-                    "publishArticle-coverImage",
-                    () -> fileUploadUtil.moveToTemp(movedCoverImage)
-            );
-        }
-
-        article.setHtmlContent(markdownHelper.toHtml(articleDTO.getContent()));
+        article.setIsDraft(DraftStatusEnum.DRAFT.getCode());
         article.setViewCount(CountConstants.INIT_VALUE);
         article.setLikeCount(CountConstants.INIT_VALUE);
         article.setCommentCount(CountConstants.INIT_VALUE);
         article.setCollectCount(CountConstants.INIT_VALUE);
-
         articleMapper.insert(article);
-        saveArticleTags(article.getId(), articleDTO.getTagIds());
 
+        Integer targetDraft = articleDTO.getIsDraft() != null
+                ? articleDTO.getIsDraft() : DraftStatusEnum.PUBLISHED.getCode();
+        publishPipeline.submit(article.getId(), ArticleChangedEvent.ChangeType.PUBLISHED, articleDTO, targetDraft);
         return article.getId();
     }
 
     /**
      * 更新文章
+     * <p>
+     * 仅保存待发布内容并提交发布任务，后台处理完成前继续展示原内容
      *
      * @param articleDTO 文章参数
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void updateArticle(ArticleDTO articleDTO) {
-        BlogArticle article = articleMapper.selectById(articleDTO.getId());
+        BlogArticle article = articleMapper.selectListRowById(articleDTO.getId());
         if (article == null) {
             throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
         }
 
         validateCategory(articleDTO.getCategoryId());
+        validateTags(articleDTO.getTagIds());
 
-        String oldCoverImage = article.getCoverImage();
-        String newCoverImage = articleDTO.getCoverImage();
+        Integer targetDraft = articleDTO.getIsDraft() != null ? articleDTO.getIsDraft() : article.getIsDraft();
+        publishPipeline.submit(article.getId(), ArticleChangedEvent.ChangeType.UPDATED, articleDTO, targetDraft);
+    }
 
-        BeanUtils.copyProperties(articleDTO, article);
+    /**
+     * 查询文章发布状态
+     *
+     * @param id 文章 ID
+     * @return 发布状态
+     */
+    @Override
+    public ArticlePublishStatusVO getPublishStatus(Long id) {
+        return publishPipeline.getStatus(id);
+    }
 
-        // 封面发生变化时，执行临时文件转正和旧图回收
-        if (StringUtils.hasText(newCoverImage) && !newCoverImage.equals(oldCoverImage)) {
-            if (fileUploadUtil.isTempFile(newCoverImage)) {
-                newCoverImage = fileUploadUtil.moveToFormal(newCoverImage);
-                article.setCoverImage(newCoverImage);
+    /**
+     * 重试失败的文章发布任务
+     *
+     * @param id 文章 ID
+     */
+    @Override
+    public void retryPublish(Long id) {
+        publishPipeline.retry(id);
+    }
 
-                final String movedNewCoverImage = newCoverImage;
-                TransactionCompensationHelper.registerRollbackAction(
-                        "updateArticle-newCoverImage",
-                        () -> fileUploadUtil.moveToTemp(movedNewCoverImage)
-                );
+    /**
+     * 获取文章编辑草稿
+     *
+     * @param id 文章 ID
+     * @return 草稿
+     */
+    @Override
+    public ArticleDraftVO getDraft(Long id) {
+        return draftBuffer.get(id);
+    }
 
-                if (StringUtils.hasText(oldCoverImage)) {
-                    try {
-                        String oldCoverTempUrl = fileUploadUtil.moveToTemp(oldCoverImage);
-                        TransactionCompensationHelper.registerRollbackAction(
-                                "updateArticle-oldCoverImage",
-                                () -> fileUploadUtil.moveToFormal(oldCoverTempUrl)
-                        );
-                    } catch (Exception e) {
-                        log.warn("更新文章时移动旧封面到临时目录失败: url={}", oldCoverImage, e);
-                    }
-                }
-            }
+    /**
+     * 向文章编辑草稿应用增量编辑
+     *
+     * @param id    文章 ID
+     * @param patch 增量编辑
+     * @return 新版本信息
+     */
+    @Override
+    public ArticleDraftVO patchDraft(Long id, ArticleDraftPatchDTO patch) {
+        return draftBuffer.patch(id, patch);
+    }
+
+    /**
+     * 保存文章编辑草稿
+     *
+     * @param id 文章 ID
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void saveDraft(Long id) {
+        draftBuffer.save(id);
+    }
+
+    /**
+     * 查询文章版本列表
+     *
+     * @param id 文章 ID
+     * @return 版本列表
+     */
+    @Override
+    public List<ArticleRevisionVO> listRevisions(Long id) {
+        return revisionStore.list(id);
+    }
+
+    /**
+     * 获取文章指定版本
+     *
+     * @param id       文章 ID
+     * @param revision 版本号
+     * @return 版本
+     */
+    @Override
+    public ArticleRevisionVO getRevision(Long id, Integer revision) {
+        return revisionStore.get(id, revision);
+    }
+
+    /**
+     * 对比文章两个版本
+     *
+     * @param id           文章 ID
+     * @param fromRevision 原版本号
+     * @param toRevision   目标版本号
+     * @return 差异
+     */
+    @Override
+    public ArticleRevisionDiffVO diffRevisions(Long id, Integer fromRevision, Integer toRevision) {
+        return revisionStore.diff(id, fromRevision, toRevision);
+    }
+
+    /**
+     * 将文章恢复到指定版本
+     * <p>
+     * 以版本的标题、摘要、正文加上文章当前的分类、标签等属性提交发布任务
+     *
+     * @param id       文章 ID
+     * @param revision 版本号
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void restoreRevision(Long id, Integer revision) {
+        BlogArticle article = articleMapper.selectListRowById(id);
+        if (article == null) {
+            throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
         }
+        ArticleRevisionVO revisionVO = revisionStore.get(id, revision);
+
+        ArticleDTO articleDTO = new ArticleDTO();
+        BeanUtils.copyProperties(article, articleDTO);
+        articleDTO.setTitle(revisionVO.getTitle());
+        articleDTO.setSummary(revisionVO.getSummary());
+        articleDTO.setContent(revisionVO.getContent());
+        articleDTO.setTagIds(articleTagMapper.selectList(new LambdaQueryWrapper<RelevancyArticleTag>()
+                        .select(RelevancyArticleTag::getTagId)
+                        .eq(RelevancyArticleTag::getArticleId, id))
+                .stream().map(RelevancyArticleTag::getTagId).toList());
+        publishPipeline.submit(id, ArticleChangedEvent.ChangeType.UPDATED, articleDTO, article.getIsDraft());
+    }
+
+    /**
+     * 从 Markdown 归档批量导入文章
+     *
+     * @param input 归档输入流
+     * @return 导入结果
+     */
+    @Override
+    public ArticleImportResultVO importArticles(InputStream input) {
+        return articleImporter.importArchive(input, StpUtil.getLoginIdAsLong());
+    }
 
-        article.setHtmlContent(markdownHelper.toHtml(articleDTO.getContent()));
-        articleMapper.updateById(article);
+    /**
+     * 导出全部文章与评论为 zip
+     *
+     * @param output 输出流
+     * @throws IOException 写出失败
+     */
+    @Override
+    public void exportArticles(OutputStream output) throws IOException {
+        articleExporter.exportArchive(output);
+    }
 
-        LambdaQueryWrapper<RelevancyArticleTag> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(RelevancyArticleTag::getArticleId, article.getId());
-        articleTagMapper.delete(wrapper);
+    /**
+     * 异步全量重建文章静态页面
+     */
+    @Override
+    public void rebuildStaticPages() {
+        if (!staticRenderer.isEnabled()) {
+            throw new BusinessException(ArticleConstants.ERROR_STATIC_DISABLED);
+        }
+        if (!staticRenderer.rebuildAsync()) {
+            throw new BusinessException(ArticleConstants.ERROR_STATIC_REBUILDING);
+        }
+    }
 
-        saveArticleTags(article.getId(), articleDTO.getTagIds());
+    /**
+     * 异步压缩存量文章正文
+     */
+    @Override
+    public void compressArticleBodies() {
+        if (!bodyCompression.isEnabled()) {
+            throw new BusinessException(ArticleConstants.ERROR_BODY_COMPRESSION_DISABLED);
+        }
+        if (!bodyCompression.migrateAsync()) {
+            throw new BusinessException(ArticleConstants.ERROR_BODY_COMPRESSION_RUNNING);
+        }
     }
 
     /**
@@ -179,7 +418,7 @@ public class BlogArticleServiceImpl implements BlogArticleService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteArticle(Long id) {
-        BlogArticle article = articleMapper.selectById(id);
+        BlogArticle article = articleMapper.selectListRowById(id);
         if (article == null) {
             throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
         }
@@ -209,6 +448,10 @@ public class BlogArticleServiceImpl implements BlogArticleService {
         }
 
         articleMapper.deleteById(id);
+        publishPipeline.discard(id);
+        revisionStore.deleteByArticle(id);
+
+        eventPublisher.publishEvent(new ArticleChangedEvent(id, ArticleChangedEvent.ChangeType.DELETED));
     }
 
     /**
@@ -219,11 +462,10 @@ public class BlogArticleServiceImpl implements BlogArticleService {
      */
     @Override
     public ArticleVO getClientArticleDetail(Long id) {
-        BlogArticle article = articleMapper.selectById(id);
-        if (article == null || DraftStatusEnum.isDraft(article.getIsDraft())) {
-            throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
-        }
-        return converter.toDetailVO(article);
+        ArticleVO articleVO = getCachedArticleBody(id);
+        fillLiveCounters(articleVO);
+        converter.fillUserInteractionStatus(articleVO);
+        return articleVO;
     }
 
     /**
@@ -234,14 +476,25 @@ public class BlogArticleServiceImpl implements BlogArticleService {
      */
     @Override
     public ArticleVO getClientArticleDetailWithView(Long id) {
-        BlogArticle article = articleMapper.selectById(id);
-        if (article == null || DraftStatusEnum.isDraft(article.getIsDraft())) {
-            throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
-        }
+        ArticleVO articleVO = getCachedArticleBody(id);
 
         interactionHelper.incrementViewCount(id);
-        article = articleMapper.selectById(id);
-        return converter.toDetailVO(article);
+        fillLiveCounters(articleVO);
+        converter.fillUserInteractionStatus(articleVO);
+        return articleVO;
+    }
+
+    /**
+     * 获取客户端文章正文
+     *
+     * @param id             文章 ID
+     * @param acceptEncoding Accept-Encoding 请求头
+     * @return 编码后的正文
+     */
+    @Override
+    public ArticleBodyCache.EncodedBody getClientArticleBody(Long id, String acceptEncoding) {
+        ArticleVO articleVO = getCachedArticleBody(id);
+        return articleBodyCache.get(id, articleVO.getHtmlContent(), ArticleBodyCache.Encoding.negotiate(acceptEncoding));
     }
 
     /**
@@ -270,6 +523,7 @@ public class BlogArticleServiceImpl implements BlogArticleService {
      * @param categoryName 分类名称
      * @param tagId 标签 ID
      * @param tagName 标签名称
+     * @param tagFilter 标签组合条件
      * @return 文章分页结果
      */
     @Override
@@ -280,22 +534,201 @@ public class BlogArticleServiceImpl implements BlogArticleService {
                                                     Long categoryId,
                                                     String categoryName,
                                                     Long tagId,
-                                                    String tagName) {
+                                                    String tagName,
+                                                    ArticleFacetIndex.TagFilter tagFilter) {
         Page<BlogArticle> page = new Page<>(current, size);
         LambdaQueryWrapper<BlogArticle> wrapper = new LambdaQueryWrapper<>();
 
         wrapper.eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode());
 
-        if (!queryHelper.applySearchConditions(wrapper, authorName, title, categoryId, categoryName, tagId, tagName)) {
+        if (!queryHelper.applySearchConditions(wrapper, authorName, title, categoryId, categoryName, tagId, tagName)
+                || !queryHelper.applyTagFilter(wrapper, tagFilter)) {
             return new Page<>(current, size);
         }
 
         applyDefaultSort(wrapper);
 
-        Page<BlogArticle> articlePage = articleMapper.selectPage(page, wrapper);
+        Page<BlogArticle> articlePage = articleMapper.selectListPage(page, wrapper);
         return converter.toVOPage(articlePage, current, size);
     }
 
+    /**
+     * 游标分页查询客户端文章流
+     *
+     * @param cursor 游标
+     * @param size 每页大小
+     * @param authorName 作者名称
+     * @param title 标题
+     * @param categoryId 分类 ID
+     * @param categoryName 分类名称
+     * @param tagId 标签 ID
+     * @param tagName 标签名称
+     * @param tagFilter 标签组合条件
+     * @return 文章游标分页结果
+     */
+    @Override
+    public CursorPageVO<ArticleListVO> getClientArticleFeed(String cursor,
+                                                            Integer size,
+                                                            String authorName,
+                                                            String title,
+                                                            Long categoryId,
+                                                            String categoryName,
+                                                            Long tagId,
+                                                            String tagName,
+                                                            ArticleFacetIndex.TagFilter tagFilter) {
+        int pageSize = Math.min(Math.max(size, 1), ArticleConstants.MAX_FEED_SIZE);
+        ArticleCursorHelper.Cursor position = cursorHelper.decode(cursor);
+
+        CursorPageVO<ArticleListVO> result = new CursorPageVO<>();
+        result.setRecords(new ArrayList<>());
+        result.setHasMore(false);
+
+        LambdaQueryWrapper<BlogArticle> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode());
+
+        if (!queryHelper.applySearchConditions(wrapper, authorName, title, categoryId, categoryName, tagId, tagName)
+                || !queryHelper.applyTagFilter(wrapper, tagFilter)) {
+            return result;
+        }
+
+        cursorHelper.applySeek(wrapper, position);
+        cursorHelper.applySort(wrapper);
+
+        // 多取一条判断是否还有下一页，不执行 COUNT
+        Page<BlogArticle> page = new Page<>(1, pageSize + 1, false);
+        List<BlogArticle> articles = articleMapper.selectListPage(page, wrapper).getRecords();
+
+        boolean hasMore = articles.size() > pageSize;
+        if (hasMore) {
+            articles = articles.subList(0, pageSize);
+            result.setNextCursor(cursorHelper.encode(articles.get(articles.size() - 1)));
+        }
+        result.setRecords(converter.batchToListVO(articles));
+        result.setHasMore(hasMore);
+        return result;
+    }
+
+    /**
+     * 客户端分面统计
+     *
+     * @param tagFilter 标签组合条件
+     * @param categoryId 分类 ID
+     * @return 分面统计结果
+     */
+    @Override
+    public ArticleFacetVO getClientArticleFacets(ArticleFacetIndex.TagFilter tagFilter, Long categoryId) {
+        ArticleFacetIndex.FacetCounts counts = articleFacetIndex.facetCounts(tagFilter, categoryId);
+        if (counts == null) {
+            counts = queryFacetCounts(tagFilter, categoryId);
+        }
+
+        Map<Long, ReferenceDataCache.TagRef> tags = referenceDataCache.getTagSnapshot().items();
+        Map<Long, ReferenceDataCache.CategoryRef> categories = referenceDataCache.getCategorySnapshot().items();
+
+        ArticleFacetVO vo = new ArticleFacetVO();
+        vo.setTotal(counts.total());
+        vo.setTags(toFacetCounts(counts.tagCounts(), id -> {
+            ReferenceDataCache.TagRef tag = tags.get(id);
+            return tag == null ? null : tag.tagName();
+        }));
+        vo.setCategories(toFacetCounts(counts.categoryCounts(), id -> {
+            ReferenceDataCache.CategoryRef category = categories.get(id);
+            return category == null ? null : category.categoryName();
+        }));
+        return vo;
+    }
+
+    /**
+     * 位图索引不可用（构建中、重建失败或未启用）时以聚合查询统计分面
+     */
+    private ArticleFacetIndex.FacetCounts queryFacetCounts(ArticleFacetIndex.TagFilter tagFilter, Long categoryId) {
+        LambdaQueryWrapper<BlogArticle> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode())
+                .eq(BlogArticle::getDeleted, 0)
+                .eq(categoryId != null, BlogArticle::getCategoryId, categoryId);
+        if (!queryHelper.applyTagFilter(wrapper, tagFilter)) {
+            return new ArticleFacetIndex.FacetCounts(0, Map.of(), Map.of());
+        }
+        List<Map<String, Object>> categoryRows = articleMapper.selectCategoryFacetCounts(wrapper);
+        // 未设置分类的文章计入总数，但不计入分类分面
+        long total = categoryRows.stream().mapToLong(row -> ((Number) row.get("article_count")).longValue()).sum();
+        if (total == 0) {
+            return new ArticleFacetIndex.FacetCounts(0, Map.of(), Map.of());
+        }
+        return new ArticleFacetIndex.FacetCounts(total, toCountMap(articleMapper.selectTagFacetCounts(wrapper)),
+                toCountMap(categoryRows));
+    }
+
+    private static Map<Long, Long> toCountMap(List<Map<String, Object>> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            Object refId = row.get("ref_id");
+            if (refId != null) {
+                counts.put(((Number) refId).longValue(), ((Number) row.get("article_count")).longValue());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 客户端全文搜索文章
+     *
+     * @param keyword 关键词
+     * @param current 当前页
+     * @param size 每页大小
+     * @return 搜索结果分页
+     */
+    @Override
+    public Page<ArticleSearchVO> searchClientArticles(String keyword, Long current, Long size) {
+        String normalized = keyword == null ? "" : keyword.trim();
+        long pageNo = Math.max(current, 1);
+        long pageSize = Math.min(Math.max(size, 1), ArticleConstants.MAX_FEED_SIZE);
+        if (normalized.isEmpty()) {
+            return new Page<>(pageNo, pageSize);
+        }
+        if (normalized.length() > ArticleConstants.MAX_SEARCH_KEYWORD_LENGTH) {
+            throw new BusinessException(ArticleConstants.ERROR_SEARCH_KEYWORD_TOO_LONG);
+        }
+
+        long offset = (pageNo - 1) * pageSize;
+        ArticleSearchIndex.SearchResult result = offset > Integer.MAX_VALUE ? null
+                : articleSearchIndex.search(normalized, (int) offset, (int) pageSize);
+        if (result == null) {
+            return searchByTitle(normalized, pageNo, pageSize);
+        }
+
+        Map<Long, ArticleListVO> articleMap = getArticlesInOrder(
+                result.hits().stream().map(ArticleSearchIndex.Hit::articleId).toList()).stream()
+                .collect(Collectors.toMap(ArticleListVO::getId, Function.identity()));
+        List<ArticleSearchVO> records = new ArrayList<>(result.hits().size());
+        for (ArticleSearchIndex.Hit hit : result.hits()) {
+            ArticleListVO article = articleMap.get(hit.articleId());
+            if (article == null) {
+                continue;
+            }
+            ArticleSearchVO vo = new ArticleSearchVO();
+            vo.setArticle(article);
+            vo.setHighlightTitle(hit.highlightTitle());
+            vo.setHighlightSnippet(hit.highlightSnippet());
+            vo.setScore(hit.score());
+            records.add(vo);
+        }
+
+        Page<ArticleSearchVO> page = new Page<>(pageNo, pageSize, result.total());
+        page.setRecords(records);
+        return page;
+    }
+
+    /**
+     * 全量重建文章全文索引
+     *
+     * @return 本实例已索引文章数
+     */
+    @Override
+    public int rebuildSearchIndex() {
+        return articleSearchIndex.rebuildCluster();
+    }
+
     /**
      * 分页查询管理端文章列表
      *
@@ -334,7 +767,7 @@ public class BlogArticleServiceImpl implements BlogArticleService {
 
         applyDefaultSort(wrapper);
 
-        Page<BlogArticle> articlePage = articleMapper.selectPage(page, wrapper);
+        Page<BlogArticle> articlePage = articleMapper.selectListPage(page, wrapper);
         return converter.toVOPage(articlePage, current, size);
     }
 
@@ -346,18 +779,42 @@ public class BlogArticleServiceImpl implements BlogArticleService {
      */
     @Override
     public List<ArticleListVO> getHotArticles(Integer limit) {
+        List<Long> rankedIds = hotArticleLeaderboard.getTopArticleIds(limit);
+        if (rankedIds != null) {
+            return getArticlesInOrder(rankedIds);
+        }
+
+        // 排行不可用时降级：从数据库候选池实时计算
         Page<BlogArticle> page = new Page<>(1, ArticleConstants.HOT_ARTICLE_CANDIDATE_POOL_SIZE, false);
         LambdaQueryWrapper<BlogArticle> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode())
                 .orderByDesc(BlogArticle::getViewCount)
                 .orderByDesc(BlogArticle::getLikeCount);
 
-        Page<BlogArticle> articlePage = articleMapper.selectPage(page, wrapper);
+        Page<BlogArticle> articlePage = articleMapper.selectListPage(page, wrapper);
 
         List<BlogArticle> hotArticles = hotArticleScoreHelper.getTopHotArticles(articlePage.getRecords(), limit);
         return converter.batchToListVO(hotArticles);
     }
 
+    /**
+     * 客户端按ID批量查询已发布文章列表
+     *
+     * @param ids 文章 ID 列表
+     * @return 文章列表
+     */
+    @Override
+    public List<ArticleListVO> getClientArticlesByIds(List<Long> ids) {
+        List<Long> articleIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (articleIds.size() > ArticleConstants.MAX_BATCH_SIZE) {
+            throw new BusinessException(ArticleConstants.ERROR_BATCH_SIZE_EXCEEDED);
+        }
+        return getArticlesInOrder(articleIds);
+    }
+
     /**
      * 获取推荐文章列表
      *
@@ -372,7 +829,7 @@ public class BlogArticleServiceImpl implements BlogArticleService {
                 .eq(BlogArticle::getIsTop, TopStatusEnum.TOP.getCode())
                 .orderByDesc(BlogArticle::getCreateTime);
 
-        Page<BlogArticle> articlePage = articleMapper.selectPage(page, wrapper);
+        Page<BlogArticle> articlePage = articleMapper.selectListPage(page, wrapper);
         return converter.batchToListVO(articlePage.getRecords());
     }
 
@@ -407,37 +864,175 @@ public class BlogArticleServiceImpl implements BlogArticleService {
     }
 
     /**
-     * 保存文章标签关联
-     * 包含标签有效性校验、去重和批量插入
+     * 判断文章是否存在且已发布
+     * <p>
+     * 一级缓存命中时直接返回（缓存只保存已发布文章），否则按主键查询状态，不加载正文与关联数据
+     *
+     * @param articleId 文章ID
+     * @return 是否对客户端可见
+     */
+    @Override
+    public boolean isPublishedArticle(Long articleId) {
+        if (articleDetailCache.containsLocal(articleId)) {
+            return true;
+        }
+        return articleMapper.exists(new LambdaQueryWrapper<BlogArticle>()
+                .eq(BlogArticle::getId, articleId)
+                .eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode()));
+    }
+
+    /**
+     * 按给定ID顺序查询已发布文章列表
+     *
+     * @param articleIds 文章 ID 列表（有序）
+     * @return 文章列表（顺序与入参一致，不存在或未发布的文章被跳过）
+     */
+    private List<ArticleListVO> getArticlesInOrder(List<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LambdaQueryWrapper<BlogArticle> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(BlogArticle::getId, articleIds)
+                .eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode());
+        Map<Long, BlogArticle> articleMap = articleMapper.selectListRows(wrapper).stream()
+                .collect(Collectors.toMap(BlogArticle::getId, Function.identity()));
+
+        List<BlogArticle> ordered = articleIds.stream()
+                .map(articleMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return converter.batchToListVO(ordered);
+    }
+
+    /**
+     * 分面计数转换为 VO，跳过名称缺失（已删除）的项，按数量降序、ID 升序
+     *
+     * @param counts 分面计数
+     * @param nameResolver 名称解析
+     * @return 分面计数列表
+     */
+    private List<FacetCountVO> toFacetCounts(Map<Long, Long> counts, Function<Long, String> nameResolver) {
+        List<FacetCountVO> result = new ArrayList<>(counts.size());
+        counts.forEach((id, count) -> {
+            String name = nameResolver.apply(id);
+            if (name != null && count > 0) {
+                result.add(new FacetCountVO(id, name, count));
+            }
+        });
+        result.sort(Comparator.comparing(FacetCountVO::getCount).reversed().thenComparing(FacetCountVO::getId));
+        return result;
+    }
+
+    /**
+     * 全文索引不可用时按标题模糊查询（无高亮，按默认排序）
+     *
+     * @param keyword 关键词
+     * @param current 当前页
+     * @param size 每页大小
+     * @return 搜索结果分页
+     */
+    private Page<ArticleSearchVO> searchByTitle(String keyword, Long current, Long size) {
+        Page<ArticleListVO> articlePage = getClientArticleList(current, size, null, keyword, null, null, null, null, null);
+        Page<ArticleSearchVO> page = new Page<>(current, size, articlePage.getTotal());
+        page.setRecords(articlePage.getRecords().stream().map(article -> {
+            ArticleSearchVO vo = new ArticleSearchVO();
+            vo.setArticle(article);
+            vo.setHighlightTitle(article.getTitle() == null ? null : HtmlUtils.htmlEscape(article.getTitle()));
+            vo.setHighlightSnippet(article.getSummary() == null ? null : HtmlUtils.htmlEscape(article.getSummary()));
+            return vo;
+        }).toList());
+        return page;
+    }
+
+    /**
+     * 从缓存获取已发布文章的详情主体
+     *
+     * @param id 文章 ID
+     * @return 文章详情（不含计数的实时值与当前用户交互状态）
+     */
+    private ArticleVO getCachedArticleBody(Long id) {
+        ArticleVO articleVO = articleDetailCache.get(id, this::loadDetailBody);
+        if (articleVO == null) {
+            throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
+        }
+        return articleVO;
+    }
+
+    /**
+     * 从数据库加载已发布文章的详情主体
+     *
+     * @param id 文章 ID
+     * @return 文章详情；不存在或未发布时返回 null
+     */
+    private ArticleVO loadDetailBody(Long id) {
+        BlogArticle article = articleMapper.selectById(id);
+        if (article == null || DraftStatusEnum.isDraft(article.getIsDraft())) {
+            return null;
+        }
+        return converter.toDetailBody(article);
+    }
+
+    /**
+     * 以计数快照覆盖缓存中的计数（浏览量叠加尚未落库的增量，点赞数、收藏数取 Redis 中的当前值）
+     * <p>
+     * 计数快照由详情缓存短时缓存，详情命中时不查询数据库
+     *
+     * @param articleVO 文章详情
+     */
+    private void fillLiveCounters(ArticleVO articleVO) {
+        ArticleDetailCache.Counters counters = articleDetailCache.getCounters(articleVO.getId(), this::loadCounters);
+        if (counters == null) {
+            throw new BusinessException(ArticleConstants.ERROR_ARTICLE_NOT_FOUND);
+        }
+        long pendingViews = viewCounter.getPendingDelta(articleVO.getId());
+        articleVO.setViewCount((int) (counters.viewCount() + pendingViews));
+        Map<ArticleInteractionCache.Relation, Long> interactions = interactionQueue.getLiveCounts(articleVO.getId(),
+                Map.of(ArticleInteractionCache.Relation.LIKE, counters.likeCount(),
+                        ArticleInteractionCache.Relation.COLLECT, counters.collectCount()));
+        articleVO.setLikeCount(interactions.get(ArticleInteractionCache.Relation.LIKE).intValue());
+        articleVO.setCommentCount((int) counters.commentCount());
+        articleVO.setCollectCount(interactions.get(ArticleInteractionCache.Relation.COLLECT).intValue());
+    }
+
+    /**
+     * 按主键只查询计数列
+     *
+     * @param id 文章 ID
+     * @return 计数快照；不存在时返回 null
+     */
+    private ArticleDetailCache.Counters loadCounters(Long id) {
+        BlogArticle counters = articleMapper.selectOne(new LambdaQueryWrapper<BlogArticle>()
+                .select(BlogArticle::getId,
+                        BlogArticle::getViewCount,
+                        BlogArticle::getLikeCount,
+                        BlogArticle::getCommentCount,
+                        BlogArticle::getCollectCount)
+                .eq(BlogArticle::getId, id));
+        if (counters == null) {
+            return null;
+        }
+        return new ArticleDetailCache.Counters(counters.getViewCount(), counters.getLikeCount(),
+                counters.getCommentCount(), counters.getCollectCount());
+    }
+
+    /**
+     * 校验标签是否存在
      *
-     * @param articleId 文章 ID
      * @param tagIds 标签 ID 列表
      */
-    private void saveArticleTags(Long articleId, List<Long> tagIds) {
+    private void validateTags(List<Long> tagIds) {
         if (tagIds == null || tagIds.isEmpty()) {
             return;
         }
 
         List<Long> distinctTagIds = tagIds.stream().distinct().toList();
-
-        List<BlogTag> existingTags = tagMapper.selectBatchIds(distinctTagIds);
-        Set<Long> existingTagIds = existingTags.stream()
+        Set<Long> existingTagIds = tagMapper.selectBatchIds(distinctTagIds).stream()
                 .map(BlogTag::getId)
                 .collect(Collectors.toSet());
-
-        List<RelevancyArticleTag> articleTagList = new ArrayList<>();
         for (Long tagId : distinctTagIds) {
             if (!existingTagIds.contains(tagId)) {
                 throw new BusinessException(ArticleConstants.ERROR_TAG_NOT_FOUND + ": " + tagId);
             }
-            RelevancyArticleTag articleTag = new RelevancyArticleTag();
-            articleTag.setArticleId(articleId);
-            articleTag.setTagId(tagId);
-            articleTagList.add(articleTag);
-        }
-
-        if (!articleTagList.isEmpty()) {
-            articleTagMapper.batchInsert(articleTagList);
         }
     }
 
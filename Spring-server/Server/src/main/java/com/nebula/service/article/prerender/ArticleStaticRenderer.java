@@ -0,0 +1,419 @@
+package com.nebula.service.article.prerender;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticleStaticProperties;
+import com.nebula.properties.SiteFeedProperties;
+import com.nebula.result.Result;
+import com.nebula.service.article.converter.ArticleConverter;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
+import com.nebula.vo.ArticleVO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 文章静态页面预渲染
+ * <p>
+ * 已发布文章在发布、更新后写出两个文件，供网关直接读取，未命中时再回退到前台应用与接口：
+ * <ul>
+ *     <li>{@code article/{id}.html}：完整页面。配置了前台 index.html 模板时，在模板中写入标题、
+ *     SEO 元信息、内联文章数据，并把正文预先放入应用挂载元素（前台应用启动后接管）；未配置时生成独立的简单页面</li>
+ *     <li>{@code article/{id}.json}：与文章详情接口相同结构的 JSON（计数为渲染时的值）</li>
+ * </ul>
+ * 删除或转为草稿时立即移除文件；分类、标签、作者变更后重新渲染引用它们的文章。
+ * 渲染在单独线程中按提交顺序执行，每次都从数据库读取最新状态，文件先写临时文件再原子替换；
+ * 同一文章尚未开始渲染时不重复排队，队列长度不超过待渲染的文章数。
+ * 前台重新部署（资源文件名变化）后需执行一次全量重建
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/27
+ */
+@Slf4j
+@Component
+public class ArticleStaticRenderer {
+
+    /**
+     * 全量重建时的分块大小
+     */
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final String ARTICLE_DIRECTORY = "article";
+    private static final String HTML_SUFFIX = ".html";
+    private static final String JSON_SUFFIX = ".json";
+
+    private static final Pattern TITLE_PATTERN = Pattern.compile("<title>.*?</title>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern HEAD_END_PATTERN = Pattern.compile("</head>", Pattern.CASE_INSENSITIVE);
+
+    private final ArticleStaticProperties properties;
+    private final SiteFeedProperties siteFeedProperties;
+    private final BlogArticleMapper articleMapper;
+    private final RelevancyArticleTagMapper articleTagMapper;
+    private final ArticleConverter converter;
+    private final JsonMapper jsonMapper;
+    private final ResourceLoader resourceLoader;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 是否正在全量重建
+     */
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * 已排队但尚未开始渲染的文章ID（开始渲染前移除，渲染期间的新变更会再次排队）
+     */
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 页面模板（未加载为 null；配置了模板但加载失败时为空串，此时不写出页面）
+     */
+    private volatile String template;
+
+    /**
+     * 构造文章静态页面预渲染
+     *
+     * @param properties         预渲染配置
+     * @param siteFeedProperties 站点配置（生成规范链接）
+     * @param articleMapper      文章Mapper
+     * @param articleTagMapper   文章标签关联Mapper
+     * @param converter          文章转换器
+     * @param jsonMapper         JSON 序列化
+     * @param resourceLoader     模板加载
+     */
+    public ArticleStaticRenderer(ArticleStaticProperties properties,
+                                 SiteFeedProperties siteFeedProperties,
+                                 BlogArticleMapper articleMapper,
+                                 RelevancyArticleTagMapper articleTagMapper,
+                                 ArticleConverter converter,
+                                 JsonMapper jsonMapper,
+                                 ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.siteFeedProperties = siteFeedProperties;
+        this.articleMapper = articleMapper;
+        this.articleTagMapper = articleTagMapper;
+        this.converter = converter;
+        this.jsonMapper = jsonMapper;
+        this.resourceLoader = resourceLoader;
+        this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("article-static-", 0).daemon(true).factory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 应用关闭时等待已提交的渲染完成
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 是否启用预渲染
+     *
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 异步全量重建：重新加载模板，渲染全部已发布文章并清理多余文件
+     *
+     * @return 是否已提交（已有重建在进行时返回 false）
+     */
+    public boolean rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                rebuild();
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 文章发布、更新后重新渲染，删除后立即移除文件
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.getChangeType() == ArticleChangedEvent.ChangeType.DELETED) {
+            event.getArticleIds().forEach(this::remove);
+        }
+        submit(event.getArticleIds());
+    }
+
+    /**
+     * 分类、标签、作者变更后重新渲染引用它们的文章
+     *
+     * @param event 引用数据变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Collection<Long> articleIds = event.getAffectedArticleIds() != null
+                    ? event.getAffectedArticleIds()
+                    : resolveAffectedArticleIds(event);
+            submit(articleIds);
+        } catch (Exception e) {
+            log.warn("解析引用数据变更影响的静态页面失败: type={}, id={}",
+                    event.getReferenceType(), event.getReferenceId(), e);
+        }
+    }
+
+    private void submit(Collection<Long> articleIds) {
+        for (Long articleId : articleIds) {
+            if (pendingIds.add(articleId)) {
+                executor.execute(() -> {
+                    pendingIds.remove(articleId);
+                    render(articleId);
+                });
+            }
+        }
+    }
+
+    private Collection<Long> resolveAffectedArticleIds(ReferenceDataChangedEvent event) {
+        return switch (event.getReferenceType()) {
+            case CATEGORY -> articleMapper.selectList(new LambdaQueryWrapper<BlogArticle>()
+                            .select(BlogArticle::getId)
+                            .eq(BlogArticle::getCategoryId, event.getReferenceId()))
+                    .stream().map(BlogArticle::getId).toList();
+            case USER -> articleMapper.selectList(new LambdaQueryWrapper<BlogArticle>()
+                            .select(BlogArticle::getId)
+                            .eq(BlogArticle::getAuthorId, event.getReferenceId()))
+                    .stream().map(BlogArticle::getId).toList();
+            case TAG -> articleTagMapper.selectList(new LambdaQueryWrapper<RelevancyArticleTag>()
+                            .select(RelevancyArticleTag::getArticleId)
+                            .eq(RelevancyArticleTag::getTagId, event.getReferenceId()))
+                    .stream().map(RelevancyArticleTag::getArticleId).toList();
+        };
+    }
+
+    /**
+     * 全量重建（在渲染线程中执行）
+     */
+    private void rebuild() {
+        template = null;
+        Set<Long> publishedIds = new HashSet<>();
+        long lastId = 0L;
+        while (true) {
+            List<BlogArticle> articles = articleMapper.selectPage(new Page<>(1, REBUILD_BATCH_SIZE, false),
+                    new LambdaQueryWrapper<BlogArticle>()
+                            .select(BlogArticle::getId)
+                            .eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode())
+                            .gt(BlogArticle::getId, lastId)
+                            .orderByAsc(BlogArticle::getId)).getRecords();
+            if (articles.isEmpty()) {
+                break;
+            }
+            for (BlogArticle article : articles) {
+                publishedIds.add(article.getId());
+                render(article.getId());
+            }
+            lastId = articles.get(articles.size() - 1).getId();
+        }
+
+        int removed = 0;
+        Path directory = articleDirectory();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Long articleId = parseArticleId(file.getFileName().toString());
+                    if (articleId != null && !publishedIds.contains(articleId)) {
+                        Files.deleteIfExists(file);
+                        removed++;
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("清理多余静态页面失败: directory={}", directory, e);
+            }
+        }
+        log.info("文章静态页面重建完成: articles={}, removed={}", publishedIds.size(), removed);
+    }
+
+    /**
+     * 读取文章最新状态并写出文件，文章不存在或为草稿时移除文件
+     */
+    private void render(Long articleId) {
+        try {
+            BlogArticle article = articleMapper.selectById(articleId);
+            if (article == null || DraftStatusEnum.isDraft(article.getIsDraft())) {
+                remove(articleId);
+                return;
+            }
+            ArticleVO articleVO = converter.toDetailBody(article);
+            Path directory = Files.createDirectories(articleDirectory());
+            write(directory.resolve(articleId + JSON_SUFFIX), jsonMapper.writeValueAsBytes(Result.success(articleVO)));
+
+            String page = toPage(articleVO);
+            if (page != null) {
+                write(directory.resolve(articleId + HTML_SUFFIX), page.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (Exception e) {
+            log.warn("渲染文章静态页面失败: articleId={}", articleId, e);
+        }
+    }
+
+    private void remove(Long articleId) {
+        Path directory = articleDirectory();
+        try {
+            Files.deleteIfExists(directory.resolve(articleId + HTML_SUFFIX));
+            Files.deleteIfExists(directory.resolve(articleId + JSON_SUFFIX));
+        } catch (IOException e) {
+            log.warn("删除文章静态页面失败: articleId={}", articleId, e);
+        }
+    }
+
+    /**
+     * 先写临时文件再原子替换，网关不会读到写了一半的文件
+     */
+    private void write(Path target, byte[] content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 生成完整页面，模板加载失败时返回 null
+     */
+    private String toPage(ArticleVO article) {
+        String title = escape(article.getTitle());
+        String url = siteFeedProperties.getSiteUrl()
+                + siteFeedProperties.getArticlePath().replace("{id}", article.getId().toString());
+
+        StringBuilder head = new StringBuilder(512);
+        if (StringUtils.hasText(article.getSummary())) {
+            head.append("<meta name=\"description\" content=\"").append(escape(article.getSummary())).append("\">\n");
+            head.append("<meta property=\"og:description\" content=\"").append(escape(article.getSummary())).append("\">\n");
+        }
+        head.append("<link rel=\"canonical\" href=\"").append(escape(url)).append("\">\n")
+                .append("<meta property=\"og:type\" content=\"article\">\n")
+                .append("<meta property=\"og:title\" content=\"").append(title).append("\">\n")
+                .append("<meta property=\"og:url\" content=\"").append(escape(url)).append("\">\n");
+        if (StringUtils.hasText(article.getCoverImage())) {
+            head.append("<meta property=\"og:image\" content=\"").append(escape(article.getCoverImage())).append("\">\n");
+        }
+        // 内联数据供前台应用直接使用，避免首屏再次请求详情
+        head.append("<script id=\"article-data\" type=\"application/json\">")
+                .append(jsonMapper.writeValueAsString(article).replace("<", "\\u003c"))
+                .append("</script>\n");
+
+        String body = "<article class=\"prerendered-article\"><h1>" + title + "</h1>\n"
+                + (article.getHtmlContent() == null ? "" : article.getHtmlContent()) + "\n</article>";
+
+        String pageTemplate = loadTemplate();
+        if (pageTemplate == null) {
+            return "<!DOCTYPE html>\n<html lang=\"zh-CN\">\n<head>\n<meta charset=\"UTF-8\">\n"
+                    + "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n"
+                    + "<title>" + title + "</title>\n" + head
+                    + "</head>\n<body>\n<div id=\"" + escape(properties.getMountElementId()) + "\">" + body
+                    + "</div>\n</body>\n</html>\n";
+        }
+        if (pageTemplate.isEmpty()) {
+            return null;
+        }
+
+        String page = TITLE_PATTERN.matcher(pageTemplate).replaceFirst(Matcher.quoteReplacement("<title>" + title + "</title>"));
+        page = HEAD_END_PATTERN.matcher(page).replaceFirst(Matcher.quoteReplacement(head + "</head>"));
+        Matcher mount = Pattern.compile("<[a-zA-Z]+\\s[^>]*id=[\"']" + Pattern.quote(properties.getMountElementId())
+                + "[\"'][^>]*>").matcher(page);
+        if (mount.find()) {
+            page = page.substring(0, mount.end()) + body + page.substring(mount.end());
+        }
+        return page;
+    }
+
+    /**
+     * 加载页面模板（未配置时返回 null，加载失败时返回空串并在下次全量重建时重试）
+     */
+    private String loadTemplate() {
+        if (!StringUtils.hasText(properties.getPageTemplate())) {
+            return null;
+        }
+        String current = template;
+        if (current == null) {
+            Resource resource = resourceLoader.getResource(properties.getPageTemplate());
+            try (InputStream input = resource.getInputStream()) {
+                current = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                log.warn("加载静态页面模板失败，仅写出文章数据: location={}", properties.getPageTemplate(), e);
+                current = "";
+            }
+            template = current;
+        }
+        return current;
+    }
+
+    private Path articleDirectory() {
+        return Path.of(properties.getDirectory()).resolve(ARTICLE_DIRECTORY);
+    }
+
+    private static Long parseArticleId(String fileName) {
+        String name = fileName.endsWith(HTML_SUFFIX) ? fileName.substring(0, fileName.length() - HTML_SUFFIX.length())
+                : fileName.endsWith(JSON_SUFFIX) ? fileName.substring(0, fileName.length() - JSON_SUFFIX.length())
+                : null;
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(name);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : HtmlUtils.htmlEscape(value, StandardCharsets.UTF_8.name());
+    }
+}
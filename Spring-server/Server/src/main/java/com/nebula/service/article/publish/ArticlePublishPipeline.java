@@ -0,0 +1,584 @@
+package com.nebula.service.article.publish;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.constant.ArticleConstants;
+import com.nebula.dto.ArticleDTO;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.BlogArticlePublishTask;
+import com.nebula.entity.BlogTag;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.enumeration.PublishTaskStatusEnum;
+import com.nebula.exception.BusinessException;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.BlogArticlePublishTaskMapper;
+import com.nebula.mapper.BlogTagMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticlePublishProperties;
+import com.nebula.service.article.helper.MarkdownHelper;
+import com.nebula.service.article.revision.ArticleRevisionStore;
+import com.nebula.service.common.TransactionCompensationHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.upload.FileUploadUtil;
+import com.nebula.vo.admin.ArticlePublishStatusVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 文章发布流水线
+ * <p>
+ * 发布/更新请求只在事务中保存待发布内容（发布任务表），提交后交由有界线程池分阶段处理：
+ * <ol>
+ *     <li>{@link Stage#PROMOTE_MEDIA}：封面与正文中的临时图片转为正式文件，回写正式地址</li>
+ *     <li>{@link Stage#RENDER}：Markdown 渲染为 HTML</li>
+ *     <li>{@link Stage#APPLY}：在一个短事务中写入文章、记录版本、替换标签并发布变更事件（缓存、索引等派生数据随之更新）</li>
+ * </ol>
+ * 只有全部阶段成功后文章内容才对外可见：新文章在此之前保持草稿状态，更新在此之前继续展示旧内容。
+ * 每个阶段完成后持久化进度，任务领取时递增尝试次数作为执行权令牌，所有写入都校验令牌，
+ * 实例中断或线程池已满的任务由定时恢复扫描重新提交，失败达到上限后需手动重试。
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/23
+ */
+@Slf4j
+@Component
+public class ArticlePublishPipeline {
+
+    /**
+     * 流水线阶段
+     */
+    public enum Stage {
+        /**
+         * 临时素材转正
+         */
+        PROMOTE_MEDIA,
+        /**
+         * Markdown 渲染
+         */
+        RENDER,
+        /**
+         * 写入文章并发布变更事件
+         */
+        APPLY
+    }
+
+    /**
+     * 正文中的链接（用于识别临时图片地址）
+     */
+    private static final Pattern URL_PATTERN = Pattern.compile("https?://[^\\s()<>\"'\\[\\]]+");
+
+    /**
+     * 失败原因最大长度（与表字段一致）
+     */
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /**
+     * 正文字段的参数映射（与实体字段使用相同的类型处理器）
+     */
+    private static final String TEXT_MAPPING = "typeHandler=com.nebula.handler.CompressedTextTypeHandler";
+
+    /**
+     * 任务执行权已被其他线程或实例取得
+     */
+    private static final class ClaimLostException extends RuntimeException {
+        private ClaimLostException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final ArticlePublishProperties properties;
+    private final BlogArticlePublishTaskMapper taskMapper;
+    private final BlogArticleMapper articleMapper;
+    private final BlogTagMapper tagMapper;
+    private final RelevancyArticleTagMapper articleTagMapper;
+    private final MarkdownHelper markdownHelper;
+    private final ArticleRevisionStore revisionStore;
+    private final FileUploadUtil fileUploadUtil;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer publishTimer;
+    private final Counter failureCounter;
+
+    /**
+     * 构造文章发布流水线
+     *
+     * @param properties          发布流水线配置
+     * @param taskMapper          发布任务Mapper
+     * @param articleMapper       文章Mapper
+     * @param tagMapper           标签Mapper
+     * @param articleTagMapper    文章标签关联Mapper
+     * @param markdownHelper      Markdown 渲染
+     * @param revisionStore       文章版本存储
+     * @param fileUploadUtil      文件上传工具
+     * @param jsonMapper          JSON 序列化
+     * @param transactionTemplate 事务模板
+     * @param eventPublisher      事件发布器
+     * @param meterRegistry       指标注册表
+     */
+    public ArticlePublishPipeline(ArticlePublishProperties properties,
+                                  BlogArticlePublishTaskMapper taskMapper,
+                                  BlogArticleMapper articleMapper,
+                                  BlogTagMapper tagMapper,
+                                  RelevancyArticleTagMapper articleTagMapper,
+                                  MarkdownHelper markdownHelper,
+                                  ArticleRevisionStore revisionStore,
+                                  FileUploadUtil fileUploadUtil,
+                                  JsonMapper jsonMapper,
+                                  TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.taskMapper = taskMapper;
+        this.articleMapper = articleMapper;
+        this.tagMapper = tagMapper;
+        this.articleTagMapper = articleTagMapper;
+        this.markdownHelper = markdownHelper;
+        this.revisionStore = revisionStore;
+        this.fileUploadUtil = fileUploadUtil;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+
+        int threads = Math.max(1, properties.getWorkerThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                Thread.ofPlatform().name("article-publish-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.publishTimer = Timer.builder("nebula.article.publish")
+                .description("文章发布流水线单次执行耗时")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("nebula.article.publish.failures")
+                .description("文章发布流水线执行失败次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 保存待发布内容并在事务提交后提交后台处理
+     * <p>
+     * 同一文章已有进行中的任务时拒绝提交；已完成或失败的任务被新内容覆盖
+     *
+     * @param articleId   文章ID
+     * @param changeType  变更类型（PUBLISHED 或 UPDATED）
+     * @param payload     待发布内容
+     * @param targetDraft 完成后的草稿状态
+     */
+    public void submit(Long articleId, ArticleChangedEvent.ChangeType changeType,
+                       ArticleDTO payload, Integer targetDraft) {
+        String json = jsonMapper.writeValueAsString(payload);
+        LocalDateTime now = LocalDateTime.now();
+
+        LambdaUpdateWrapper<BlogArticlePublishTask> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(BlogArticlePublishTask::getArticleId, articleId)
+                .notIn(BlogArticlePublishTask::getStatus,
+                        PublishTaskStatusEnum.PENDING.getCode(), PublishTaskStatusEnum.RUNNING.getCode())
+                .set(BlogArticlePublishTask::getChangeType, changeType.name())
+                .set(BlogArticlePublishTask::getTargetDraft, targetDraft)
+                .set(BlogArticlePublishTask::getPayload, json)
+                .set(BlogArticlePublishTask::getHtmlContent, null)
+                .set(BlogArticlePublishTask::getStage, Stage.PROMOTE_MEDIA.name())
+                .set(BlogArticlePublishTask::getStatus, PublishTaskStatusEnum.PENDING.getCode())
+                .set(BlogArticlePublishTask::getAttempts, 0)
+                .set(BlogArticlePublishTask::getLastError, null)
+                .set(BlogArticlePublishTask::getCreateTime, now)
+                .set(BlogArticlePublishTask::getUpdateTime, now);
+        if (taskMapper.update(null, wrapper) == 0) {
+            if (taskMapper.selectById(articleId) != null) {
+                throw new BusinessException(ArticleConstants.ERROR_PUBLISH_IN_PROGRESS);
+            }
+            BlogArticlePublishTask task = new BlogArticlePublishTask();
+            task.setArticleId(articleId);
+            task.setChangeType(changeType.name());
+            task.setTargetDraft(targetDraft);
+            task.setPayload(json);
+            task.setStage(Stage.PROMOTE_MEDIA.name());
+            task.setStatus(PublishTaskStatusEnum.PENDING.getCode());
+            task.setAttempts(0);
+            try {
+                taskMapper.insert(task);
+            } catch (DuplicateKeyException e) {
+                throw new BusinessException(ArticleConstants.ERROR_PUBLISH_IN_PROGRESS);
+            }
+        }
+
+        TransactionCompensationHelper.registerAfterCommitAction("dispatchPublishTask", () -> dispatch(articleId));
+    }
+
+    /**
+     * 查询文章发布状态
+     *
+     * @param articleId 文章ID
+     * @return 发布状态
+     */
+    public ArticlePublishStatusVO getStatus(Long articleId) {
+        BlogArticlePublishTask task = taskMapper.selectOne(new LambdaQueryWrapper<BlogArticlePublishTask>()
+                .select(BlogArticlePublishTask::getArticleId, BlogArticlePublishTask::getStage,
+                        BlogArticlePublishTask::getStatus, BlogArticlePublishTask::getAttempts,
+                        BlogArticlePublishTask::getLastError, BlogArticlePublishTask::getCreateTime,
+                        BlogArticlePublishTask::getUpdateTime)
+                .eq(BlogArticlePublishTask::getArticleId, articleId));
+        if (task == null) {
+            throw new BusinessException(ArticleConstants.ERROR_PUBLISH_TASK_NOT_FOUND);
+        }
+        ArticlePublishStatusVO vo = new ArticlePublishStatusVO();
+        BeanUtils.copyProperties(task, vo);
+        return vo;
+    }
+
+    /**
+     * 重新提交失败的发布任务（从失败的阶段继续）
+     *
+     * @param articleId 文章ID
+     */
+    public void retry(Long articleId) {
+        LambdaUpdateWrapper<BlogArticlePublishTask> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(BlogArticlePublishTask::getArticleId, articleId)
+                .eq(BlogArticlePublishTask::getStatus, PublishTaskStatusEnum.FAILED.getCode())
+                .set(BlogArticlePublishTask::getStatus, PublishTaskStatusEnum.PENDING.getCode())
+                .set(BlogArticlePublishTask::getAttempts, 0)
+                .set(BlogArticlePublishTask::getUpdateTime, LocalDateTime.now());
+        if (taskMapper.update(null, wrapper) == 0) {
+            if (taskMapper.selectById(articleId) == null) {
+                throw new BusinessException(ArticleConstants.ERROR_PUBLISH_TASK_NOT_FOUND);
+            }
+            throw new BusinessException(ArticleConstants.ERROR_PUBLISH_TASK_NOT_FAILED);
+        }
+        dispatch(articleId);
+    }
+
+    /**
+     * 删除文章时移除其发布任务（处理中的任务在写入阶段发现文章已删除后直接结束）
+     *
+     * @param articleId 文章ID
+     */
+    public void discard(Long articleId) {
+        taskMapper.deleteById(articleId);
+    }
+
+    /**
+     * 定时提交等待中与中断的任务
+     */
+    @Scheduled(fixedDelayString = "${app.article.publish.recover-interval:1m}",
+            initialDelayString = "${app.article.publish.recover-interval:1m}")
+    public void recover() {
+        try {
+            LocalDateTime staleBefore = LocalDateTime.now().minus(properties.getStaleTimeout());
+            LambdaQueryWrapper<BlogArticlePublishTask> wrapper = new LambdaQueryWrapper<>();
+            wrapper.select(BlogArticlePublishTask::getArticleId)
+                    .and(w -> w.eq(BlogArticlePublishTask::getStatus, PublishTaskStatusEnum.PENDING.getCode())
+                            .or(r -> r.eq(BlogArticlePublishTask::getStatus, PublishTaskStatusEnum.RUNNING.getCode())
+                                    .lt(BlogArticlePublishTask::getUpdateTime, staleBefore)))
+                    .orderByAsc(BlogArticlePublishTask::getUpdateTime);
+            Page<BlogArticlePublishTask> page = new Page<>(1, Math.max(1, properties.getRecoverBatchSize()), false);
+            for (BlogArticlePublishTask task : taskMapper.selectPage(page, wrapper).getRecords()) {
+                dispatch(task.getArticleId());
+            }
+        } catch (Exception e) {
+            log.warn("扫描待处理的文章发布任务失败", e);
+        }
+    }
+
+    /**
+     * 应用关闭时停止接收新任务，等待执行中的任务结束（未完成的任务由其他实例或重启后恢复）
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch(Long articleId) {
+        try {
+            executor.execute(() -> publishTimer.record(() -> process(articleId)));
+        } catch (RejectedExecutionException e) {
+            log.debug("文章发布线程池已满，等待恢复扫描提交: articleId={}", articleId);
+        }
+    }
+
+    /**
+     * 领取任务并从记录的阶段继续执行
+     */
+    private void process(Long articleId) {
+        BlogArticlePublishTask task = taskMapper.selectById(articleId);
+        Integer token = claim(task);
+        if (token == null) {
+            return;
+        }
+        try {
+            Stage stage = Stage.valueOf(task.getStage());
+            if (stage == Stage.PROMOTE_MEDIA) {
+                promoteMedia(task, token);
+                stage = Stage.RENDER;
+            }
+            if (stage == Stage.RENDER) {
+                render(task, token);
+            }
+            apply(task, token);
+        } catch (ClaimLostException e) {
+            log.info("文章发布任务已被其他执行者领取: articleId={}", articleId);
+        } catch (Exception e) {
+            fail(task, token, e);
+        }
+    }
+
+    /**
+     * 领取等待中或已中断的任务
+     *
+     * @return 执行权令牌（递增后的尝试次数）；未领取到时返回 null
+     */
+    private Integer claim(BlogArticlePublishTask task) {
+        if (task == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean claimable = PublishTaskStatusEnum.PENDING.getCode().equals(task.getStatus())
+                || (PublishTaskStatusEnum.RUNNING.getCode().equals(task.getStatus())
+                && task.getUpdateTime() != null
+                && task.getUpdateTime().isBefore(now.minus(properties.getStaleTimeout())));
+        if (!claimable) {
+            return null;
+        }
+        int token = task.getAttempts() + 1;
+        LambdaUpdateWrapper<BlogArticlePublishTask> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(BlogArticlePublishTask::getArticleId, task.getArticleId())
+                .eq(BlogArticlePublishTask::getStatus, task.getStatus())
+                .eq(BlogArticlePublishTask::getAttempts, task.getAttempts())
+                .set(BlogArticlePublishTask::getStatus, PublishTaskStatusEnum.RUNNING.getCode())
+                .set(BlogArticlePublishTask::getAttempts, token)
+                .set(BlogArticlePublishTask::getUpdateTime, now);
+        return taskMapper.update(null, wrapper) == 1 ? token : null;
+    }
+
+    /**
+     * 阶段一：封面与正文中的临时图片转为正式文件
+     * <p>
+     * 每转正一个文件立即回写地址；移动后、回写前中断时，重试对同一临时地址再次转正会得到相同的正式地址
+     * （源文件已不存在且目标已存在视为完成），不会因文件已被移走而失败
+     */
+    private void promoteMedia(BlogArticlePublishTask task, int token) {
+        ArticleDTO payload = readPayload(task);
+
+        String coverImage = payload.getCoverImage();
+        if (StringUtils.hasText(coverImage) && fileUploadUtil.isTempFile(coverImage)) {
+            payload.setCoverImage(fileUploadUtil.moveToFormal(coverImage));
+            savePayload(task, token, payload, Stage.PROMOTE_MEDIA);
+        }
+
+        String content = payload.getContent();
+        if (content != null) {
+            Set<String> tempUrls = new LinkedHashSet<>();
+            Matcher matcher = URL_PATTERN.matcher(content);
+            while (matcher.find()) {
+                if (fileUploadUtil.isTempFile(matcher.group())) {
+                    tempUrls.add(matcher.group());
+                }
+            }
+            for (String tempUrl : tempUrls) {
+                content = content.replace(tempUrl, fileUploadUtil.moveToFormal(tempUrl));
+                payload.setContent(content);
+                savePayload(task, token, payload, Stage.PROMOTE_MEDIA);
+            }
+        }
+
+        savePayload(task, token, payload, Stage.RENDER);
+    }
+
+    /**
+     * 阶段二：Markdown 渲染
+     */
+    private void render(BlogArticlePublishTask task, int token) {
+        String html = markdownHelper.toHtml(readPayload(task).getContent());
+        fencedUpdate(task, token, new LambdaUpdateWrapper<BlogArticlePublishTask>()
+                .set(BlogArticlePublishTask::getHtmlContent, html)
+                .set(BlogArticlePublishTask::getStage, Stage.APPLY.name()));
+        task.setHtmlContent(html);
+        task.setStage(Stage.APPLY.name());
+    }
+
+    /**
+     * 阶段三：在一个短事务中完成任务、写入文章与标签、记录版本并发布变更事件
+     */
+    private void apply(BlogArticlePublishTask task, int token) {
+        ArticleDTO payload = readPayload(task);
+        Long articleId = task.getArticleId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // 先完成任务行（持有行锁），令牌失效时整个事务回滚
+            fencedUpdate(task, token, new LambdaUpdateWrapper<BlogArticlePublishTask>()
+                    .set(BlogArticlePublishTask::getStatus, PublishTaskStatusEnum.SUCCEEDED.getCode())
+                    .set(BlogArticlePublishTask::getStage, null)
+                    .set(BlogArticlePublishTask::getPayload, null)
+                    .set(BlogArticlePublishTask::getHtmlContent, null)
+                    .set(BlogArticlePublishTask::getLastError, null));
+
+            BlogArticle article = articleMapper.selectById(articleId);
+            if (article == null) {
+                log.info("文章已删除，跳过发布: articleId={}", articleId);
+                return;
+            }
+
+            BlogArticle previous = new BlogArticle();
+            BeanUtils.copyProperties(article, previous);
+            BeanUtils.copyProperties(payload, article, "id", "isDraft");
+            article.setIsDraft(task.getTargetDraft());
+            article.setHtmlContent(task.getHtmlContent());
+            updateEditorColumns(article);
+
+            ArticleChangedEvent.ChangeType changeType = ArticleChangedEvent.ChangeType.valueOf(task.getChangeType());
+            revisionStore.record(changeType, previous, article);
+
+            replaceArticleTags(articleId, payload.getTagIds());
+            recycleCoverImage(previous.getCoverImage(), payload.getCoverImage());
+
+            eventPublisher.publishEvent(new ArticleChangedEvent(articleId, changeType));
+        });
+        log.info("文章发布完成: articleId={}, attempts={}", articleId, token);
+    }
+
+    /**
+     * 只写入编辑器维护的字段，浏览、点赞、收藏、评论计数由各自的增量更新维护，不能用读取时的旧值覆盖
+     */
+    private void updateEditorColumns(BlogArticle article) {
+        articleMapper.update(null, new LambdaUpdateWrapper<BlogArticle>()
+                .eq(BlogArticle::getId, article.getId())
+                .set(article.getTitle() != null, BlogArticle::getTitle, article.getTitle())
+                .set(article.getSummary() != null, BlogArticle::getSummary, article.getSummary())
+                .set(article.getContent() != null, BlogArticle::getContent, article.getContent(), TEXT_MAPPING)
+                .set(BlogArticle::getHtmlContent, article.getHtmlContent(), TEXT_MAPPING)
+                .set(article.getCoverImage() != null, BlogArticle::getCoverImage, article.getCoverImage())
+                .set(article.getCategoryId() != null, BlogArticle::getCategoryId, article.getCategoryId())
+                .set(article.getIsTop() != null, BlogArticle::getIsTop, article.getIsTop())
+                .set(BlogArticle::getIsDraft, article.getIsDraft())
+                .set(BlogArticle::getUpdateTime, LocalDateTime.now()));
+    }
+
+    /**
+     * 替换文章标签（提交后被删除的标签跳过）
+     */
+    private void replaceArticleTags(Long articleId, List<Long> tagIds) {
+        articleTagMapper.delete(new LambdaQueryWrapper<RelevancyArticleTag>()
+                .eq(RelevancyArticleTag::getArticleId, articleId));
+        if (tagIds == null || tagIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> existingTagIds = tagMapper.selectBatchIds(tagIds.stream().distinct().toList()).stream()
+                .map(BlogTag::getId)
+                .collect(Collectors.toSet());
+        List<RelevancyArticleTag> articleTags = new ArrayList<>();
+        for (Long tagId : tagIds.stream().distinct().toList()) {
+            if (existingTagIds.contains(tagId)) {
+                RelevancyArticleTag articleTag = new RelevancyArticleTag();
+                articleTag.setArticleId(articleId);
+                articleTag.setTagId(tagId);
+                articleTags.add(articleTag);
+            }
+        }
+        if (!articleTags.isEmpty()) {
+            articleTagMapper.batchInsert(articleTags);
+        }
+    }
+
+    /**
+     * 封面更换后，事务提交后将旧封面移至临时目录（由临时文件清理任务回收）
+     */
+    private void recycleCoverImage(String oldCoverImage, String newCoverImage) {
+        if (!StringUtils.hasText(oldCoverImage) || !StringUtils.hasText(newCoverImage)
+                || oldCoverImage.equals(newCoverImage) || fileUploadUtil.isTempFile(oldCoverImage)) {
+            return;
+        }
+        TransactionCompensationHelper.registerAfterCommitAction("publishArticle-oldCoverImage", () -> {
+            try {
+                fileUploadUtil.moveToTemp(oldCoverImage);
+            } catch (Exception e) {
+                log.warn("发布文章后移动旧封面到临时目录失败: url={}", oldCoverImage, e);
+            }
+        });
+    }
+
+    /**
+     * 记录失败：未达到最大尝试次数时回到等待状态，由恢复扫描重试
+     */
+    private void fail(BlogArticlePublishTask task, int token, Exception e) {
+        failureCounter.increment();
+        boolean exhausted = token >= Math.max(1, properties.getMaxAttempts());
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        log.warn("文章发布阶段执行失败: articleId={}, stage={}, attempts={}, exhausted={}",
+                task.getArticleId(), task.getStage(), token, exhausted, e);
+        try {
+            fencedUpdate(task, token, new LambdaUpdateWrapper<BlogArticlePublishTask>()
+                    .set(BlogArticlePublishTask::getStatus, exhausted
+                            ? PublishTaskStatusEnum.FAILED.getCode() : PublishTaskStatusEnum.PENDING.getCode())
+                    .set(BlogArticlePublishTask::getLastError, message));
+        } catch (ClaimLostException ignored) {
+            // 已被其他执行者领取，以其结果为准
+        } catch (Exception ex) {
+            log.warn("记录文章发布失败状态失败，等待超时后恢复: articleId={}", task.getArticleId(), ex);
+        }
+    }
+
+    private ArticleDTO readPayload(BlogArticlePublishTask task) {
+        return jsonMapper.readValue(task.getPayload(), ArticleDTO.class);
+    }
+
+    private void savePayload(BlogArticlePublishTask task, int token, ArticleDTO payload, Stage stage) {
+        String json = jsonMapper.writeValueAsString(payload);
+        fencedUpdate(task, token, new LambdaUpdateWrapper<BlogArticlePublishTask>()
+                .set(BlogArticlePublishTask::getPayload, json)
+                .set(BlogArticlePublishTask::getStage, stage.name()));
+        task.setPayload(json);
+        task.setStage(stage.name());
+    }
+
+    /**
+     * 校验执行权令牌后更新任务（同时刷新更新时间，避免被判定为中断）
+     */
+    private void fencedUpdate(BlogArticlePublishTask task, int token, LambdaUpdateWrapper<BlogArticlePublishTask> wrapper) {
+        wrapper.eq(BlogArticlePublishTask::getArticleId, task.getArticleId())
+                .eq(BlogArticlePublishTask::getStatus, PublishTaskStatusEnum.RUNNING.getCode())
+                .eq(BlogArticlePublishTask::getAttempts, token)
+                .set(BlogArticlePublishTask::getUpdateTime, LocalDateTime.now());
+        if (taskMapper.update(null, wrapper) == 0) {
+            throw new ClaimLostException();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.nebula.service.article.rank;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.properties.HotArticleProperties;
+import com.nebula.service.article.helper.HotArticleScoreHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 热门文章排行榜
+ * <p>
+ * 使用 Redis ZSET 维护已发布文章的热度评分：
+ * <ul>
+ *     <li>浏览、点赞、评论、收藏发生时按 权重 × 增量 × 当前衰减因子 增量累加（ZINCRBY），批量浏览量在一个管道中累加</li>
+ *     <li>定时全量重算：按最新计数与发布时间重新应用半衰期，写入临时 Key 后原子替换</li>
+ *     <li>读取时 ZREVRANGE 取前 N 名，复杂度 O(log n + k)</li>
+ * </ul>
+ * Redis 不可用或排行尚未建立时返回 null，由调用方降级为数据库实时计算
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/13
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotArticleLeaderboard {
+
+    /**
+     * 重算时单批查询的文章数
+     */
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    /**
+     * 临时 Key 后缀
+     */
+    private static final String TMP_SUFFIX = ":rebuilding";
+
+    /**
+     * 增量累加：仅对已在排行中的文章生效，增量乘以该文章当前的衰减因子
+     */
+    private static final DefaultRedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local factor = redis.call('HGET', KEYS[2], ARGV[1]) " +
+                    "if not factor then return 0 end " +
+                    "redis.call('ZINCRBY', KEYS[1], tonumber(ARGV[2]) * tonumber(factor), ARGV[1]) " +
+                    "return 1",
+            Long.class
+    );
+
+    /**
+     * 原子替换排行与衰减因子；临时 Key 不存在（无已发布文章）时清空
+     */
+    private static final DefaultRedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+                    "redis.call('DEL', KEYS[2], KEYS[4]) return 0 end " +
+                    "redis.call('RENAME', KEYS[1], KEYS[2]) " +
+                    "redis.call('RENAME', KEYS[3], KEYS[4]) " +
+                    "return 1",
+            Long.class
+    );
+
+    private final HotArticleProperties properties;
+    private final HotArticleScoreHelper scoreHelper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BlogArticleMapper articleMapper;
+
+    /**
+     * 获取热度最高的文章ID（按热度降序）
+     *
+     * @param limit 数量
+     * @return 文章ID列表；排行不可用时返回 null
+     */
+    public List<Long> getTopArticleIds(int limit) {
+        if (!properties.isLeaderboardEnabled() || limit <= 0) {
+            return null;
+        }
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet()
+                    .reverseRange(RedisConstants.ARTICLE_HOT_RANK, 0, limit - 1L);
+            if (members == null || members.isEmpty()) {
+                return Boolean.TRUE.equals(stringRedisTemplate.hasKey(RedisConstants.ARTICLE_HOT_RANK))
+                        ? List.of() : null;
+            }
+            return members.stream().map(Long::valueOf).toList();
+        } catch (Exception e) {
+            log.warn("读取热门文章排行失败，降级为数据库计算", e);
+            return null;
+        }
+    }
+
+    /**
+     * 记录一次互动
+     *
+     * @param articleId   文章ID
+     * @param interaction 互动类型
+     * @param delta       增量（取消操作为负数）
+     */
+    public void record(Long articleId, HotArticleScoreHelper.Interaction interaction, long delta) {
+        if (!properties.isLeaderboardEnabled() || articleId == null || delta == 0) {
+            return;
+        }
+        double increment = scoreHelper.weightOf(interaction) * delta;
+        try {
+            stringRedisTemplate.execute(INCREMENT_SCRIPT,
+                    List.of(RedisConstants.ARTICLE_HOT_RANK, RedisConstants.ARTICLE_HOT_DECAY),
+                    articleId.toString(), String.valueOf(increment));
+        } catch (Exception e) {
+            log.warn("更新热门文章排行失败: articleId={}, interaction={}", articleId, interaction, e);
+        }
+    }
+
+    /**
+     * 批量记录同一类型的互动
+     *
+     * @param interaction 互动类型
+     * @param deltas      文章ID -> 增量
+     */
+    public void recordBatch(HotArticleScoreHelper.Interaction interaction, Map<Long, Long> deltas) {
+        if (!properties.isLeaderboardEnabled() || deltas.isEmpty()) {
+            return;
+        }
+        List<Long> articleIds = deltas.entrySet().stream()
+                .filter(entry -> entry.getKey() != null && entry.getValue() != null && entry.getValue() != 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        double weight = scoreHelper.weightOf(interaction);
+        try {
+            // 一次读取衰减因子，再在同一管道中累加；XX 保证只累加仍在排行中的文章，与单条脚本语义一致
+            List<Object> factors = stringRedisTemplate.opsForHash().multiGet(RedisConstants.ARTICLE_HOT_DECAY,
+                    articleIds.stream().<Object>map(String::valueOf).toList());
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (int i = 0; i < articleIds.size(); i++) {
+                    Object factor = factors.get(i);
+                    if (factor == null) {
+                        continue;
+                    }
+                    Long articleId = articleIds.get(i);
+                    double increment = weight * deltas.get(articleId) * Double.parseDouble(factor.toString());
+                    stringConnection.execute("ZADD", RedisConstants.ARTICLE_HOT_RANK, "XX", "INCR",
+                            String.valueOf(increment), articleId.toString());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("批量更新热门文章排行失败: interaction={}, articles={}", interaction, articleIds.size(), e);
+        }
+    }
+
+    /**
+     * 文章发布、更新、删除后同步排行
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!properties.isLeaderboardEnabled()) {
+            return;
+        }
+        List<Long> articleIds = event.getArticleIds();
+        try {
+            if (event.getChangeType() == ArticleChangedEvent.ChangeType.DELETED) {
+                remove(articleIds);
+                return;
+            }
+            List<BlogArticle> articles = articleMapper.selectList(scoreColumns()
+                    .in(BlogArticle::getId, articleIds));
+            LocalDateTime now = LocalDateTime.now();
+            Set<ZSetOperations.TypedTuple<String>> scores = new HashSet<>();
+            Map<String, String> decayFactors = new HashMap<>();
+            Set<Long> visible = new HashSet<>();
+            for (BlogArticle article : articles) {
+                if (DraftStatusEnum.isDraft(article.getIsDraft())) {
+                    continue;
+                }
+                String member = article.getId().toString();
+                scores.add(ZSetOperations.TypedTuple.of(member, scoreHelper.calculateScore(article, now)));
+                decayFactors.put(member, String.valueOf(scoreHelper.calculateDecayFactor(article.getCreateTime(), now)));
+                visible.add(article.getId());
+            }
+            List<Long> hidden = articleIds.stream().filter(id -> !visible.contains(id)).toList();
+            if (!hidden.isEmpty()) {
+                remove(hidden);
+            }
+            if (!scores.isEmpty()) {
+                stringRedisTemplate.opsForHash().putAll(RedisConstants.ARTICLE_HOT_DECAY, decayFactors);
+                stringRedisTemplate.opsForZSet().add(RedisConstants.ARTICLE_HOT_RANK, scores);
+            }
+        } catch (Exception e) {
+            log.warn("同步热门文章排行失败: articleIds={}", articleIds, e);
+        }
+    }
+
+    /**
+     * 定时全量重算排行（重新应用时间衰减）
+     * <p>
+     * 多实例部署时通过 Redis 锁保证同一周期只有一个实例执行
+     */
+    @Scheduled(fixedDelayString = "${app.article.hot.rebuild-interval:10m}")
+    public void rebuild() {
+        if (!properties.isLeaderboardEnabled()) {
+            return;
+        }
+        try {
+            Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(
+                    RedisConstants.ARTICLE_HOT_REBUILD_LOCK, "1", properties.getRebuildInterval().dividedBy(2));
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+
+            String tmpRankKey = RedisConstants.ARTICLE_HOT_RANK + TMP_SUFFIX;
+            String tmpDecayKey = RedisConstants.ARTICLE_HOT_DECAY + TMP_SUFFIX;
+            stringRedisTemplate.delete(List.of(tmpRankKey, tmpDecayKey));
+
+            LocalDateTime now = LocalDateTime.now();
+            long lastId = 0L;
+            int total = 0;
+            while (true) {
+                Page<BlogArticle> page = new Page<>(1, REBUILD_BATCH_SIZE, false);
+                List<BlogArticle> articles = articleMapper.selectPage(page, scoreColumns()
+                        .eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode())
+                        .gt(BlogArticle::getId, lastId)
+                        .orderByAsc(BlogArticle::getId)).getRecords();
+                if (articles.isEmpty()) {
+                    break;
+                }
+
+                Set<ZSetOperations.TypedTuple<String>> scores = new HashSet<>();
+                Map<String, String> decayFactors = new HashMap<>();
+                for (BlogArticle article : articles) {
+                    String member = article.getId().toString();
+                    scores.add(ZSetOperations.TypedTuple.of(member, scoreHelper.calculateScore(article, now)));
+                    decayFactors.put(member, String.valueOf(scoreHelper.calculateDecayFactor(article.getCreateTime(), now)));
+                }
+                stringRedisTemplate.opsForZSet().add(tmpRankKey, scores);
+                stringRedisTemplate.opsForHash().putAll(tmpDecayKey, decayFactors);
+
+                total += articles.size();
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+
+            stringRedisTemplate.execute(SWAP_SCRIPT, List.of(
+                    tmpRankKey, RedisConstants.ARTICLE_HOT_RANK, tmpDecayKey, RedisConstants.ARTICLE_HOT_DECAY));
+            log.info("热门文章排行重算完成: articles={}", total);
+        } catch (Exception e) {
+            log.warn("热门文章排行重算失败", e);
+        }
+    }
+
+    /**
+     * 从排行中移除文章
+     */
+    private void remove(Collection<Long> articleIds) {
+        Object[] members = articleIds.stream().map(String::valueOf).toArray();
+        stringRedisTemplate.opsForZSet().remove(RedisConstants.ARTICLE_HOT_RANK, members);
+        stringRedisTemplate.opsForHash().delete(RedisConstants.ARTICLE_HOT_DECAY, members);
+    }
+
+    /**
+     * 评分所需列
+     */
+    private LambdaQueryWrapper<BlogArticle> scoreColumns() {
+        return new LambdaQueryWrapper<BlogArticle>()
+                .select(BlogArticle::getId,
+                        BlogArticle::getIsDraft,
+                        BlogArticle::getViewCount,
+                        BlogArticle::getLikeCount,
+                        BlogArticle::getCommentCount,
+                        BlogArticle::getCollectCount,
+                        BlogArticle::getCreateTime);
+    }
+}
@@ -0,0 +1,242 @@
+package com.nebula.service.article.revision;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.github.difflib.DiffUtils;
+import com.github.difflib.UnifiedDiffUtils;
+import com.github.difflib.patch.Patch;
+import com.nebula.constant.ArticleConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.BlogArticleRevision;
+import com.nebula.exception.BusinessException;
+import com.nebula.mapper.BlogArticleRevisionMapper;
+import com.nebula.properties.ArticleRevisionProperties;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.vo.admin.ArticleRevisionDiffVO;
+import com.nebula.vo.admin.ArticleRevisionVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 文章版本存储
+ * <p>
+ * 文章每次写入（发布流水线 APPLY 阶段，与文章更新同一事务）记录一个版本：
+ * <ul>
+ *     <li>正文以相对上一版本的压缩增量保存，每隔 snapshotInterval 个版本保存一次压缩后的完整快照</li>
+ *     <li>读取任意版本只需从所属快照开始应用不超过 snapshotInterval - 1 个增量，重建结果按 SHA-256 校验</li>
+ *     <li>增量不小于快照，或上一版本与写入前的文章正文不一致（正文被其他途径修改）时直接保存快照</li>
+ * </ul>
+ * 已有文章首次更新时先以更新前的内容记录版本 1，避免丢失原始内容
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/29
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleRevisionStore {
+
+    private final ArticleRevisionProperties properties;
+    private final BlogArticleRevisionMapper revisionMapper;
+
+    /**
+     * 记录文章写入后的版本（需在写入文章的事务中调用）
+     *
+     * @param changeType 变更类型
+     * @param previous   写入前的文章
+     * @param current    写入后的文章
+     */
+    public void record(ArticleChangedEvent.ChangeType changeType, BlogArticle previous, BlogArticle current) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Long articleId = current.getId();
+        BlogArticleRevision latest = selectLatest(articleId);
+        if (latest == null) {
+            if (changeType != ArticleChangedEvent.ChangeType.UPDATED) {
+                insert(articleId, 1, null, null, current);
+                return;
+            }
+            latest = insert(articleId, 1, null, null, previous);
+        }
+
+        String content = nullToEmpty(current.getContent());
+        if (latest.getContentHash().equals(RevisionCodec.hash(content))
+                && Objects.equals(latest.getTitle(), nullToEmpty(current.getTitle()))
+                && Objects.equals(latest.getSummary(), current.getSummary())) {
+            return;
+        }
+
+        int revision = latest.getRevision() + 1;
+        String previousContent = nullToEmpty(previous.getContent());
+        boolean chained = revision - latest.getSnapshotRevision() < Math.max(1, properties.getSnapshotInterval())
+                && latest.getContentHash().equals(RevisionCodec.hash(previousContent));
+        insert(articleId, revision, chained ? latest : null, previousContent, current);
+    }
+
+    /**
+     * 查询文章版本列表（按版本号倒序，不含正文）
+     *
+     * @param articleId 文章ID
+     * @return 版本列表
+     */
+    public List<ArticleRevisionVO> list(Long articleId) {
+        return revisionMapper.selectList(new LambdaQueryWrapper<BlogArticleRevision>()
+                        .select(BlogArticleRevision.class, field -> !"content_data".equals(field.getColumn()))
+                        .eq(BlogArticleRevision::getArticleId, articleId)
+                        .orderByDesc(BlogArticleRevision::getRevision))
+                .stream()
+                .map(row -> toVO(row, null))
+                .toList();
+    }
+
+    /**
+     * 读取指定版本（含正文）
+     *
+     * @param articleId 文章ID
+     * @param revision  版本号
+     * @return 版本
+     */
+    public ArticleRevisionVO get(Long articleId, Integer revision) {
+        BlogArticleRevision row = selectMeta(articleId, revision);
+        return toVO(row, reconstruct(row));
+    }
+
+    /**
+     * 对比两个版本
+     *
+     * @param articleId    文章ID
+     * @param fromRevision 原版本号
+     * @param toRevision   目标版本号
+     * @return 差异
+     */
+    public ArticleRevisionDiffVO diff(Long articleId, Integer fromRevision, Integer toRevision) {
+        BlogArticleRevision from = selectMeta(articleId, fromRevision);
+        BlogArticleRevision to = selectMeta(articleId, toRevision);
+        List<String> fromLines = Arrays.asList(reconstruct(from).split("\n", -1));
+        List<String> toLines = Arrays.asList(reconstruct(to).split("\n", -1));
+        Patch<String> patch = DiffUtils.diff(fromLines, toLines);
+
+        ArticleRevisionDiffVO diffVO = new ArticleRevisionDiffVO();
+        diffVO.setArticleId(articleId);
+        diffVO.setFromRevision(fromRevision);
+        diffVO.setToRevision(toRevision);
+        diffVO.setTitleChanged(!Objects.equals(from.getTitle(), to.getTitle()));
+        diffVO.setSummaryChanged(!Objects.equals(from.getSummary(), to.getSummary()));
+        diffVO.setAddedLines(patch.getDeltas().stream().mapToInt(delta -> delta.getTarget().size()).sum());
+        diffVO.setRemovedLines(patch.getDeltas().stream().mapToInt(delta -> delta.getSource().size()).sum());
+        diffVO.setDiff(String.join("\n", UnifiedDiffUtils.generateUnifiedDiff(
+                "revision-" + fromRevision, "revision-" + toRevision, fromLines, patch,
+                Math.max(0, properties.getDiffContextLines()))));
+        return diffVO;
+    }
+
+    /**
+     * 删除文章的全部版本
+     *
+     * @param articleId 文章ID
+     */
+    public void deleteByArticle(Long articleId) {
+        revisionMapper.delete(new LambdaQueryWrapper<BlogArticleRevision>()
+                .eq(BlogArticleRevision::getArticleId, articleId));
+    }
+
+    /**
+     * 写入版本：提供上一版本时尝试保存相对其正文的增量，增量不小于快照时保存快照
+     */
+    private BlogArticleRevision insert(Long articleId, int revision, BlogArticleRevision base, String baseContent,
+                                       BlogArticle article) {
+        String content = nullToEmpty(article.getContent());
+        byte[] snapshot = RevisionCodec.encodeSnapshot(content);
+        byte[] delta = base != null ? RevisionCodec.encodeDelta(baseContent, content) : null;
+
+        BlogArticleRevision row = new BlogArticleRevision();
+        row.setArticleId(articleId);
+        row.setRevision(revision);
+        row.setTitle(nullToEmpty(article.getTitle()));
+        row.setSummary(article.getSummary());
+        row.setContentLength(content.length());
+        row.setContentHash(RevisionCodec.hash(content));
+        if (delta != null && delta.length < snapshot.length) {
+            row.setSnapshotRevision(base.getSnapshotRevision());
+            row.setContentData(delta);
+        } else {
+            row.setSnapshotRevision(revision);
+            row.setContentData(snapshot);
+        }
+        revisionMapper.insert(row);
+        log.debug("记录文章版本: articleId={}, revision={}, snapshot={}, bytes={}",
+                articleId, revision, row.getSnapshotRevision() == revision, row.getContentData().length);
+        return row;
+    }
+
+    /**
+     * 从所属快照开始依次应用增量重建正文，并校验结果
+     */
+    private String reconstruct(BlogArticleRevision target) {
+        List<BlogArticleRevision> chain = revisionMapper.selectList(new LambdaQueryWrapper<BlogArticleRevision>()
+                .select(BlogArticleRevision::getRevision, BlogArticleRevision::getSnapshotRevision,
+                        BlogArticleRevision::getContentData)
+                .eq(BlogArticleRevision::getArticleId, target.getArticleId())
+                .between(BlogArticleRevision::getRevision, target.getSnapshotRevision(), target.getRevision())
+                .orderByAsc(BlogArticleRevision::getRevision));
+        try {
+            if (chain.size() != target.getRevision() - target.getSnapshotRevision() + 1
+                    || !chain.getFirst().getRevision().equals(chain.getFirst().getSnapshotRevision())) {
+                throw new IllegalStateException("版本链不完整: size=" + chain.size());
+            }
+            String content = RevisionCodec.decodeSnapshot(chain.getFirst().getContentData());
+            for (BlogArticleRevision row : chain.subList(1, chain.size())) {
+                content = RevisionCodec.applyDelta(content, row.getContentData());
+            }
+            if (!RevisionCodec.hash(content).equals(target.getContentHash())) {
+                throw new IllegalStateException("重建结果校验失败");
+            }
+            return content;
+        } catch (RuntimeException e) {
+            log.error("重建文章版本失败: articleId={}, revision={}", target.getArticleId(), target.getRevision(), e);
+            throw new BusinessException(ArticleConstants.ERROR_REVISION_CORRUPTED);
+        }
+    }
+
+    private BlogArticleRevision selectLatest(Long articleId) {
+        return revisionMapper.selectPage(new Page<>(1, 1, false), new LambdaQueryWrapper<BlogArticleRevision>()
+                        .select(BlogArticleRevision.class, field -> !"content_data".equals(field.getColumn()))
+                        .eq(BlogArticleRevision::getArticleId, articleId)
+                        .orderByDesc(BlogArticleRevision::getRevision))
+                .getRecords().stream().findFirst().orElse(null);
+    }
+
+    private BlogArticleRevision selectMeta(Long articleId, Integer revision) {
+        BlogArticleRevision row = revisionMapper.selectOne(new LambdaQueryWrapper<BlogArticleRevision>()
+                .select(BlogArticleRevision.class, field -> !"content_data".equals(field.getColumn()))
+                .eq(BlogArticleRevision::getArticleId, articleId)
+                .eq(BlogArticleRevision::getRevision, revision));
+        if (row == null) {
+            throw new BusinessException(ArticleConstants.ERROR_REVISION_NOT_FOUND);
+        }
+        return row;
+    }
+
+    private ArticleRevisionVO toVO(BlogArticleRevision row, String content) {
+        ArticleRevisionVO revisionVO = new ArticleRevisionVO();
+        revisionVO.setArticleId(row.getArticleId());
+        revisionVO.setRevision(row.getRevision());
+        revisionVO.setSnapshot(row.getRevision().equals(row.getSnapshotRevision()));
+        revisionVO.setTitle(row.getTitle());
+        revisionVO.setSummary(row.getSummary());
+        revisionVO.setContent(content);
+        revisionVO.setContentLength(row.getContentLength());
+        revisionVO.setCreateTime(row.getCreateTime());
+        return revisionVO;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
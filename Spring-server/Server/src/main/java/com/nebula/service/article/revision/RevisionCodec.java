@@ -0,0 +1,156 @@
+package com.nebula.service.article.revision;
+
+import com.github.difflib.DiffUtils;
+import com.github.difflib.patch.AbstractDelta;
+import com.github.difflib.patch.Patch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 文章版本正文编解码
+ * <p>
+ * 快照为 deflate 压缩的 UTF-8 正文；增量为按行（保留换行符）计算的差异块，
+ * 每块记录原文起始行、删除行数与插入的行，整体 deflate 压缩
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/29
+ */
+final class RevisionCodec {
+
+    private RevisionCodec() {
+    }
+
+    /**
+     * 编码完整快照
+     */
+    static byte[] encodeSnapshot(String content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream output = open(buffer, deflater)) {
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 解码完整快照
+     */
+    static String decodeSnapshot(byte[] data) {
+        try (InflaterInputStream input = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 编码从 base 到 target 的增量
+     */
+    static byte[] encodeDelta(String base, String target) {
+        Patch<String> patch = DiffUtils.diff(splitLines(base), splitLines(target));
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream output = open(buffer, deflater)) {
+            output.writeInt(patch.getDeltas().size());
+            for (AbstractDelta<String> delta : patch.getDeltas()) {
+                output.writeInt(delta.getSource().getPosition());
+                output.writeInt(delta.getSource().size());
+                List<String> lines = delta.getTarget().getLines();
+                output.writeInt(lines.size());
+                for (String line : lines) {
+                    byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 在 base 上应用增量
+     *
+     * @throws IllegalStateException 增量与 base 不匹配
+     */
+    static String applyDelta(String base, byte[] data) {
+        List<String> lines = splitLines(base);
+        StringBuilder builder = new StringBuilder(base.length());
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int cursor = 0;
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                int position = input.readInt();
+                int deleted = input.readInt();
+                if (position < cursor || deleted < 0 || position + deleted > lines.size()) {
+                    throw new IllegalStateException("增量位置超出原文范围: position=" + position + ", lines=" + lines.size());
+                }
+                lines.subList(cursor, position).forEach(builder::append);
+                int inserted = input.readInt();
+                for (int j = 0; j < inserted; j++) {
+                    builder.append(new String(input.readNBytes(input.readInt()), StandardCharsets.UTF_8));
+                }
+                cursor = position + deleted;
+            }
+            lines.subList(cursor, lines.size()).forEach(builder::append);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 正文 SHA-256（十六进制）
+     */
+    static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 按行拆分，每行保留结尾的换行符，拼接后与原文完全一致
+     */
+    static List<String> splitLines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines.add(text.substring(start, i + 1));
+                start = i + 1;
+            }
+        }
+        if (start < text.length()) {
+            lines.add(text.substring(start));
+        }
+        return lines;
+    }
+
+    private static DataOutputStream open(ByteArrayOutputStream buffer, Deflater deflater) {
+        return new DataOutputStream(new DeflaterOutputStream(buffer, deflater));
+    }
+}
@@ -0,0 +1,700 @@
+package com.nebula.service.article.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticleSearchProperties;
+import com.nebula.service.common.cluster.ClusterBroadcastHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
+import com.nebula.service.common.reference.ReferenceDataCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.NullFragmenter;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 文章全文索引
+ * <p>
+ * 基于 Lucene 在本地目录维护已发布文章的倒排索引（标题、摘要、标签、正文），
+ * 使用 CJK 二元分词支持中文检索，按字段加权排序并返回高亮片段：
+ * <ul>
+ *     <li>文章发布/更新/删除、标签变更在事务提交后增量更新，并广播通知其他实例从数据库重新索引</li>
+ *     <li>启动时与管理端触发时按主键分批全量重建：先写入独立的临时索引，完成后在写锁内整体替换，
+ *     重建期间增量更新与检索照常使用旧索引，期间变更的文章在替换后重新索引</li>
+ *     <li>近实时检索：写入后刷新搜索器即可见，索引按固定间隔提交持久化</li>
+ *     <li>正文全文参与检索但只存储截断后的开头部分，用于生成高亮片段</li>
+ * </ul>
+ * 全量重建成功后在提交数据中写入完成标记，索引未完成过全量重建或读取失败时由调用方降级为数据库标题 LIKE 查询
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/21
+ */
+@Slf4j
+@Component
+public class ArticleSearchIndex {
+
+    /**
+     * 检索命中
+     *
+     * @param articleId        文章ID
+     * @param score            相关度评分
+     * @param highlightTitle   高亮标题（已 HTML 转义，命中词以 em 标签包裹）
+     * @param highlightSnippet 高亮摘要片段（同上）
+     */
+    public record Hit(Long articleId, float score, String highlightTitle, String highlightSnippet) {
+    }
+
+    /**
+     * 检索结果
+     *
+     * @param total 命中总数（不超过可翻页上限）
+     * @param hits  当前页命中
+     */
+    public record SearchResult(long total, List<Hit> hits) {
+    }
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_SUMMARY = "summary";
+    private static final String FIELD_TAGS = "tags";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_CONTENT_PREVIEW = "contentPreview";
+
+    /**
+     * 提交数据中的全量重建完成时间
+     */
+    private static final String COMMIT_REBUILT_AT = "rebuiltAt";
+
+    /**
+     * 检索字段及权重
+     */
+    private static final String[] SEARCH_FIELDS = {FIELD_TITLE, FIELD_TAGS, FIELD_SUMMARY, FIELD_CONTENT};
+    private static final float[] SEARCH_BOOSTS = {4f, 3f, 2f, 1f};
+
+    /**
+     * 全量重建时单批查询的文章数
+     */
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    /**
+     * 全量重建广播消息
+     */
+    private static final String REBUILD_PAYLOAD = "*";
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ArticleSearchProperties properties;
+    private final BlogArticleMapper articleMapper;
+    private final RelevancyArticleTagMapper articleTagMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final ClusterBroadcastHelper broadcastHelper;
+    private final Timer searchTimer;
+    private final Timer rebuildTimer;
+
+    private final Analyzer analyzer = new CJKAnalyzer();
+
+    /**
+     * 写操作互斥锁（增量更新、重建结果替换、提交）
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * 全量重建互斥锁（同一时间只执行一次重建）
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * 重建期间增量更新过的文章，替换索引后重新索引
+     */
+    private final Set<Long> rebuildDirtyIds = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuilding;
+
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+
+    /**
+     * 索引是否已可检索（需至少完成过一次全量重建）
+     */
+    private volatile boolean ready;
+
+    /**
+     * 构造文章全文索引
+     *
+     * @param properties         检索配置
+     * @param articleMapper      文章Mapper
+     * @param articleTagMapper   文章标签关联Mapper
+     * @param referenceDataCache 引用数据缓存
+     * @param broadcastHelper    集群广播Helper
+     * @param meterRegistry      指标注册表
+     */
+    public ArticleSearchIndex(ArticleSearchProperties properties,
+                              BlogArticleMapper articleMapper,
+                              RelevancyArticleTagMapper articleTagMapper,
+                              ReferenceDataCache referenceDataCache,
+                              ClusterBroadcastHelper broadcastHelper,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.articleMapper = articleMapper;
+        this.articleTagMapper = articleTagMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.broadcastHelper = broadcastHelper;
+        this.searchTimer = Timer.builder("nebula.article.search")
+                .description("文章全文检索耗时")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("nebula.article.search.rebuild")
+                .description("文章全文索引全量重建耗时")
+                .register(meterRegistry);
+        Gauge.builder("nebula.article.search.documents", this, ArticleSearchIndex::documentCount)
+                .description("文章全文索引文档数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 打开索引目录并订阅其他实例的更新广播
+     */
+    @PostConstruct
+    public void open() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            openWriter();
+            ready = isRebuilt(writer);
+            if (!ready && !properties.isRebuildOnStartup()) {
+                log.warn("文章全文索引尚未完成全量重建，搜索降级为数据库查询，请在管理端触发重建");
+            }
+            broadcastHelper.subscribe(RedisConstants.CHANNEL_ARTICLE_SEARCH_INDEX, this::handleRemoteUpdate);
+        } catch (IOException e) {
+            log.error("打开文章全文索引失败，搜索将降级为数据库查询: path={}", properties.getIndexPath(), e);
+        }
+    }
+
+    /**
+     * 启动完成后在后台全量重建，补齐停机期间错过的变更（重建期间继续使用旧索引）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (writer != null && properties.isRebuildOnStartup()) {
+            Thread.ofVirtual().name("article-search-rebuild").start(this::rebuild);
+        }
+    }
+
+    /**
+     * 索引是否可用
+     *
+     * @return true-可检索
+     */
+    public boolean isAvailable() {
+        return writer != null && ready;
+    }
+
+    /**
+     * 检索已发布文章
+     *
+     * @param keyword 关键词
+     * @param offset  起始位置
+     * @param limit   返回数量
+     * @return 检索结果；索引不可用或检索失败时返回 null
+     */
+    public SearchResult search(String keyword, int offset, int limit) {
+        if (!isAvailable()) {
+            return null;
+        }
+        Query query = buildQuery(keyword);
+        if (query == null) {
+            return new SearchResult(0, List.of());
+        }
+        long start = System.nanoTime();
+        SearcherManager manager = searcherManager;
+        IndexSearcher searcher = null;
+        try {
+            searcher = manager.acquire();
+            int total = Math.min(searcher.count(query), properties.getMaxResults());
+            int end = Math.min(offset + limit, total);
+            if (offset >= end) {
+                return new SearchResult(total, List.of());
+            }
+            TopDocs topDocs = searcher.search(query, end);
+            StoredFields storedFields = searcher.storedFields();
+            List<Hit> hits = new ArrayList<>(end - offset);
+            for (int i = offset; i < Math.min(end, topDocs.scoreDocs.length); i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                Document document = storedFields.document(scoreDoc.doc);
+                hits.add(new Hit(Long.valueOf(document.get(FIELD_ID)), scoreDoc.score,
+                        highlightTitle(query, document.get(FIELD_TITLE)),
+                        highlightSnippet(query, document.get(FIELD_CONTENT_PREVIEW), document.get(FIELD_SUMMARY))));
+            }
+            return new SearchResult(total, hits);
+        } catch (Exception e) {
+            log.warn("文章全文检索失败，降级为数据库查询: keyword={}", keyword, e);
+            return null;
+        } finally {
+            releaseQuietly(manager, searcher);
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 全量重建本实例索引
+     *
+     * @return 已索引文章数；索引不可用或重建失败时返回 -1
+     */
+    public int rebuild() {
+        if (writer == null) {
+            return -1;
+        }
+        long start = System.nanoTime();
+        rebuildLock.lock();
+        Path stagingPath = Path.of(properties.getIndexPath() + "-rebuild");
+        try {
+            rebuildDirtyIds.clear();
+            rebuilding = true;
+            int total;
+            try (Directory staging = FSDirectory.open(stagingPath);
+                 IndexWriter stagingWriter = new IndexWriter(staging, new IndexWriterConfig(analyzer)
+                         .setOpenMode(IndexWriterConfig.OpenMode.CREATE))) {
+                total = indexAll(stagingWriter);
+                stagingWriter.commit();
+            }
+            try (Directory staging = FSDirectory.open(stagingPath)) {
+                replaceWith(staging);
+            }
+            log.info("文章全文索引重建完成: articles={}", total);
+            return total;
+        } catch (Exception e) {
+            log.error("文章全文索引重建失败，继续使用原索引", e);
+            return -1;
+        } finally {
+            rebuilding = false;
+            rebuildDirtyIds.clear();
+            deleteQuietly(stagingPath);
+            rebuildLock.unlock();
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 全量重建本实例索引，并通知其他实例重建
+     *
+     * @return 本实例已索引文章数；索引不可用或重建失败时返回 -1
+     */
+    public int rebuildCluster() {
+        broadcastHelper.publish(RedisConstants.CHANNEL_ARTICLE_SEARCH_INDEX, REBUILD_PAYLOAD);
+        return rebuild();
+    }
+
+    /**
+     * 文章发布、更新、删除后增量更新索引
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        updateAndBroadcast(event.getArticleIds());
+    }
+
+    /**
+     * 标签变更后重新索引引用它的文章（分类、用户名称不参与检索）
+     *
+     * @param event 引用数据变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.getReferenceType() != ReferenceDataChangedEvent.ReferenceType.TAG || writer == null) {
+            return;
+        }
+        Collection<Long> articleIds = event.getAffectedArticleIds() != null
+                ? event.getAffectedArticleIds()
+                : articleTagMapper.selectObjs(new LambdaQueryWrapper<RelevancyArticleTag>()
+                .select(RelevancyArticleTag::getArticleId)
+                .eq(RelevancyArticleTag::getTagId, event.getReferenceId()));
+        updateAndBroadcast(articleIds);
+    }
+
+    /**
+     * 定时提交索引变更
+     */
+    @Scheduled(fixedDelayString = "${app.article.search.commit-interval:30s}")
+    public void commit() {
+        if (writer == null || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            log.warn("提交文章全文索引失败", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 关闭时提交并释放索引
+     */
+    @PreDestroy
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            searcherManager.close();
+            writer.close();
+        } catch (IOException e) {
+            log.warn("关闭文章全文索引失败", e);
+        } finally {
+            writer = null;
+            writeLock.unlock();
+        }
+    }
+
+    private void updateAndBroadcast(Collection<Long> articleIds) {
+        if (writer == null || articleIds == null || articleIds.isEmpty()) {
+            return;
+        }
+        update(articleIds);
+        broadcastHelper.publish(RedisConstants.CHANNEL_ARTICLE_SEARCH_INDEX,
+                articleIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * 从数据库重新索引指定文章（不存在或未发布的文章从索引中删除）
+     */
+    private void update(Collection<Long> articleIds) {
+        if (writer == null) {
+            return;
+        }
+        if (rebuilding) {
+            rebuildDirtyIds.addAll(articleIds);
+        }
+        writeLock.lock();
+        try {
+            writeDocuments(writer, articleIds);
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            log.warn("更新文章全文索引失败，将在下次全量重建时修复: articleIds={}", articleIds, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writeDocuments(IndexWriter target, Collection<Long> articleIds) throws IOException {
+        Map<Long, BlogArticle> articles = articleMapper.selectList(indexColumns()
+                        .in(BlogArticle::getId, articleIds)
+                        .eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode()))
+                .stream()
+                .collect(Collectors.toMap(BlogArticle::getId, article -> article));
+        Map<Long, List<String>> tagNames = articles.isEmpty() ? Map.of() : loadTagNames(articles.keySet());
+        for (Long articleId : articleIds) {
+            Term term = new Term(FIELD_ID, articleId.toString());
+            BlogArticle article = articles.get(articleId);
+            if (article == null) {
+                target.deleteDocuments(term);
+            } else {
+                target.updateDocument(term, toDocument(article, tagNames.getOrDefault(articleId, List.of())));
+            }
+        }
+    }
+
+    /**
+     * 按主键分批索引全部已发布文章
+     */
+    private int indexAll(IndexWriter target) throws IOException {
+        long lastId = 0L;
+        int total = 0;
+        while (true) {
+            Page<BlogArticle> page = new Page<>(1, REBUILD_BATCH_SIZE, false);
+            List<BlogArticle> articles = articleMapper.selectPage(page, indexColumns()
+                    .eq(BlogArticle::getIsDraft, DraftStatusEnum.PUBLISHED.getCode())
+                    .gt(BlogArticle::getId, lastId)
+                    .orderByAsc(BlogArticle::getId)).getRecords();
+            if (articles.isEmpty()) {
+                return total;
+            }
+            Map<Long, List<String>> tagNames = loadTagNames(articles.stream().map(BlogArticle::getId).toList());
+            for (BlogArticle article : articles) {
+                target.addDocument(toDocument(article, tagNames.getOrDefault(article.getId(), List.of())));
+            }
+            total += articles.size();
+            lastId = articles.get(articles.size() - 1).getId();
+        }
+    }
+
+    /**
+     * 在写锁内用重建结果替换当前索引，并重新索引重建期间变更过的文章；
+     * 替换完成前不刷新搜索器，检索始终看到完整的旧索引或新索引
+     */
+    private void replaceWith(Directory staging) throws IOException {
+        writeLock.lock();
+        try {
+            writer.deleteAll();
+            writer.addIndexes(staging);
+            rebuilding = false;
+            if (!rebuildDirtyIds.isEmpty()) {
+                List<Long> dirtyIds = List.copyOf(rebuildDirtyIds);
+                writeDocuments(writer, dirtyIds);
+                log.info("重新索引全量重建期间变更的文章: count={}", dirtyIds.size());
+            }
+            writer.setLiveCommitData(Map.of(COMMIT_REBUILT_AT, String.valueOf(System.currentTimeMillis())).entrySet());
+            writer.commit();
+            searcherManager.maybeRefresh();
+            ready = true;
+        } catch (Exception e) {
+            reopenQuietly();
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 索引的最近一次提交是否包含全量重建完成标记
+     */
+    private static boolean isRebuilt(IndexWriter indexWriter) {
+        Iterable<Map.Entry<String, String>> commitData = indexWriter.getLiveCommitData();
+        if (commitData == null) {
+            return false;
+        }
+        for (Map.Entry<String, String> entry : commitData) {
+            if (COMMIT_REBUILT_AT.equals(entry.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 处理其他实例广播的索引更新
+     *
+     * @param payload 逗号分隔的文章ID，或 * 表示全量重建
+     */
+    private void handleRemoteUpdate(String payload) {
+        if (REBUILD_PAYLOAD.equals(payload)) {
+            Thread.ofVirtual().name("article-search-rebuild").start(this::rebuild);
+            return;
+        }
+        update(Arrays.stream(payload.split(","))
+                .filter(s -> !s.isBlank())
+                .map(Long::valueOf)
+                .toList());
+    }
+
+    /**
+     * 构建检索条件：各字段内所有分词必须命中，字段之间按权重取相关度
+     */
+    private Query buildQuery(String keyword) {
+        QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        boolean hasClause = false;
+        for (int i = 0; i < SEARCH_FIELDS.length; i++) {
+            Query fieldQuery = queryBuilder.createBooleanQuery(SEARCH_FIELDS[i], keyword, BooleanClause.Occur.MUST);
+            if (fieldQuery != null) {
+                builder.add(new BoostQuery(fieldQuery, SEARCH_BOOSTS[i]), BooleanClause.Occur.SHOULD);
+                hasClause = true;
+            }
+        }
+        return hasClause ? builder.build() : null;
+    }
+
+    /**
+     * 高亮标题（标题整体返回，不截取片段）
+     */
+    private String highlightTitle(Query query, String title) throws Exception {
+        if (title == null) {
+            return null;
+        }
+        QueryScorer scorer = new QueryScorer(query, FIELD_TITLE);
+        Highlighter highlighter = highlighter(scorer);
+        highlighter.setTextFragmenter(new NullFragmenter());
+        String fragment = highlighter.getBestFragment(analyzer, FIELD_TITLE, title);
+        return fragment != null ? fragment : SimpleHTMLEncoder.htmlEncode(title);
+    }
+
+    /**
+     * 高亮摘要片段：优先取正文命中片段，其次摘要，均未命中时截取摘要开头
+     */
+    private String highlightSnippet(Query query, String content, String summary) throws Exception {
+        for (String[] candidate : new String[][]{{FIELD_CONTENT, content}, {FIELD_SUMMARY, summary}}) {
+            if (candidate[1] == null || candidate[1].isEmpty()) {
+                continue;
+            }
+            QueryScorer scorer = new QueryScorer(query, candidate[0]);
+            Highlighter highlighter = highlighter(scorer);
+            highlighter.setTextFragmenter(new SimpleSpanFragmenter(scorer, properties.getFragmentSize()));
+            String fragment = highlighter.getBestFragment(analyzer, candidate[0], candidate[1]);
+            if (fragment != null) {
+                return fragment;
+            }
+        }
+        String fallback = summary != null && !summary.isEmpty() ? summary : content;
+        if (fallback == null) {
+            return null;
+        }
+        return SimpleHTMLEncoder.htmlEncode(fallback.length() > properties.getFragmentSize()
+                ? fallback.substring(0, properties.getFragmentSize()) : fallback);
+    }
+
+    private Highlighter highlighter(QueryScorer scorer) {
+        return new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"), new SimpleHTMLEncoder(), scorer);
+    }
+
+    private Document toDocument(BlogArticle article, List<String> tagNames) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, article.getId().toString(), Field.Store.YES));
+        document.add(new TextField(FIELD_TITLE, nullToEmpty(article.getTitle()), Field.Store.YES));
+        document.add(new TextField(FIELD_SUMMARY, nullToEmpty(article.getSummary()), Field.Store.YES));
+        document.add(new TextField(FIELD_TAGS, String.join(" ", tagNames), Field.Store.NO));
+        String content = toPlainText(article.getHtmlContent());
+        document.add(new TextField(FIELD_CONTENT, content, Field.Store.NO));
+        int previewLength = Math.max(0, properties.getStoredContentLength());
+        document.add(new StoredField(FIELD_CONTENT_PREVIEW,
+                content.length() > previewLength ? content.substring(0, previewLength) : content));
+        return document;
+    }
+
+    /**
+     * 批量查询文章标签名称
+     */
+    private Map<Long, List<String>> loadTagNames(Collection<Long> articleIds) {
+        List<RelevancyArticleTag> relations = articleTagMapper.selectList(new LambdaQueryWrapper<RelevancyArticleTag>()
+                .select(RelevancyArticleTag::getArticleId, RelevancyArticleTag::getTagId)
+                .in(RelevancyArticleTag::getArticleId, articleIds));
+        Map<Long, ReferenceDataCache.TagRef> tags = referenceDataCache.getTagSnapshot().items();
+        return relations.stream()
+                .filter(relation -> tags.containsKey(relation.getTagId()))
+                .collect(Collectors.groupingBy(RelevancyArticleTag::getArticleId,
+                        Collectors.mapping(relation -> tags.get(relation.getTagId()).tagName(), Collectors.toList())));
+    }
+
+    /**
+     * 索引所需列
+     */
+    private LambdaQueryWrapper<BlogArticle> indexColumns() {
+        return new LambdaQueryWrapper<BlogArticle>()
+                .select(BlogArticle::getId,
+                        BlogArticle::getTitle,
+                        BlogArticle::getSummary,
+                        BlogArticle::getHtmlContent);
+    }
+
+    /**
+     * 正文 HTML 转为纯文本（去标签、反转义、合并空白）
+     */
+    private String toPlainText(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        String text = HtmlUtils.htmlUnescape(HTML_TAG.matcher(html).replaceAll(" "));
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private void openWriter() throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(FSDirectory.open(Path.of(properties.getIndexPath())), config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * 丢弃未提交的变更并重新打开索引（调用方需持有写锁）
+     */
+    private void reopenQuietly() {
+        SearcherManager previousManager = searcherManager;
+        try {
+            writer.rollback();
+            openWriter();
+            previousManager.close();
+        } catch (IOException e) {
+            log.error("重新打开文章全文索引失败，搜索将降级为数据库查询", e);
+            writer = null;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            IOUtils.rm(path);
+        } catch (IOException e) {
+            log.warn("删除文章全文索引临时目录失败: path={}", path, e);
+        }
+    }
+
+    private void releaseQuietly(SearcherManager manager, IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            manager.release(searcher);
+        } catch (IOException e) {
+            log.warn("释放文章索引搜索器失败", e);
+        }
+    }
+
+    private double documentCount() {
+        IndexWriter current = writer;
+        return current == null ? 0 : current.getDocStats().numDocs;
+    }
+}
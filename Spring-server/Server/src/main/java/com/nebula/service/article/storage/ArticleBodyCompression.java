@@ -0,0 +1,231 @@
+package com.nebula.service.article.storage;
+
+import com.nebula.handler.CompressedTextTypeHandler;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.properties.ArticleStorageProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 文章正文压缩存储
+ * <p>
+ * 启动时检查 blog_article.content、html_content 的字段类型，配置开启且均为二进制类型时打开
+ * 已注册到 MyBatis 的 {@link CompressedTextTypeHandler} 实例的写入压缩；读取始终兼容压缩与未压缩两种格式，关闭配置后旧数据仍可读取。
+ * 存量文章由管理端触发在线迁移：按 ID 分批加行锁读取原始字节，未压缩的正文重新写入（不修改更新时间），
+ * 每批一个短事务，批次之间暂停，迁移期间文章读写不受影响
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/30
+ */
+@Slf4j
+@Component
+public class ArticleBodyCompression {
+
+    /**
+     * 可保存压缩数据的字段类型
+     */
+    private static final Set<String> BINARY_TYPES = Set.of("blob", "mediumblob", "longblob");
+
+    /**
+     * 字段类型不满足时提示执行的 DDL
+     */
+    private static final String MIGRATION_DDL = "ALTER TABLE blog_article "
+            + "MODIFY content LONGBLOB NOT NULL COMMENT '文章内容(Markdown，可压缩存储)', "
+            + "MODIFY html_content LONGBLOB NULL COMMENT 'HTML内容(可压缩存储)'";
+
+    /**
+     * 单批迁移结果
+     */
+    private record ChunkResult(long lastId, int scanned, int converted) {
+    }
+
+    private final ArticleStorageProperties properties;
+    private final CompressedTextTypeHandler typeHandler;
+    private final BlogArticleMapper articleMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final AtomicBoolean migrating = new AtomicBoolean(false);
+
+    /**
+     * 构造文章正文压缩存储
+     *
+     * @param properties          正文存储配置
+     * @param typeHandler         正文压缩类型处理器
+     * @param articleMapper       文章Mapper
+     * @param transactionTemplate 事务模板
+     */
+    public ArticleBodyCompression(ArticleStorageProperties properties,
+                                  CompressedTextTypeHandler typeHandler,
+                                  BlogArticleMapper articleMapper,
+                                  TransactionTemplate transactionTemplate) {
+        this.properties = properties;
+        this.typeHandler = typeHandler;
+        this.articleMapper = articleMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("article-compress-", 0).daemon(true).factory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 按配置与字段类型设置写入压缩
+     */
+    @PostConstruct
+    public void init() {
+        if (!properties.isCompressBody()) {
+            typeHandler.setCompressionEnabled(false);
+            return;
+        }
+        List<Map<String, Object>> columns;
+        try {
+            columns = articleMapper.selectBodyColumnTypes();
+        } catch (Exception e) {
+            log.error("检查文章正文字段类型失败，正文压缩存储保持关闭", e);
+            typeHandler.setCompressionEnabled(false);
+            return;
+        }
+        boolean binary = columns.size() == BlogArticleMapper.BODY_COLUMNS.size()
+                && columns.stream().allMatch(column -> BINARY_TYPES.contains(String.valueOf(column.get("data_type"))));
+        if (!binary) {
+            log.error("文章正文字段不是二进制类型，正文压缩存储保持关闭: columns={}，请先执行: {}", columns, MIGRATION_DDL);
+            typeHandler.setCompressionEnabled(false);
+            return;
+        }
+        typeHandler.setCompressionEnabled(true);
+        log.info("文章正文压缩存储已启用: minBytes={}", typeHandler.getMinBytes());
+    }
+
+    /**
+     * 应用关闭时停止迁移线程（未完成的迁移可重新触发，已迁移的文章会被跳过）
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 写入时是否压缩
+     *
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return typeHandler.isCompressionEnabled();
+    }
+
+    /**
+     * 异步压缩存量文章正文
+     *
+     * @return 是否已开始（已有迁移进行中时返回 false）
+     */
+    public boolean migrateAsync() {
+        if (!migrating.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                migrate();
+            } catch (Exception e) {
+                log.error("存量文章正文压缩迁移失败", e);
+            } finally {
+                migrating.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 按 ID 分批迁移全部文章（含已逻辑删除的文章）
+     */
+    private void migrate() {
+        long startTime = System.currentTimeMillis();
+        long pauseMillis = properties.getMigrationPause().toMillis();
+        int batchSize = Math.max(1, properties.getMigrationBatchSize());
+        long lastId = 0;
+        int scanned = 0;
+        int converted = 0;
+        while (true) {
+            long fromId = lastId;
+            ChunkResult result = transactionTemplate.execute(status -> migrateChunk(fromId, batchSize));
+            if (result == null || result.scanned() == 0) {
+                break;
+            }
+            lastId = result.lastId();
+            scanned += result.scanned();
+            converted += result.converted();
+            log.debug("存量文章正文压缩迁移进度: lastId={}, scanned={}, converted={}", lastId, scanned, converted);
+            if (result.scanned() < batchSize) {
+                break;
+            }
+            if (pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("存量文章正文压缩迁移被中断: lastId={}", lastId);
+                    return;
+                }
+            }
+        }
+        log.info("存量文章正文压缩迁移完成: scanned={}, converted={}, 耗时={}ms",
+                scanned, converted, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 迁移一批文章：读取原始字节，存在未压缩且达到阈值的正文时整行重写
+     */
+    private ChunkResult migrateChunk(long lastId, int batchSize) {
+        List<Map<String, Object>> rows = articleMapper.selectRawBodiesForUpdate(lastId, batchSize);
+        long maxId = lastId;
+        int converted = 0;
+        for (Map<String, Object> row : rows) {
+            long id = ((Number) row.get("id")).longValue();
+            maxId = Math.max(maxId, id);
+            byte[] content = toBytes(row.get("content"));
+            byte[] htmlContent = toBytes(row.get("html_content"));
+            if (!needsRewrite(content) && !needsRewrite(htmlContent)) {
+                continue;
+            }
+            try {
+                articleMapper.rewriteBody(id, CompressedTextTypeHandler.decode(content),
+                        CompressedTextTypeHandler.decode(htmlContent));
+                converted++;
+            } catch (SQLException e) {
+                log.warn("文章正文数据无法解码，跳过压缩: articleId={}", id, e);
+            }
+        }
+        return new ChunkResult(maxId, rows.size(), converted);
+    }
+
+    private boolean needsRewrite(byte[] data) {
+        return data != null && !CompressedTextTypeHandler.isCompressed(data)
+                && data.length >= properties.getCompressMinSize().toBytes();
+    }
+
+    private static byte[] toBytes(Object value) {
+        if (value instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        return (byte[]) value;
+    }
+}
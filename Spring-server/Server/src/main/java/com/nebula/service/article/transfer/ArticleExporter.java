@@ -0,0 +1,235 @@
+package com.nebula.service.article.transfer;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.BlogComment;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.enumeration.TopStatusEnum;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.BlogCommentMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.service.common.reference.ReferenceDataCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 文章与评论导出
+ * <p>
+ * 按主键键集分块读取，逐块写入直接输出到响应流的 zip，内存占用只与单块大小有关：
+ * <ul>
+ *     <li>{@code articles/{id}.md}：带 front-matter 的 Markdown，格式与 {@link MarkdownFrontMatter} 一致，可直接重新导入</li>
+ *     <li>{@code comments.jsonl}：每行一条评论的 JSON</li>
+ * </ul>
+ * 各分块分别查询，不保证导出期间的跨块一致性
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/25
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleExporter {
+
+    /**
+     * 文章分块大小（正文为 LONGTEXT，分块不宜过大）
+     */
+    private static final int ARTICLE_BATCH_SIZE = 100;
+
+    /**
+     * 评论分块大小
+     */
+    private static final int COMMENT_BATCH_SIZE = 1000;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 导出的评论行
+     *
+     * @param id          评论ID
+     * @param articleId   文章ID
+     * @param rootId      根评论ID
+     * @param parentId    父评论ID
+     * @param userId      评论用户ID
+     * @param replyUserId 被回复用户ID
+     * @param content     评论内容
+     * @param likeCount   点赞数
+     * @param auditStatus 审核状态
+     * @param createTime  创建时间
+     */
+    private record CommentLine(Long id, Long articleId, Long rootId, Long parentId, Long userId, Long replyUserId,
+                               String content, Integer likeCount, Integer auditStatus, String createTime) {
+    }
+
+    private final BlogArticleMapper articleMapper;
+    private final BlogCommentMapper commentMapper;
+    private final RelevancyArticleTagMapper articleTagMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * 导出全部文章与评论为 zip
+     *
+     * @param output 输出流（不会被关闭）
+     * @throws IOException 写出失败（通常是客户端断开）
+     */
+    public void exportArchive(OutputStream output) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output, StandardCharsets.UTF_8);
+        int articles = exportArticles(zip);
+        int comments = exportComments(zip);
+        zip.finish();
+        zip.flush();
+        log.info("文章导出完成: articles={}, comments={}", articles, comments);
+    }
+
+    private int exportArticles(ZipOutputStream zip) throws IOException {
+        Map<Long, ReferenceDataCache.CategoryRef> categories = referenceDataCache.getCategorySnapshot().items();
+        Map<Long, ReferenceDataCache.TagRef> tags = referenceDataCache.getTagSnapshot().items();
+        long lastId = 0L;
+        int exported = 0;
+        while (true) {
+            List<BlogArticle> articles = articleMapper.selectPage(new Page<>(1, ARTICLE_BATCH_SIZE, false),
+                    new LambdaQueryWrapper<BlogArticle>()
+                            .select(BlogArticle::getId,
+                                    BlogArticle::getCategoryId,
+                                    BlogArticle::getTitle,
+                                    BlogArticle::getSummary,
+                                    BlogArticle::getCoverImage,
+                                    BlogArticle::getContent,
+                                    BlogArticle::getIsDraft,
+                                    BlogArticle::getIsTop,
+                                    BlogArticle::getCreateTime)
+                            .gt(BlogArticle::getId, lastId)
+                            .orderByAsc(BlogArticle::getId)).getRecords();
+            if (articles.isEmpty()) {
+                break;
+            }
+            Map<Long, List<String>> articleTags = loadTagNames(articles, tags);
+
+            for (BlogArticle article : articles) {
+                ReferenceDataCache.CategoryRef category = categories.get(article.getCategoryId());
+                zip.putNextEntry(new ZipEntry("articles/" + article.getId() + ".md"));
+                zip.write(toMarkdown(article, category == null ? null : category.categoryName(),
+                        articleTags.getOrDefault(article.getId(), List.of())).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+
+            exported += articles.size();
+            lastId = articles.get(articles.size() - 1).getId();
+        }
+        return exported;
+    }
+
+    private int exportComments(ZipOutputStream zip) throws IOException {
+        zip.putNextEntry(new ZipEntry("comments.jsonl"));
+        long lastId = 0L;
+        int exported = 0;
+        while (true) {
+            List<BlogComment> comments = commentMapper.selectPage(new Page<>(1, COMMENT_BATCH_SIZE, false),
+                    new LambdaQueryWrapper<BlogComment>()
+                            .gt(BlogComment::getId, lastId)
+                            .orderByAsc(BlogComment::getId)).getRecords();
+            if (comments.isEmpty()) {
+                break;
+            }
+            for (BlogComment comment : comments) {
+                zip.write(jsonMapper.writeValueAsBytes(new CommentLine(comment.getId(), comment.getArticleId(),
+                        comment.getRootId(), comment.getParentId(), comment.getUserId(), comment.getReplyUserId(),
+                        comment.getContent(), comment.getLikeCount(), comment.getAuditStatus(),
+                        format(comment.getCreateTime()))));
+                zip.write('\n');
+            }
+            exported += comments.size();
+            lastId = comments.get(comments.size() - 1).getId();
+        }
+        zip.closeEntry();
+        return exported;
+    }
+
+    /**
+     * 查询一个分块内文章的标签名称
+     */
+    private Map<Long, List<String>> loadTagNames(List<BlogArticle> articles, Map<Long, ReferenceDataCache.TagRef> tags) {
+        List<Long> articleIds = articles.stream().map(BlogArticle::getId).toList();
+        Map<Long, List<String>> result = new HashMap<>();
+        for (RelevancyArticleTag relation : articleTagMapper.selectList(new LambdaQueryWrapper<RelevancyArticleTag>()
+                .in(RelevancyArticleTag::getArticleId, articleIds)
+                .orderByAsc(RelevancyArticleTag::getId))) {
+            ReferenceDataCache.TagRef tag = tags.get(relation.getTagId());
+            if (tag != null) {
+                result.computeIfAbsent(relation.getArticleId(), k -> new ArrayList<>()).add(tag.tagName());
+            }
+        }
+        return result;
+    }
+
+    static String toMarkdown(BlogArticle article, String categoryName, List<String> tagNames) {
+        StringBuilder builder = new StringBuilder("---\n");
+        appendValue(builder, "title", article.getTitle());
+        appendValue(builder, "summary", article.getSummary());
+        appendValue(builder, "category", categoryName);
+        if (!tagNames.isEmpty()) {
+            builder.append("tags:\n");
+            tagNames.forEach(tagName -> builder.append("  - ").append(quote(tagName)).append('\n'));
+        }
+        appendValue(builder, "date", format(article.getCreateTime()));
+        builder.append("top: ").append(TopStatusEnum.isTop(article.getIsTop())).append('\n');
+        builder.append("draft: ").append(DraftStatusEnum.isDraft(article.getIsDraft())).append('\n');
+        appendValue(builder, "cover", article.getCoverImage());
+        builder.append("---\n\n");
+        if (article.getContent() != null) {
+            builder.append(article.getContent()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static void appendValue(StringBuilder builder, String key, String value) {
+        if (value != null && !value.isBlank()) {
+            builder.append(key).append(": ").append(quote(value)).append('\n');
+        }
+    }
+
+    /**
+     * 输出为 YAML 双引号字符串：转义反斜杠、双引号与控制字符，保证 front-matter 每个值占一行
+     */
+    static String quote(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> builder.append("\\\\");
+                case '"' -> builder.append("\\\"");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20 || c == 0x7F) {
+                        builder.append(String.format("\\x%02X", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static String format(LocalDateTime time) {
+        return time == null ? null : time.format(DATE_FORMAT);
+    }
+}
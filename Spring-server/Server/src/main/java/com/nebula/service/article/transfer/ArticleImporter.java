@@ -0,0 +1,439 @@
+package com.nebula.service.article.transfer;
+
+import com.nebula.constant.ArticleConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.BlogCategory;
+import com.nebula.entity.BlogTag;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.enumeration.TopStatusEnum;
+import com.nebula.exception.BusinessException;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.BlogCategoryMapper;
+import com.nebula.mapper.BlogTagMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticleImportProperties;
+import com.nebula.service.article.helper.MarkdownHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
+import com.nebula.service.common.reference.ReferenceDataCache;
+import com.nebula.vo.admin.ArticleImportItemVO;
+import com.nebula.vo.admin.ArticleImportResultVO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveException;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 文章批量导入
+ * <p>
+ * 流式读取 zip / tar（可 gzip 压缩）归档中的 Markdown 文件，不在内存或磁盘中保留整个归档：
+ * <ul>
+ *     <li>逐条读取归档条目并解析 front-matter（标题、摘要、分类、标签、日期等）</li>
+ *     <li>Markdown 渲染提交到专用 ForkJoinPool 并行执行，读取下一条目时渲染同时进行</li>
+ *     <li>按批次（文章数或内容大小）以单条多行 INSERT 写入文章与标签关联，每批一个短事务</li>
+ * </ul>
+ * 导入内容不经过发布流水线：正文引用的是外部已有地址，没有需要转正的临时素材。
+ * 单个文件的解析、渲染或写入失败只影响该文件（写入失败时影响所在批次），结果逐文件返回
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/24
+ */
+@Slf4j
+@Component
+public class ArticleImporter {
+
+    /**
+     * 标题、摘要字段最大长度（与表字段一致）
+     */
+    private static final int MAX_TITLE_LENGTH = 200;
+    private static final int MAX_SUMMARY_LENGTH = 500;
+
+    /**
+     * 已解析、渲染中的文件
+     */
+    private record PendingEntry(String fileName, MarkdownFrontMatter article, CompletableFuture<String> html) {
+    }
+
+    private final ArticleImportProperties properties;
+    private final BlogArticleMapper articleMapper;
+    private final BlogCategoryMapper categoryMapper;
+    private final BlogTagMapper tagMapper;
+    private final RelevancyArticleTagMapper articleTagMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final MarkdownHelper markdownHelper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ForkJoinPool renderPool;
+
+    /**
+     * 构造文章批量导入
+     *
+     * @param properties          导入配置
+     * @param articleMapper       文章Mapper
+     * @param categoryMapper      分类Mapper
+     * @param tagMapper           标签Mapper
+     * @param articleTagMapper    文章标签关联Mapper
+     * @param referenceDataCache  分类、标签名称快照
+     * @param markdownHelper      Markdown 渲染
+     * @param transactionTemplate 事务模板
+     * @param eventPublisher      事件发布器
+     */
+    public ArticleImporter(ArticleImportProperties properties,
+                           BlogArticleMapper articleMapper,
+                           BlogCategoryMapper categoryMapper,
+                           BlogTagMapper tagMapper,
+                           RelevancyArticleTagMapper articleTagMapper,
+                           ReferenceDataCache referenceDataCache,
+                           MarkdownHelper markdownHelper,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.articleMapper = articleMapper;
+        this.categoryMapper = categoryMapper;
+        this.tagMapper = tagMapper;
+        this.articleTagMapper = articleTagMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.markdownHelper = markdownHelper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.renderPool = new ForkJoinPool(properties.getParallelism() > 0
+                ? properties.getParallelism() : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 应用关闭时停止渲染线程池
+     */
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    /**
+     * 从归档流导入文章
+     *
+     * @param input    归档输入流（zip、tar 或 tar.gz）
+     * @param authorId 作者ID
+     * @return 导入结果
+     */
+    public ArticleImportResultVO importArchive(InputStream input, Long authorId) {
+        ArticleImportResultVO result = new ArticleImportResultVO();
+        Map<String, Long> categoryIds = new HashMap<>();
+        referenceDataCache.getCategorySnapshot().items().values()
+                .forEach(category -> categoryIds.putIfAbsent(normalize(category.categoryName()), category.id()));
+        Map<String, Long> tagIds = new HashMap<>();
+        referenceDataCache.getTagSnapshot().items().values()
+                .forEach(tag -> tagIds.putIfAbsent(normalize(tag.tagName()), tag.id()));
+
+        List<PendingEntry> batch = new ArrayList<>();
+        long batchBytes = 0;
+        int entries = 0;
+        try (ArchiveInputStream<? extends ArchiveEntry> archive = openArchive(input)) {
+            ArchiveEntry entry;
+            while ((entry = archive.getNextEntry()) != null) {
+                String fileName = entry.getName();
+                if (entry.isDirectory() || !isMarkdown(fileName)) {
+                    continue;
+                }
+                if (++entries > properties.getMaxEntries()) {
+                    result.setError(ArticleConstants.ERROR_IMPORT_TOO_MANY_ENTRIES);
+                    break;
+                }
+                if (!archive.canReadEntryData(entry)) {
+                    addFailure(result, fileName, "不支持的条目压缩方式");
+                    continue;
+                }
+
+                MarkdownFrontMatter article;
+                try {
+                    article = MarkdownFrontMatter.parse(fileName, readEntry(archive));
+                    validate(article);
+                } catch (IllegalArgumentException e) {
+                    addFailure(result, fileName, e.getMessage());
+                    continue;
+                }
+
+                batch.add(new PendingEntry(fileName, article,
+                        CompletableFuture.supplyAsync(() -> markdownHelper.toHtml(article.content()), renderPool)));
+                batchBytes += article.content().length();
+                if (batch.size() >= properties.getBatchSize() || batchBytes >= properties.getBatchBytes().toBytes()) {
+                    flush(batch, authorId, categoryIds, tagIds, result);
+                    batch.clear();
+                    batchBytes = 0;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("读取导入归档中断", e);
+            result.setError(ArticleConstants.ERROR_IMPORT_ARCHIVE_INTERRUPTED + ": " + e.getMessage());
+        }
+        flush(batch, authorId, categoryIds, tagIds, result);
+
+        log.info("文章批量导入完成: total={}, succeeded={}, failed={}",
+                result.getTotal(), result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * 识别压缩与归档格式并打开归档流
+     */
+    private ArchiveInputStream<? extends ArchiveEntry> openArchive(InputStream input) {
+        InputStream stream = new BufferedInputStream(input);
+        try {
+            String compressor = CompressorStreamFactory.detect(stream);
+            if (!CompressorStreamFactory.GZIP.equals(compressor)) {
+                throw new BusinessException(ArticleConstants.ERROR_IMPORT_ARCHIVE_UNSUPPORTED);
+            }
+            stream = new BufferedInputStream(new CompressorStreamFactory().createCompressorInputStream(compressor, stream));
+        } catch (CompressorException e) {
+            // 未压缩
+        }
+        try {
+            String format = ArchiveStreamFactory.detect(stream);
+            if (!ArchiveStreamFactory.ZIP.equals(format) && !ArchiveStreamFactory.TAR.equals(format)) {
+                throw new BusinessException(ArticleConstants.ERROR_IMPORT_ARCHIVE_UNSUPPORTED);
+            }
+            return ArchiveStreamFactory.DEFAULT.createArchiveInputStream(format, stream);
+        } catch (ArchiveException e) {
+            throw new BusinessException(ArticleConstants.ERROR_IMPORT_ARCHIVE_UNSUPPORTED);
+        }
+    }
+
+    /**
+     * 读取当前条目（超过大小上限或非 UTF-8 编码时失败）
+     */
+    private String readEntry(InputStream archive) throws IOException {
+        long limit = properties.getMaxEntrySize().toBytes();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = archive.read(chunk)) != -1) {
+            if (buffer.size() + read > limit) {
+                throw new IllegalArgumentException("文件超过大小上限");
+            }
+            buffer.write(chunk, 0, read);
+        }
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(buffer.toByteArray()))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            throw new IllegalArgumentException("文件不是 UTF-8 编码");
+        }
+    }
+
+    private void validate(MarkdownFrontMatter article) {
+        if (article.title().length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("标题超过" + MAX_TITLE_LENGTH + "个字符");
+        }
+        if (article.summary() != null && article.summary().length() > MAX_SUMMARY_LENGTH) {
+            throw new IllegalArgumentException("摘要超过" + MAX_SUMMARY_LENGTH + "个字符");
+        }
+    }
+
+    /**
+     * 等待本批渲染完成，解析分类、标签后在一个事务中批量写入
+     * <p>
+     * 需要自动创建的分类、标签与文章在同一事务中写入，批次失败时一并回滚；
+     * 每批只发布一个文章变更事件与至多一个分类、一个标签变更事件，均在事务提交后处理
+     */
+    private void flush(List<PendingEntry> batch, Long authorId,
+                       Map<String, Long> categoryIds, Map<String, Long> tagIds,
+                       ArticleImportResultVO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<PendingEntry> ready = new ArrayList<>(batch.size());
+        List<BlogArticle> articles = new ArrayList<>(batch.size());
+        List<String> articleCategoryNames = new ArrayList<>(batch.size());
+        List<List<String>> articleTagNames = new ArrayList<>(batch.size());
+        Map<String, String> missingCategories = new LinkedHashMap<>();
+        Map<String, String> missingTags = new LinkedHashMap<>();
+        for (PendingEntry pending : batch) {
+            try {
+                MarkdownFrontMatter source = pending.article();
+                BlogArticle article = new BlogArticle();
+                article.setAuthorId(authorId);
+                article.setTitle(source.title());
+                article.setSummary(source.summary());
+                article.setCoverImage(source.coverImage());
+                article.setContent(source.content());
+                article.setIsDraft(source.draft() ? DraftStatusEnum.DRAFT.getCode() : DraftStatusEnum.PUBLISHED.getCode());
+                article.setIsTop(source.top() ? TopStatusEnum.TOP.getCode() : TopStatusEnum.NORMAL.getCode());
+                LocalDateTime createTime = source.date() != null ? source.date() : LocalDateTime.now();
+                article.setCreateTime(createTime);
+                article.setUpdateTime(createTime);
+
+                Map<String, String> newCategories = new LinkedHashMap<>();
+                String categoryName = source.category() == null ? null
+                        : resolveName(source.category(), categoryIds, newCategories, ArticleConstants.ERROR_CATEGORY_NOT_FOUND);
+                Map<String, String> newTags = new LinkedHashMap<>();
+                List<String> tagNames = new ArrayList<>(source.tags().size());
+                for (String tagName : source.tags()) {
+                    String name = resolveName(tagName, tagIds, newTags, ArticleConstants.ERROR_TAG_NOT_FOUND);
+                    if (!tagNames.contains(name)) {
+                        tagNames.add(name);
+                    }
+                }
+
+                article.setHtmlContent(pending.html().join());
+                newCategories.forEach(missingCategories::putIfAbsent);
+                newTags.forEach(missingTags::putIfAbsent);
+                ready.add(pending);
+                articles.add(article);
+                articleCategoryNames.add(categoryName);
+                articleTagNames.add(tagNames);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                addFailure(result, pending.fileName(), "渲染失败: " + cause.getMessage());
+            } catch (IllegalArgumentException | BusinessException e) {
+                addFailure(result, pending.fileName(), e.getMessage());
+            }
+        }
+        if (articles.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> createdCategoryIds = new HashMap<>();
+        Map<String, Long> createdTagIds = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                missingCategories.forEach((key, name) -> {
+                    BlogCategory category = new BlogCategory();
+                    category.setCategoryName(name);
+                    categoryMapper.insert(category);
+                    createdCategoryIds.put(key, category.getId());
+                });
+                missingTags.forEach((key, name) -> {
+                    BlogTag tag = new BlogTag();
+                    tag.setTagName(name);
+                    tagMapper.insert(tag);
+                    createdTagIds.put(key, tag.getId());
+                });
+
+                for (int i = 0; i < articles.size(); i++) {
+                    String categoryName = articleCategoryNames.get(i);
+                    if (categoryName != null) {
+                        articles.get(i).setCategoryId(lookup(categoryName, categoryIds, createdCategoryIds));
+                    }
+                }
+                articleMapper.batchInsert(articles);
+
+                List<RelevancyArticleTag> relations = new ArrayList<>();
+                for (int i = 0; i < articles.size(); i++) {
+                    for (String tagName : articleTagNames.get(i)) {
+                        RelevancyArticleTag relation = new RelevancyArticleTag();
+                        relation.setArticleId(articles.get(i).getId());
+                        relation.setTagId(lookup(tagName, tagIds, createdTagIds));
+                        relations.add(relation);
+                    }
+                }
+                if (!relations.isEmpty()) {
+                    articleTagMapper.batchInsert(relations);
+                }
+
+                // 新建的分类、标签尚无其他文章引用，本批文章由文章变更事件处理
+                publishReferenceChange(ReferenceDataChangedEvent.ReferenceType.CATEGORY, createdCategoryIds);
+                publishReferenceChange(ReferenceDataChangedEvent.ReferenceType.TAG, createdTagIds);
+                eventPublisher.publishEvent(new ArticleChangedEvent(
+                        articles.stream().map(BlogArticle::getId).toList(), ArticleChangedEvent.ChangeType.PUBLISHED));
+            });
+        } catch (Exception e) {
+            log.warn("文章导入批次写入失败: size={}", articles.size(), e);
+            for (PendingEntry pending : ready) {
+                addFailure(result, pending.fileName(), "写入失败: " + e.getMessage());
+            }
+            return;
+        }
+        categoryIds.putAll(createdCategoryIds);
+        tagIds.putAll(createdTagIds);
+
+        for (int i = 0; i < ready.size(); i++) {
+            result.getItems().add(new ArticleImportItemVO(ready.get(i).fileName(), true, articles.get(i).getId(), null));
+            result.setTotal(result.getTotal() + 1);
+            result.setSucceeded(result.getSucceeded() + 1);
+        }
+    }
+
+    /**
+     * 按名称解析分类或标签（忽略大小写）：已存在时返回规范化名称，不存在时按配置记入待创建列表
+     *
+     * @param name     名称
+     * @param existing 已存在的 规范化名称 → ID
+     * @param missing  待创建的 规范化名称 → 名称
+     * @param notFound 不允许创建时的错误信息
+     * @return 规范化名称
+     */
+    private String resolveName(String name, Map<String, Long> existing, Map<String, String> missing, String notFound) {
+        String key = normalize(name);
+        if (existing.containsKey(key)) {
+            return key;
+        }
+        if (!properties.isCreateMissingReferences()) {
+            throw new IllegalArgumentException(notFound + ": " + name);
+        }
+        missing.putIfAbsent(key, name.strip());
+        return key;
+    }
+
+    private static Long lookup(String key, Map<String, Long> existing, Map<String, Long> created) {
+        Long id = existing.get(key);
+        return id != null ? id : created.get(key);
+    }
+
+    /**
+     * 本批新建了分类或标签时发布一个变更事件（新建多个时不指定ID，受影响文章为空）
+     */
+    private void publishReferenceChange(ReferenceDataChangedEvent.ReferenceType type, Map<String, Long> createdIds) {
+        if (createdIds.isEmpty()) {
+            return;
+        }
+        Long referenceId = createdIds.size() == 1 ? createdIds.values().iterator().next() : null;
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(type, referenceId, List.of()));
+    }
+
+    private void addFailure(ArticleImportResultVO result, String fileName, String message) {
+        result.getItems().add(new ArticleImportItemVO(fileName, false, null, message));
+        result.setTotal(result.getTotal() + 1);
+        result.setFailed(result.getFailed() + 1);
+    }
+
+    private static boolean isMarkdown(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        String baseName = lower.substring(lower.lastIndexOf('/') + 1);
+        // 跳过 macOS 资源分支等隐藏文件
+        return !baseName.startsWith(".") && (lower.endsWith(".md") || lower.endsWith(".markdown"));
+    }
+
+    private static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+}
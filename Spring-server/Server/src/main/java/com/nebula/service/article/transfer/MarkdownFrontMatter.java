@@ -0,0 +1,319 @@
+package com.nebula.service.article.transfer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Markdown front-matter 解析结果
+ * <p>
+ * 支持文件开头以 {@code ---} 包围的简单 YAML 键值：
+ * <pre>
+ * ---
+ * title: 文章标题
+ * summary: 摘要
+ * category: 分类名称
+ * tags: [标签1, "标签, 2"] # 或逐行 "- 标签"
+ * date: 2024-05-01 10:00
+ * top: false
+ * draft: false
+ * cover: https://...
+ * ---
+ * </pre>
+ * 未声明标题时依次使用正文第一个一级标题、文件名
+ *
+ * @param title      标题
+ * @param summary    摘要
+ * @param category   分类名称
+ * @param tags       标签名称
+ * @param date       创建时间
+ * @param top        是否置顶
+ * @param draft      是否草稿
+ * @param coverImage 封面图
+ * @param content    正文（不含 front-matter）
+ * @author Nebula-Hash
+ * @date 2026/3/24
+ */
+public record MarkdownFrontMatter(String title,
+                                  String summary,
+                                  String category,
+                                  List<String> tags,
+                                  LocalDateTime date,
+                                  boolean top,
+                                  boolean draft,
+                                  String coverImage,
+                                  String content) {
+
+    private static final String DELIMITER = "---";
+
+    private static final List<DateTimeFormatter> DATE_TIME_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME
+    );
+
+    /**
+     * 解析 Markdown 文件
+     *
+     * @param fileName 归档内文件路径（用于标题兜底）
+     * @param text     文件内容
+     * @return 解析结果
+     * @throws IllegalArgumentException front-matter 未闭合、日期格式无法识别或正文为空
+     */
+    public static MarkdownFrontMatter parse(String fileName, String text) {
+        if (!text.isEmpty() && text.charAt(0) == '\uFEFF') {
+            text = text.substring(1);
+        }
+        String normalized = text.replace("\r\n", "\n");
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        String content = normalized;
+        if (normalized.startsWith(DELIMITER + "\n")) {
+            int end = normalized.indexOf("\n" + DELIMITER, DELIMITER.length());
+            if (end < 0) {
+                throw new IllegalArgumentException("front-matter 未闭合");
+            }
+            parseValues(normalized.substring(DELIMITER.length() + 1, end + 1), values);
+            int contentStart = normalized.indexOf('\n', end + 1 + DELIMITER.length());
+            content = contentStart < 0 ? "" : normalized.substring(contentStart + 1);
+        }
+        content = content.strip();
+        if (content.isEmpty()) {
+            throw new IllegalArgumentException("正文为空");
+        }
+
+        String title = stringValue(values.get("title"));
+        if (title == null) {
+            title = firstHeading(content);
+        }
+        if (title == null) {
+            title = baseName(fileName);
+        }
+
+        return new MarkdownFrontMatter(
+                title,
+                stringValue(values.get("summary")),
+                stringValue(values.get("category")),
+                listValue(values.get("tags")),
+                dateValue(values.get("date")),
+                Boolean.parseBoolean(stringValue(values.get("top"))),
+                Boolean.parseBoolean(stringValue(values.get("draft"))),
+                stringValue(values.get("cover")),
+                content
+        );
+    }
+
+    /**
+     * 解析键值行，支持行内列表与逐行列表
+     */
+    private static void parseValues(String block, Map<String, Object> values) {
+        String listKey = null;
+        for (String line : block.split("\n")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            if (trimmed.startsWith("- ") && listKey != null) {
+                @SuppressWarnings("unchecked")
+                List<String> list = (List<String>) values.computeIfAbsent(listKey, k -> new ArrayList<String>());
+                list.add(unquote(trimmed.substring(2).strip()));
+                continue;
+            }
+            int colon = trimmed.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String key = trimmed.substring(0, colon).strip().toLowerCase(Locale.ROOT);
+            String value = trimmed.substring(colon + 1).strip();
+            listKey = null;
+            if (value.isEmpty()) {
+                listKey = key;
+            } else if (value.startsWith("[") && value.endsWith("]")) {
+                List<String> list = new ArrayList<>();
+                for (String item : splitInlineList(value.substring(1, value.length() - 1))) {
+                    String unquoted = unquote(item.strip());
+                    if (!unquoted.isEmpty()) {
+                        list.add(unquoted);
+                    }
+                }
+                values.put(key, list);
+            } else {
+                values.put(key, unquote(value));
+            }
+        }
+    }
+
+    /**
+     * 按逗号拆分行内列表，引号内的逗号不拆分（双引号内跳过转义字符，单引号内 '' 视为一个单引号）
+     */
+    private static List<String> splitInlineList(String text) {
+        List<String> items = new ArrayList<>();
+        int start = 0;
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote == '"') {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    quote = 0;
+                }
+            } else if (quote == '\'') {
+                if (c == '\'') {
+                    // 连续两个单引号是转义，仍在引号内
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '\'') {
+                        i++;
+                    } else {
+                        quote = 0;
+                    }
+                }
+            } else if ((c == '"' || c == '\'') && text.substring(start, i).isBlank()) {
+                // 只有位于元素开头的引号才开始引用
+                quote = c;
+            } else if (c == ',') {
+                items.add(text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        items.add(text.substring(start));
+        return items;
+    }
+
+    /**
+     * 去除引号：双引号按 YAML 规则处理转义，单引号中 '' 表示一个单引号
+     */
+    private static String unquote(String value) {
+        if (value.length() < 2) {
+            return value;
+        }
+        if (value.startsWith("'") && value.endsWith("'")) {
+            return value.substring(1, value.length() - 1).replace("''", "'");
+        }
+        if (value.startsWith("\"") && value.endsWith("\"")) {
+            return unescape(value.substring(1, value.length() - 1));
+        }
+        return value;
+    }
+
+    /**
+     * 处理 YAML 双引号字符串的转义序列（无法识别的转义原样保留）
+     */
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\\' || i + 1 >= text.length()) {
+                builder.append(c);
+                continue;
+            }
+            char next = text.charAt(++i);
+            int hexLength = switch (next) {
+                case 'x' -> 2;
+                case 'u' -> 4;
+                case 'U' -> 8;
+                default -> 0;
+            };
+            if (hexLength > 0) {
+                int end = i + 1 + hexLength;
+                Integer codePoint = end <= text.length() ? parseHex(text.substring(i + 1, end)) : null;
+                if (codePoint != null && Character.isValidCodePoint(codePoint)) {
+                    builder.appendCodePoint(codePoint);
+                    i = end - 1;
+                } else {
+                    builder.append('\\').append(next);
+                }
+                continue;
+            }
+            switch (next) {
+                case '\\', '"', '/' -> builder.append(next);
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case '0' -> builder.append('\0');
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case ' ' -> builder.append(' ');
+                default -> builder.append('\\').append(next);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static Integer parseHex(String hex) {
+        try {
+            return Integer.parseUnsignedInt(hex, 16);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String stringValue(Object value) {
+        if (value instanceof String text && !text.isBlank()) {
+            return text.strip();
+        }
+        return null;
+    }
+
+    private static List<String> listValue(Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream().map(String::valueOf).map(String::strip).filter(s -> !s.isEmpty()).distinct().toList();
+        }
+        String text = stringValue(value);
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.split(",")).map(String::strip).filter(s -> !s.isEmpty()).distinct().toList();
+    }
+
+    private static LocalDateTime dateValue(Object value) {
+        String text = stringValue(value);
+        if (text == null) {
+            return null;
+        }
+        for (DateTimeFormatter format : DATE_TIME_FORMATS) {
+            try {
+                return LocalDateTime.parse(text, format);
+            } catch (DateTimeParseException ignored) {
+                // 尝试下一种格式
+            }
+        }
+        try {
+            return OffsetDateTime.parse(text).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException ignored) {
+            // 尝试纯日期
+        }
+        try {
+            return LocalDate.parse(text).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("无法识别的日期: " + text);
+        }
+    }
+
+    private static String firstHeading(String content) {
+        for (String line : content.split("\n")) {
+            if (line.startsWith("# ")) {
+                String heading = line.substring(2).strip();
+                return heading.isEmpty() ? null : heading;
+            }
+        }
+        return null;
+    }
+
+    private static String baseName(String fileName) {
+        String name = fileName.substring(fileName.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
@@ -8,9 +8,12 @@ import com.nebula.entity.SysUser;
 import com.nebula.enumeration.StatusEnum;
 import com.nebula.mapper.SysUserMapper;
 import com.nebula.service.authority.SysUserService;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
 import com.nebula.utils.PasswordUtils;
 import com.nebula.vo.admin.UserAdminVO;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,8 +25,11 @@ import java.util.List;
  * @date 2026/1/22
  */
 @Service
+@RequiredArgsConstructor
 public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> implements SysUserService {
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     public Page<UserAdminVO> pageUsersByRole(Long current, Long size, String roleKey) {
         Page<SysUser> page = new Page<>(current, size);
@@ -107,12 +113,23 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         // 处理可选唯一字段
         normalizeOptionalFields(user);
         
-        return this.updateById(user);
+        boolean updated = this.updateById(user);
+        if (updated) {
+            // 昵称/头像可能已变更，通知文章详情缓存失效
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                    ReferenceDataChangedEvent.ReferenceType.USER, user.getId()));
+        }
+        return updated;
     }
 
     @Override
     public boolean deleteUser(Long id) {
-        return this.removeById(id);
+        boolean removed = this.removeById(id);
+        if (removed) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                    ReferenceDataChangedEvent.ReferenceType.USER, id));
+        }
+        return removed;
     }
 
     @Override
@@ -11,6 +11,7 @@ import com.nebula.mapper.BlogArticleMapper;
 import com.nebula.mapper.BlogBannerMapper;
 import com.nebula.service.banner.BlogBannerService;
 import com.nebula.service.common.TransactionCompensationHelper;
+import com.nebula.service.common.version.ResourceVersionHelper;
 import com.nebula.upload.FileUploadUtil;
 import com.nebula.vo.admin.BannerAdminVO;
 import com.nebula.vo.client.BannerClientVO;
@@ -40,6 +41,7 @@ public class BlogBannerServiceImpl implements BlogBannerService {
     private final BlogBannerMapper bannerMapper;
     private final BlogArticleMapper articleMapper;
     private final FileUploadUtil fileUploadUtil;
+    private final ResourceVersionHelper versionHelper;
 
     /**
      * 获取前台可展示轮播图列表
@@ -124,7 +126,7 @@ public class BlogBannerServiceImpl implements BlogBannerService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long addBanner(BannerDTO bannerDTO) {
-        BlogArticle article = articleMapper.selectById(bannerDTO.getArticleId());
+        BlogArticle article = articleMapper.selectListRowById(bannerDTO.getArticleId());
         if (article == null) {
             throw new BusinessException("关联的文章不存在");
         }
@@ -154,6 +156,7 @@ public class BlogBannerServiceImpl implements BlogBannerService {
         }
 
         bannerMapper.insert(banner);
+        versionHelper.bumpAfterCommit(ResourceVersionHelper.Scope.BANNER);
         return banner.getId();
     }
 
@@ -174,7 +177,7 @@ public class BlogBannerServiceImpl implements BlogBannerService {
             throw new BusinessException("轮播图不存在");
         }
 
-        BlogArticle article = articleMapper.selectById(bannerDTO.getArticleId());
+        BlogArticle article = articleMapper.selectListRowById(bannerDTO.getArticleId());
         if (article == null) {
             throw new BusinessException("关联的文章不存在");
         }
@@ -211,6 +214,7 @@ public class BlogBannerServiceImpl implements BlogBannerService {
         BlogBanner banner = new BlogBanner();
         BeanUtils.copyProperties(bannerDTO, banner);
         bannerMapper.updateById(banner);
+        versionHelper.bumpAfterCommit(ResourceVersionHelper.Scope.BANNER);
     }
 
     /**
@@ -227,6 +231,7 @@ public class BlogBannerServiceImpl implements BlogBannerService {
         }
 
         bannerMapper.deleteById(id);
+        versionHelper.bumpAfterCommit(ResourceVersionHelper.Scope.BANNER);
 
         // 删除后将图片移入临时目录，便于后续统一生命周期处理
         try {
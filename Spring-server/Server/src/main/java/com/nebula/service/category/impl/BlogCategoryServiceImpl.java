@@ -8,10 +8,12 @@ import com.nebula.exception.BusinessException;
 import com.nebula.mapper.BlogArticleMapper;
 import com.nebula.mapper.BlogCategoryMapper;
 import com.nebula.service.category.BlogCategoryService;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
 import com.nebula.vo.admin.CategoryAdminVO;
 import com.nebula.vo.client.CategoryClientVO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +27,7 @@ public class BlogCategoryServiceImpl implements BlogCategoryService {
 
     private final BlogCategoryMapper categoryMapper;
     private final BlogArticleMapper articleMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Long createCategory(CategoryDTO categoryDTO) {
@@ -37,6 +40,9 @@ public class BlogCategoryServiceImpl implements BlogCategoryService {
         BlogCategory category = new BlogCategory();
         BeanUtils.copyProperties(categoryDTO, category);
         categoryMapper.insert(category);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                ReferenceDataChangedEvent.ReferenceType.CATEGORY, category.getId()));
         return category.getId();
     }
 
@@ -61,6 +67,9 @@ public class BlogCategoryServiceImpl implements BlogCategoryService {
 
         BeanUtils.copyProperties(categoryDTO, category);
         categoryMapper.updateById(category);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                ReferenceDataChangedEvent.ReferenceType.CATEGORY, category.getId()));
     }
 
     @Override
@@ -73,6 +82,9 @@ public class BlogCategoryServiceImpl implements BlogCategoryService {
             throw new BusinessException("该分类下还有文章,无法删除");
         }
         categoryMapper.deleteById(id);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                ReferenceDataChangedEvent.ReferenceType.CATEGORY, id));
     }
 
     @Override
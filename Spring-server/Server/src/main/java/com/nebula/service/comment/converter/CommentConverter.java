@@ -3,9 +3,9 @@ package com.nebula.service.comment.converter;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.nebula.entity.BlogArticle;
 import com.nebula.entity.BlogComment;
-import com.nebula.entity.SysUser;
 import com.nebula.enumeration.AuditStatusEnum;
 import com.nebula.service.comment.helper.CommentQueryHelper;
+import com.nebula.service.common.reference.ReferenceDataCache;
 import com.nebula.vo.admin.CommentAdminVO;
 import com.nebula.vo.client.CommentClientVO;
 import lombok.RequiredArgsConstructor;
@@ -51,7 +51,7 @@ public class CommentConverter {
             allComments.addAll(allReplies);
         }
 
-        Map<Long, SysUser> userMap = queryHelper.batchGetUserMap(allComments);
+        Map<Long, ReferenceDataCache.UserRef> userMap = queryHelper.batchGetUserMap(allComments);
         Set<Long> likedCommentIds = queryHelper.getCurrentUserLikedCommentIds(allComments);
 
         // 批量统计每个根评论的回复总数
@@ -93,22 +93,22 @@ public class CommentConverter {
      * @param likedCommentIds 已点赞的评论ID集合
      * @return 客户端评论VO
      */
-    public CommentClientVO toClientVO(BlogComment comment, Map<Long, SysUser> userMap, Set<Long> likedCommentIds) {
+    public CommentClientVO toClientVO(BlogComment comment, Map<Long, ReferenceDataCache.UserRef> userMap, Set<Long> likedCommentIds) {
         CommentClientVO vo = new CommentClientVO();
         BeanUtils.copyProperties(comment, vo);
 
         // 设置评论者信息
-        SysUser user = userMap.get(comment.getUserId());
+        ReferenceDataCache.UserRef user = userMap.get(comment.getUserId());
         if (user != null) {
-            vo.setNickname(user.getNickname());
-            vo.setAvatar(user.getAvatar());
+            vo.setNickname(user.nickname());
+            vo.setAvatar(user.avatar());
         }
 
         // 设置被回复者信息
         if (comment.getReplyUserId() != null) {
-            SysUser replyUser = userMap.get(comment.getReplyUserId());
+            ReferenceDataCache.UserRef replyUser = userMap.get(comment.getReplyUserId());
             if (replyUser != null) {
-                vo.setReplyNickname(replyUser.getNickname());
+                vo.setReplyNickname(replyUser.nickname());
             }
         }
 
@@ -149,7 +149,7 @@ public class CommentConverter {
             return new ArrayList<>();
         }
 
-        Map<Long, SysUser> userMap = queryHelper.batchGetUserMap(comments);
+        Map<Long, ReferenceDataCache.UserRef> userMap = queryHelper.batchGetUserMap(comments);
         Map<Long, BlogArticle> articleMap = queryHelper.batchGetArticleMap(comments);
 
         return comments.stream()
@@ -165,7 +165,7 @@ public class CommentConverter {
      * @param articleMap 文章信息Map
      * @return 管理端评论VO
      */
-    public CommentAdminVO toAdminVO(BlogComment comment, Map<Long, SysUser> userMap, Map<Long, BlogArticle> articleMap) {
+    public CommentAdminVO toAdminVO(BlogComment comment, Map<Long, ReferenceDataCache.UserRef> userMap, Map<Long, BlogArticle> articleMap) {
         CommentAdminVO vo = new CommentAdminVO();
         BeanUtils.copyProperties(comment, vo);
 
@@ -176,17 +176,17 @@ public class CommentConverter {
         }
 
         // 设置评论者信息
-        SysUser user = userMap.get(comment.getUserId());
+        ReferenceDataCache.UserRef user = userMap.get(comment.getUserId());
         if (user != null) {
-            vo.setNickname(user.getNickname());
-            vo.setAvatar(user.getAvatar());
+            vo.setNickname(user.nickname());
+            vo.setAvatar(user.avatar());
         }
 
         // 设置被回复者信息
         if (comment.getReplyUserId() != null) {
-            SysUser replyUser = userMap.get(comment.getReplyUserId());
+            ReferenceDataCache.UserRef replyUser = userMap.get(comment.getReplyUserId());
             if (replyUser != null) {
-                vo.setReplyNickname(replyUser.getNickname());
+                vo.setReplyNickname(replyUser.nickname());
             }
         }
 
@@ -5,6 +5,9 @@ import com.nebula.entity.BlogArticle;
 import com.nebula.entity.BlogComment;
 import com.nebula.enumeration.AuditStatusEnum;
 import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.service.article.helper.HotArticleScoreHelper;
+import com.nebula.service.article.rank.HotArticleLeaderboard;
+import com.nebula.service.common.TransactionCompensationHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -25,6 +28,7 @@ import java.util.stream.Collectors;
 public class CommentCountHelper {
 
     private final BlogArticleMapper articleMapper;
+    private final HotArticleLeaderboard hotArticleLeaderboard;
 
     /**
      * 增加文章评论数
@@ -40,6 +44,8 @@ public class CommentCountHelper {
         articleMapper.update(null, new LambdaUpdateWrapper<BlogArticle>()
                 .eq(BlogArticle::getId, articleId)
                 .setSql("comment_count = comment_count + " + increment));
+        TransactionCompensationHelper.registerAfterCommitAction("hotRank-comment",
+                () -> hotArticleLeaderboard.record(articleId, HotArticleScoreHelper.Interaction.COMMENT, increment));
     }
 
     /**
@@ -58,6 +64,8 @@ public class CommentCountHelper {
         articleMapper.update(null, new LambdaUpdateWrapper<BlogArticle>()
                 .eq(BlogArticle::getId, articleId)
                 .setSql("comment_count = GREATEST(comment_count - " + decrement + ", 0)"));
+        TransactionCompensationHelper.registerAfterCommitAction("hotRank-comment",
+                () -> hotArticleLeaderboard.record(articleId, HotArticleScoreHelper.Interaction.COMMENT, -decrement));
     }
 
     /**
@@ -5,12 +5,11 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.nebula.entity.BlogArticle;
 import com.nebula.entity.BlogComment;
 import com.nebula.entity.BlogCommentLike;
-import com.nebula.entity.SysUser;
 import com.nebula.enumeration.AuditStatusEnum;
 import com.nebula.mapper.BlogArticleMapper;
 import com.nebula.mapper.BlogCommentLikeMapper;
 import com.nebula.mapper.BlogCommentMapper;
-import com.nebula.mapper.SysUserMapper;
+import com.nebula.service.common.reference.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -29,10 +28,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CommentQueryHelper {
 
-    private final SysUserMapper userMapper;
     private final BlogArticleMapper articleMapper;
     private final BlogCommentLikeMapper commentLikeMapper;
     private final BlogCommentMapper commentMapper;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * 批量获取用户信息Map
@@ -40,9 +39,9 @@ public class CommentQueryHelper {
      * 从评论列表中提取所有用户ID（包括评论者和被回复者），一次性查询
      *
      * @param comments 评论列表
-     * @return 用户ID -> 用户实体 Map
+     * @return 用户ID -> 用户展示信息 Map
      */
-    public Map<Long, SysUser> batchGetUserMap(List<BlogComment> comments) {
+    public Map<Long, ReferenceDataCache.UserRef> batchGetUserMap(List<BlogComment> comments) {
         if (comments == null || comments.isEmpty()) {
             return Collections.emptyMap();
         }
@@ -61,8 +60,7 @@ public class CommentQueryHelper {
             return Collections.emptyMap();
         }
 
-        return userMapper.selectBatchIds(userIds).stream()
-                .collect(Collectors.toMap(SysUser::getId, user -> user, (a, b) -> a));
+        return referenceDataCache.getUsers(userIds);
     }
 
     /**
@@ -87,7 +85,11 @@ public class CommentQueryHelper {
             return Collections.emptyMap();
         }
 
-        return articleMapper.selectBatchIds(articleIds).stream()
+        // 仅需文章标题，避免加载正文大字段
+        LambdaQueryWrapper<BlogArticle> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(BlogArticle::getId, BlogArticle::getTitle)
+                .in(BlogArticle::getId, articleIds);
+        return articleMapper.selectList(wrapper).stream()
                 .collect(Collectors.toMap(BlogArticle::getId, article -> article, (a, b) -> a));
     }
 
@@ -131,15 +133,14 @@ public class CommentQueryHelper {
      * 根据用户ID集合批量获取用户信息
      *
      * @param userIds 用户ID集合
-     * @return 用户ID -> 用户实体 Map
+     * @return 用户ID -> 用户展示信息 Map
      */
-    public Map<Long, SysUser> batchGetUserMapByIds(Set<Long> userIds) {
+    public Map<Long, ReferenceDataCache.UserRef> batchGetUserMapByIds(Set<Long> userIds) {
         if (userIds == null || userIds.isEmpty()) {
             return Collections.emptyMap();
         }
 
-        return userMapper.selectBatchIds(userIds).stream()
-                .collect(Collectors.toMap(SysUser::getId, user -> user, (a, b) -> a));
+        return referenceDataCache.getUsers(userIds);
     }
 
     /**
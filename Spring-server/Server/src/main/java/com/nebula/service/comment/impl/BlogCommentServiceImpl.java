@@ -10,7 +10,6 @@ import com.nebula.dto.CommentDTO;
 import com.nebula.entity.BlogArticle;
 import com.nebula.entity.BlogComment;
 import com.nebula.entity.BlogCommentLike;
-import com.nebula.entity.SysUser;
 import com.nebula.enumeration.AuditStatusEnum;
 import com.nebula.exception.BusinessException;
 import com.nebula.mapper.BlogArticleMapper;
@@ -20,6 +19,8 @@ import com.nebula.service.comment.BlogCommentService;
 import com.nebula.service.comment.converter.CommentConverter;
 import com.nebula.service.comment.helper.CommentCountHelper;
 import com.nebula.service.comment.helper.CommentQueryHelper;
+import com.nebula.service.common.reference.ReferenceDataCache;
+import com.nebula.service.common.version.ResourceVersionHelper;
 import com.nebula.vo.admin.BatchAuditResultVO;
 import com.nebula.vo.admin.BatchDeleteResultVO;
 import com.nebula.vo.admin.CommentAdminVO;
@@ -54,6 +55,7 @@ public class BlogCommentServiceImpl implements BlogCommentService {
     private final CommentConverter converter;
     private final CommentCountHelper countHelper;
     private final CommentQueryHelper queryHelper;
+    private final ResourceVersionHelper versionHelper;
 
     // ==================== 客户端方法 ====================
 
@@ -95,7 +97,7 @@ public class BlogCommentServiceImpl implements BlogCommentService {
     @Transactional(rollbackFor = Exception.class)
     public Long publishComment(CommentDTO commentDTO) {
         // 1. 校验文章是否存在
-        BlogArticle article = articleMapper.selectById(commentDTO.getArticleId());
+        BlogArticle article = articleMapper.selectListRowById(commentDTO.getArticleId());
         if (article == null) {
             throw new BusinessException(CommentConstants.ERR_ARTICLE_NOT_FOUND);
         }
@@ -111,6 +113,7 @@ public class BlogCommentServiceImpl implements BlogCommentService {
 
         // 5. 更新文章评论数
         countHelper.incrementCommentCount(article.getId(), 1);
+        versionHelper.bumpAfterCommit(ResourceVersionHelper.Scope.COMMENT);
 
         return comment.getId();
     }
@@ -197,7 +200,7 @@ public class BlogCommentServiceImpl implements BlogCommentService {
         }
 
         // 批量获取用户信息和点赞状态
-        Map<Long, SysUser> userMap = queryHelper.batchGetUserMap(replies);
+        Map<Long, ReferenceDataCache.UserRef> userMap = queryHelper.batchGetUserMap(replies);
         Set<Long> likedCommentIds = queryHelper.getCurrentUserLikedCommentIds(replies);
 
         // 转换为VO
@@ -281,6 +284,7 @@ public class BlogCommentServiceImpl implements BlogCommentService {
         if (AuditStatusEnum.isApproved(auditStatus)) {
             countHelper.incrementCommentCount(comment.getArticleId(), 1);
         }
+        versionHelper.bumpAfterCommit(ResourceVersionHelper.Scope.COMMENT);
     }
 
     /**
@@ -315,6 +319,7 @@ public class BlogCommentServiceImpl implements BlogCommentService {
 
         // 更新文章评论数
         countHelper.decrementCommentCount(articleId, deleteCount);
+        versionHelper.bumpAfterCommit(ResourceVersionHelper.Scope.COMMENT);
     }
 
     /**
@@ -356,6 +361,8 @@ public class BlogCommentServiceImpl implements BlogCommentService {
             countHelper.batchIncrementCommentCount(approvedComments);
         }
 
+        versionHelper.bumpAfterCommit(ResourceVersionHelper.Scope.COMMENT);
+
         String message = String.format("成功审核 %d 条评论，跳过 %d 条（非待审核状态）", successCount, skippedCount);
         return BatchAuditResultVO.success(successCount, skippedCount, totalCount, message);
     }
@@ -427,6 +434,8 @@ public class BlogCommentServiceImpl implements BlogCommentService {
             countHelper.decrementCommentCount(entry.getKey(), entry.getValue().intValue());
         }
 
+        versionHelper.bumpAfterCommit(ResourceVersionHelper.Scope.COMMENT);
+
         String message = String.format("成功删除 %d 条根评论和 %d 条子评论，跳过 %d 条（不存在）",
                 rootCount, childCount, notFoundCount);
         return BatchDeleteResultVO.success(rootCount, childCount, notFoundCount, message);
@@ -506,25 +515,15 @@ public class BlogCommentServiceImpl implements BlogCommentService {
     }
 
     /**
-     * 根据根评论ID列表查询所有回复（带数量限制）
+     * 根据根评论ID列表查询回复（每个根评论最多 MAX_REPLIES_PER_ROOT 条）
      * <p>
-     * 使用 MyBatis-Plus 分页限制总查询数量，避免单个热门评论回复过多导致性能问题
+     * 按根评论分区取最早的回复，热门评论的回复不会挤占其他根评论的名额，也不会多取
      */
     private List<BlogComment> queryRepliesByRootIds(List<Long> rootIds) {
         if (rootIds.isEmpty()) {
             return Collections.emptyList();
         }
-
-        // 计算分页大小：每个根评论最多加载 MAX_REPLIES_PER_ROOT 条回复
-        int maxSize = CommentConstants.MAX_REPLIES_PER_ROOT * rootIds.size();
-        Page<BlogComment> page = new Page<>(1, maxSize, false);
-
-        LambdaQueryWrapper<BlogComment> replyWrapper = new LambdaQueryWrapper<>();
-        replyWrapper.in(BlogComment::getRootId, rootIds)
-                .eq(BlogComment::getAuditStatus, AuditStatusEnum.APPROVED.getCode())
-                .orderByAsc(BlogComment::getCreateTime);
-
-        return commentMapper.selectPage(page, replyWrapper).getRecords();
+        return commentMapper.selectTopRepliesByRootIds(rootIds, CommentConstants.MAX_REPLIES_PER_ROOT);
     }
 
     /**
@@ -6,7 +6,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 /**
  * 事务补偿辅助工具
- * 用于注册事务回滚后的补偿动作，处理数据库事务之外的副作用
+ * 用于注册事务回滚后的补偿动作及提交后的后置动作，处理数据库事务之外的副作用
  *
  * @author Nebula-Hash
  * @date 2026/2/25
@@ -43,4 +43,34 @@ public final class TransactionCompensationHelper {
             }
         });
     }
+
+    /**
+     * 注册事务提交后动作
+     * <p>
+     * 当前无活动事务时立即执行；动作异常仅记录日志，不影响已提交的事务
+     *
+     * @param actionName 动作名称
+     * @param commitAction 提交后动作
+     */
+    public static void registerAfterCommitAction(String actionName, Runnable commitAction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runQuietly(actionName, commitAction);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runQuietly(actionName, commitAction);
+            }
+        });
+    }
+
+    private static void runQuietly(String actionName, Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.warn("事务提交后动作执行失败: {}", actionName, e);
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package com.nebula.service.common.cluster;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 集群广播Helper
+ * <p>
+ * 基于 Redis 发布/订阅在多个服务实例之间广播消息（如本地缓存失效），
+ * 消息携带实例标识，订阅方自动忽略本实例发出的消息
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/10
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterBroadcastHelper {
+
+    /**
+     * 当前实例标识
+     */
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    /**
+     * 实例标识与消息体分隔符
+     */
+    private static final char SEPARATOR = '|';
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 广播消息
+     * <p>
+     * 广播失败仅记录日志，不影响调用方主流程
+     *
+     * @param channel 频道
+     * @param payload 消息体
+     */
+    public void publish(String channel, String payload) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, NODE_ID + SEPARATOR + payload);
+        } catch (Exception e) {
+            log.warn("集群广播失败: channel={}, payload={}", channel, payload, e);
+        }
+    }
+
+    /**
+     * 订阅频道（忽略本实例发出的消息）
+     *
+     * @param channel 频道
+     * @param handler 消息处理器
+     */
+    public void subscribe(String channel, Consumer<String> handler) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int index = body.indexOf(SEPARATOR);
+            if (index < 0 || NODE_ID.equals(body.substring(0, index))) {
+                return;
+            }
+            try {
+                handler.accept(body.substring(index + 1));
+            } catch (Exception e) {
+                log.warn("处理集群广播消息失败: channel={}, body={}", channel, body, e);
+            }
+        }, new ChannelTopic(channel));
+    }
+}
@@ -0,0 +1,61 @@
+package com.nebula.service.common.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章变更事件
+ * <p>
+ * 文章发布、更新、删除后发布，由缓存等派生数据组件在事务提交后监听处理。
+ * 批量写入（如导入）时一个事件携带同一批次的全部文章，监听方按批处理
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/10
+ */
+@Getter
+public class ArticleChangedEvent {
+
+    /**
+     * 变更类型
+     */
+    public enum ChangeType {
+        /**
+         * 新发布
+         */
+        PUBLISHED,
+
+        /**
+         * 内容更新
+         */
+        UPDATED,
+
+        /**
+         * 已删除
+         */
+        DELETED
+    }
+
+    /**
+     * 文章ID（至少一个）
+     */
+    private final List<Long> articleIds;
+
+    /**
+     * 变更类型
+     */
+    private final ChangeType changeType;
+
+    public ArticleChangedEvent(Long articleId, ChangeType changeType) {
+        this(List.of(articleId), changeType);
+    }
+
+    public ArticleChangedEvent(Collection<Long> articleIds, ChangeType changeType) {
+        if (articleIds.isEmpty()) {
+            throw new IllegalArgumentException("articleIds 不能为空");
+        }
+        this.articleIds = List.copyOf(articleIds);
+        this.changeType = changeType;
+    }
+}
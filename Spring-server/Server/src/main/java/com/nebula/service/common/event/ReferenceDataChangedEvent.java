@@ -0,0 +1,60 @@
+package com.nebula.service.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * 引用数据变更事件
+ * <p>
+ * 分类、标签、用户资料变更后发布，文章详情等组装了这些数据的缓存据此失效
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/10
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataChangedEvent {
+
+    /**
+     * 引用数据类型
+     */
+    public enum ReferenceType {
+        /**
+         * 分类
+         */
+        CATEGORY,
+
+        /**
+         * 标签
+         */
+        TAG,
+
+        /**
+         * 用户
+         */
+        USER
+    }
+
+    /**
+     * 引用数据类型
+     */
+    private final ReferenceType referenceType;
+
+    /**
+     * 引用数据ID（一次新建多个时为 null）
+     */
+    private final Long referenceId;
+
+    /**
+     * 受影响的文章ID（可选）
+     * <p>
+     * 关联关系在事务内被删除时由发布方预先解析；为 null 时由监听方自行查询
+     */
+    private final Collection<Long> affectedArticleIds;
+
+    public ReferenceDataChangedEvent(ReferenceType referenceType, Long referenceId) {
+        this(referenceType, referenceId, null);
+    }
+}
@@ -0,0 +1,266 @@
+package com.nebula.service.common.reference;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogCategory;
+import com.nebula.entity.BlogTag;
+import com.nebula.entity.SysUser;
+import com.nebula.mapper.BlogCategoryMapper;
+import com.nebula.mapper.BlogTagMapper;
+import com.nebula.mapper.SysUserMapper;
+import com.nebula.properties.ReferenceDataProperties;
+import com.nebula.service.common.cluster.ClusterBroadcastHelper;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 引用数据缓存
+ * <p>
+ * 为列表/评论渲染提供分类、标签、用户展示信息的批量查询，避免每次渲染都访问数据库：
+ * <ul>
+ *     <li>分类、标签数据量小且几乎不变，整表加载为不可变快照，变更时整体替换并递增版本号</li>
+ *     <li>用户仅缓存展示字段（昵称、头像），使用容量有限的 LRU 缓存按需加载</li>
+ * </ul>
+ * 写操作通过 {@link ReferenceDataChangedEvent} 在事务提交后刷新，并广播通知其他实例
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/15
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    /**
+     * 分类引用信息
+     *
+     * @param id           分类ID
+     * @param categoryName 分类名称
+     */
+    public record CategoryRef(Long id, String categoryName) {
+    }
+
+    /**
+     * 标签引用信息
+     *
+     * @param id      标签ID
+     * @param tagName 标签名称
+     */
+    public record TagRef(Long id, String tagName) {
+    }
+
+    /**
+     * 用户展示信息
+     *
+     * @param id       用户ID
+     * @param nickname 昵称
+     * @param avatar   头像
+     */
+    public record UserRef(Long id, String nickname, String avatar) {
+    }
+
+    /**
+     * 不可变快照
+     *
+     * @param version 版本号（每次刷新递增）
+     * @param items   ID -> 引用信息
+     */
+    public record Snapshot<T>(long version, Map<Long, T> items) {
+    }
+
+    private final BlogCategoryMapper categoryMapper;
+    private final BlogTagMapper tagMapper;
+    private final SysUserMapper userMapper;
+    private final ClusterBroadcastHelper broadcastHelper;
+
+    /**
+     * 快照版本号生成器
+     */
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private volatile Snapshot<CategoryRef> categorySnapshot;
+    private volatile Snapshot<TagRef> tagSnapshot;
+
+    /**
+     * 用户展示信息 LRU 缓存
+     */
+    private final Cache<Long, UserRef> userCache;
+
+    /**
+     * 构造引用数据缓存
+     *
+     * @param properties      缓存配置
+     * @param categoryMapper  分类Mapper
+     * @param tagMapper       标签Mapper
+     * @param userMapper      用户Mapper
+     * @param broadcastHelper 集群广播Helper
+     */
+    public ReferenceDataCache(ReferenceDataProperties properties,
+                              BlogCategoryMapper categoryMapper,
+                              BlogTagMapper tagMapper,
+                              SysUserMapper userMapper,
+                              ClusterBroadcastHelper broadcastHelper) {
+        this.categoryMapper = categoryMapper;
+        this.tagMapper = tagMapper;
+        this.userMapper = userMapper;
+        this.broadcastHelper = broadcastHelper;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(properties.getUserMaximumSize())
+                .expireAfterWrite(properties.getUserTtl())
+                .build();
+    }
+
+    /**
+     * 订阅其他实例的变更广播
+     */
+    @PostConstruct
+    public void subscribeChanges() {
+        broadcastHelper.subscribe(RedisConstants.CHANNEL_REFERENCE_DATA_CHANGED, this::handleRemoteChange);
+    }
+
+    /**
+     * 获取分类快照
+     *
+     * @return 分类快照
+     */
+    public Snapshot<CategoryRef> getCategorySnapshot() {
+        Snapshot<CategoryRef> snapshot = categorySnapshot;
+        return snapshot != null ? snapshot : reloadCategories();
+    }
+
+    /**
+     * 获取标签快照
+     *
+     * @return 标签快照
+     */
+    public Snapshot<TagRef> getTagSnapshot() {
+        Snapshot<TagRef> snapshot = tagSnapshot;
+        return snapshot != null ? snapshot : reloadTags();
+    }
+
+    /**
+     * 批量获取分类引用信息
+     *
+     * @param categoryIds 分类ID集合
+     * @return 分类ID -> 分类引用信息（不存在的ID不包含在结果中）
+     */
+    public Map<Long, CategoryRef> getCategories(Collection<Long> categoryIds) {
+        return pick(getCategorySnapshot().items(), categoryIds);
+    }
+
+    /**
+     * 批量获取标签引用信息
+     *
+     * @param tagIds 标签ID集合
+     * @return 标签ID -> 标签引用信息（不存在的ID不包含在结果中）
+     */
+    public Map<Long, TagRef> getTags(Collection<Long> tagIds) {
+        return pick(getTagSnapshot().items(), tagIds);
+    }
+
+    /**
+     * 批量获取用户展示信息（未命中部分一次查询数据库）
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID -> 用户展示信息（不存在的ID不包含在结果中）
+     */
+    public Map<Long, UserRef> getUsers(Collection<Long> userIds) {
+        Set<Long> ids = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userCache.getAll(ids, this::loadUsers);
+    }
+
+    /**
+     * 分类/标签/用户变更后刷新
+     *
+     * @param event 引用数据变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        refresh(event.getReferenceType(), event.getReferenceId());
+        broadcastHelper.publish(RedisConstants.CHANNEL_REFERENCE_DATA_CHANGED,
+                event.getReferenceType().name() + ":" + event.getReferenceId());
+    }
+
+    /**
+     * 刷新本地数据
+     */
+    private void refresh(ReferenceDataChangedEvent.ReferenceType type, Long referenceId) {
+        switch (type) {
+            case CATEGORY -> reloadCategories();
+            case TAG -> reloadTags();
+            case USER -> {
+                if (referenceId != null) {
+                    userCache.invalidate(referenceId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 处理其他实例广播的变更消息
+     *
+     * @param payload 格式：类型:ID
+     */
+    private void handleRemoteChange(String payload) {
+        int index = payload.indexOf(':');
+        ReferenceDataChangedEvent.ReferenceType type = ReferenceDataChangedEvent.ReferenceType.valueOf(payload.substring(0, index));
+        String id = payload.substring(index + 1);
+        refresh(type, "null".equals(id) ? null : Long.valueOf(id));
+    }
+
+    private synchronized Snapshot<CategoryRef> reloadCategories() {
+        LambdaQueryWrapper<BlogCategory> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(BlogCategory::getId, BlogCategory::getCategoryName);
+        Map<Long, CategoryRef> items = categoryMapper.selectList(wrapper).stream()
+                .collect(Collectors.toMap(BlogCategory::getId,
+                        category -> new CategoryRef(category.getId(), category.getCategoryName())));
+        categorySnapshot = new Snapshot<>(versionSequence.incrementAndGet(), Map.copyOf(items));
+        log.debug("分类快照已刷新: version={}, size={}", categorySnapshot.version(), items.size());
+        return categorySnapshot;
+    }
+
+    private synchronized Snapshot<TagRef> reloadTags() {
+        LambdaQueryWrapper<BlogTag> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(BlogTag::getId, BlogTag::getTagName);
+        Map<Long, TagRef> items = tagMapper.selectList(wrapper).stream()
+                .collect(Collectors.toMap(BlogTag::getId, tag -> new TagRef(tag.getId(), tag.getTagName())));
+        tagSnapshot = new Snapshot<>(versionSequence.incrementAndGet(), Map.copyOf(items));
+        log.debug("标签快照已刷新: version={}, size={}", tagSnapshot.version(), items.size());
+        return tagSnapshot;
+    }
+
+    private Map<Long, UserRef> loadUsers(Set<? extends Long> userIds) {
+        LambdaQueryWrapper<SysUser> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(SysUser::getId, SysUser::getNickname, SysUser::getAvatar)
+                .in(SysUser::getId, userIds);
+        return userMapper.selectList(wrapper).stream()
+                .collect(Collectors.toMap(SysUser::getId,
+                        user -> new UserRef(user.getId(), user.getNickname(), user.getAvatar())));
+    }
+
+    private <T> Map<Long, T> pick(Map<Long, T> items, Collection<Long> ids) {
+        Map<Long, T> result = new HashMap<>();
+        for (Long id : ids) {
+            T item = id == null ? null : items.get(id);
+            if (item != null) {
+                result.put(id, item);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,214 @@
+package com.nebula.service.common.version;
+
+import com.nebula.constant.RedisConstants;
+import com.nebula.service.common.TransactionCompensationHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 公开资源版本戳
+ * <p>
+ * 按资源范围在 Redis Hash 中维护最后变更时间（毫秒，严格递增），供条件 GET 生成 ETag / Last-Modified：
+ * <ul>
+ *     <li>文章变更、分类/标签/用户变更通过事件在事务提交后递增相关范围</li>
+ *     <li>轮播图、评论的写操作直接调用 {@link #bumpAfterCommit(Scope...)}</li>
+ *     <li>文章详情、正文另按文章维护版本，一篇文章变更不影响其他文章的校验结果；
+ *     尚未变更过的文章首次读取时以当前的文章范围版本初始化</li>
+ * </ul>
+ * 所有实例共享同一份版本戳，无需广播；Redis 不可用时返回 null，由调用方放弃条件响应
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResourceVersionHelper {
+
+    /**
+     * 资源范围
+     */
+    public enum Scope {
+        /**
+         * 文章列表、聚合
+         */
+        ARTICLE,
+        /**
+         * 文章详情引用的分类、标签、作者名称
+         */
+        ARTICLE_REFERENCE,
+        /**
+         * 分类列表、详情（含文章数）
+         */
+        CATEGORY,
+        /**
+         * 标签列表、详情（含文章数）
+         */
+        TAG,
+        /**
+         * 轮播图列表
+         */
+        BANNER,
+        /**
+         * 评论列表
+         */
+        COMMENT
+    }
+
+    /**
+     * 读取多个范围的最大版本；字段不存在时以当前时间初始化，保证 Redis 数据丢失后版本不回退
+     */
+    private static final DefaultRedisScript<Long> READ_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+                    "local result = 0 " +
+                    "for i = 2, #ARGV do " +
+                    "local value = tonumber(redis.call('HGET', KEYS[1], ARGV[i])) " +
+                    "if not value then redis.call('HSETNX', KEYS[1], ARGV[i], now) value = now end " +
+                    "if value > result then result = value end " +
+                    "end " +
+                    "return result",
+            Long.class
+    );
+
+    /**
+     * 读取单篇文章的版本与多个范围版本中的最大值（KEYS: 范围 Hash、文章 Hash；ARGV: 当前时间、文章ID、范围...）
+     */
+    private static final DefaultRedisScript<Long> ARTICLE_READ_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+                    "local function read(field) " +
+                    "local value = tonumber(redis.call('HGET', KEYS[1], field)) " +
+                    "if not value then redis.call('HSETNX', KEYS[1], field, now) value = now end " +
+                    "return value end " +
+                    "local result = tonumber(redis.call('HGET', KEYS[2], ARGV[2])) " +
+                    "if not result then result = read('ARTICLE') " +
+                    "redis.call('HSETNX', KEYS[2], ARGV[2], result) end " +
+                    "for i = 3, #ARGV do " +
+                    "local value = read(ARGV[i]) " +
+                    "if value > result then result = value end " +
+                    "end " +
+                    "return result",
+            Long.class
+    );
+
+    /**
+     * 递增版本：取当前时间与原版本 + 1 的较大值，同一毫秒内多次变更也能区分
+     */
+    private static final DefaultRedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+                    "for i = 2, #ARGV do " +
+                    "local current = tonumber(redis.call('HGET', KEYS[1], ARGV[i])) or 0 " +
+                    "redis.call('HSET', KEYS[1], ARGV[i], math.max(now, current + 1)) " +
+                    "end " +
+                    "return 1",
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 获取多个范围的最新版本
+     *
+     * @param scopes 资源范围
+     * @return 最大版本（最后变更时间毫秒）；读取失败时返回 null
+     */
+    public Long getVersion(Scope... scopes) {
+        try {
+            return stringRedisTemplate.execute(READ_SCRIPT, List.of(RedisConstants.RESOURCE_VERSION),
+                    arguments(scopes));
+        } catch (Exception e) {
+            log.warn("读取资源版本失败: scopes={}", Arrays.toString(scopes), e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取单篇文章详情的最新版本（调用方需确认文章存在，避免为无效ID写入版本）
+     *
+     * @param articleId 文章ID
+     * @param scopes    详情额外依赖的资源范围
+     * @return 最大版本（最后变更时间毫秒）；读取失败时返回 null
+     */
+    public Long getArticleVersion(Long articleId, Scope... scopes) {
+        List<String> args = new ArrayList<>(scopes.length + 2);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(articleId.toString());
+        for (Scope scope : scopes) {
+            args.add(scope.name());
+        }
+        try {
+            return stringRedisTemplate.execute(ARTICLE_READ_SCRIPT,
+                    List.of(RedisConstants.RESOURCE_VERSION, RedisConstants.RESOURCE_VERSION_ARTICLE), args.toArray());
+        } catch (Exception e) {
+            log.warn("读取文章资源版本失败: articleId={}", articleId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 在当前事务提交后递增版本（无事务时立即执行）
+     *
+     * @param scopes 资源范围
+     */
+    public void bumpAfterCommit(Scope... scopes) {
+        TransactionCompensationHelper.registerAfterCommitAction("bumpResourceVersion", () -> bump(scopes));
+    }
+
+    /**
+     * 文章发布、更新、删除后递增文章及包含文章数、文章标题的范围，以及变更文章自身的版本
+     *
+     * @param event 文章变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        bump(Scope.ARTICLE, Scope.CATEGORY, Scope.TAG, Scope.BANNER);
+        List<String> args = new ArrayList<>(event.getArticleIds().size() + 1);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        event.getArticleIds().forEach(articleId -> args.add(articleId.toString()));
+        try {
+            stringRedisTemplate.execute(BUMP_SCRIPT, List.of(RedisConstants.RESOURCE_VERSION_ARTICLE), args.toArray());
+        } catch (Exception e) {
+            log.warn("递增文章资源版本失败: articleIds={}", event.getArticleIds(), e);
+        }
+    }
+
+    /**
+     * 分类、标签、用户变更后递增引用其名称的范围
+     *
+     * @param event 引用数据变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        switch (event.getReferenceType()) {
+            case CATEGORY -> bump(Scope.CATEGORY, Scope.ARTICLE, Scope.ARTICLE_REFERENCE);
+            case TAG -> bump(Scope.TAG, Scope.ARTICLE, Scope.ARTICLE_REFERENCE);
+            case USER -> bump(Scope.ARTICLE, Scope.ARTICLE_REFERENCE, Scope.COMMENT);
+        }
+    }
+
+    private void bump(Scope... scopes) {
+        try {
+            stringRedisTemplate.execute(BUMP_SCRIPT, List.of(RedisConstants.RESOURCE_VERSION), arguments(scopes));
+        } catch (Exception e) {
+            log.warn("递增资源版本失败: scopes={}", Arrays.toString(scopes), e);
+        }
+    }
+
+    private Object[] arguments(Scope... scopes) {
+        List<String> args = new ArrayList<>(scopes.length + 1);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        for (Scope scope : scopes) {
+            args.add(scope.name());
+        }
+        return args.toArray();
+    }
+}
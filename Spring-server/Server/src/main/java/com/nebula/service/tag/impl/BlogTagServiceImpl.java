@@ -9,12 +9,15 @@ import com.nebula.exception.BusinessException;
 import com.nebula.mapper.BlogArticleMapper;
 import com.nebula.mapper.RelevancyArticleTagMapper;
 import com.nebula.mapper.BlogTagMapper;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
 import com.nebula.service.tag.BlogTagService;
 import com.nebula.vo.admin.TagAdminVO;
 import com.nebula.vo.client.TagClientVO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
@@ -34,6 +37,7 @@ public class BlogTagServiceImpl implements BlogTagService {
     private final BlogTagMapper tagMapper;
     private final RelevancyArticleTagMapper articleTagMapper;
     private final BlogArticleMapper articleMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Long createTag(TagDTO tagDTO) {
@@ -41,6 +45,9 @@ public class BlogTagServiceImpl implements BlogTagService {
         BlogTag tag = new BlogTag();
         BeanUtils.copyProperties(tagDTO, tag);
         tagMapper.insert(tag);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                ReferenceDataChangedEvent.ReferenceType.TAG, tag.getId()));
         return tag.getId();
     }
 
@@ -56,14 +63,27 @@ public class BlogTagServiceImpl implements BlogTagService {
         }
         BeanUtils.copyProperties(tagDTO, tag);
         tagMapper.updateById(tag);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                ReferenceDataChangedEvent.ReferenceType.TAG, tag.getId()));
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void deleteTag(Long id) {
         LambdaQueryWrapper<RelevancyArticleTag> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(RelevancyArticleTag::getTagId, id);
+
+        // 关联关系删除前先记录受影响的文章，供缓存失效使用
+        List<Long> affectedArticleIds = articleTagMapper.selectList(wrapper).stream()
+                .map(RelevancyArticleTag::getArticleId)
+                .toList();
+
         articleTagMapper.delete(wrapper);
         tagMapper.deleteById(id);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                ReferenceDataChangedEvent.ReferenceType.TAG, id, affectedArticleIds));
     }
 
     @Override
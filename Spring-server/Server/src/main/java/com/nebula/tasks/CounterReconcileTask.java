@@ -0,0 +1,255 @@
+package com.nebula.tasks;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.BlogComment;
+import com.nebula.mapper.BlogArticleCollectMapper;
+import com.nebula.mapper.BlogArticleLikeMapper;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.BlogCommentLikeMapper;
+import com.nebula.mapper.BlogCommentMapper;
+import com.nebula.properties.CounterReconcileProperties;
+import com.nebula.vo.CounterDriftVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 计数校准定时任务
+ * <p>
+ * 按主键顺序分块遍历文章与评论，使用分组聚合查询统计关联表中的实际数量，
+ * 仅对存在偏差的记录批量更新（计数在读取后被并发修改的记录跳过，留待下次校准）。
+ * 每个分块的查询与更新均为独立的短语句，不开启长事务，也不锁全表。
+ * 多实例通过 Redis 锁互斥，锁值为本次执行的随机令牌，释放时校验令牌，避免锁过期后误删其他实例的锁。
+ *
+ * @author Nebula-Hash
+ * @date 2026/3/18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.task.counter-reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class CounterReconcileTask {
+
+    /**
+     * 仅当锁仍属于本次执行时删除
+     */
+    private static final DefaultRedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class
+    );
+
+    /**
+     * 一个计数列的偏差指标
+     *
+     * @param table     表名
+     * @param column    计数列名
+     * @param drifted   存在偏差的记录数
+     * @param magnitude 偏差绝对值之和
+     */
+    private record DriftMeters(String table, String column, Counter drifted, Counter magnitude) {
+    }
+
+    private final CounterReconcileProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BlogArticleMapper articleMapper;
+    private final BlogArticleLikeMapper articleLikeMapper;
+    private final BlogArticleCollectMapper articleCollectMapper;
+    private final BlogCommentMapper commentMapper;
+    private final BlogCommentLikeMapper commentLikeMapper;
+    private final Timer reconcileTimer;
+    private final DriftMeters articleLikeMeters;
+    private final DriftMeters articleCollectMeters;
+    private final DriftMeters articleCommentMeters;
+    private final DriftMeters commentLikeMeters;
+
+    public CounterReconcileTask(
+            CounterReconcileProperties properties,
+            StringRedisTemplate stringRedisTemplate,
+            BlogArticleMapper articleMapper,
+            BlogArticleLikeMapper articleLikeMapper,
+            BlogArticleCollectMapper articleCollectMapper,
+            BlogCommentMapper commentMapper,
+            BlogCommentLikeMapper commentLikeMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.articleMapper = articleMapper;
+        this.articleLikeMapper = articleLikeMapper;
+        this.articleCollectMapper = articleCollectMapper;
+        this.commentMapper = commentMapper;
+        this.commentLikeMapper = commentLikeMapper;
+        this.reconcileTimer = Timer.builder("nebula.counter.reconcile")
+                .description("计数校准任务耗时")
+                .register(meterRegistry);
+        this.articleLikeMeters = driftMeters(meterRegistry, "blog_article", "like_count");
+        this.articleCollectMeters = driftMeters(meterRegistry, "blog_article", "collect_count");
+        this.articleCommentMeters = driftMeters(meterRegistry, "blog_article", "comment_count");
+        this.commentLikeMeters = driftMeters(meterRegistry, "blog_comment", "like_count");
+    }
+
+    @Scheduled(cron = "${app.task.counter-reconcile.cron:0 30 3 * * ?}")
+    public void reconcile() {
+        String token = UUID.randomUUID().toString();
+        Boolean locked = stringRedisTemplate.opsForValue()
+                .setIfAbsent(RedisConstants.COUNTER_RECONCILE_LOCK, token, properties.getLockTtl());
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("计数校准任务已在其他实例执行，跳过本次");
+            return;
+        }
+        try {
+            reconcileTimer.record(() -> {
+                reconcileArticles();
+                reconcileComments();
+            });
+        } finally {
+            Long released = stringRedisTemplate.execute(RELEASE_LOCK_SCRIPT,
+                    List.of(RedisConstants.COUNTER_RECONCILE_LOCK), token);
+            if (released == null || released == 0) {
+                log.warn("计数校准任务锁已过期，执行耗时超过 lockTtl: {}", properties.getLockTtl());
+            }
+        }
+    }
+
+    /**
+     * 校准文章点赞数、收藏数、评论数
+     */
+    private void reconcileArticles() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long lastId = 0L;
+        int scanned = 0;
+        int corrected = 0;
+        while (true) {
+            List<BlogArticle> articles = articleMapper.selectPage(new Page<>(1, batchSize, false),
+                    new LambdaQueryWrapper<BlogArticle>()
+                            .select(BlogArticle::getId,
+                                    BlogArticle::getLikeCount,
+                                    BlogArticle::getCollectCount,
+                                    BlogArticle::getCommentCount)
+                            .gt(BlogArticle::getId, lastId)
+                            .orderByAsc(BlogArticle::getId)).getRecords();
+            if (articles.isEmpty()) {
+                break;
+            }
+            Long fromId = articles.get(0).getId();
+            Long toId = articles.get(articles.size() - 1).getId();
+
+            corrected += correct(articleLikeMeters, articles, BlogArticle::getId, BlogArticle::getLikeCount,
+                    articleLikeMapper.countByArticleIdRange(fromId, toId),
+                    drifts -> articleMapper.batchCorrectCounter("like_count", drifts));
+            corrected += correct(articleCollectMeters, articles, BlogArticle::getId, BlogArticle::getCollectCount,
+                    articleCollectMapper.countByArticleIdRange(fromId, toId),
+                    drifts -> articleMapper.batchCorrectCounter("collect_count", drifts));
+            corrected += correct(articleCommentMeters, articles, BlogArticle::getId, BlogArticle::getCommentCount,
+                    commentMapper.countApprovedByArticleIdRange(fromId, toId),
+                    drifts -> articleMapper.batchCorrectCounter("comment_count", drifts));
+
+            scanned += articles.size();
+            lastId = toId;
+        }
+        log.info("文章计数校准完成: scanned={}, corrected={}", scanned, corrected);
+    }
+
+    /**
+     * 校准评论点赞数
+     */
+    private void reconcileComments() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long lastId = 0L;
+        int scanned = 0;
+        int corrected = 0;
+        while (true) {
+            List<BlogComment> comments = commentMapper.selectPage(new Page<>(1, batchSize, false),
+                    new LambdaQueryWrapper<BlogComment>()
+                            .select(BlogComment::getId, BlogComment::getLikeCount)
+                            .gt(BlogComment::getId, lastId)
+                            .orderByAsc(BlogComment::getId)).getRecords();
+            if (comments.isEmpty()) {
+                break;
+            }
+            Long fromId = comments.get(0).getId();
+            Long toId = comments.get(comments.size() - 1).getId();
+
+            corrected += correct(commentLikeMeters, comments, BlogComment::getId, BlogComment::getLikeCount,
+                    commentLikeMapper.countByCommentIdRange(fromId, toId),
+                    commentMapper::batchCorrectLikeCount);
+
+            scanned += comments.size();
+            lastId = toId;
+        }
+        log.info("评论计数校准完成: scanned={}, corrected={}", scanned, corrected);
+    }
+
+    /**
+     * 对比一个分块内的计数与实际数量，批量更新存在偏差的记录
+     *
+     * @param meters       偏差指标
+     * @param rows         分块记录
+     * @param idGetter     ID获取方法
+     * @param countGetter  计数获取方法
+     * @param actualCounts 实际数量（无记录的ID不包含在内，视为 0）
+     * @param updater      批量更新方法
+     * @return 实际更新的记录数
+     */
+    private <T> int correct(DriftMeters meters, List<T> rows,
+                            Function<T, Long> idGetter, Function<T, Integer> countGetter,
+                            List<CounterDriftVO> actualCounts,
+                            Function<List<CounterDriftVO>, Integer> updater) {
+        Map<Long, Integer> actualMap = actualCounts.stream()
+                .collect(Collectors.toMap(CounterDriftVO::getId, CounterDriftVO::getActual));
+        List<CounterDriftVO> drifts = new ArrayList<>();
+        long magnitude = 0;
+        for (T row : rows) {
+            Long id = idGetter.apply(row);
+            Integer count = countGetter.apply(row);
+            int expected = count == null ? 0 : count;
+            int actual = actualMap.getOrDefault(id, 0);
+            // 计数为 NULL 时同样写入实际值
+            if (count == null || expected != actual) {
+                drifts.add(new CounterDriftVO(id, expected, actual));
+                magnitude += Math.abs(actual - expected);
+            }
+        }
+        if (drifts.isEmpty()) {
+            return 0;
+        }
+
+        int updated = updater.apply(drifts);
+
+        meters.drifted().increment(drifts.size());
+        meters.magnitude().increment(magnitude);
+        if (updated < drifts.size()) {
+            log.debug("部分计数在校准期间被并发修改，已跳过: table={}, column={}, skipped={}",
+                    meters.table(), meters.column(), drifts.size() - updated);
+        }
+        return updated;
+    }
+
+    private static DriftMeters driftMeters(MeterRegistry meterRegistry, String table, String column) {
+        return new DriftMeters(table, column,
+                Counter.builder("nebula.counter.reconcile.drifted")
+                        .description("计数存在偏差的记录数")
+                        .tag("table", table)
+                        .tag("column", column)
+                        .register(meterRegistry),
+                Counter.builder("nebula.counter.reconcile.drift.magnitude")
+                        .description("计数偏差绝对值之和")
+                        .tag("table", table)
+                        .tag("column", column)
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,68 @@
+package com.nebula.config;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.nebula.handler.CompressedTextTypeHandler;
+import com.nebula.properties.ArticleStorageProperties;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * MyBatis-Plus 配置测试
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class MyBatisPlusConfigTest {
+
+    private final MyBatisPlusConfig config = new MyBatisPlusConfig();
+
+    @Test
+    void classReferencedMappingsResolveToConfiguredHandler() {
+        CompressedTextTypeHandler handler = config.compressedTextTypeHandler(new ArticleStorageProperties());
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        config.typeHandlerCustomizer(handler).customize(configuration);
+
+        // 实体字段与 XML/注解中的 typeHandler=类名 均按类查找已注册实例
+        TypeHandler<?> resolved = configuration.getTypeHandlerRegistry()
+                .getMappingTypeHandler(CompressedTextTypeHandler.class);
+        assertSame(handler, resolved);
+        assertSame(handler, configuration.getTypeHandlerRegistry().getTypeHandler(String.class, JdbcType.LONGVARBINARY));
+    }
+
+    @Test
+    void compressesOnlyAfterEnabledAndAboveThreshold() throws Exception {
+        CompressedTextTypeHandler handler = config.compressedTextTypeHandler(new ArticleStorageProperties());
+        String text = "正文内容".repeat(200);
+
+        PreparedStatement disabled = mock(PreparedStatement.class);
+        handler.setNonNullParameter(disabled, 1, text, null);
+        verify(disabled).setString(1, text);
+        verify(disabled, never()).setBytes(anyInt(), any());
+
+        handler.setCompressionEnabled(true);
+        PreparedStatement small = mock(PreparedStatement.class);
+        handler.setNonNullParameter(small, 1, "短文本", null);
+        verify(small).setString(1, "短文本");
+
+        PreparedStatement large = mock(PreparedStatement.class);
+        handler.setNonNullParameter(large, 1, text, null);
+        ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+        verify(large).setBytes(eq(1), bytes.capture());
+        assertTrue(CompressedTextTypeHandler.isCompressed(bytes.getValue()));
+        assertEquals(text, CompressedTextTypeHandler.decode(bytes.getValue()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.nebula.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.nebula.entity.BlogArticle;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章列表投影测试
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class BlogArticleMapperTest {
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        assistant.setCurrentNamespace(BlogArticleMapper.class.getName());
+        TableInfoHelper.initTableInfo(assistant, BlogArticle.class);
+    }
+
+    @Test
+    void listProjectionExcludesBodyColumns() {
+        Set<String> columns = selectedColumns(BlogArticleMapper.applyListProjection(new LambdaQueryWrapper<>()));
+
+        BlogArticleMapper.BODY_COLUMNS.forEach(column -> assertFalse(columns.contains(column), column));
+        assertTrue(columns.containsAll(Set.of("id", "author_id", "category_id", "title", "summary", "cover_image",
+                "is_draft", "is_top", "view_count", "like_count", "comment_count", "collect_count",
+                "create_time", "update_time")), columns.toString());
+    }
+
+    @Test
+    void listProjectionKeepsConditionsAndReturnsSameWrapper() {
+        LambdaQueryWrapper<BlogArticle> wrapper = new LambdaQueryWrapper<BlogArticle>()
+                .eq(BlogArticle::getId, 1L)
+                .orderByDesc(BlogArticle::getCreateTime);
+
+        assertSame(wrapper, BlogArticleMapper.applyListProjection(wrapper));
+        assertTrue(wrapper.getSqlSegment().contains("id ="), wrapper.getSqlSegment());
+        assertTrue(wrapper.getSqlSegment().contains("ORDER BY create_time DESC"), wrapper.getSqlSegment());
+        assertFalse(selectedColumns(wrapper).contains("content"));
+    }
+
+    private static Set<String> selectedColumns(LambdaQueryWrapper<BlogArticle> wrapper) {
+        return Arrays.stream(wrapper.getSqlSelect().split(","))
+                .map(String::trim)
+                .collect(Collectors.toSet());
+    }
+}
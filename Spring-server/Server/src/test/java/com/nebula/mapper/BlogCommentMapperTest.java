@@ -0,0 +1,136 @@
+package com.nebula.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.nebula.constant.CommentConstants;
+import com.nebula.entity.BlogComment;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 评论回复查询测试（H2 MySQL 兼容模式）
+ * <p>
+ * 10 个根评论：根评论 1 有 500 条较早的回复，其余各 3 条，另有待审核与已删除的回复。
+ * 对比改造前按创建时间全局取 10 × 根评论数 条与按根评论分区取前 10 条的结果行数
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class BlogCommentMapperTest {
+
+    private static final List<Long> ROOT_IDS = LongStream.rangeClosed(1, 10).boxed().toList();
+
+    /**
+     * 改造前的查询：所有根评论共用 10 × 根评论数 的名额，按创建时间全局排序
+     */
+    private static final String LEGACY_SQL = "SELECT * FROM blog_comment WHERE root_id IN (1,2,3,4,5,6,7,8,9,10) "
+            + "AND audit_status = 1 AND deleted = 0 ORDER BY create_time ASC LIMIT ?";
+
+    private static JdbcDataSource dataSource;
+    private static SqlSessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:blog_comment;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE blog_comment (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "article_id BIGINT NOT NULL, root_id BIGINT, parent_id BIGINT, user_id BIGINT NOT NULL, "
+                    + "reply_user_id BIGINT, content TEXT NOT NULL, like_count INT DEFAULT 0, "
+                    + "audit_status TINYINT DEFAULT 0, deleted TINYINT DEFAULT 0, "
+                    + "create_time DATETIME, update_time DATETIME)");
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO blog_comment "
+                    + "(article_id, root_id, parent_id, user_id, content, audit_status, deleted, create_time) "
+                    + "VALUES (1, ?, ?, 1, '回复', ?, ?, ?)")) {
+                int minute = 0;
+                for (int i = 0; i < 500; i++) {
+                    addReply(insert, 1L, 1, 0, start.plusMinutes(minute++));
+                }
+                for (long rootId = 2; rootId <= 10; rootId++) {
+                    for (int i = 0; i < 3; i++) {
+                        addReply(insert, rootId, 1, 0, start.plusMinutes(minute++));
+                    }
+                    // 待审核与已删除的回复不应返回
+                    addReply(insert, rootId, 0, 0, start.plusMinutes(minute++));
+                    addReply(insert, rootId, 1, 1, start.plusMinutes(minute++));
+                }
+                insert.executeBatch();
+            }
+        }
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(BlogCommentMapper.class);
+        sessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @Test
+    void fetchesAtMostLimitRepliesForEveryRoot() {
+        List<BlogComment> replies;
+        try (SqlSession session = sessionFactory.openSession()) {
+            replies = session.getMapper(BlogCommentMapper.class)
+                    .selectTopRepliesByRootIds(ROOT_IDS, CommentConstants.MAX_REPLIES_PER_ROOT);
+        }
+        Map<Long, Long> perRoot = countByRoot(replies.stream().map(BlogComment::getRootId).toList());
+
+        // 10 + 9 × 3
+        assertEquals(37, replies.size());
+        assertEquals(10L, perRoot.get(1L));
+        ROOT_IDS.stream().skip(1).forEach(rootId -> assertEquals(3L, perRoot.get(rootId), "rootId=" + rootId));
+        assertTrue(replies.stream().allMatch(reply -> reply.getAuditStatus() == 1 && reply.getDeleted() == 0));
+    }
+
+    @Test
+    void legacyQueryFetchesMoreRowsAndStarvesOtherRoots() throws Exception {
+        List<Long> rootIds = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement query = connection.prepareStatement(LEGACY_SQL)) {
+            query.setInt(1, CommentConstants.MAX_REPLIES_PER_ROOT * ROOT_IDS.size());
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    rootIds.add(rs.getLong("root_id"));
+                }
+            }
+        }
+        Map<Long, Long> perRoot = countByRoot(rootIds);
+
+        assertEquals(100, rootIds.size());
+        assertEquals(Map.of(1L, 100L), perRoot);
+    }
+
+    private static void addReply(PreparedStatement insert, Long rootId, int auditStatus, int deleted,
+                                 LocalDateTime createTime) throws Exception {
+        insert.setLong(1, rootId);
+        insert.setLong(2, rootId);
+        insert.setInt(3, auditStatus);
+        insert.setInt(4, deleted);
+        insert.setTimestamp(5, Timestamp.valueOf(createTime));
+        insert.addBatch();
+    }
+
+    private static Map<Long, Long> countByRoot(List<Long> rootIds) {
+        return rootIds.stream().collect(Collectors.groupingBy(id -> id, TreeMap::new, Collectors.counting()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.nebula.service.article.cache;
+
+import com.nebula.service.article.cache.ArticleBodyCache.Encoding;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * 文章正文预压缩缓存测试
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticleBodyCacheTest {
+
+    @Test
+    void negotiatesByQualityWithGzipPreferredOnTies() {
+        assertEquals(Encoding.IDENTITY, Encoding.negotiate(null));
+        assertEquals(Encoding.IDENTITY, Encoding.negotiate(" "));
+        assertEquals(Encoding.GZIP, Encoding.negotiate("gzip, deflate, br"));
+        assertEquals(Encoding.GZIP, Encoding.negotiate("deflate, x-gzip"));
+        assertEquals(Encoding.DEFLATE, Encoding.negotiate("gzip;q=0.5, deflate"));
+        assertEquals(Encoding.DEFLATE, Encoding.negotiate("GZIP; Q=0.2, Deflate; q=0.8"));
+        assertEquals(Encoding.GZIP, Encoding.negotiate("gzip;q=0.1"));
+        assertEquals(Encoding.IDENTITY, Encoding.negotiate("br"));
+    }
+
+    @Test
+    void honoursRejectionsAndIdentityPreference() {
+        assertEquals(Encoding.DEFLATE, Encoding.negotiate("gzip;q=0, deflate"));
+        assertEquals(Encoding.IDENTITY, Encoding.negotiate("gzip;q=0, deflate;q=0"));
+        assertEquals(Encoding.IDENTITY, Encoding.negotiate("identity, gzip;q=0.5"));
+        assertEquals(Encoding.GZIP, Encoding.negotiate("identity;q=0.5, gzip"));
+        assertEquals(Encoding.GZIP, Encoding.negotiate("identity;q=0, *"));
+        assertEquals(Encoding.GZIP, Encoding.negotiate("*;q=0.3"));
+        assertEquals(Encoding.DEFLATE, Encoding.negotiate("deflate;q=0.5, *;q=0"));
+        // 无效 q 值视为不接受
+        assertEquals(Encoding.DEFLATE, Encoding.negotiate("gzip;q=abc, deflate"));
+    }
+
+    @Test
+    void versionDistinguishesBodiesWithSameStringHash() {
+        // "Aa" 与 "BB" 的 String.hashCode 与长度均相同
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(ArticleBodyCache.version("Aa"), ArticleBodyCache.version("BB"));
+        assertEquals(ArticleBodyCache.version("正文"), ArticleBodyCache.version(new String("正文")));
+        assertEquals(64, ArticleBodyCache.version("").length());
+    }
+}
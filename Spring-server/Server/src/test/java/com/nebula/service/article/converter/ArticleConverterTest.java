@@ -0,0 +1,219 @@
+package com.nebula.service.article.converter;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.BlogCategory;
+import com.nebula.entity.BlogTag;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.entity.SysUser;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.BlogCategoryMapper;
+import com.nebula.mapper.BlogTagMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.mapper.SysUserMapper;
+import com.nebula.service.article.cache.ArticleInteractionCache;
+import com.nebula.service.common.reference.ReferenceDataCache;
+import com.nebula.vo.ArticleMetaVO;
+import com.nebula.vo.ArticleVO;
+import com.nebula.vo.client.TagClientVO;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章转换器测试
+ * <p>
+ * 查询次数测试在 H2（MySQL 兼容模式）上分别执行改造前的逐字段查询与联表元数据查询，
+ * 通过 MyBatis 拦截器统计实际执行的查询数与返回行数
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticleConverterTest {
+
+    private static final QueryCounter QUERY_COUNTER = new QueryCounter();
+
+    private static SqlSessionFactory sessionFactory;
+
+    private final BlogArticleMapper articleMapper = mock(BlogArticleMapper.class);
+    private final ArticleConverter converter = new ArticleConverter(articleMapper,
+            mock(RelevancyArticleTagMapper.class), mock(ReferenceDataCache.class), mock(ArticleInteractionCache.class));
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:article_detail_meta;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE sys_user (id BIGINT AUTO_INCREMENT PRIMARY KEY, role_key VARCHAR(50), "
+                    + "username VARCHAR(50), password VARCHAR(100), nickname VARCHAR(50), email VARCHAR(100), "
+                    + "avatar VARCHAR(500), intro VARCHAR(500), status TINYINT DEFAULT 1, deleted TINYINT DEFAULT 0, "
+                    + "create_time DATETIME, update_time DATETIME)");
+            statement.execute("CREATE TABLE blog_category (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "category_name VARCHAR(50) NOT NULL, category_desc VARCHAR(200), sort INT DEFAULT 0, "
+                    + "deleted TINYINT DEFAULT 0, create_time DATETIME, update_time DATETIME)");
+            statement.execute("CREATE TABLE blog_tag (id BIGINT AUTO_INCREMENT PRIMARY KEY, tag_name VARCHAR(50) NOT NULL, "
+                    + "sort INT DEFAULT 0, deleted TINYINT DEFAULT 0, create_time DATETIME, update_time DATETIME)");
+            statement.execute("CREATE TABLE relevancy_article_tag (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "article_id BIGINT NOT NULL, tag_id BIGINT NOT NULL, create_time DATETIME)");
+            statement.execute("CREATE TABLE blog_article (id BIGINT AUTO_INCREMENT PRIMARY KEY, author_id BIGINT NOT NULL, "
+                    + "category_id BIGINT, title VARCHAR(200) NOT NULL, summary VARCHAR(500), cover_image VARCHAR(500), "
+                    + "content LONGTEXT NOT NULL, html_content LONGTEXT, is_draft TINYINT DEFAULT 0, is_top TINYINT DEFAULT 0, "
+                    + "view_count INT DEFAULT 0, like_count INT DEFAULT 0, collect_count INT DEFAULT 0, "
+                    + "comment_count INT DEFAULT 0, deleted TINYINT DEFAULT 0, create_time DATETIME, update_time DATETIME)");
+            statement.execute("INSERT INTO sys_user (id, role_key, username, password, nickname, avatar) "
+                    + "VALUES (1, 'admin', 'admin', 'x', '作者', 'avatar.png')");
+            statement.execute("INSERT INTO blog_category (id, category_name) VALUES (1, '后端')");
+            statement.execute("INSERT INTO blog_tag (id, tag_name, deleted) VALUES (10, 'Java', 0), (11, 'Spring', 0), "
+                    + "(12, '已删除', 1)");
+            statement.execute("INSERT INTO relevancy_article_tag (article_id, tag_id) VALUES (1, 10), (1, 11), (1, 12)");
+            statement.execute("INSERT INTO blog_article (id, author_id, category_id, title, content) "
+                    + "VALUES (1, 1, 1, '标题', '正文')");
+        }
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addInterceptor(QUERY_COUNTER);
+        configuration.addMapper(BlogArticleMapper.class);
+        configuration.addMapper(SysUserMapper.class);
+        configuration.addMapper(BlogCategoryMapper.class);
+        configuration.addMapper(BlogTagMapper.class);
+        configuration.addMapper(RelevancyArticleTagMapper.class);
+        sessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @Test
+    void detailBodyReadsAuthorCategoryAndTagsFromOneQuery() {
+        when(articleMapper.selectDetailMeta(1L)).thenReturn(List.of(meta(10L, "Java"), meta(11L, "Spring")));
+
+        ArticleVO vo = converter.toDetailBody(article());
+
+        assertEquals("作者", vo.getAuthorNickname());
+        assertEquals("后端", vo.getCategoryName());
+        assertEquals(List.of(10L, 11L), vo.getTags().stream().map(TagClientVO::getId).toList());
+    }
+
+    @Test
+    void detailBodyWithoutTagsHasEmptyTagList() {
+        when(articleMapper.selectDetailMeta(1L)).thenReturn(List.of(meta(null, null)));
+
+        ArticleVO vo = converter.toDetailBody(article());
+
+        assertEquals("作者", vo.getAuthorNickname());
+        assertTrue(vo.getTags().isEmpty());
+    }
+
+    @Test
+    void detailBodyIssuesOneQueryAgainstDatabase() {
+        QUERY_COUNTER.reset();
+        ArticleVO vo;
+        try (SqlSession session = sessionFactory.openSession()) {
+            ArticleConverter h2Converter = new ArticleConverter(session.getMapper(BlogArticleMapper.class),
+                    mock(RelevancyArticleTagMapper.class), mock(ReferenceDataCache.class),
+                    mock(ArticleInteractionCache.class));
+            vo = h2Converter.toDetailBody(article());
+        }
+
+        assertEquals(1, QUERY_COUNTER.queries);
+        // 每个关联标签一行（已删除标签的行标签列为空）
+        assertEquals(3, QUERY_COUNTER.rows);
+        assertEquals("作者", vo.getAuthorNickname());
+        assertEquals("avatar.png", vo.getAuthorAvatar());
+        assertEquals("后端", vo.getCategoryName());
+        assertEquals(List.of(10L, 11L), vo.getTags().stream().map(TagClientVO::getId).toList());
+    }
+
+    /**
+     * 改造前的查询方式：作者、分类、标签关联、标签各一次查询，结果与联表查询一致
+     */
+    @Test
+    void legacyPerFieldLookupsIssueFourQueries() {
+        QUERY_COUNTER.reset();
+        SysUser author;
+        BlogCategory category;
+        List<Long> tagIds;
+        try (SqlSession session = sessionFactory.openSession()) {
+            author = session.getMapper(SysUserMapper.class).selectById(1L);
+            category = session.getMapper(BlogCategoryMapper.class).selectById(1L);
+            List<RelevancyArticleTag> relations = session.getMapper(RelevancyArticleTagMapper.class)
+                    .selectList(new LambdaQueryWrapper<RelevancyArticleTag>()
+                            .in(RelevancyArticleTag::getArticleId, Set.of(1L)));
+            tagIds = session.getMapper(BlogTagMapper.class)
+                    .selectBatchIds(relations.stream().map(RelevancyArticleTag::getTagId).toList()).stream()
+                    .map(BlogTag::getId)
+                    .sorted()
+                    .toList();
+        }
+
+        assertEquals(4, QUERY_COUNTER.queries);
+        // 作者 1 + 分类 1 + 标签关联 3 + 未删除标签 2
+        assertEquals(7, QUERY_COUNTER.rows);
+        assertEquals("作者", author.getNickname());
+        assertEquals("后端", category.getCategoryName());
+        assertEquals(List.of(10L, 11L), tagIds);
+    }
+
+    private static BlogArticle article() {
+        BlogArticle article = new BlogArticle();
+        article.setId(1L);
+        article.setTitle("标题");
+        return article;
+    }
+
+    private static ArticleMetaVO meta(Long tagId, String tagName) {
+        ArticleMetaVO meta = new ArticleMetaVO();
+        meta.setAuthorNickname("作者");
+        meta.setAuthorAvatar("avatar.png");
+        meta.setCategoryName("后端");
+        meta.setTagId(tagId);
+        meta.setTagName(tagName);
+        return meta;
+    }
+
+    /**
+     * 统计实际执行的查询数与返回行数
+     */
+    @Intercepts(@Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}))
+    private static class QueryCounter implements Interceptor {
+
+        private int queries;
+        private int rows;
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            queries++;
+            rows += ((List<?>) result).size();
+            return result;
+        }
+
+        void reset() {
+            queries = 0;
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.nebula.service.article.counter;
+
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.properties.ArticleViewCounterProperties;
+import com.nebula.service.article.rank.HotArticleLeaderboard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 文章浏览量写回计数器测试（进程内模式）
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticleViewCounterTest {
+
+    private BlogArticleMapper articleMapper;
+    private ArticleViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        ArticleViewCounterProperties properties = new ArticleViewCounterProperties();
+        properties.setMode(ArticleViewCounterProperties.Mode.LOCAL);
+        articleMapper = mock(BlogArticleMapper.class);
+        counter = new ArticleViewCounter(properties, mock(StringRedisTemplate.class), articleMapper,
+                mock(HotArticleLeaderboard.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void pendingDeltaIncludesViewsBeingWritten() {
+        counter.increment(1L);
+        counter.increment(1L);
+        counter.increment(1L);
+        AtomicLong duringWrite = new AtomicLong(-1);
+        doAnswer(invocation -> {
+            duringWrite.set(counter.getPendingDelta(1L));
+            return 1;
+        }).when(articleMapper).batchIncrementViewCount(anyMap());
+
+        counter.flush();
+
+        assertEquals(3, duringWrite.get());
+        assertEquals(0, counter.getPendingDelta(1L));
+        verify(articleMapper).batchIncrementViewCount(Map.of(1L, 3L));
+    }
+
+    @Test
+    void failedWriteKeepsDeltaForNextFlush() {
+        counter.increment(1L);
+        counter.increment(2L);
+        doThrow(new IllegalStateException("db down")).when(articleMapper).batchIncrementViewCount(anyMap());
+
+        counter.flush();
+
+        assertEquals(1, counter.getPendingDelta(1L));
+        assertEquals(1, counter.getPendingDelta(2L));
+
+        counter.increment(1L);
+        doReturn(2).when(articleMapper).batchIncrementViewCount(anyMap());
+        counter.flush();
+
+        verify(articleMapper).batchIncrementViewCount(Map.of(1L, 2L, 2L, 1L));
+        assertEquals(0, counter.getPendingDelta(1L));
+        assertEquals(0, counter.getPendingDelta(2L));
+    }
+}
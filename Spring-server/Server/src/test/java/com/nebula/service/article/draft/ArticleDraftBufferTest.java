@@ -0,0 +1,75 @@
+package com.nebula.service.article.draft;
+
+import com.nebula.constant.ArticleConstants;
+import com.nebula.dto.ArticleDraftPatchDTO;
+import com.nebula.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 草稿编辑应用测试
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticleDraftBufferTest {
+
+    private static final int MAX_LENGTH = 20;
+
+    @Test
+    void appliesEditsSequentially() {
+        // 第二个编辑的位置基于第一个编辑后的正文
+        String content = ArticleDraftBuffer.applyEdits("hello world",
+                List.of(edit(0, 5, "你好"), edit(2, 0, ","), edit(9, 0, "!")), MAX_LENGTH);
+
+        assertEquals("你好, world!", content);
+    }
+
+    @Test
+    void acceptsEditsAtBounds() {
+        assertEquals("abcX", ArticleDraftBuffer.applyEdits("abc", List.of(edit(3, 0, "X")), MAX_LENGTH));
+        assertEquals("", ArticleDraftBuffer.applyEdits("abc", List.of(edit(0, 3, null)), MAX_LENGTH));
+        assertEquals("x".repeat(MAX_LENGTH),
+                ArticleDraftBuffer.applyEdits("", List.of(edit(0, null, "x".repeat(MAX_LENGTH))), MAX_LENGTH));
+        String content = "不变";
+        assertSame(content, ArticleDraftBuffer.applyEdits(content, List.of(), MAX_LENGTH));
+        assertSame(content, ArticleDraftBuffer.applyEdits(content, null, MAX_LENGTH));
+    }
+
+    @Test
+    void rejectsOutOfRangeEdits() {
+        assertRejected(ArticleConstants.ERROR_DRAFT_EDIT_OUT_OF_RANGE, "abc", edit(4, 0, "x"));
+        assertRejected(ArticleConstants.ERROR_DRAFT_EDIT_OUT_OF_RANGE, "abc", edit(2, 2, null));
+        assertRejected(ArticleConstants.ERROR_DRAFT_EDIT_OUT_OF_RANGE, "abc", edit(-1, 0, "x"));
+        assertRejected(ArticleConstants.ERROR_DRAFT_EDIT_OUT_OF_RANGE, "abc", edit(0, -1, "x"));
+        assertRejected(ArticleConstants.ERROR_DRAFT_EDIT_OUT_OF_RANGE, "abc", edit(null, 0, "x"));
+        assertRejected(ArticleConstants.ERROR_DRAFT_EDIT_OUT_OF_RANGE, "abc", edit(1, Integer.MAX_VALUE, null));
+    }
+
+    @Test
+    void rejectsContentLongerThanLimit() {
+        assertRejected(ArticleConstants.ERROR_DRAFT_CONTENT_TOO_LONG, "", edit(0, 0, "x".repeat(MAX_LENGTH + 1)));
+        // 替换后长度不变时允许
+        assertEquals("y".repeat(MAX_LENGTH), ArticleDraftBuffer.applyEdits("x".repeat(MAX_LENGTH),
+                List.of(edit(0, MAX_LENGTH, "y".repeat(MAX_LENGTH))), MAX_LENGTH));
+    }
+
+    private static void assertRejected(String message, String content, ArticleDraftPatchDTO.Edit edit) {
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> ArticleDraftBuffer.applyEdits(content, List.of(edit), MAX_LENGTH));
+        assertEquals(message, e.getMessage());
+    }
+
+    private static ArticleDraftPatchDTO.Edit edit(Integer offset, Integer deleteCount, String text) {
+        ArticleDraftPatchDTO.Edit edit = new ArticleDraftPatchDTO.Edit();
+        edit.setOffset(offset);
+        edit.setDeleteCount(deleteCount);
+        edit.setText(text);
+        return edit;
+    }
+}
@@ -0,0 +1,287 @@
+package com.nebula.service.article.facet;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticleFacetProperties;
+import com.nebula.service.common.cluster.ClusterBroadcastHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章标签/分类位图索引测试
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticleFacetIndexTest {
+
+    private static final int TAG_COUNT = 8;
+    private static final int CATEGORY_COUNT = 4;
+
+    /**
+     * 逐篇判断使用的文章模型
+     */
+    private record Doc(Long id, Long categoryId, Set<Long> tagIds, boolean draft) {
+    }
+
+    private final BlogArticleMapper articleMapper = mock(BlogArticleMapper.class);
+    private final RelevancyArticleTagMapper articleTagMapper = mock(RelevancyArticleTagMapper.class);
+    private final ArticleFacetIndex index = new ArticleFacetIndex(new ArticleFacetProperties(), articleMapper,
+            articleTagMapper, mock(ClusterBroadcastHelper.class));
+
+    @Test
+    void readsDoNotBuildIndexSynchronously() {
+        assertFalse(index.isAvailable());
+        assertNull(index.filter(new ArticleFacetIndex.TagFilter(List.of(1L), null, null), null));
+        assertNull(index.facetCounts(null, null));
+        verifyNoInteractions(articleMapper, articleTagMapper);
+    }
+
+    @Test
+    void tagDeletionUpdatesAffectedArticlesWithoutRebuild() {
+        stubPages(List.of(article(1L, 10L), article(2L, 10L)),
+                List.of(relation(1L, 1L, 100L), relation(2L, 2L, 100L), relation(3L, 2L, 200L)));
+        index.rebuild();
+        assertTrue(index.isAvailable());
+        assertEquals(Map.of(100L, 2L, 200L, 1L), index.facetCounts(null, null).tagCounts());
+
+        // 标签 100 删除后关联已不存在，重新加载时只剩标签 200
+        when(articleMapper.selectList(any())).thenReturn(List.of(article(1L, 10L), article(2L, 10L)));
+        when(articleTagMapper.selectList(any())).thenReturn(List.of(relation(3L, 2L, 200L)));
+        index.onReferenceDataChanged(new ReferenceDataChangedEvent(
+                ReferenceDataChangedEvent.ReferenceType.TAG, 100L, null));
+
+        ArticleFacetIndex.FacetCounts counts = index.facetCounts(null, null);
+        assertEquals(2, counts.total());
+        assertEquals(Map.of(200L, 1L), counts.tagCounts());
+        assertEquals(Map.of(10L, 2L), counts.categoryCounts());
+        verify(articleMapper, times(2)).selectPage(any(), any());
+    }
+
+    @Test
+    void tagCreationDoesNotTouchDatabase() {
+        stubPages(List.of(article(1L, 10L)), List.of(relation(1L, 1L, 100L)));
+        index.rebuild();
+
+        index.onReferenceDataChanged(new ReferenceDataChangedEvent(
+                ReferenceDataChangedEvent.ReferenceType.TAG, 300L, List.of()));
+
+        verify(articleMapper, never()).selectList(any());
+        verify(articleTagMapper, never()).selectList(any());
+    }
+
+    @Test
+    void filterAndCountsMatchBruteForce() {
+        Map<Long, Doc> docs = randomDocs(new Random(7), 200);
+        buildIndex(docs);
+
+        assertMatchesBruteForce(docs, new Random(11), 500);
+    }
+
+    @Test
+    void emptyAndUnknownTagConditions() {
+        Map<Long, Doc> docs = new HashMap<>();
+        docs.put(1L, new Doc(1L, 10L, Set.of(), false));
+        docs.put(2L, new Doc(2L, 10L, Set.of(1L), false));
+        docs.put(3L, new Doc(3L, null, Set.of(1L, 2L), false));
+        docs.put(4L, new Doc(4L, 20L, Set.of(2L), true));
+        buildIndex(docs);
+
+        // 空集合与 null 都视为不限制
+        assertFilter(docs, new ArticleFacetIndex.TagFilter(List.of(), List.of(), List.of()), null);
+        assertFilter(docs, null, null);
+        // 不存在的标签：与条件、或条件无结果，非条件不排除任何文章
+        assertFilter(docs, new ArticleFacetIndex.TagFilter(List.of(99L), null, null), null);
+        assertFilter(docs, new ArticleFacetIndex.TagFilter(null, List.of(99L), null), null);
+        assertFilter(docs, new ArticleFacetIndex.TagFilter(null, List.of(99L, 2L), List.of(98L)), null);
+        assertFilter(docs, null, 404L);
+        assertEquals(List.of(1L, 2L, 3L), ArticleFacetIndex.toArticleIds(
+                index.filter(new ArticleFacetIndex.TagFilter(null, null, List.of(99L)), null)));
+        // 无标签的文章只能通过无标签条件或非条件命中
+        assertEquals(List.of(1L), ArticleFacetIndex.toArticleIds(
+                index.filter(new ArticleFacetIndex.TagFilter(null, null, List.of(1L, 2L)), null)));
+    }
+
+    @Test
+    void removedArticlesDropOutOfFiltersAndCounts() {
+        Map<Long, Doc> docs = randomDocs(new Random(13), 120);
+        buildIndex(docs);
+
+        // 文章 5 被删除、文章 6 转为草稿、文章 7 换分类并清空标签，另含从未存在的文章 999
+        docs.remove(5L);
+        docs.put(6L, new Doc(6L, docs.get(6L).categoryId(), docs.get(6L).tagIds(), true));
+        docs.put(7L, new Doc(7L, 3L, Set.of(), false));
+        when(articleMapper.selectList(any())).thenReturn(List.of(
+                article(6L, docs.get(6L).categoryId(), 1), article(7L, 3L, 0)));
+        when(articleTagMapper.selectList(any())).thenReturn(docs.get(6L).tagIds().stream()
+                .map(tagId -> relation(null, 6L, tagId))
+                .toList());
+        index.onArticleChanged(new ArticleChangedEvent(List.of(5L, 6L, 7L, 999L),
+                ArticleChangedEvent.ChangeType.UPDATED));
+
+        for (Long removed : List.of(5L, 6L, 999L)) {
+            assertFalse(index.filter(null, null).contains(removed.intValue()));
+        }
+        assertMatchesBruteForce(docs, new Random(17), 300);
+    }
+
+    /**
+     * 随机生成筛选条件，与逐篇判断的结果对比；与、或、非条件各自可能为 null、空集合或包含不存在的标签
+     */
+    private void assertMatchesBruteForce(Map<Long, Doc> docs, Random random, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            ArticleFacetIndex.TagFilter filter = random.nextInt(10) == 0 ? null : new ArticleFacetIndex.TagFilter(
+                    randomTags(random, 2), randomTags(random, 3), randomTags(random, 2));
+            Long categoryId = random.nextInt(3) == 0 ? (long) random.nextInt(CATEGORY_COUNT + 1) : null;
+            assertFilter(docs, filter, categoryId);
+        }
+    }
+
+    private void assertFilter(Map<Long, Doc> docs, ArticleFacetIndex.TagFilter filter, Long categoryId) {
+        List<Doc> matched = docs.values().stream()
+                .filter(doc -> matches(doc, filter, categoryId))
+                .sorted(Comparator.comparing(Doc::id))
+                .toList();
+        String message = filter + ", categoryId=" + categoryId;
+
+        assertEquals(matched.stream().map(Doc::id).toList(),
+                ArticleFacetIndex.toArticleIds(index.filter(filter, categoryId)), message);
+
+        Map<Long, Long> tagCounts = new HashMap<>();
+        Map<Long, Long> categoryCounts = new HashMap<>();
+        for (Doc doc : matched) {
+            doc.tagIds().forEach(tagId -> tagCounts.merge(tagId, 1L, Long::sum));
+            if (doc.categoryId() != null) {
+                categoryCounts.merge(doc.categoryId(), 1L, Long::sum);
+            }
+        }
+        ArticleFacetIndex.FacetCounts counts = index.facetCounts(filter, categoryId);
+        assertEquals(matched.size(), counts.total(), message);
+        assertEquals(tagCounts, counts.tagCounts(), message);
+        assertEquals(categoryCounts, counts.categoryCounts(), message);
+    }
+
+    private static boolean matches(Doc doc, ArticleFacetIndex.TagFilter filter, Long categoryId) {
+        if (doc.draft() || (categoryId != null && !categoryId.equals(doc.categoryId()))) {
+            return false;
+        }
+        if (filter == null) {
+            return true;
+        }
+        if (filter.allTagIds() != null && !doc.tagIds().containsAll(filter.allTagIds())) {
+            return false;
+        }
+        if (filter.anyTagIds() != null && !filter.anyTagIds().isEmpty()
+                && filter.anyTagIds().stream().noneMatch(doc.tagIds()::contains)) {
+            return false;
+        }
+        return filter.excludeTagIds() == null || filter.excludeTagIds().stream().noneMatch(doc.tagIds()::contains);
+    }
+
+    /**
+     * 随机标签集合：约 1/4 为 null，其余为 0..maxSize 个标签（标签 ID 范围包含 1 个不存在的标签）
+     */
+    private static List<Long> randomTags(Random random, int maxSize) {
+        if (random.nextInt(4) == 0) {
+            return null;
+        }
+        int size = random.nextInt(maxSize + 1);
+        List<Long> tagIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tagIds.add((long) random.nextInt(TAG_COUNT + 1) + 1);
+        }
+        return tagIds;
+    }
+
+    /**
+     * 随机文章：约 1/10 为草稿、1/5 无标签、1/8 无分类
+     */
+    private static Map<Long, Doc> randomDocs(Random random, int count) {
+        Map<Long, Doc> docs = new HashMap<>();
+        for (long id = 1; id <= count; id++) {
+            Set<Long> tagIds = new HashSet<>();
+            if (random.nextInt(5) != 0) {
+                for (long tagId = 1; tagId <= TAG_COUNT; tagId++) {
+                    if (random.nextInt(3) == 0) {
+                        tagIds.add(tagId);
+                    }
+                }
+            }
+            Long categoryId = random.nextInt(8) == 0 ? null : (long) random.nextInt(CATEGORY_COUNT) + 1;
+            docs.put(id, new Doc(id, categoryId, Set.copyOf(tagIds), random.nextInt(10) == 0));
+        }
+        return docs;
+    }
+
+    private void buildIndex(Map<Long, Doc> docs) {
+        List<BlogArticle> articles = new ArrayList<>();
+        List<RelevancyArticleTag> relations = new ArrayList<>();
+        docs.values().stream().sorted(Comparator.comparing(Doc::id)).forEach(doc -> {
+            articles.add(article(doc.id(), doc.categoryId(), doc.draft() ? 1 : 0));
+            doc.tagIds().stream().sorted().forEach(tagId ->
+                    relations.add(relation((long) relations.size() + 1, doc.id(), tagId)));
+        });
+        stubPages(articles, relations);
+        index.rebuild();
+        assertTrue(index.isAvailable());
+    }
+
+    /**
+     * 每个 Mapper 首次返回全部数据，之后返回空批次
+     */
+    private void stubPages(List<BlogArticle> articles, List<RelevancyArticleTag> relations) {
+        when(articleMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<BlogArticle> page = invocation.getArgument(0);
+            return page.setRecords(articles);
+        }).thenAnswer(invocation -> invocation.<Page<BlogArticle>>getArgument(0).setRecords(List.of()));
+        when(articleTagMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<RelevancyArticleTag> page = invocation.getArgument(0);
+            return page.setRecords(relations);
+        }).thenAnswer(invocation -> invocation.<Page<RelevancyArticleTag>>getArgument(0).setRecords(List.of()));
+    }
+
+    private static BlogArticle article(Long id, Long categoryId) {
+        return article(id, categoryId, 0);
+    }
+
+    private static BlogArticle article(Long id, Long categoryId, int isDraft) {
+        BlogArticle article = new BlogArticle();
+        article.setId(id);
+        article.setCategoryId(categoryId);
+        article.setIsDraft(isDraft);
+        return article;
+    }
+
+    private static RelevancyArticleTag relation(Long id, Long articleId, Long tagId) {
+        RelevancyArticleTag relation = new RelevancyArticleTag();
+        relation.setId(id);
+        relation.setArticleId(articleId);
+        relation.setTagId(tagId);
+        return relation;
+    }
+}
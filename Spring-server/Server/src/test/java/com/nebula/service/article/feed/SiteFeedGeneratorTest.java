@@ -0,0 +1,171 @@
+package com.nebula.service.article.feed;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.entity.BlogArticle;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.properties.SiteFeedProperties;
+import com.nebula.service.common.cluster.ClusterBroadcastHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 站点地图分片增量更新测试
+ * <p>
+ * 每个分片 10 篇，文章ID 1~30 共 3 个分片
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class SiteFeedGeneratorTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    private final BlogArticleMapper articleMapper = mock(BlogArticleMapper.class);
+    private SiteFeedGenerator generator;
+    private List<SiteFeedGenerator.Document> before;
+    private boolean databaseDown;
+
+    @BeforeEach
+    void setUp() {
+        SiteFeedProperties properties = new SiteFeedProperties();
+        properties.setSitemapShardSize(10);
+        List<BlogArticle> articles = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            articles.add(article(id, BASE_TIME));
+        }
+        boolean[] returned = {false};
+        when(articleMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            if (databaseDown) {
+                throw new IllegalStateException("database down");
+            }
+            Page<BlogArticle> page = invocation.getArgument(0);
+            if (page.getSize() == properties.getFeedSize()) {
+                return page.setRecords(articles.subList(0, properties.getFeedSize()));
+            }
+            // 全量重建按键集分页：第一页返回全部，之后返回空页
+            page.setRecords(returned[0] ? List.of() : articles);
+            returned[0] = !returned[0];
+            return page;
+        });
+        generator = new SiteFeedGenerator(properties, articleMapper, mock(ClusterBroadcastHelper.class));
+        generator.rebuild();
+        before = shards();
+        assertEquals(3, before.size());
+    }
+
+    @Test
+    void updateRegeneratesOnlyItsShard() {
+        generator.markChanged(15L, BASE_TIME.plusDays(1));
+        generator.refresh();
+
+        List<SiteFeedGenerator.Document> after = shards();
+        assertSame(before.get(0), after.get(0));
+        assertNotSame(before.get(1), after.get(1));
+        assertSame(before.get(2), after.get(2));
+        assertTrue(text(after.get(1)).contains("2024-05-02"));
+    }
+
+    @Test
+    void removalRegeneratesItsShardAndAllFollowing() {
+        generator.markChanged(15L, null);
+        generator.refresh();
+
+        List<SiteFeedGenerator.Document> after = shards();
+        assertSame(before.get(0), after.get(0));
+        assertNotSame(before.get(1), after.get(1));
+        assertNotSame(before.get(2), after.get(2));
+        assertFalse(text(after.get(1)).contains("/article/15<"));
+        // 分片边界后移：文章 21 移入第 2 个分片
+        assertTrue(text(after.get(1)).contains("/article/21<"));
+        assertFalse(text(after.get(2)).contains("/article/21<"));
+    }
+
+    @Test
+    void appendAddsShardWithoutTouchingEarlierOnes() {
+        generator.markChanged(31L, BASE_TIME);
+        generator.refresh();
+
+        assertSame(before.get(0), generator.getSitemapShard(1));
+        assertSame(before.get(1), generator.getSitemapShard(2));
+        assertSame(before.get(2), generator.getSitemapShard(3));
+        assertTrue(text(generator.getSitemapShard(4)).contains("/article/31<"));
+        assertNull(generator.getSitemapShard(5));
+    }
+
+    @Test
+    void unpublishedArticleLeavesShardsUntouched() {
+        generator.markChanged(99L, null);
+        generator.refresh();
+
+        assertEquals(before.size(), shards().size());
+        for (int i = 0; i < before.size(); i++) {
+            assertSame(before.get(i), shards().get(i));
+        }
+    }
+
+    @Test
+    void requestsDoNotBuildBeforeStartupRebuild() {
+        SiteFeedProperties properties = new SiteFeedProperties();
+        BlogArticleMapper mapper = mock(BlogArticleMapper.class);
+        SiteFeedGenerator pending = new SiteFeedGenerator(properties, mapper, mock(ClusterBroadcastHelper.class));
+
+        assertTrue(pending.isPending());
+        assertNull(pending.getSitemap());
+        assertNull(pending.getRss());
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    void failedRebuildKeepsPreviousOutput() {
+        SiteFeedGenerator.Document sitemap = generator.getSitemap();
+        generator.markChanged(15L, BASE_TIME.plusDays(1));
+        databaseDown = true;
+
+        generator.rebuild();
+
+        assertFalse(generator.isPending());
+        assertSame(sitemap, generator.getSitemap());
+        assertSame(before.get(0), generator.getSitemapShard(1));
+        // 重建失败不清除已标记的变更，下次检查仍会重新生成
+        databaseDown = false;
+        generator.refresh();
+        assertTrue(text(generator.getSitemapShard(2)).contains("2024-05-02"));
+    }
+
+    private List<SiteFeedGenerator.Document> shards() {
+        List<SiteFeedGenerator.Document> shards = new ArrayList<>();
+        for (int index = 1; generator.getSitemapShard(index) != null; index++) {
+            shards.add(generator.getSitemapShard(index));
+        }
+        return shards;
+    }
+
+    private static String text(SiteFeedGenerator.Document document) {
+        return new String(document.content(), StandardCharsets.UTF_8);
+    }
+
+    private static BlogArticle article(Long id, LocalDateTime time) {
+        BlogArticle article = new BlogArticle();
+        article.setId(id);
+        article.setTitle("文章" + id);
+        article.setCreateTime(time);
+        article.setUpdateTime(time);
+        return article;
+    }
+}
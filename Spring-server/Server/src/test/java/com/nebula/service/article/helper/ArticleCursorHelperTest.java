@@ -0,0 +1,176 @@
+package com.nebula.service.article.helper;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.entity.BlogArticle;
+import com.nebula.exception.BusinessException;
+import com.nebula.mapper.BlogArticleMapper;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章游标分页测试（H2 MySQL 兼容模式）
+ * <p>
+ * 60 篇文章：前 5 篇置顶，每 4 篇共用同一创建时间，另有草稿与已删除文章穿插其中
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticleCursorHelperTest {
+
+    private static final int ARTICLE_COUNT = 60;
+
+    private static final ArticleCursorHelper CURSOR_HELPER = new ArticleCursorHelper();
+
+    /**
+     * 期望对客户端可见的文章，按 (is_top, create_time, id) 倒序
+     */
+    private static final List<BlogArticle> VISIBLE = new ArrayList<>();
+
+    private static SqlSessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:article_feed;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE blog_article (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "author_id BIGINT NOT NULL, category_id BIGINT, title VARCHAR(200) NOT NULL, "
+                    + "summary VARCHAR(500), cover_image VARCHAR(500), content LONGTEXT NOT NULL, "
+                    + "html_content LONGTEXT, is_draft TINYINT NOT NULL DEFAULT 0, is_top TINYINT NOT NULL DEFAULT 0, "
+                    + "view_count INT DEFAULT 0, like_count INT DEFAULT 0, collect_count INT DEFAULT 0, "
+                    + "comment_count INT DEFAULT 0, deleted TINYINT DEFAULT 0, create_time DATETIME, update_time DATETIME)");
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO blog_article "
+                    + "(author_id, title, content, is_draft, is_top, deleted, create_time) "
+                    + "VALUES (1, ?, '', ?, ?, ?, ?)")) {
+                for (int i = 1; i <= ARTICLE_COUNT; i++) {
+                    int isDraft = i % 11 == 0 ? 1 : 0;
+                    int isTop = i <= 5 ? 1 : 0;
+                    int deleted = i % 13 == 0 ? 1 : 0;
+                    LocalDateTime createTime = start.plusMinutes(i / 4);
+                    insert.setString(1, "文章" + i);
+                    insert.setInt(2, isDraft);
+                    insert.setInt(3, isTop);
+                    insert.setInt(4, deleted);
+                    insert.setTimestamp(5, Timestamp.valueOf(createTime));
+                    insert.addBatch();
+                    if (isDraft == 0 && deleted == 0) {
+                        BlogArticle article = new BlogArticle();
+                        article.setId((long) i);
+                        article.setIsTop(isTop);
+                        article.setCreateTime(createTime);
+                        VISIBLE.add(article);
+                    }
+                }
+                insert.executeBatch();
+            }
+        }
+        VISIBLE.sort(Comparator.comparing(BlogArticle::getIsTop)
+                .thenComparing(BlogArticle::getCreateTime)
+                .thenComparing(BlogArticle::getId)
+                .reversed());
+
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.H2));
+        configuration.addInterceptor(interceptor);
+        configuration.addMapper(BlogArticleMapper.class);
+        sessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @Test
+    void pagesCoverEveryVisibleArticleOnceInOrder() {
+        for (int pageSize : new int[]{1, 3, 4, 7, ARTICLE_COUNT}) {
+            List<Long> ids = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                Feed feed = fetch(cursor, pageSize);
+                assertTrue(feed.ids().size() <= pageSize);
+                ids.addAll(feed.ids());
+                cursor = feed.nextCursor();
+                assertTrue(++pages <= ARTICLE_COUNT, "游标未推进: pageSize=" + pageSize);
+            } while (cursor != null);
+
+            assertEquals(VISIBLE.stream().map(BlogArticle::getId).toList(), ids, "pageSize=" + pageSize);
+            assertEquals(ids.size(), new HashSet<>(ids).size());
+        }
+    }
+
+    @Test
+    void cursorRoundTripsSortKey() {
+        BlogArticle article = new BlogArticle();
+        article.setId(42L);
+        article.setIsTop(1);
+        article.setCreateTime(LocalDateTime.of(2024, 5, 6, 7, 8, 9));
+
+        ArticleCursorHelper.Cursor cursor = CURSOR_HELPER.decode(CURSOR_HELPER.encode(article));
+
+        assertEquals(new ArticleCursorHelper.Cursor(1, article.getCreateTime(), 42L), cursor);
+        assertNull(CURSOR_HELPER.decode(null));
+        assertNull(CURSOR_HELPER.decode(""));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        for (String raw : List.of("1|2024-01-01T00:00", "x|2024-01-01T00:00|1", "0|yesterday|1", "0|2024-01-01T00:00|1|2")) {
+            String token = encoder.encodeToString(raw.getBytes());
+            assertThrows(BusinessException.class, () -> CURSOR_HELPER.decode(token), raw);
+        }
+        assertThrows(BusinessException.class, () -> CURSOR_HELPER.decode("not base64!"));
+    }
+
+    /**
+     * 与 BlogArticleServiceImpl#getClientArticleFeed 相同的查询方式：多取一条判断是否还有下一页
+     */
+    private static Feed fetch(String cursor, int pageSize) {
+        LambdaQueryWrapper<BlogArticle> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BlogArticle::getIsDraft, 0);
+        CURSOR_HELPER.applySeek(wrapper, CURSOR_HELPER.decode(cursor));
+        CURSOR_HELPER.applySort(wrapper);
+        List<BlogArticle> articles;
+        try (SqlSession session = sessionFactory.openSession()) {
+            articles = session.getMapper(BlogArticleMapper.class)
+                    .selectListPage(new Page<>(1, pageSize + 1, false), wrapper).getRecords();
+        }
+        boolean hasMore = articles.size() > pageSize;
+        if (hasMore) {
+            articles = articles.subList(0, pageSize);
+        }
+        List<Long> ids = articles.stream().map(BlogArticle::getId).toList();
+        return new Feed(ids, hasMore ? CURSOR_HELPER.encode(articles.get(articles.size() - 1)) : null);
+    }
+
+    private record Feed(List<Long> ids, String nextCursor) {
+    }
+}
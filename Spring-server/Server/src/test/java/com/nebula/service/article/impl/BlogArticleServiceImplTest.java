@@ -0,0 +1,191 @@
+package com.nebula.service.article.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.nebula.constant.ArticleConstants;
+import com.nebula.entity.BlogArticle;
+import com.nebula.exception.BusinessException;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.service.article.converter.ArticleConverter;
+import com.nebula.service.article.helper.ArticleCursorHelper;
+import com.nebula.service.article.helper.ArticleQueryHelper;
+import com.nebula.service.article.helper.HotArticleScoreHelper;
+import com.nebula.service.article.rank.HotArticleLeaderboard;
+import com.nebula.vo.ArticleListVO;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.Invocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章服务查询测试：列表与分页路径发给 Mapper 的查询都不选择正文列；批量按 ID 查询的顺序、去重与数量上限
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class BlogArticleServiceImplTest {
+
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private BlogArticleMapper articleMapper;
+
+    @Mock
+    private ArticleQueryHelper queryHelper;
+
+    @Mock
+    private ArticleCursorHelper cursorHelper;
+
+    @Mock
+    private ArticleConverter converter;
+
+    @Mock
+    private HotArticleScoreHelper hotArticleScoreHelper;
+
+    @Mock
+    private HotArticleLeaderboard hotArticleLeaderboard;
+
+    @InjectMocks
+    private BlogArticleServiceImpl articleService;
+
+    private AutoCloseable mocks;
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        assistant.setCurrentNamespace(BlogArticleMapper.class.getName());
+        TableInfoHelper.initTableInfo(assistant, BlogArticle.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        when(queryHelper.applySearchConditions(any(), any(), any(), any(), any(), any(), any())).thenReturn(true);
+        when(queryHelper.applyTagFilter(any(), any())).thenReturn(true);
+        when(hotArticleLeaderboard.getTopArticleIds(anyInt())).thenReturn(null);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void clientListPathsSelectNoBodyColumns() {
+        articleService.getClientArticleList(1L, 10L, "author", "title", 1L, "category", 2L, "tag", null);
+        articleService.getClientArticleFeed(null, 10, null, null, null, null, null, null, null);
+        articleService.getHotArticles(5);
+        articleService.getRecommendArticles(5);
+        articleService.getClientArticlesByIds(List.of(3L, 1L, 2L));
+
+        assertProjected(capturedWrappers());
+    }
+
+    @Test
+    void adminListPathSelectsNoBodyColumns() {
+        articleService.getAdminArticleList(1L, 10L, "author", "title", "category", "tag", 0, 1);
+
+        assertProjected(capturedWrappers());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchLookupKeepsRequestOrderAndQueriesDistinctIds() {
+        // 数据库按主键顺序返回，文章 404 不存在或未发布
+        doReturn(List.of(article(1L), article(2L), article(3L))).when(articleMapper).selectList(any(Wrapper.class));
+        when(converter.batchToListVO(anyList())).thenAnswer(invocation -> invocation.<List<BlogArticle>>getArgument(0)
+                .stream()
+                .map(article -> {
+                    ArticleListVO vo = new ArticleListVO();
+                    vo.setId(article.getId());
+                    return vo;
+                })
+                .toList());
+
+        List<ArticleListVO> articles = articleService.getClientArticlesByIds(Arrays.asList(3L, null, 1L, 3L, 2L, 404L, 1L));
+
+        assertEquals(List.of(3L, 1L, 2L), articles.stream().map(ArticleListVO::getId).toList());
+        List<LambdaQueryWrapper<?>> wrappers = capturedWrappers();
+        assertEquals(1, wrappers.size());
+        assertEquals(List.of(3L, 1L, 2L, 404L), wrappers.get(0).getParamNameValuePairs().values().stream()
+                .filter(Long.class::isInstance)
+                .toList());
+    }
+
+    @Test
+    void batchLookupLimitAppliesAfterDeduplication() {
+        List<Long> withinLimit = new ArrayList<>();
+        for (long id = 1; id <= ArticleConstants.MAX_BATCH_SIZE; id++) {
+            withinLimit.add(id);
+            withinLimit.add(id);
+        }
+        assertTrue(articleService.getClientArticlesByIds(withinLimit).isEmpty());
+
+        List<Long> overLimit = LongStream.rangeClosed(1, ArticleConstants.MAX_BATCH_SIZE + 1).boxed().toList();
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> articleService.getClientArticlesByIds(overLimit));
+        assertEquals(ArticleConstants.ERROR_BATCH_SIZE_EXCEEDED, exception.getMessage());
+
+        // 空列表与超出上限均不查询数据库，只有第一次调用发出查询
+        assertTrue(articleService.getClientArticlesByIds(List.of()).isEmpty());
+        assertEquals(1, capturedWrappers().size());
+    }
+
+    /**
+     * 收集本次测试中传给文章 Mapper 的全部查询条件
+     */
+    private List<LambdaQueryWrapper<?>> capturedWrappers() {
+        List<LambdaQueryWrapper<?>> wrappers = new ArrayList<>();
+        for (Invocation invocation : mockingDetails(articleMapper).getInvocations()) {
+            for (Object argument : invocation.getArguments()) {
+                if (argument instanceof LambdaQueryWrapper<?> wrapper) {
+                    wrappers.add(wrapper);
+                }
+            }
+        }
+        return wrappers;
+    }
+
+    private static BlogArticle article(Long id) {
+        BlogArticle article = new BlogArticle();
+        article.setId(id);
+        return article;
+    }
+
+    private static void assertProjected(List<LambdaQueryWrapper<?>> wrappers) {
+        assertFalse(wrappers.isEmpty());
+        for (LambdaQueryWrapper<?> wrapper : wrappers) {
+            // 未指定查询列时 MyBatis-Plus 会选择全部列
+            assertNotNull(wrapper.getSqlSelect(), wrapper.getSqlSegment());
+            Set<String> columns = Arrays.stream(wrapper.getSqlSelect().split(","))
+                    .map(String::trim)
+                    .collect(Collectors.toSet());
+            BlogArticleMapper.BODY_COLUMNS.forEach(column -> assertFalse(columns.contains(column), column));
+        }
+    }
+}
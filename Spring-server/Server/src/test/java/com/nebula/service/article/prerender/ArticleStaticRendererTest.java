@@ -0,0 +1,149 @@
+package com.nebula.service.article.prerender;
+
+import com.nebula.entity.BlogArticle;
+import com.nebula.enumeration.DraftStatusEnum;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticleStaticProperties;
+import com.nebula.properties.SiteFeedProperties;
+import com.nebula.service.article.converter.ArticleConverter;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.vo.ArticleVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ResourceLoader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章静态页面预渲染测试
+ * <p>
+ * 每个阶段新建渲染器并在关闭时等待渲染线程完成，再检查输出目录
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticleStaticRendererTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final BlogArticleMapper articleMapper = mock(BlogArticleMapper.class);
+    private final ArticleConverter converter = mock(ArticleConverter.class);
+    private ArticleStaticProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArticleStaticProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(tempDir.toString());
+        when(converter.toDetailBody(any())).thenAnswer(invocation -> {
+            BlogArticle article = invocation.getArgument(0);
+            ArticleVO articleVO = new ArticleVO();
+            articleVO.setId(article.getId());
+            articleVO.setTitle(article.getTitle());
+            articleVO.setHtmlContent("<p>正文" + article.getId() + "</p>");
+            return articleVO;
+        });
+    }
+
+    @Test
+    void writesOnPublishAndRemovesOnUnpublish() throws Exception {
+        Path html = tempDir.resolve("article").resolve("7.html");
+        Path json = tempDir.resolve("article").resolve("7.json");
+
+        when(articleMapper.selectById(7L)).thenReturn(article(7L, DraftStatusEnum.PUBLISHED));
+        ArticleStaticRenderer renderer = newRenderer();
+        renderer.onArticleChanged(new ArticleChangedEvent(7L, ArticleChangedEvent.ChangeType.PUBLISHED));
+        renderer.shutdown();
+
+        assertTrue(Files.exists(json));
+        String page = Files.readString(html, StandardCharsets.UTF_8);
+        assertTrue(page.contains("<title>文章7</title>"));
+        assertTrue(page.contains("<p>正文7</p>"));
+
+        // 转为草稿：重新读取到草稿状态后移除文件
+        when(articleMapper.selectById(7L)).thenReturn(article(7L, DraftStatusEnum.DRAFT));
+        renderer = newRenderer();
+        renderer.onArticleChanged(new ArticleChangedEvent(7L, ArticleChangedEvent.ChangeType.UPDATED));
+        renderer.shutdown();
+
+        assertFalse(Files.exists(html));
+        assertFalse(Files.exists(json));
+    }
+
+    @Test
+    void removesImmediatelyOnDelete() throws Exception {
+        Path directory = Files.createDirectories(tempDir.resolve("article"));
+        Files.writeString(directory.resolve("8.html"), "旧页面");
+        Files.writeString(directory.resolve("8.json"), "{}");
+
+        ArticleStaticRenderer renderer = newRenderer();
+        renderer.onArticleChanged(new ArticleChangedEvent(8L, ArticleChangedEvent.ChangeType.DELETED));
+
+        // 删除在事件线程中完成，不等待渲染线程
+        assertFalse(Files.exists(directory.resolve("8.html")));
+        assertFalse(Files.exists(directory.resolve("8.json")));
+        renderer.shutdown();
+    }
+
+    @Test
+    void coalescesPendingRendersOfSameArticle() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(articleMapper.selectById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return article(1L, DraftStatusEnum.PUBLISHED);
+        });
+        when(articleMapper.selectById(2L)).thenReturn(article(2L, DraftStatusEnum.PUBLISHED));
+        ArticleStaticRenderer renderer = newRenderer();
+
+        // 渲染线程被文章 1 占用期间，文章 2 的多次变更只排队一次
+        renderer.onArticleChanged(new ArticleChangedEvent(1L, ArticleChangedEvent.ChangeType.UPDATED));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            renderer.onArticleChanged(new ArticleChangedEvent(List.of(2L), ArticleChangedEvent.ChangeType.UPDATED));
+        }
+        release.countDown();
+        verify(articleMapper, timeout(5000)).selectById(2L);
+
+        // 已开始渲染后的变更会再次排队
+        renderer.onArticleChanged(new ArticleChangedEvent(2L, ArticleChangedEvent.ChangeType.UPDATED));
+        renderer.shutdown();
+
+        verify(articleMapper, times(1)).selectById(1L);
+        verify(articleMapper, times(2)).selectById(2L);
+        assertTrue(Files.exists(tempDir.resolve("article").resolve("2.html")));
+    }
+
+    private ArticleStaticRenderer newRenderer() {
+        return new ArticleStaticRenderer(properties, new SiteFeedProperties(), articleMapper,
+                mock(RelevancyArticleTagMapper.class), converter, JsonMapper.builder().build(),
+                mock(ResourceLoader.class));
+    }
+
+    private static BlogArticle article(Long id, DraftStatusEnum status) {
+        BlogArticle article = new BlogArticle();
+        article.setId(id);
+        article.setTitle("文章" + id);
+        article.setIsDraft(status.getCode());
+        return article;
+    }
+}
@@ -0,0 +1,386 @@
+package com.nebula.service.article.publish;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSErrorCode;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.CopyObjectResult;
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.nebula.constant.ArticleConstants;
+import com.nebula.dto.ArticleDTO;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.BlogArticlePublishTask;
+import com.nebula.entity.RelevancyArticleTag;
+import com.nebula.enumeration.PublishTaskStatusEnum;
+import com.nebula.exception.BusinessException;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.BlogArticlePublishTaskMapper;
+import com.nebula.mapper.BlogTagMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticlePublishProperties;
+import com.nebula.properties.UploadProperties;
+import com.nebula.service.article.helper.MarkdownHelper;
+import com.nebula.service.article.revision.ArticleRevisionStore;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.upload.FileUploadUtil;
+import com.nebula.upload.OssUploadService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章发布流水线测试（任务表使用 H2 MySQL 兼容模式，OSS 为内存中的对象集合）
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticlePublishPipelineTest {
+
+    private static final String DOMAIN = "cdn.example.com";
+    private static final String TEMP_COVER = "https://" + DOMAIN + "/temp/images/articles/covers/cover.jpg";
+    private static final String FORMAL_COVER = "https://" + DOMAIN + "/images/articles/covers/cover.jpg";
+    private static final String TEMP_IMAGE = "https://" + DOMAIN + "/temp/images/articles/body.png";
+    private static final String FORMAL_IMAGE = "https://" + DOMAIN + "/images/articles/body.png";
+
+    private static JdbcDataSource dataSource;
+    private static SqlSessionFactory sessionFactory;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final ArticlePublishProperties properties = new ArticlePublishProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * OSS 中现有的对象名
+     */
+    private final Set<String> objects = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 每次复制对象前执行（用于在复制过程中阻塞执行者）
+     */
+    private volatile Runnable beforeCopy = () -> {
+    };
+
+    private OSS ossClient;
+    private BlogArticlePublishTaskMapper taskMapper;
+    private BlogArticleMapper articleMapper;
+    private ArticleRevisionStore revisionStore;
+    private ApplicationEventPublisher eventPublisher;
+    private ArticlePublishPipeline pipeline;
+
+    @BeforeAll
+    static void initSessionFactory() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        assistant.setCurrentNamespace(BlogArticleMapper.class.getName());
+        TableInfoHelper.initTableInfo(assistant, BlogArticle.class);
+        assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        assistant.setCurrentNamespace(RelevancyArticleTagMapper.class.getName());
+        TableInfoHelper.initTableInfo(assistant, RelevancyArticleTag.class);
+
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:article_publish;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.H2));
+        configuration.addInterceptor(interceptor);
+        configuration.addMapper(BlogArticlePublishTaskMapper.class);
+        sessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE blog_article_publish_task (article_id BIGINT PRIMARY KEY, "
+                    + "change_type VARCHAR(20) NOT NULL, target_draft TINYINT NOT NULL DEFAULT 0, payload LONGTEXT, "
+                    + "html_content LONGTEXT, stage VARCHAR(20), status TINYINT NOT NULL DEFAULT 0, "
+                    + "attempts INT NOT NULL DEFAULT 0, last_error VARCHAR(500), "
+                    + "create_time DATETIME(6) DEFAULT CURRENT_TIMESTAMP, update_time DATETIME(6) DEFAULT CURRENT_TIMESTAMP)");
+        }
+        // 每次调用使用独立会话并自动提交，可在多个工作线程间共享
+        taskMapper = SqlSessionManager.newInstance(sessionFactory).getMapper(BlogArticlePublishTaskMapper.class);
+
+        ossClient = mock(OSS.class);
+        CopyObjectResult copied = mock(CopyObjectResult.class);
+        when(copied.getETag()).thenReturn("etag");
+        when(ossClient.copyObject(anyString(), anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            beforeCopy.run();
+            String source = invocation.getArgument(1);
+            if (!objects.contains(source)) {
+                throw new OSSException("源文件不存在", OSSErrorCode.NO_SUCH_KEY, null, null, null, null, null);
+            }
+            objects.add(invocation.getArgument(3));
+            return copied;
+        });
+        when(ossClient.doesObjectExist(anyString(), anyString()))
+                .thenAnswer(invocation -> objects.contains(invocation.<String>getArgument(1)));
+        doAnswer(invocation -> {
+            objects.remove(invocation.<String>getArgument(1));
+            return null;
+        }).when(ossClient).deleteObject(anyString(), anyString());
+
+        articleMapper = mock(BlogArticleMapper.class);
+        when(articleMapper.selectById(any())).thenAnswer(invocation -> {
+            BlogArticle article = new BlogArticle();
+            article.setId(invocation.getArgument(0));
+            article.setIsDraft(1);
+            return article;
+        });
+        revisionStore = mock(ArticleRevisionStore.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void staleWorkerIsFencedOutByAttemptsToken() throws Exception {
+        properties.setStaleTimeout(Duration.ofMillis(1));
+        objects.add("temp/images/articles/covers/cover.jpg");
+        CountDownLatch firstCopyStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCopy = new CountDownLatch(1);
+        AtomicInteger copies = new AtomicInteger();
+        beforeCopy = () -> {
+            if (copies.getAndIncrement() == 0) {
+                firstCopyStarted.countDown();
+                await(releaseFirstCopy);
+            }
+        };
+        insertTask(1L, PublishTaskStatusEnum.PENDING, 0, payload(TEMP_COVER, "正文"), LocalDateTime.now());
+        pipeline = newPipeline();
+
+        // 执行者 A 领取任务后卡在素材转正
+        pipeline.recover();
+        assertTrue(firstCopyStarted.await(10, TimeUnit.SECONDS));
+        assertEquals(1, taskMapper.selectById(1L).getAttempts());
+
+        // A 被判定为中断，执行者 B 以新令牌领取并完成全部阶段
+        Thread.sleep(20);
+        pipeline.recover();
+        BlogArticlePublishTask task = awaitStatus(1L, PublishTaskStatusEnum.SUCCEEDED);
+        assertEquals(2, task.getAttempts());
+
+        // A 恢复后源文件已被 B 移走，转正按已完成处理，但回写进度时令牌已失效
+        releaseFirstCopy.countDown();
+        pipeline.shutdown();
+        pipeline = null;
+
+        task = taskMapper.selectById(1L);
+        assertEquals(PublishTaskStatusEnum.SUCCEEDED.getCode(), task.getStatus());
+        assertEquals(2, task.getAttempts());
+        assertNull(task.getPayload());
+        assertNull(task.getLastError());
+        assertEquals(2, copies.get());
+        verify(eventPublisher, times(1)).publishEvent(any(ArticleChangedEvent.class));
+        verify(revisionStore, times(1)).record(any(), any(), any());
+        assertEquals(0, failures());
+    }
+
+    @Test
+    void retryResumesAfterPromoteMediaFailure() throws Exception {
+        properties.setMaxAttempts(1);
+        // 正文图片尚未上传完成：封面可以转正，正文图片转正失败
+        objects.add("temp/images/articles/covers/cover.jpg");
+        pipeline = newPipeline();
+
+        pipeline.submit(1L, ArticleChangedEvent.ChangeType.PUBLISHED,
+                payload(TEMP_COVER, "![图](" + TEMP_IMAGE + ")"), 0);
+
+        BlogArticlePublishTask failed = awaitStatus(1L, PublishTaskStatusEnum.FAILED);
+        assertEquals(ArticlePublishPipeline.Stage.PROMOTE_MEDIA.name(), failed.getStage());
+        assertEquals("文件移动失败", failed.getLastError());
+        assertEquals(1, failed.getAttempts());
+        // 已完成的封面转正已持久化，重试时不再重复移动
+        assertEquals(FORMAL_COVER, readPayload(failed).getCoverImage());
+        assertEquals(1, failures());
+        verify(eventPublisher, never()).publishEvent(any(ArticleChangedEvent.class));
+
+        objects.add("temp/images/articles/body.png");
+        pipeline.retry(1L);
+
+        BlogArticlePublishTask succeeded = awaitStatus(1L, PublishTaskStatusEnum.SUCCEEDED);
+        assertEquals(1, succeeded.getAttempts());
+        // 任务行先于文章写入标记为完成，等待同一事务内的后续步骤
+        ArgumentCaptor<BlogArticle> article = ArgumentCaptor.forClass(BlogArticle.class);
+        verify(revisionStore, timeout(5000)).record(eq(ArticleChangedEvent.ChangeType.PUBLISHED), any(),
+                article.capture());
+        assertEquals(FORMAL_COVER, article.getValue().getCoverImage());
+        assertEquals("![图](" + FORMAL_IMAGE + ")", article.getValue().getContent());
+        assertEquals(0, article.getValue().getIsDraft());
+        verify(ossClient, times(1)).copyObject(anyString(), eq("temp/images/articles/covers/cover.jpg"),
+                anyString(), anyString());
+        verify(eventPublisher, timeout(5000)).publishEvent(any(ArticleChangedEvent.class));
+
+        assertEquals(ArticleConstants.ERROR_PUBLISH_TASK_NOT_FAILED,
+                assertThrows(BusinessException.class, () -> pipeline.retry(1L)).getMessage());
+        assertEquals(ArticleConstants.ERROR_PUBLISH_TASK_NOT_FOUND,
+                assertThrows(BusinessException.class, () -> pipeline.retry(404L)).getMessage());
+    }
+
+    @Test
+    void rerunOfCompletedMoveIsIdempotent() throws Exception {
+        properties.setMaxAttempts(1);
+        // 上次执行已移动封面但未回写地址：临时文件已不存在，正式文件已存在
+        objects.add("images/articles/covers/cover.jpg");
+        insertTask(1L, PublishTaskStatusEnum.PENDING, 0, payload(TEMP_COVER, "正文"), LocalDateTime.now());
+        // 对照：临时文件与正式文件都不存在时仍然失败
+        insertTask(2L, PublishTaskStatusEnum.PENDING, 0,
+                payload("https://" + DOMAIN + "/temp/images/articles/covers/lost.jpg", "正文"), LocalDateTime.now());
+        pipeline = newPipeline();
+
+        pipeline.recover();
+
+        awaitStatus(1L, PublishTaskStatusEnum.SUCCEEDED);
+        ArgumentCaptor<BlogArticle> article = ArgumentCaptor.forClass(BlogArticle.class);
+        verify(revisionStore, timeout(5000)).record(any(), any(), article.capture());
+        assertEquals(FORMAL_COVER, article.getValue().getCoverImage());
+        verify(ossClient).doesObjectExist(anyString(), eq("images/articles/covers/cover.jpg"));
+
+        BlogArticlePublishTask lost = awaitStatus(2L, PublishTaskStatusEnum.FAILED);
+        assertEquals("文件移动失败", lost.getLastError());
+        assertTrue(objects.contains("images/articles/covers/cover.jpg"));
+        assertFalse(objects.contains("images/articles/covers/lost.jpg"));
+    }
+
+    @Test
+    void recoveryPicksUpPendingAndExpiredClaimsOnly() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        insertTask(1L, PublishTaskStatusEnum.RUNNING, 2, payload(null, "正文"), now.minusMinutes(10));
+        insertTask(2L, PublishTaskStatusEnum.RUNNING, 1, payload(null, "正文"), now);
+        insertTask(3L, PublishTaskStatusEnum.PENDING, 0, payload(null, "正文"), now);
+        insertTask(4L, PublishTaskStatusEnum.FAILED, 3, payload(null, "正文"), now.minusMinutes(10));
+        pipeline = newPipeline();
+
+        pipeline.recover();
+
+        assertEquals(3, awaitStatus(1L, PublishTaskStatusEnum.SUCCEEDED).getAttempts());
+        assertEquals(1, awaitStatus(3L, PublishTaskStatusEnum.SUCCEEDED).getAttempts());
+        pipeline.shutdown();
+        pipeline = null;
+
+        // 仍在有效期内的领取与已失败的任务不受影响
+        BlogArticlePublishTask active = taskMapper.selectById(2L);
+        assertEquals(PublishTaskStatusEnum.RUNNING.getCode(), active.getStatus());
+        assertEquals(1, active.getAttempts());
+        BlogArticlePublishTask failed = taskMapper.selectById(4L);
+        assertEquals(PublishTaskStatusEnum.FAILED.getCode(), failed.getStatus());
+        assertEquals(3, failed.getAttempts());
+        verify(eventPublisher, times(2)).publishEvent(any(ArticleChangedEvent.class));
+    }
+
+    private ArticlePublishPipeline newPipeline() {
+        UploadProperties uploadProperties = new UploadProperties();
+        uploadProperties.getOss().setBucketName("bucket");
+        uploadProperties.getOss().setCustomDomain(DOMAIN);
+        FileUploadUtil fileUploadUtil = new FileUploadUtil(new OssUploadService(ossClient, uploadProperties, null));
+
+        MarkdownHelper markdownHelper = mock(MarkdownHelper.class);
+        when(markdownHelper.toHtml(any())).thenAnswer(invocation -> "<p>" + invocation.getArgument(0) + "</p>");
+
+        return new ArticlePublishPipeline(properties, taskMapper, articleMapper, mock(BlogTagMapper.class),
+                mock(RelevancyArticleTagMapper.class), markdownHelper, revisionStore, fileUploadUtil, jsonMapper,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), eventPublisher, meterRegistry);
+    }
+
+    private void insertTask(Long articleId, PublishTaskStatusEnum status, int attempts, ArticleDTO payload,
+                            LocalDateTime updateTime) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO blog_article_publish_task "
+                     + "(article_id, change_type, target_draft, payload, stage, status, attempts, update_time) "
+                     + "VALUES (?, 'UPDATED', 0, ?, ?, ?, ?, ?)")) {
+            insert.setLong(1, articleId);
+            insert.setString(2, jsonMapper.writeValueAsString(payload));
+            insert.setString(3, ArticlePublishPipeline.Stage.PROMOTE_MEDIA.name());
+            insert.setInt(4, status.getCode());
+            insert.setInt(5, attempts);
+            insert.setTimestamp(6, Timestamp.valueOf(updateTime));
+            insert.executeUpdate();
+        }
+    }
+
+    private BlogArticlePublishTask awaitStatus(Long articleId, PublishTaskStatusEnum status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            BlogArticlePublishTask task = taskMapper.selectById(articleId);
+            if (task != null && status.getCode().equals(task.getStatus())) {
+                return task;
+            }
+            assertTrue(System.nanoTime() < deadline, "等待任务状态超时: articleId=" + articleId + ", status=" + status);
+            Thread.sleep(20);
+        }
+    }
+
+    private ArticleDTO readPayload(BlogArticlePublishTask task) {
+        return jsonMapper.readValue(task.getPayload(), ArticleDTO.class);
+    }
+
+    private double failures() {
+        return meterRegistry.get("nebula.article.publish.failures").counter().count();
+    }
+
+    private static ArticleDTO payload(String coverImage, String content) {
+        ArticleDTO payload = new ArticleDTO();
+        payload.setTitle("标题");
+        payload.setCoverImage(coverImage);
+        payload.setContent(content);
+        return payload;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.nebula.service.article.revision;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 文章版本正文编解码测试
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class RevisionCodecTest {
+
+    @Test
+    void snapshotRoundTrips() {
+        for (String content : List.of("", "单行", "# 标题\r\n\r\n正文 😀\n")) {
+            assertEquals(content, RevisionCodec.decodeSnapshot(RevisionCodec.encodeSnapshot(content)));
+        }
+    }
+
+    @Test
+    void deltaRoundTripsEdgeCases() {
+        String[][] cases = {
+                {"", ""},
+                {"", "新内容\n第二行"},
+                {"旧内容\n第二行\n", ""},
+                {"a\nb\nc", "a\nb\nc\n"},
+                {"a\nb\nc\n", "a\nb\nc"},
+                {"a\nb\nc\n", "开头\na\nb\nc\n结尾"},
+                {"a\r\nb\r\nc\r\n", "a\r\nB\r\nc\r\n"},
+                {"第一行\n第二行\n第三行\n", "第一行\n第三行\n"},
+                {"x\n".repeat(100), "x\n".repeat(50) + "y\n" + "x\n".repeat(50)},
+        };
+        for (String[] pair : cases) {
+            assertEquals(pair[1], RevisionCodec.applyDelta(pair[0], RevisionCodec.encodeDelta(pair[0], pair[1])),
+                    () -> "base=" + pair[0] + ", target=" + pair[1]);
+        }
+    }
+
+    @Test
+    void deltaRoundTripsRandomEdits() {
+        Random random = new Random(7);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            lines.add("第" + i + "行\n");
+        }
+        String base = String.join("", lines);
+        for (int round = 0; round < 50; round++) {
+            List<String> edited = new ArrayList<>(lines);
+            for (int edit = 0; edit < 10; edit++) {
+                int index = random.nextInt(edited.size() + 1);
+                switch (random.nextInt(3)) {
+                    case 0 -> edited.add(index, "插入" + round + "-" + edit + "\n");
+                    case 1 -> {
+                        if (index < edited.size()) {
+                            edited.remove(index);
+                        }
+                    }
+                    default -> {
+                        if (index < edited.size()) {
+                            edited.set(index, "修改" + round + "-" + edit + "\n");
+                        }
+                    }
+                }
+            }
+            String target = String.join("", edited);
+            assertEquals(target, RevisionCodec.applyDelta(base, RevisionCodec.encodeDelta(base, target)));
+            // 版本链逐个应用：下一轮以本轮结果为基准
+            base = target;
+            lines = edited;
+        }
+    }
+
+    @Test
+    void deltaAgainstShorterBaseIsRejected() {
+        byte[] delta = RevisionCodec.encodeDelta("a\nb\nc\nd\n", "a\nb\nc\nD\n");
+
+        assertThrows(IllegalStateException.class, () -> RevisionCodec.applyDelta("a\n", delta));
+    }
+
+    @Test
+    void splitLinesKeepsLineEndings() {
+        assertEquals(List.of("a\r\n", "\n", "b"), RevisionCodec.splitLines("a\r\n\nb"));
+        assertEquals(List.of(), RevisionCodec.splitLines(""));
+        assertEquals(64, RevisionCodec.hash("正文").length());
+    }
+}
@@ -0,0 +1,276 @@
+package com.nebula.service.article.search;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.entity.BlogArticle;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.properties.ArticleSearchProperties;
+import com.nebula.service.common.cluster.ClusterBroadcastHelper;
+import com.nebula.service.common.event.ArticleChangedEvent;
+import com.nebula.service.common.reference.ReferenceDataCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章全文索引测试
+ * <p>
+ * 基准测试默认跳过，使用 {@code mvn test -Dtest=ArticleSearchIndexTest -Dbenchmark=true} 运行
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticleSearchIndexTest {
+
+    private static final String LIKE_CONDITION = "FROM blog_article WHERE deleted = 0 AND is_draft = 0 "
+            + "AND (title LIKE ? OR summary LIKE ? OR html_content LIKE ?)";
+
+    private static final String LIKE_COUNT_SQL = "SELECT COUNT(*) " + LIKE_CONDITION;
+
+    private static final String LIKE_PAGE_SQL = "SELECT id, title, summary " + LIKE_CONDITION + " ORDER BY id DESC LIMIT 10";
+
+    @TempDir
+    Path tempDir;
+
+    private final BlogArticleMapper articleMapper = mock(BlogArticleMapper.class);
+    private final ReferenceDataCache referenceDataCache = mock(ReferenceDataCache.class);
+    private final List<ArticleSearchIndex> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeIndexes() {
+        opened.forEach(ArticleSearchIndex::close);
+    }
+
+    @Test
+    void availableOnlyAfterCompletedRebuild() {
+        stubArticles(List.of(article(1L, "分布式缓存", "Redis 缓存穿透与雪崩")));
+
+        ArticleSearchIndex index = open(false);
+        assertFalse(index.isAvailable());
+
+        assertEquals(1, index.rebuild());
+        assertTrue(index.isAvailable());
+        index.close();
+        opened.remove(index);
+
+        // 重新打开后依据提交数据中的完成标记判断，无需再次重建
+        assertTrue(open(false).isAvailable());
+    }
+
+    @Test
+    void updateIsNotBlockedByRebuildAndSurvivesReplacement() throws Exception {
+        CountDownLatch rebuildStarted = new CountDownLatch(1);
+        CountDownLatch releaseRebuild = new CountDownLatch(1);
+        List<BlogArticle> snapshot = List.of(article(1L, "旧标题", "正文"), article(2L, "其他文章", "正文"));
+        when(articleMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<BlogArticle> page = invocation.getArgument(0);
+            if (rebuildStarted.getCount() > 0) {
+                rebuildStarted.countDown();
+                assertTrue(releaseRebuild.await(10, TimeUnit.SECONDS));
+                page.setRecords(snapshot);
+            } else {
+                page.setRecords(List.of());
+            }
+            return page;
+        });
+        when(referenceDataCache.getTagSnapshot()).thenReturn(new ReferenceDataCache.Snapshot<>(1L, Map.of()));
+        // 重建读取的是变更前的数据，增量更新读取变更后的数据
+        when(articleMapper.selectList(any())).thenReturn(List.of(article(1L, "新标题", "正文")));
+        ArticleSearchIndex index = open(false);
+
+        CompletableFuture<Integer> rebuild = CompletableFuture.supplyAsync(index::rebuild);
+        assertTrue(rebuildStarted.await(10, TimeUnit.SECONDS));
+
+        // 增量更新不应等待重建完成
+        CompletableFuture.runAsync(() -> index.onArticleChanged(
+                new ArticleChangedEvent(1L, ArticleChangedEvent.ChangeType.UPDATED))).get(5, TimeUnit.SECONDS);
+
+        releaseRebuild.countDown();
+        assertEquals(2, rebuild.get(10, TimeUnit.SECONDS));
+        assertEquals(1, index.search("新标题", 0, 10).total());
+        assertEquals(0, index.search("旧标题", 0, 10).total());
+    }
+
+    @Test
+    void storesOnlyContentPreviewButSearchesFullContent() {
+        ArticleSearchProperties properties = properties(false);
+        properties.setStoredContentLength(20);
+        String content = "开头内容".repeat(50) + "末尾关键词";
+        stubArticles(List.of(article(1L, "标题", content)));
+        ArticleSearchIndex index = open(properties);
+        index.rebuild();
+
+        ArticleSearchIndex.SearchResult result = index.search("末尾关键词", 0, 10);
+        assertEquals(1, result.total());
+        // 命中位置超出存储部分时退回摘要
+        assertEquals("摘要", result.hits().get(0).highlightSnippet());
+    }
+
+    /**
+     * 10 万篇文章：索引检索与 H2 中 {@code LIKE '%关键词%'} 全表扫描的耗时对比（均为内存数据，不含网络 I/O）
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkAgainstLikeScan() throws Exception {
+        int articleCount = 100_000;
+        Random random = new Random(42);
+        String[] words = new String[2000];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = new String(Character.toChars(0x4E00 + i * 2)) + new String(Character.toChars(0x4E01 + i * 2));
+        }
+        List<BlogArticle> articles = new ArrayList<>(articleCount);
+        for (long id = 1; id <= articleCount; id++) {
+            StringBuilder content = new StringBuilder();
+            for (int w = 0; w < 150; w++) {
+                // 平方分布使少数词高频、多数词低频
+                int rank = (int) (words.length * Math.pow(random.nextDouble(), 2));
+                content.append(words[rank]);
+            }
+            articles.add(article(id, words[random.nextInt(words.length)] + "笔记" + id, content.toString()));
+        }
+        stubArticles(articles);
+        ArticleSearchIndex index = open(false);
+        assertEquals(articleCount, index.rebuild());
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:article_search_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE blog_article (id BIGINT PRIMARY KEY, title VARCHAR(200) NOT NULL, "
+                        + "summary VARCHAR(500), html_content LONGTEXT, is_draft TINYINT DEFAULT 0, deleted TINYINT DEFAULT 0)");
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO blog_article (id, title, summary, html_content) VALUES (?, ?, ?, ?)")) {
+                for (BlogArticle article : articles) {
+                    insert.setLong(1, article.getId());
+                    insert.setString(2, article.getTitle());
+                    insert.setString(3, article.getSummary());
+                    insert.setString(4, article.getHtmlContent());
+                    insert.addBatch();
+                    if (article.getId() % 1000 == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+
+            String[] keywords = {words[0], words[10], words[200], words[1500], words[1999]};
+            int rounds = 20;
+            long[] indexNanos = new long[keywords.length * rounds];
+            long[] likeNanos = new long[keywords.length * rounds];
+            int n = 0;
+            try (PreparedStatement count = connection.prepareStatement(LIKE_COUNT_SQL);
+                 PreparedStatement page = connection.prepareStatement(LIKE_PAGE_SQL)) {
+                for (int round = 0; round < rounds; round++) {
+                    for (String keyword : keywords) {
+                        long start = System.nanoTime();
+                        ArticleSearchIndex.SearchResult result = index.search(keyword, 0, 10);
+                        indexNanos[n] = System.nanoTime() - start;
+
+                        // 与分页接口相同：先查总数，再查第一页
+                        start = System.nanoTime();
+                        long matched = queryLike(count, keyword);
+                        queryLike(page, keyword);
+                        likeNanos[n++] = System.nanoTime() - start;
+                        assertTrue(result.total() > 0 || matched == 0, keyword);
+                    }
+                }
+            }
+            Arrays.sort(indexNanos);
+            Arrays.sort(likeNanos);
+            double indexP50 = percentile(indexNanos, 50);
+            double likeP50 = percentile(likeNanos, 50);
+            assertTrue(indexP50 < likeP50, () -> String.format("index p50=%.2fms p99=%.2fms, like p50=%.2fms p99=%.2fms",
+                    indexP50, percentile(indexNanos, 99), likeP50, percentile(likeNanos, 99)));
+        }
+    }
+
+    private ArticleSearchIndex open(boolean rebuildOnStartup) {
+        return open(properties(rebuildOnStartup));
+    }
+
+    private ArticleSearchIndex open(ArticleSearchProperties properties) {
+        ArticleSearchIndex index = new ArticleSearchIndex(properties, articleMapper,
+                mock(RelevancyArticleTagMapper.class), referenceDataCache, mock(ClusterBroadcastHelper.class),
+                new SimpleMeterRegistry());
+        index.open();
+        opened.add(index);
+        return index;
+    }
+
+    private ArticleSearchProperties properties(boolean rebuildOnStartup) {
+        ArticleSearchProperties properties = new ArticleSearchProperties();
+        properties.setIndexPath(tempDir.resolve("index").toString());
+        properties.setRebuildOnStartup(rebuildOnStartup);
+        return properties;
+    }
+
+    private void stubArticles(List<BlogArticle> articles) {
+        int[] cursor = {0};
+        when(articleMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<BlogArticle> page = invocation.getArgument(0);
+            // 按 ID 顺序分批返回，返回空批次后从头开始，支持多次重建
+            int from = cursor[0];
+            int to = Math.min(from + (int) page.getSize(), articles.size());
+            page.setRecords(articles.subList(from, to));
+            cursor[0] = to == from ? 0 : to;
+            return page;
+        });
+        when(referenceDataCache.getTagSnapshot()).thenReturn(new ReferenceDataCache.Snapshot<>(1L, Map.of()));
+    }
+
+    private static BlogArticle article(Long id, String title, String content) {
+        BlogArticle article = new BlogArticle();
+        article.setId(id);
+        article.setTitle(title);
+        article.setSummary("摘要");
+        article.setHtmlContent("<p>" + content + "</p>");
+        return article;
+    }
+
+    /**
+     * 执行 LIKE 查询，返回第一列之和（计数查询即为总数）
+     */
+    private static long queryLike(PreparedStatement statement, String keyword) throws Exception {
+        String pattern = "%" + keyword + "%";
+        statement.setString(1, pattern);
+        statement.setString(2, pattern);
+        statement.setString(3, pattern);
+        long sum = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getLong(1);
+            }
+        }
+        return sum;
+    }
+
+    private static double percentile(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(sortedNanos.length * percentile / 100.0) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,134 @@
+package com.nebula.service.article.transfer;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nebula.entity.BlogArticle;
+import com.nebula.entity.BlogComment;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.BlogCommentMapper;
+import com.nebula.mapper.RelevancyArticleTagMapper;
+import com.nebula.service.common.reference.ReferenceDataCache;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章导出测试
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ArticleExporterTest {
+
+    @Test
+    void quotesFrontMatterValuesAsYamlDoubleQuotedStrings() {
+        assertEquals("\"普通标题\"", ArticleExporter.quote("普通标题"));
+        assertEquals("\"说 \\\"你好\\\"\"", ArticleExporter.quote("说 \"你好\""));
+        assertEquals("\"C:\\\\temp\\\\\"", ArticleExporter.quote("C:\\temp\\"));
+        assertEquals("\"第一行\\n第二行\\t\\x01\"", ArticleExporter.quote("第一行\n第二行\t\u0001"));
+    }
+
+    @Test
+    void exportedMarkdownRoundTripsThroughImportParser() {
+        BlogArticle article = article(1L, "正文");
+        article.setTitle("引号 \"A\" 与反斜杠 \\ 结尾\\");
+        article.setSummary("多行\n摘要: 带冒号 # 井号");
+
+        MarkdownFrontMatter parsed = MarkdownFrontMatter.parse("1.md",
+                ArticleExporter.toMarkdown(article, "后端\\分类", List.of("C#", "\"标签\"")));
+
+        assertEquals(article.getTitle(), parsed.title());
+        assertEquals(article.getSummary(), parsed.summary());
+        assertEquals("后端\\分类", parsed.category());
+        assertEquals(List.of("C#", "\"标签\""), parsed.tags());
+        assertEquals("正文", parsed.content());
+    }
+
+    /**
+     * 导出 5 万篇文章（正文合计约 400MB），堆内存增长应只与单块大小有关
+     */
+    @Test
+    void exportsFiftyThousandArticlesWithBoundedHeap() throws Exception {
+        int articleCount = 50_000;
+        String content = "正文内容".repeat(1024);
+        BlogArticleMapper articleMapper = mock(BlogArticleMapper.class);
+        BlogCommentMapper commentMapper = mock(BlogCommentMapper.class);
+        RelevancyArticleTagMapper articleTagMapper = mock(RelevancyArticleTagMapper.class);
+        ReferenceDataCache referenceDataCache = mock(ReferenceDataCache.class);
+        when(referenceDataCache.getCategorySnapshot()).thenReturn(new ReferenceDataCache.Snapshot<>(1L, Map.of()));
+        when(referenceDataCache.getTagSnapshot()).thenReturn(new ReferenceDataCache.Snapshot<>(1L, Map.of()));
+        when(commentMapper.selectPage(any(), any()))
+                .thenAnswer(invocation -> invocation.<Page<BlogComment>>getArgument(0).setRecords(List.of()));
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        long[] peak = {0};
+        int[] batches = {0};
+        long[] nextId = {1};
+        when(articleMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<BlogArticle> page = invocation.getArgument(0);
+            // 每 50 块采样一次 GC 后的堆占用，之前分块的文章应已可回收
+            if (batches[0]++ % 50 == 0) {
+                System.gc();
+                peak[0] = Math.max(peak[0], memory.getHeapMemoryUsage().getUsed() - baseline);
+            }
+            List<BlogArticle> records = new ArrayList<>();
+            while (records.size() < page.getSize() && nextId[0] <= articleCount) {
+                // 每篇文章使用独立的正文实例，若导出过程持有已写出的文章则会反映在堆占用上
+                long id = nextId[0]++;
+                records.add(article(id, content + id));
+            }
+            return page.setRecords(records);
+        });
+
+        CountingOutputStream output = new CountingOutputStream();
+        new ArticleExporter(articleMapper, commentMapper, articleTagMapper, referenceDataCache,
+                JsonMapper.builder().build()).exportArchive(output);
+
+        assertEquals(articleCount + 1, nextId[0]);
+        assertTrue(output.count > 0);
+        assertTrue(peak[0] < 64L * 1024 * 1024, "堆内存增长过大: " + peak[0] + " bytes");
+    }
+
+    private static BlogArticle article(Long id, String content) {
+        BlogArticle article = new BlogArticle();
+        article.setId(id);
+        article.setTitle("文章" + id);
+        article.setContent(content);
+        article.setIsDraft(0);
+        article.setIsTop(0);
+        article.setCreateTime(LocalDateTime.of(2024, 5, 1, 10, 0));
+        return article;
+    }
+
+    /**
+     * 只统计字节数的输出流
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.nebula.service.article.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Markdown front-matter 解析测试
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class MarkdownFrontMatterTest {
+
+    @Test
+    void parsesAllSupportedKeys() {
+        MarkdownFrontMatter article = MarkdownFrontMatter.parse("posts/a.md", """
+                ---
+                title: "标题: 带冒号"
+                summary: 摘要
+                category: 后端
+                tags: [Java, 'Spring', , Java]
+                date: 2024-05-01 10:00
+                top: true
+                draft: false
+                cover: https://example.com/a.png
+                ---
+                正文第一行
+                """);
+
+        assertEquals("标题: 带冒号", article.title());
+        assertEquals("摘要", article.summary());
+        assertEquals("后端", article.category());
+        assertEquals(List.of("Java", "Spring"), article.tags());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 0), article.date());
+        assertTrue(article.top());
+        assertFalse(article.draft());
+        assertEquals("https://example.com/a.png", article.coverImage());
+        assertEquals("正文第一行", article.content());
+    }
+
+    @Test
+    void parsesBlockListAndCrLfLineEndings() {
+        MarkdownFrontMatter article = MarkdownFrontMatter.parse("a.md",
+                "\uFEFF---\r\nTags:\r\n  - 标签一\r\n  - \"标签二\"\r\n# 注释\r\n---\r\n正文\r\n");
+
+        assertEquals(List.of("标签一", "标签二"), article.tags());
+        assertEquals("正文", article.content());
+    }
+
+    @Test
+    void inlineListSplitsOnlyOutsideQuotes() {
+        MarkdownFrontMatter article = MarkdownFrontMatter.parse("a.md", """
+                ---
+                tags: ["a, b", c, 'it''s, ok', "say \\"x, y\\"", d'e, f]
+                ---
+                正文
+                """);
+
+        assertEquals(List.of("a, b", "c", "it's, ok", "say \"x, y\"", "d'e", "f"), article.tags());
+    }
+
+    @Test
+    void keysAreCaseInsensitiveUnderTurkishLocale() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            MarkdownFrontMatter article = MarkdownFrontMatter.parse("a.md", "---\nTITLE: 标题\n---\n正文");
+            assertEquals("标题", article.title());
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void fallsBackToHeadingThenFileName() {
+        assertEquals("一级标题", MarkdownFrontMatter.parse("dir/file.md", "## 二级\n# 一级标题\n正文").title());
+        assertEquals("file", MarkdownFrontMatter.parse("dir/file.md", "没有标题的正文").title());
+    }
+
+    @Test
+    void parsesOffsetAndDateOnlyValues() {
+        assertEquals(LocalDateTime.of(2024, 5, 1, 0, 0),
+                MarkdownFrontMatter.parse("a.md", "---\ndate: 2024-05-01\n---\n正文").date());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 0, 30),
+                MarkdownFrontMatter.parse("a.md", "---\ndate: 2024-05-01T10:00:30\n---\n正文").date());
+        assertNull(MarkdownFrontMatter.parse("a.md", "正文").date());
+    }
+
+    @Test
+    void unescapesQuotedValues() {
+        MarkdownFrontMatter article = MarkdownFrontMatter.parse("a.md", """
+                ---
+                title: "说 \\"你好\\" \\\\ \\u4E2D\\x41\\q"
+                summary: 'It''s'
+                ---
+                正文
+                """);
+
+        assertEquals("说 \"你好\" \\ 中A\\q", article.title());
+        assertEquals("It's", article.summary());
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MarkdownFrontMatter.parse("a.md", "---\ntitle: 标题\n正文"));
+        assertThrows(IllegalArgumentException.class,
+                () -> MarkdownFrontMatter.parse("a.md", "---\ndate: 昨天\n---\n正文"));
+        assertThrows(IllegalArgumentException.class,
+                () -> MarkdownFrontMatter.parse("a.md", "---\ntitle: 标题\n---\n  \n"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.nebula.service.common.reference;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.nebula.constant.RedisConstants;
+import com.nebula.entity.BlogCategory;
+import com.nebula.entity.BlogTag;
+import com.nebula.entity.SysUser;
+import com.nebula.mapper.BlogCategoryMapper;
+import com.nebula.mapper.BlogTagMapper;
+import com.nebula.mapper.SysUserMapper;
+import com.nebula.properties.ReferenceDataProperties;
+import com.nebula.service.common.cluster.ClusterBroadcastHelper;
+import com.nebula.service.common.event.ReferenceDataChangedEvent;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 引用数据缓存测试
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class ReferenceDataCacheTest {
+
+    private BlogCategoryMapper categoryMapper;
+    private BlogTagMapper tagMapper;
+    private SysUserMapper userMapper;
+    private ClusterBroadcastHelper broadcastHelper;
+    private ReferenceDataCache cache;
+
+    /**
+     * 每次查询用户时请求的用户ID
+     */
+    private final List<Set<Long>> userQueries = new ArrayList<>();
+
+    @BeforeAll
+    static void initTableInfo() {
+        initTableInfo(BlogCategoryMapper.class, BlogCategory.class);
+        initTableInfo(BlogTagMapper.class, BlogTag.class);
+        initTableInfo(SysUserMapper.class, SysUser.class);
+    }
+
+    private static void initTableInfo(Class<?> mapperClass, Class<?> entityClass) {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        assistant.setCurrentNamespace(mapperClass.getName());
+        TableInfoHelper.initTableInfo(assistant, entityClass);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        categoryMapper = mock(BlogCategoryMapper.class);
+        tagMapper = mock(BlogTagMapper.class);
+        userMapper = mock(SysUserMapper.class);
+        broadcastHelper = mock(ClusterBroadcastHelper.class);
+        when(categoryMapper.selectList(any(Wrapper.class))).thenReturn(List.of(category(1L, "后端"), category(2L, "前端")));
+        when(tagMapper.selectList(any(Wrapper.class))).thenReturn(List.of(tag(10L, "Java")));
+        when(userMapper.selectList(any(Wrapper.class))).thenAnswer(invocation -> {
+            LambdaQueryWrapper<SysUser> wrapper = invocation.getArgument(0);
+            Set<Long> ids = new TreeSet<>();
+            wrapper.getParamNameValuePairs().values().forEach(value -> ids.add((Long) value));
+            userQueries.add(ids);
+            // 用户 404 不存在
+            return ids.stream().filter(id -> id != 404L).map(id -> user(id, "用户" + id)).toList();
+        });
+        cache = new ReferenceDataCache(new ReferenceDataProperties(), categoryMapper, tagMapper, userMapper,
+                broadcastHelper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshotLoadsOnceAndSkipsMissingIds() {
+        Map<Long, ReferenceDataCache.CategoryRef> first = cache.getCategories(List.of(1L, 3L));
+        Map<Long, ReferenceDataCache.CategoryRef> second = cache.getCategories(Arrays.asList(2L, null));
+
+        assertEquals(Map.of(1L, new ReferenceDataCache.CategoryRef(1L, "后端")), first);
+        assertEquals(Map.of(2L, new ReferenceDataCache.CategoryRef(2L, "前端")), second);
+        assertSame(cache.getCategorySnapshot(), cache.getCategorySnapshot());
+        verify(categoryMapper, times(1)).selectList(any(Wrapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changeEventReplacesSnapshotAndBroadcasts() {
+        ReferenceDataCache.Snapshot<ReferenceDataCache.TagRef> before = cache.getTagSnapshot();
+        when(tagMapper.selectList(any(Wrapper.class))).thenReturn(List.of(tag(10L, "Java 21"), tag(11L, "Spring")));
+
+        cache.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.ReferenceType.TAG, 10L));
+
+        ReferenceDataCache.Snapshot<ReferenceDataCache.TagRef> after = cache.getTagSnapshot();
+        assertTrue(after.version() > before.version());
+        assertEquals("Java 21", after.items().get(10L).tagName());
+        assertEquals(2, after.items().size());
+        // 旧快照不受影响，持有它的读取方看到的仍是一致的数据
+        assertEquals("Java", before.items().get(10L).tagName());
+        verify(broadcastHelper).publish(RedisConstants.CHANNEL_REFERENCE_DATA_CHANGED, "TAG:10");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void remoteChangeRefreshesLocalData() {
+        ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+        cache.subscribeChanges();
+        verify(broadcastHelper).subscribe(eq(RedisConstants.CHANNEL_REFERENCE_DATA_CHANGED), handler.capture());
+        cache.getCategorySnapshot();
+        cache.getUsers(List.of(1L));
+
+        handler.getValue().accept("CATEGORY:null");
+        handler.getValue().accept("USER:1");
+        cache.getUsers(List.of(1L));
+
+        verify(categoryMapper, times(2)).selectList(any(Wrapper.class));
+        assertEquals(List.of(Set.of(1L), Set.of(1L)), userQueries);
+    }
+
+    @Test
+    void usersLoadOnlyMissesInOneQuery() {
+        Map<Long, ReferenceDataCache.UserRef> first = cache.getUsers(List.of(1L, 2L, 404L));
+        Map<Long, ReferenceDataCache.UserRef> second = cache.getUsers(Arrays.asList(2L, 3L, null));
+
+        assertEquals(Set.of(1L, 2L), first.keySet());
+        assertEquals(Set.of(2L, 3L), second.keySet());
+        assertEquals("用户3", second.get(3L).nickname());
+        // 第二次只查询未命中的用户（不存在的用户不缓存，下次仍会查询）
+        assertEquals(List.of(Set.of(1L, 2L, 404L), Set.of(3L)), userQueries);
+        assertTrue(cache.getUsers(List.of()).isEmpty());
+        assertEquals(2, userQueries.size());
+    }
+
+    private static BlogCategory category(Long id, String name) {
+        BlogCategory category = new BlogCategory();
+        category.setId(id);
+        category.setCategoryName(name);
+        return category;
+    }
+
+    private static BlogTag tag(Long id, String name) {
+        BlogTag tag = new BlogTag();
+        tag.setId(id);
+        tag.setTagName(name);
+        return tag;
+    }
+
+    private static SysUser user(Long id, String nickname) {
+        SysUser user = new SysUser();
+        user.setId(id);
+        user.setNickname(nickname);
+        return user;
+    }
+}
@@ -0,0 +1,212 @@
+package com.nebula.tasks;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.nebula.constant.RedisConstants;
+import com.nebula.mapper.BlogArticleCollectMapper;
+import com.nebula.mapper.BlogArticleLikeMapper;
+import com.nebula.mapper.BlogArticleMapper;
+import com.nebula.mapper.BlogCommentLikeMapper;
+import com.nebula.mapper.BlogCommentMapper;
+import com.nebula.properties.CounterReconcileProperties;
+import com.nebula.vo.CounterDriftVO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 计数校准任务测试（H2 MySQL 兼容模式）
+ * <p>
+ * 分块大小为 3，7 篇文章跨越 3 个分块，覆盖计数偏大、偏小、为 NULL 及分块边界上的记录
+ *
+ * @author Nebula-Hash
+ * @date 2026/4/2
+ */
+class CounterReconcileTaskTest {
+
+    private static JdbcDataSource dataSource;
+    private static SqlSessionFactory sessionFactory;
+
+    private SqlSession session;
+    private StringRedisTemplate stringRedisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void initSessionFactory() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:counter_reconcile;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.H2));
+        configuration.addInterceptor(interceptor);
+        configuration.addMapper(BlogArticleMapper.class);
+        configuration.addMapper(BlogArticleLikeMapper.class);
+        configuration.addMapper(BlogArticleCollectMapper.class);
+        configuration.addMapper(BlogCommentMapper.class);
+        configuration.addMapper(BlogCommentLikeMapper.class);
+        sessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE blog_article (id BIGINT PRIMARY KEY, "
+                    + "like_count INT DEFAULT 0, collect_count INT DEFAULT 0, comment_count INT DEFAULT 0, "
+                    + "deleted TINYINT DEFAULT 0)");
+            statement.execute("CREATE TABLE blog_article_like (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "article_id BIGINT NOT NULL, user_id BIGINT NOT NULL, create_time DATETIME)");
+            statement.execute("CREATE TABLE blog_article_collect (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "article_id BIGINT NOT NULL, user_id BIGINT NOT NULL, create_time DATETIME)");
+            statement.execute("CREATE TABLE blog_comment (id BIGINT PRIMARY KEY, article_id BIGINT NOT NULL, "
+                    + "root_id BIGINT, parent_id BIGINT, user_id BIGINT NOT NULL, reply_user_id BIGINT, "
+                    + "content TEXT NOT NULL, like_count INT DEFAULT 0, audit_status TINYINT DEFAULT 0, "
+                    + "deleted TINYINT DEFAULT 0, create_time DATETIME, update_time DATETIME)");
+            statement.execute("CREATE TABLE blog_comment_like (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "comment_id BIGINT NOT NULL, user_id BIGINT NOT NULL, create_time DATETIME)");
+
+            // (id, like_count, collect_count, comment_count)
+            statement.execute("INSERT INTO blog_article (id, like_count, collect_count, comment_count) VALUES "
+                    + "(1, 5, 0, 0), (2, NULL, 0, 0), (3, 0, 2, 0), (4, 0, 0, 0), "
+                    + "(5, 1, 0, 0), (6, 0, 0, 1), (7, 0, NULL, 0)");
+            statement.execute("INSERT INTO blog_article_like (article_id, user_id) VALUES "
+                    + "(1, 1), (1, 2), (4, 1), (4, 2), (4, 3), (5, 9)");
+            statement.execute("INSERT INTO blog_article_collect (article_id, user_id) VALUES (7, 1)");
+            // 文章 5：两条已通过、一条待审核、一条已通过但已删除；文章 6：一条已通过
+            statement.execute("INSERT INTO blog_comment (id, article_id, user_id, content, like_count, audit_status, deleted) VALUES "
+                    + "(1, 5, 1, 'a', 0, 1, 0), (2, 5, 2, 'b', 0, 1, 0), (3, 5, 3, 'c', 0, 0, 0), "
+                    + "(4, 5, 4, 'd', 0, 1, 1), (5, 6, 5, 'e', 4, 1, 0)");
+            statement.execute("INSERT INTO blog_comment_like (comment_id, user_id) VALUES (1, 1), (1, 2)");
+        }
+
+        session = sessionFactory.openSession(true);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void correctsDriftAcrossChunksAndReleasesLock() throws Exception {
+        when(valueOperations.setIfAbsent(eq(RedisConstants.COUNTER_RECONCILE_LOCK), any(), any(Duration.class)))
+                .thenReturn(true);
+
+        newTask(session.getMapper(BlogArticleMapper.class), session.getMapper(BlogCommentMapper.class)).reconcile();
+
+        assertEquals(List.of(2, 0, 0, 3, 1, 0, 0), column("blog_article", "like_count", 7));
+        assertEquals(List.of(0, 0, 0, 0, 0, 0, 1), column("blog_article", "collect_count", 7));
+        assertEquals(List.of(0, 0, 0, 0, 2, 1, 0), column("blog_article", "comment_count", 7));
+        assertEquals(List.of(2, 0, 0, 0, 0), column("blog_comment", "like_count", 5));
+
+        // NULL 改写为 0 也计入偏差记录，但偏差值为 0
+        assertDrift("blog_article", "like_count", 3, 6);
+        assertDrift("blog_article", "collect_count", 2, 3);
+        assertDrift("blog_article", "comment_count", 1, 2);
+        assertDrift("blog_comment", "like_count", 2, 6);
+
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).setIfAbsent(eq(RedisConstants.COUNTER_RECONCILE_LOCK), token.capture(),
+                any(Duration.class));
+        verify(stringRedisTemplate).execute(any(RedisScript.class),
+                eq(List.of(RedisConstants.COUNTER_RECONCILE_LOCK)), eq(token.getValue()));
+    }
+
+    @Test
+    void skipsRowsChangedAfterRead() throws Exception {
+        BlogArticleMapper articleMapper = session.getMapper(BlogArticleMapper.class);
+        BlogCommentMapper commentMapper = session.getMapper(BlogCommentMapper.class);
+
+        // 读取时为 99，但库中已是 5：说明计数在读取后被修改，不覆盖
+        int updated = articleMapper.batchCorrectCounter("like_count",
+                List.of(new CounterDriftVO(1L, 99, 2), new CounterDriftVO(2L, 0, 0)));
+        int commentUpdated = commentMapper.batchCorrectLikeCount(List.of(new CounterDriftVO(5L, 3, 0)));
+
+        assertEquals(1, updated);
+        assertEquals(0, commentUpdated);
+        assertEquals(5, column("blog_article", "like_count", 7).get(0));
+        assertEquals(0, column("blog_article", "like_count", 7).get(1));
+        assertEquals(4, column("blog_comment", "like_count", 5).get(4));
+    }
+
+    @Test
+    void skipsWhenLockHeldElsewhere() throws Exception {
+        when(valueOperations.setIfAbsent(eq(RedisConstants.COUNTER_RECONCILE_LOCK), any(), any(Duration.class)))
+                .thenReturn(false);
+        BlogArticleMapper articleMapper = mock(BlogArticleMapper.class);
+        BlogCommentMapper commentMapper = mock(BlogCommentMapper.class);
+
+        newTask(articleMapper, commentMapper).reconcile();
+
+        verifyNoInteractions(articleMapper, commentMapper);
+        assertNull(column("blog_article", "like_count", 7).get(1));
+    }
+
+    private CounterReconcileTask newTask(BlogArticleMapper articleMapper, BlogCommentMapper commentMapper) {
+        CounterReconcileProperties properties = new CounterReconcileProperties();
+        properties.setBatchSize(3);
+        return new CounterReconcileTask(properties, stringRedisTemplate, articleMapper,
+                session.getMapper(BlogArticleLikeMapper.class), session.getMapper(BlogArticleCollectMapper.class),
+                commentMapper, session.getMapper(BlogCommentLikeMapper.class), meterRegistry);
+    }
+
+    private void assertDrift(String table, String column, double drifted, double magnitude) {
+        assertEquals(drifted, meterRegistry.get("nebula.counter.reconcile.drifted")
+                .tag("table", table).tag("column", column).counter().count(), table + "." + column);
+        assertEquals(magnitude, meterRegistry.get("nebula.counter.reconcile.drift.magnitude")
+                .tag("table", table).tag("column", column).counter().count(), table + "." + column);
+    }
+
+    /**
+     * 按 ID 1..count 顺序读取计数列（NULL 保留为 null）
+     */
+    private static List<Integer> column(String table, String column, int count) throws Exception {
+        Integer[] values = new Integer[count];
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, " + column + " FROM " + table)) {
+            while (rs.next()) {
+                values[(int) rs.getLong(1) - 1] = (Integer) rs.getObject(2);
+            }
+        }
+        return Arrays.asList(values);
+    }
+}